@@ -0,0 +1,151 @@
+package com.appdev.Finance;
+
+import com.appdev.Finance.DTO.ColumnarFilter;
+import com.appdev.Finance.DTO.ColumnarSummary;
+import com.appdev.Finance.DTO.DateRangeTotals;
+import com.appdev.Finance.Service.DateRangeSumIndex;
+import com.appdev.Finance.Service.ColumnarTransactionStore;
+import com.appdev.Finance.Service.UserColumns;
+import com.appdev.Finance.Service.UserService;
+import com.appdev.Finance.model.CustomUserDetails;
+import com.appdev.Finance.model.Money;
+import com.appdev.Finance.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Interactive re-filtering for the dashboard (type/category/date/amount sliders). Answered from the
+ * in-memory ColumnarTransactionStore, so repeated requests cost no SQL once a user's columns are loaded.
+ * Plain date-range totals skip the scan and come from the store's per-user range-sum index.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsApiController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsApiController.class);
+
+    @Autowired
+    private ColumnarTransactionStore columnarTransactionStore;
+
+    @Autowired
+    private UserService userService;
+
+    private User getLoggedInUserFromPrincipal(CustomUserDetails principalDetails) {
+        if (principalDetails == null) return null;
+        Optional<User> userOpt = userService.findByEmail(principalDetails.getUsername());
+        return userOpt.orElse(null);
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<?> getSummary(@AuthenticationPrincipal CustomUserDetails principalDetails,
+                                        @RequestParam(value = "type", required = false) String type,
+                                        @RequestParam(value = "category", required = false) List<String> categories,
+                                        @RequestParam(value = "startDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                                        @RequestParam(value = "endDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+                                        @RequestParam(value = "minAmount", required = false) BigDecimal minAmount,
+                                        @RequestParam(value = "maxAmount", required = false) BigDecimal maxAmount) {
+        User loggedInUser = getLoggedInUserFromPrincipal(principalDetails);
+        if (loggedInUser == null) {
+            logger.warn("[API GET /analytics/summary] Unauthorized access attempt or user not found from principal.");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "User not authenticated or not found", "status", 401));
+        }
+        TransactionType transactionType = null;
+        if (StringUtils.hasText(type)) {
+            transactionType = TransactionType.fromLabel(type);
+            if (transactionType == null) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Unknown transaction type '" + type + "'", "status", 400));
+            }
+        }
+
+        Optional<UserColumns> columns = columnarTransactionStore.columns(loggedInUser.getId());
+        if (columns.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", "In-memory analytics are not available", "status", 503));
+        }
+
+        ColumnarFilter filter = new ColumnarFilter()
+                .setType(transactionType)
+                .setCategories(categories != null ? new HashSet<>(categories) : null)
+                .setStartDate(startDate)
+                .setEndDate(endDate)
+                .setMinAmount(minAmount != null ? Money.of(minAmount) : null)
+                .setMaxAmount(maxAmount != null ? Money.of(maxAmount) : null);
+        long started = System.nanoTime();
+        ColumnarSummary summary = columns.get().summarize(filter);
+        long elapsedMicros = (System.nanoTime() - started) / 1_000;
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("matchCount", summary.getMatchCount());
+        response.put("totalIncome", summary.getTotalIncome());
+        response.put("totalExpenses", summary.getTotalExpenses());
+        response.put("netTotal", summary.getNetTotal());
+        response.put("expensesByCategory", summary.getExpensesByCategory());
+        response.put("expensesByMonth", summary.getExpensesByMonth());
+        response.put("rowsScanned", summary.getRowsScanned());
+        response.put("elapsedMicros", elapsedMicros);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/totals")
+    public ResponseEntity<?> getTotals(@AuthenticationPrincipal CustomUserDetails principalDetails,
+                                       @RequestParam(value = "startDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                                       @RequestParam(value = "endDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+                                       @RequestParam(value = "category", required = false) String category) {
+        User loggedInUser = getLoggedInUserFromPrincipal(principalDetails);
+        if (loggedInUser == null) {
+            logger.warn("[API GET /analytics/totals] Unauthorized access attempt or user not found from principal.");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "User not authenticated or not found", "status", 401));
+        }
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "startDate must not be after endDate", "status", 400));
+        }
+
+        Optional<DateRangeSumIndex> index = columnarTransactionStore.rangeIndex(loggedInUser.getId());
+        if (index.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", "In-memory analytics are not available", "status", 503));
+        }
+
+        long started = System.nanoTime();
+        DateRangeTotals totals = index.get().totals(startDate, endDate, category).orElse(null);
+        if (totals == null) {
+            // Category trees were dropped for size; the columnar scan gives the same answer
+            ColumnarSummary summary = columnarTransactionStore.columns(loggedInUser.getId())
+                    .map(columns -> columns.summarize(new ColumnarFilter()
+                            .setCategories(Set.of(category))
+                            .setStartDate(startDate)
+                            .setEndDate(endDate)))
+                    .orElse(null);
+            if (summary == null) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", "In-memory analytics are not available", "status", 503));
+            }
+            totals = new DateRangeTotals(summary.getMatchCount(), summary.getTotalIncome(), summary.getTotalExpenses());
+        }
+        long elapsedMicros = (System.nanoTime() - started) / 1_000;
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("matchCount", totals.getMatchCount());
+        response.put("totalIncome", totals.getTotalIncome());
+        response.put("totalExpenses", totals.getTotalExpenses());
+        response.put("netTotal", totals.getNetTotal());
+        response.put("elapsedMicros", elapsedMicros);
+        return ResponseEntity.ok(response);
+    }
+}
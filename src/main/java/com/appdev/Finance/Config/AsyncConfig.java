@@ -3,14 +3,17 @@ package com.appdev.Finance.Config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Configuration
 @EnableAsync // This can also be on your main application class
-public class AsyncConfig {
+public class AsyncConfig implements AsyncConfigurer {
 
     @Value("${async.executor.core-pool-size:2}") // Default to 2 if not set in properties
     private int corePoolSize;
@@ -34,4 +37,58 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+
+    // Plain @Async methods run here; with several executor beans Spring would otherwise fall back to a
+    // new thread per call
+    @Override
+    public Executor getAsyncExecutor() {
+        return asyncExecutor();
+    }
+
+    // Dashboard sub-queries block on JDBC, so one virtual thread per task is cheaper than sizing a pool.
+    // Concurrency against the database is still bounded by the Hikari connection pool.
+    @Bean(name = "dashboardExecutor", destroyMethod = "shutdown")
+    public ExecutorService dashboardExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dashboard-", 0).factory());
+    }
+
+    // CSV imports are long-running and write-heavy; a small bounded pool keeps them from crowding out requests
+    @Bean(name = "importExecutor")
+    public Executor importExecutor(@Value("${transactions.import.max-concurrent:2}") int maxConcurrent,
+                                   @Value("${transactions.import.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrent);
+        executor.setMaxPoolSize(maxConcurrent);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("TransactionImport-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Runs StreamingResponseBody exports (see WebMvcAsyncConfig). Each running export holds a DB connection,
+    // so the pool stays small.
+    @Bean(name = "exportExecutor")
+    public ThreadPoolTaskExecutor exportExecutor(@Value("${transactions.export.max-concurrent:4}") int maxConcurrent,
+                                                 @Value("${transactions.export.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrent);
+        executor.setMaxPoolSize(maxConcurrent);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("TransactionExport-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Nightly budget evaluation (see BudgetEvaluationJob). The job keeps at most 2 x threads chunks in flight;
+    // a chunk frees its slot just before its thread does, so the queue leaves room for that overlap
+    @Bean(name = "budgetEvaluationExecutor")
+    public ThreadPoolTaskExecutor budgetEvaluationExecutor(@Value("${budget.evaluation-job.threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 2);
+        executor.setThreadNamePrefix("BudgetEvaluation-");
+        executor.initialize();
+        return executor;
+    }
+}
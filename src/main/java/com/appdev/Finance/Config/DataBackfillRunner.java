@@ -0,0 +1,89 @@
+package com.appdev.Finance.Config;
+
+import com.appdev.Finance.Service.DescriptionSearchIndex;
+import com.appdev.Finance.Service.MoneyColumnMigration;
+import com.appdev.Finance.Service.SpendingRollupService;
+import com.appdev.Finance.Service.TransactionNormalization;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * One-off data migrations that cannot be expressed by hibernate ddl-auto=update.
+ * Every step is idempotent and only touches rows that still need migrating, so it is
+ * safe to run on every startup.
+ */
+@Component
+public class DataBackfillRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataBackfillRunner.class);
+
+    private final SpendingRollupService spendingRollupService;
+    private final DescriptionSearchIndex descriptionSearchIndex;
+    private final TransactionNormalization transactionNormalization;
+    private final MoneyColumnMigration moneyColumnMigration;
+
+    @Autowired
+    public DataBackfillRunner(SpendingRollupService spendingRollupService,
+                              DescriptionSearchIndex descriptionSearchIndex,
+                              TransactionNormalization transactionNormalization,
+                              MoneyColumnMigration moneyColumnMigration) {
+        this.spendingRollupService = spendingRollupService;
+        this.descriptionSearchIndex = descriptionSearchIndex;
+        this.transactionNormalization = transactionNormalization;
+        this.moneyColumnMigration = moneyColumnMigration;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void runBackfills() {
+        // First: the rollup backfill reads the centavo amounts this step fills in
+        migrateMoneyColumns();
+        backfillSpendingRollup();
+        ensureDescriptionFullTextIndex();
+        normalizeTransactionColumns();
+    }
+
+    private void migrateMoneyColumns() {
+        try {
+            moneyColumnMigration.migrate();
+        } catch (Exception e) {
+            logger.error("Migrating amounts to centavos failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void backfillSpendingRollup() {
+        try {
+            List<Long> userIds = spendingRollupService.findUserIdsMissingRollup();
+            if (userIds.isEmpty()) {
+                return;
+            }
+            logger.info("Backfilling spending rollup for {} user(s).", userIds.size());
+            for (Long userId : userIds) {
+                spendingRollupService.rebuildForUser(userId);
+            }
+        } catch (Exception e) {
+            logger.error("Spending rollup backfill failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void ensureDescriptionFullTextIndex() {
+        try {
+            descriptionSearchIndex.ensureIndex();
+        } catch (Exception e) {
+            logger.error("Could not create the description FULLTEXT index, keyword search stays on LIKE: {}", e.getMessage(), e);
+        }
+    }
+
+    private void normalizeTransactionColumns() {
+        try {
+            transactionNormalization.backfill();
+        } catch (Exception e) {
+            logger.error("Normalizing transaction type/category/month columns failed, filters stay on string comparison: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.appdev.Finance.Config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Makes MySQL's MATCH ... AGAINST usable from JPQL and Criteria queries as
+ * {@code fulltext_match(column, booleanModeQuery)}, returning the relevance score.
+ * Registered through META-INF/services, since Hibernate loads contributors before Spring starts.
+ */
+public class FullTextFunctionContributor implements FunctionContributor {
+
+    public static final String FULLTEXT_MATCH = "fulltext_match";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+                FULLTEXT_MATCH,
+                "match(?1) against(?2 in boolean mode)",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE));
+    }
+}
@@ -0,0 +1,10 @@
+package com.appdev.Finance.Config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Runs the @Scheduled jobs (token purge, nightly budget evaluation) on Spring's single scheduler thread
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
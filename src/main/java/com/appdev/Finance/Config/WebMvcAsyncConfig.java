@@ -0,0 +1,33 @@
+package com.appdev.Finance.Config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Async MVC responses (the streaming transaction exports) would otherwise run on an unbounded
+ * SimpleAsyncTaskExecutor and be cut off by the container's 30 second async timeout.
+ */
+@Configuration
+public class WebMvcAsyncConfig implements WebMvcConfigurer {
+
+    private final AsyncTaskExecutor exportExecutor;
+    private final Duration exportTimeout;
+
+    public WebMvcAsyncConfig(@Qualifier("exportExecutor") AsyncTaskExecutor exportExecutor,
+                             @Value("${transactions.export.timeout:30m}") Duration exportTimeout) {
+        this.exportExecutor = exportExecutor;
+        this.exportTimeout = exportTimeout;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(exportExecutor);
+        configurer.setDefaultTimeout(exportTimeout.toMillis());
+    }
+}
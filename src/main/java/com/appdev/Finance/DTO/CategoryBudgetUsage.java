@@ -0,0 +1,51 @@
+package com.appdev.Finance.DTO;
+
+import java.math.BigDecimal;
+
+/**
+ * One category budget with the current month's spending in that category, for the dashboard.
+ */
+public class CategoryBudgetUsage {
+
+    private final Long id;
+    private final String category;
+    private final BigDecimal budgetAmount;
+    private final BigDecimal spent;
+    private final String thresholds;
+    private final int percentage;
+
+    public CategoryBudgetUsage(Long id, String category, BigDecimal budgetAmount, BigDecimal spent,
+                               String thresholds, int percentage) {
+        this.id = id;
+        this.category = category;
+        this.budgetAmount = budgetAmount;
+        this.spent = spent;
+        this.thresholds = thresholds;
+        this.percentage = percentage;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public BigDecimal getBudgetAmount() {
+        return budgetAmount;
+    }
+
+    public BigDecimal getSpent() {
+        return spent;
+    }
+
+    public String getThresholds() {
+        return thresholds;
+    }
+
+    // Share of the budget spent, capped at 100 for the progress bar
+    public int getPercentage() {
+        return percentage;
+    }
+}
@@ -0,0 +1,9 @@
+package com.appdev.Finance.DTO;
+
+/**
+ * Read-only projection for "SUM(amount_minor) GROUP BY category_id" queries.
+ */
+public interface CategoryIdTotal {
+    Long getCategoryId();
+    Long getTotalMinor(); // centavos
+}
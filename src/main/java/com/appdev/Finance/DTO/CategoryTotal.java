@@ -0,0 +1,9 @@
+package com.appdev.Finance.DTO;
+
+/**
+ * Read-only projection for "SUM(amount_minor) GROUP BY category" queries.
+ */
+public interface CategoryTotal {
+    String getCategory();
+    Long getTotalMinor(); // centavos
+}
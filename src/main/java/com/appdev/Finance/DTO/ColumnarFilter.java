@@ -0,0 +1,75 @@
+package com.appdev.Finance.DTO;
+
+import com.appdev.Finance.TransactionType;
+import com.appdev.Finance.model.Money;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Criteria for the in-memory columnar analytics, mirroring the TransactionSpecification filters
+ * minus the keyword search. Null fields do not filter; dates and amounts are inclusive bounds.
+ */
+public class ColumnarFilter {
+
+    private TransactionType type;
+    private Set<String> categories = Set.of(); // case-insensitive names; empty means all
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Money minAmount;
+    private Money maxAmount;
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public ColumnarFilter setType(TransactionType type) {
+        this.type = type;
+        return this;
+    }
+
+    public Set<String> getCategories() {
+        return categories;
+    }
+
+    public ColumnarFilter setCategories(Set<String> categories) {
+        this.categories = categories != null ? categories : Set.of();
+        return this;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public ColumnarFilter setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+        return this;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public ColumnarFilter setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+        return this;
+    }
+
+    public Money getMinAmount() {
+        return minAmount;
+    }
+
+    public ColumnarFilter setMinAmount(Money minAmount) {
+        this.minAmount = minAmount;
+        return this;
+    }
+
+    public Money getMaxAmount() {
+        return maxAmount;
+    }
+
+    public ColumnarFilter setMaxAmount(Money maxAmount) {
+        this.maxAmount = maxAmount;
+        return this;
+    }
+}
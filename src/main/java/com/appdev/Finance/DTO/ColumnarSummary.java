@@ -0,0 +1,58 @@
+package com.appdev.Finance.DTO;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Result of one columnar analytics query: the size and income/expense totals of the match, plus
+ * expense sums grouped by category and by month ("yyyy-MM") for the charts.
+ */
+public class ColumnarSummary {
+
+    private final long matchCount;
+    private final BigDecimal totalIncome;
+    private final BigDecimal totalExpenses;
+    private final Map<String, BigDecimal> expensesByCategory;
+    private final Map<String, BigDecimal> expensesByMonth;
+    private final int rowsScanned;
+
+    public ColumnarSummary(long matchCount, BigDecimal totalIncome, BigDecimal totalExpenses,
+                           Map<String, BigDecimal> expensesByCategory, Map<String, BigDecimal> expensesByMonth,
+                           int rowsScanned) {
+        this.matchCount = matchCount;
+        this.totalIncome = totalIncome;
+        this.totalExpenses = totalExpenses;
+        this.expensesByCategory = expensesByCategory;
+        this.expensesByMonth = expensesByMonth;
+        this.rowsScanned = rowsScanned;
+    }
+
+    public long getMatchCount() {
+        return matchCount;
+    }
+
+    public BigDecimal getTotalIncome() {
+        return totalIncome;
+    }
+
+    public BigDecimal getTotalExpenses() {
+        return totalExpenses;
+    }
+
+    public BigDecimal getNetTotal() {
+        return totalIncome.subtract(totalExpenses);
+    }
+
+    public Map<String, BigDecimal> getExpensesByCategory() {
+        return expensesByCategory;
+    }
+
+    public Map<String, BigDecimal> getExpensesByMonth() {
+        return expensesByMonth;
+    }
+
+    // Rows inside the date bounds, i.e. how many the filter loop had to look at
+    public int getRowsScanned() {
+        return rowsScanned;
+    }
+}
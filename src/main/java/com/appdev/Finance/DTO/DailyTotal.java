@@ -0,0 +1,11 @@
+package com.appdev.Finance.DTO;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only projection for "SUM(amount_minor) GROUP BY transaction_date" queries.
+ */
+public interface DailyTotal {
+    LocalDate getTransactionDate();
+    Long getTotalMinor(); // centavos
+}
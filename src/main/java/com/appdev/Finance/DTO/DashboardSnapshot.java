@@ -0,0 +1,46 @@
+package com.appdev.Finance.DTO;
+
+import java.math.BigDecimal;
+
+/**
+ * Cached, per-user result of the expensive parts of the dashboard: serialized chart data,
+ * budget and usage percentage.
+ * Instances are dropped as a whole whenever the user's transactions or budget change.
+ */
+public class DashboardSnapshot {
+
+    private final String categoryDataJson;
+    private final String monthlyDataJson;
+    private final boolean chartDataError;
+    private final BigDecimal budgetAmount;
+    private final int expensePercentage;
+
+    public DashboardSnapshot(String categoryDataJson, String monthlyDataJson, boolean chartDataError,
+                             BigDecimal budgetAmount, int expensePercentage) {
+        this.categoryDataJson = categoryDataJson;
+        this.monthlyDataJson = monthlyDataJson;
+        this.chartDataError = chartDataError;
+        this.budgetAmount = budgetAmount;
+        this.expensePercentage = expensePercentage;
+    }
+
+    public String getCategoryDataJson() {
+        return categoryDataJson;
+    }
+
+    public String getMonthlyDataJson() {
+        return monthlyDataJson;
+    }
+
+    public boolean isChartDataError() {
+        return chartDataError;
+    }
+
+    public BigDecimal getBudgetAmount() {
+        return budgetAmount;
+    }
+
+    public int getExpensePercentage() {
+        return expensePercentage;
+    }
+}
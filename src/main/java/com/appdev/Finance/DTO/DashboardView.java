@@ -0,0 +1,76 @@
+package com.appdev.Finance.DTO;
+
+import java.util.List;
+
+/**
+ * Everything the dashboard page needs besides request echo values. Parts that failed or timed out
+ * are left at safe defaults and flagged, so the page can still render what did arrive.
+ */
+public class DashboardView {
+
+    private DashboardSnapshot snapshot;
+    private boolean chartDataUnavailable;
+    private TransactionSearchSummary transactions = TransactionSearchSummary.empty();
+    private boolean transactionListUnavailable;
+    private List<String> availableCategories = List.of();
+    private List<CategoryBudgetUsage> categoryBudgets = List.of();
+    private SpendForecast monthEndForecast;
+
+    // Null when the snapshot part failed; callers should check isChartDataUnavailable()
+    public DashboardSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(DashboardSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public boolean isChartDataUnavailable() {
+        return chartDataUnavailable;
+    }
+
+    public void setChartDataUnavailable(boolean chartDataUnavailable) {
+        this.chartDataUnavailable = chartDataUnavailable;
+    }
+
+    public TransactionSearchSummary getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(TransactionSearchSummary transactions) {
+        this.transactions = transactions;
+    }
+
+    public boolean isTransactionListUnavailable() {
+        return transactionListUnavailable;
+    }
+
+    public void setTransactionListUnavailable(boolean transactionListUnavailable) {
+        this.transactionListUnavailable = transactionListUnavailable;
+    }
+
+    public List<String> getAvailableCategories() {
+        return availableCategories;
+    }
+
+    public void setAvailableCategories(List<String> availableCategories) {
+        this.availableCategories = availableCategories;
+    }
+
+    public List<CategoryBudgetUsage> getCategoryBudgets() {
+        return categoryBudgets;
+    }
+
+    public void setCategoryBudgets(List<CategoryBudgetUsage> categoryBudgets) {
+        this.categoryBudgets = categoryBudgets;
+    }
+
+    // Null when the user has too little history for a forecast or the part failed
+    public SpendForecast getMonthEndForecast() {
+        return monthEndForecast;
+    }
+
+    public void setMonthEndForecast(SpendForecast monthEndForecast) {
+        this.monthEndForecast = monthEndForecast;
+    }
+}
@@ -0,0 +1,36 @@
+package com.appdev.Finance.DTO;
+
+import java.math.BigDecimal;
+
+/**
+ * Row count and income/expense totals of one user's transactions inside a date range, as answered
+ * by the in-memory range-sum index.
+ */
+public class DateRangeTotals {
+
+    private final long matchCount;
+    private final BigDecimal totalIncome;
+    private final BigDecimal totalExpenses;
+
+    public DateRangeTotals(long matchCount, BigDecimal totalIncome, BigDecimal totalExpenses) {
+        this.matchCount = matchCount;
+        this.totalIncome = totalIncome;
+        this.totalExpenses = totalExpenses;
+    }
+
+    public long getMatchCount() {
+        return matchCount;
+    }
+
+    public BigDecimal getTotalIncome() {
+        return totalIncome;
+    }
+
+    public BigDecimal getTotalExpenses() {
+        return totalExpenses;
+    }
+
+    public BigDecimal getNetTotal() {
+        return totalIncome.subtract(totalExpenses);
+    }
+}
@@ -0,0 +1,115 @@
+package com.appdev.Finance.DTO;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Live state of one CSV import. Written only by the import worker thread and read by status
+ * requests, hence the volatile fields; the error list is synchronized.
+ */
+public class ImportProgress {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    // Row-level errors beyond this are counted in rowsSkipped but not listed
+    public static final int MAX_LISTED_ERRORS = 50;
+
+    private final String importId;
+    private final Long userId;
+    private final String fileName;
+    private final Instant submittedAt = Instant.now();
+    private volatile Status status = Status.QUEUED;
+    private volatile long rowsRead;
+    private volatile long rowsInserted;
+    private volatile long rowsSkipped;
+    private volatile String message;
+    private volatile Instant finishedAt;
+    private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+
+    public ImportProgress(String importId, Long userId, String fileName) {
+        this.importId = importId;
+        this.userId = userId;
+        this.fileName = fileName;
+    }
+
+    public String getImportId() {
+        return importId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getRowsInserted() {
+        return rowsInserted;
+    }
+
+    public void setRowsInserted(long rowsInserted) {
+        this.rowsInserted = rowsInserted;
+    }
+
+    public long getRowsSkipped() {
+        return rowsSkipped;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public List<String> getErrors() {
+        synchronized (errors) {
+            return new ArrayList<>(errors);
+        }
+    }
+
+    public void recordSkippedRow(int line, String reason) {
+        rowsSkipped++;
+        if (errors.size() < MAX_LISTED_ERRORS) {
+            errors.add("Line " + line + ": " + reason);
+        }
+    }
+
+    public void finish(Status finalStatus, String finalMessage) {
+        this.message = finalMessage;
+        this.finishedAt = Instant.now();
+        this.status = finalStatus;
+    }
+}
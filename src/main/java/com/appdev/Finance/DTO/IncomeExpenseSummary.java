@@ -0,0 +1,24 @@
+package com.appdev.Finance.DTO;
+
+import com.appdev.Finance.model.Money;
+
+/**
+ * Read-only projection returning income and expense totals from a single
+ * conditional-aggregation query. Sums are null when no rows matched.
+ */
+public interface IncomeExpenseSummary {
+    Long getTotalIncomeMinor(); // centavos
+    Long getTotalExpensesMinor();
+
+    default Money getTotalIncome() {
+        return Money.ofMinor(getTotalIncomeMinor());
+    }
+
+    default Money getTotalExpenses() {
+        return Money.ofMinor(getTotalExpensesMinor());
+    }
+
+    default Money getNetTotal() {
+        return getTotalIncome().minus(getTotalExpenses());
+    }
+}
@@ -0,0 +1,10 @@
+package com.appdev.Finance.DTO;
+
+/**
+ * Read-only projection for "SUM(amount_minor) GROUP BY month" queries, month being the
+ * English month name stored on Transaction.
+ */
+public interface MonthTotal {
+    String getMonth();
+    Long getTotalMinor(); // centavos
+}
@@ -0,0 +1,36 @@
+package com.appdev.Finance.DTO;
+
+/**
+ * A notification a background job wants to send, addressed by user id and e-mail (the WebSocket
+ * user name) so that the job does not have to load User entities.
+ */
+public class PendingNotification {
+
+    private final Long userId;
+    private final String email;
+    private final String message;
+    private final String link;
+
+    public PendingNotification(Long userId, String email, String message, String link) {
+        this.userId = userId;
+        this.email = email;
+        this.message = message;
+        this.link = link;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getLink() {
+        return link;
+    }
+}
@@ -0,0 +1,12 @@
+package com.appdev.Finance.DTO;
+
+import java.time.YearMonth;
+
+/**
+ * Read-only projection of the first and last Transaction.period of a user; both are null
+ * when the user has no transactions.
+ */
+public interface PeriodRange {
+    YearMonth getEarliest();
+    YearMonth getLatest();
+}
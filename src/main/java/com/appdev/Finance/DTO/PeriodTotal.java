@@ -0,0 +1,10 @@
+package com.appdev.Finance.DTO;
+
+/**
+ * Read-only projection for totals grouped by calendar year and month (1-12).
+ */
+public interface PeriodTotal {
+    Integer getPeriodYear();
+    Integer getPeriodMonth();
+    Long getTotalMinor(); // centavos
+}
@@ -0,0 +1,35 @@
+package com.appdev.Finance.DTO;
+
+/**
+ * What a list row needs to link to one receipt: the file id plus the name and type shown in the UI.
+ */
+public class ReceiptLink {
+
+    private final Long transactionId;
+    private final Long id;
+    private final String originalFileName;
+    private final String contentType;
+
+    public ReceiptLink(Long transactionId, Long id, String originalFileName, String contentType) {
+        this.transactionId = transactionId;
+        this.id = id;
+        this.originalFileName = originalFileName;
+        this.contentType = contentType;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getOriginalFileName() {
+        return originalFileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+}
@@ -0,0 +1,50 @@
+package com.appdev.Finance.DTO;
+
+import com.appdev.Finance.model.Money;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Projected expenses for the rest of the current month (see SpendForecaster).
+ */
+public class SpendForecast {
+
+    private final Money monthToDate;
+    private final Money projectedMonthEnd;
+    private final Money dailyRunRate;
+    private final LocalDate projectedExceedDate;
+
+    public SpendForecast(Money monthToDate, Money projectedMonthEnd, Money dailyRunRate, LocalDate projectedExceedDate) {
+        this.monthToDate = monthToDate;
+        this.projectedMonthEnd = projectedMonthEnd;
+        this.dailyRunRate = dailyRunRate;
+        this.projectedExceedDate = projectedExceedDate;
+    }
+
+    public Money getMonthToDateMoney() {
+        return monthToDate;
+    }
+
+    public Money getProjectedMonthEndMoney() {
+        return projectedMonthEnd;
+    }
+
+    public BigDecimal getMonthToDate() {
+        return monthToDate.toBigDecimal();
+    }
+
+    public BigDecimal getProjectedMonthEnd() {
+        return projectedMonthEnd.toBigDecimal();
+    }
+
+    // Smoothed, seasonally adjusted spend per day
+    public BigDecimal getDailyRunRate() {
+        return dailyRunRate.toBigDecimal();
+    }
+
+    // First day the budget is projected to be reached this month; null if it is not, or already was
+    public LocalDate getProjectedExceedDate() {
+        return projectedExceedDate;
+    }
+}
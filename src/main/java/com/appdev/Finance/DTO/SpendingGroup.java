@@ -0,0 +1,15 @@
+package com.appdev.Finance.DTO;
+
+/**
+ * Read-only projection of transactions grouped by (year, month name, category, type).
+ * Used to (re)build the user_spending_rollup table from raw transactions.
+ * periodYear is null for legacy rows without a transactionDate.
+ */
+public interface SpendingGroup {
+    Integer getPeriodYear();
+    String getMonth();
+    String getCategory();
+    String getType();
+    Long getTotalMinor(); // centavos
+    Long getTransactionCount();
+}
@@ -0,0 +1,16 @@
+package com.appdev.Finance.DTO;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of one exported transaction. Flat columns only, so streaming an export
+ * never hydrates Transaction entities or touches their lazy associations.
+ */
+public interface TransactionExportRow {
+    Long getId();
+    LocalDate getTransactionDate();
+    String getType();
+    String getCategory();
+    String getDescription();
+    Long getAmountMinor(); // centavos
+}
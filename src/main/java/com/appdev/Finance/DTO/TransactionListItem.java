@@ -0,0 +1,94 @@
+package com.appdev.Finance.DTO;
+
+import com.appdev.Finance.model.Money;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Read-only row of a transaction list (transactions page, dashboard widget, report). Built from a
+ * scalar select, so it is never managed by the persistence context and never joins the user or
+ * the receipt rows; {@code receiptCount} comes from a correlated COUNT subquery instead.
+ *
+ * Receipt links are only attached where a view shows them, and only for rows with a receipt.
+ */
+public class TransactionListItem {
+
+    private final Long id;
+    private final String description;
+    private final String category;
+    private final String type;
+    private final Long amountMinor;
+    private final LocalDate transactionDate;
+    private final String month;
+    private final long receiptCount;
+    private List<ReceiptLink> receipts = List.of();
+
+    public TransactionListItem(Long id, String description, String category, String type, Long amountMinor,
+                               LocalDate transactionDate, String month, Long receiptCount) {
+        this.id = id;
+        this.description = description;
+        this.category = category;
+        this.type = type;
+        this.amountMinor = amountMinor;
+        this.transactionDate = transactionDate;
+        this.month = month;
+        this.receiptCount = receiptCount != null ? receiptCount : 0L;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Long getAmountMinor() {
+        return amountMinor;
+    }
+
+    // Null only for a row whose amount was never set
+    public Money getMoney() {
+        return amountMinor != null ? Money.ofMinor(amountMinor.longValue()) : null;
+    }
+
+    // Presentation value for templates, e.g. #numbers.formatDecimal(tx.amount, ...)
+    public BigDecimal getAmount() {
+        return amountMinor != null ? Money.ofMinor(amountMinor.longValue()).toBigDecimal() : null;
+    }
+
+    public LocalDate getTransactionDate() {
+        return transactionDate;
+    }
+
+    public String getMonth() {
+        return month;
+    }
+
+    public long getReceiptCount() {
+        return receiptCount;
+    }
+
+    public boolean hasReceipts() {
+        return receiptCount > 0;
+    }
+
+    // Empty unless the list was loaded with receipt links
+    public List<ReceiptLink> getReceipts() {
+        return receipts;
+    }
+
+    public void setReceipts(List<ReceiptLink> receipts) {
+        this.receipts = receipts;
+    }
+}
@@ -0,0 +1,44 @@
+package com.appdev.Finance.DTO;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * One keyset page of a filtered transaction list. {@code nextCursor} is null on the last page.
+ * Match count and amount total are only computed for the first page (null afterwards),
+ * since they do not change while a client scrolls.
+ */
+public class TransactionPage {
+
+    private final List<TransactionListItem> transactions;
+    private final String nextCursor;
+    private final Long totalCount;
+    private final BigDecimal totalAmount;
+
+    public TransactionPage(List<TransactionListItem> transactions, String nextCursor, Long totalCount, BigDecimal totalAmount) {
+        this.transactions = transactions;
+        this.nextCursor = nextCursor;
+        this.totalCount = totalCount;
+        this.totalAmount = totalAmount;
+    }
+
+    public List<TransactionListItem> getTransactions() {
+        return transactions;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+
+    public Long getTotalCount() {
+        return totalCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+}
@@ -0,0 +1,48 @@
+package com.appdev.Finance.DTO;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * First N rows of a filtered transaction search together with the size and income/expense
+ * totals of the whole match, so widgets can show "5 of 212" without loading all 212 rows.
+ */
+public class TransactionSearchSummary {
+
+    private final List<TransactionListItem> topTransactions;
+    private final long totalCount;
+    private final BigDecimal totalIncome;
+    private final BigDecimal totalExpenses;
+
+    public TransactionSearchSummary(List<TransactionListItem> topTransactions, long totalCount,
+                                    BigDecimal totalIncome, BigDecimal totalExpenses) {
+        this.topTransactions = topTransactions;
+        this.totalCount = totalCount;
+        this.totalIncome = totalIncome;
+        this.totalExpenses = totalExpenses;
+    }
+
+    public static TransactionSearchSummary empty() {
+        return new TransactionSearchSummary(List.of(), 0L, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    public List<TransactionListItem> getTopTransactions() {
+        return topTransactions;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public BigDecimal getTotalIncome() {
+        return totalIncome;
+    }
+
+    public BigDecimal getTotalExpenses() {
+        return totalExpenses;
+    }
+
+    public boolean isTruncated() {
+        return totalCount > topTransactions.size();
+    }
+}
@@ -0,0 +1,9 @@
+package com.appdev.Finance.DTO;
+
+/**
+ * Read-only projection for "COUNT(*) GROUP BY user_id" over unread notifications.
+ */
+public interface UserUnreadCount {
+    Long getUserId();
+    Long getUnreadCount();
+}
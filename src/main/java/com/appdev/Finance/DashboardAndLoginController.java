@@ -1,20 +1,21 @@
 package com.appdev.Finance;
 
+import com.appdev.Finance.DTO.DashboardSnapshot;
+import com.appdev.Finance.DTO.DashboardView;
 import com.appdev.Finance.DTO.ReportSummaryDTO;
-import com.appdev.Finance.Repository.TransactionRepository;
+import com.appdev.Finance.DTO.TransactionSearchSummary;
 import com.appdev.Finance.Repository.UserRepository;
 import com.appdev.Finance.Service.ActivityLogService;
 import com.appdev.Finance.Service.BudgetService;
 import com.appdev.Finance.Service.ReportService;
+import com.appdev.Finance.Service.DashboardAssemblyService;
 import com.appdev.Finance.Service.TransactionService;
 import com.appdev.Finance.Service.UserService;
 import com.appdev.Finance.model.ActivityType;
-import com.appdev.Finance.model.Budget;
+import com.appdev.Finance.model.CategoryBudget;
 import com.appdev.Finance.model.Transaction;
 import com.appdev.Finance.model.User;
 import com.appdev.Finance.model.CustomUserDetails; // Make sure this is imported
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest; // Import HttpServletRequest
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,14 +34,10 @@ import org.springframework.web.servlet.support.RequestContextUtils; // Import fo
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode; // Import RoundingMode
-import java.time.LocalDate;
 import java.time.Month;
+import java.time.YearMonth;
 import java.time.format.TextStyle;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -54,31 +51,29 @@ public class DashboardAndLoginController {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserService userService;
-    private final TransactionRepository transactionRepository;
+    private final DashboardAssemblyService dashboardAssemblyService;
     private final BudgetService budgetService;
     private final ReportService reportService;
-    private final ObjectMapper objectMapper;
     private final ActivityLogService activityLogService;
     private final TransactionService transactionService;
     private static final Logger logger = LoggerFactory.getLogger(DashboardAndLoginController.class);
+    private static final int MAX_DASHBOARD_TRANSACTIONS = 5;
 
     @Autowired
     public DashboardAndLoginController(UserRepository userRepository,
                                        PasswordEncoder passwordEncoder,
                                        UserService userService,
-                                       TransactionRepository transactionRepository,
+                                       DashboardAssemblyService dashboardAssemblyService,
                                        BudgetService budgetService,
                                        ReportService reportService,
-                                       ObjectMapper objectMapper,
                                        ActivityLogService activityLogService,
                                        TransactionService transactionService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.userService = userService;
-        this.transactionRepository = transactionRepository;
+        this.dashboardAssemblyService = dashboardAssemblyService;
         this.budgetService = budgetService;
         this.reportService = reportService;
-        this.objectMapper = (objectMapper != null) ? objectMapper : new ObjectMapper();
         this.activityLogService = activityLogService;
         this.transactionService = transactionService;
     }
@@ -104,6 +99,7 @@ public class DashboardAndLoginController {
     public String dashboard(
             @AuthenticationPrincipal CustomUserDetails principalDetails, // Use Spring Security's principal
             @RequestParam(value = "selectedMonth", required = false) String selectedMonthParam,
+            @RequestParam(value = "selectedYear", required = false) Integer selectedYearParam,
             @RequestParam(required = false) String keyword,
             @RequestParam(name = "type", required = false) String transactionType,
             @RequestParam(required = false) String category,
@@ -157,130 +153,10 @@ public class DashboardAndLoginController {
             if (generalErrorMessage != null) model.addAttribute("generalErrorMessage", generalErrorMessage);
         }
         
-        String displayMonth;
-        if (selectedMonthParam == null || selectedMonthParam.trim().isEmpty()) {
-            displayMonth = LocalDate.now().getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH);
-        } else {
-            displayMonth = selectedMonthParam;
-        }
-        model.addAttribute("selectedMonth", displayMonth);
-
-        List<Transaction> allUserTransactions = transactionRepository.findByUserId(loggedInUser.getId());
-        if (allUserTransactions == null) allUserTransactions = new ArrayList<>();
-
-        Map<String, Double> categoryTotalsForChart = allUserTransactions.stream()
-            .filter(t -> "Expense".equalsIgnoreCase(t.getType()) && t.getAmount() != null)
-            .collect(Collectors.groupingBy(Transaction::getCategory, Collectors.summingDouble(Transaction::getAmount)));
-        Map<String, Double> monthlyTotalsForChart = allUserTransactions.stream()
-            .filter(t -> "Expense".equalsIgnoreCase(t.getType()) && t.getAmount() != null)
-            .collect(Collectors.groupingBy(Transaction::getMonth, Collectors.summingDouble(Transaction::getAmount)));
-
-        try {
-            model.addAttribute("categoryData", objectMapper.writeValueAsString(categoryTotalsForChart));
-            model.addAttribute("monthlyData", objectMapper.writeValueAsString(monthlyTotalsForChart));
-        } catch (JsonProcessingException e) {
-            logger.error("Error serializing chart data for user {}: {}", loggedInUser.getEmail(), e.getMessage());
-            model.addAttribute("categoryData", "{}");
-            model.addAttribute("monthlyData", "{}");
-            model.addAttribute("chartErrorMessage", "Could not load chart data.");
-        }
-
-        Budget budget = budgetService.getBudgetForUser(loggedInUser);
-        BigDecimal budgetAmount = (budget != null && budget.getAmount() != null) ? budget.getAmount() : BigDecimal.ZERO;
-
-        double totalExpensesForAllTime = allUserTransactions.stream()
-            .filter(t -> "Expense".equalsIgnoreCase(t.getType()) && t.getAmount() != null)
-            .mapToDouble(Transaction::getAmount).sum();
-
-        int expensePercentage = 0;
-        if (budgetAmount.compareTo(BigDecimal.ZERO) > 0) {
-            try {
-                 BigDecimal expensePercentageDecimal = BigDecimal.valueOf(totalExpensesForAllTime)
-                      .divide(budgetAmount, 4, RoundingMode.HALF_UP)
-                      .multiply(BigDecimal.valueOf(100));
-                 expensePercentage = expensePercentageDecimal.intValue();
-            } catch (ArithmeticException e) {
-                logger.warn("ArithmeticException during budget percentage calculation for user {}: budgetAmount was likely zero. Setting percentage based on expenses.", loggedInUser.getEmail());
-                expensePercentage = (totalExpensesForAllTime > 0) ? 100 : 0;
-            }
-        }
-        expensePercentage = Math.min(Math.max(expensePercentage, 0), 100);
-
-        model.addAttribute("expensePercentage", expensePercentage);
-        model.addAttribute("currentBudget", budgetAmount.doubleValue());
-
-        List<Transaction> selectedMonthTransactionsList;
-        List<String> availableCategoriesForFilter = new ArrayList<>();
-
-        try {
-            String monthToSearch = (startDate == null || startDate.isEmpty()) && (endDate == null || endDate.isEmpty()) ? displayMonth : null;
-
-            selectedMonthTransactionsList = transactionService.searchTransactions(
-                loggedInUser, keyword, transactionType, category, monthToSearch,
-                startDate, endDate, minAmount, maxAmount,
-                sortField, sortOrder
-            );
-            
-            availableCategoriesForFilter = transactionService.getDistinctCategoriesByUserId(loggedInUser.getId());
-
-        } catch (Exception e) {
-            logger.error("Error fetching dashboard transaction data for user: {}, month: {}, filters. Error: {}", loggedInUser.getEmail(), displayMonth, e.getMessage(), e);
-            model.addAttribute("transactionListError", "Could not load transaction data for " + displayMonth);
-            selectedMonthTransactionsList = Collections.emptyList();
-        }
-        
-        model.addAttribute("keyword", keyword);
-        model.addAttribute("selectedType", transactionType);
-        model.addAttribute("selectedCategory", category);
-        model.addAttribute("startDate", startDate);
-        model.addAttribute("endDate", endDate);
-        model.addAttribute("minAmount", minAmount);
-        model.addAttribute("maxAmount", maxAmount);
-
-        model.addAttribute("sortField", sortField);
-        model.addAttribute("sortOrder", sortOrder.toUpperCase());
-        model.addAttribute("availableCategoriesForFilter", availableCategoriesForFilter);
-
-        BigDecimal monthIncome = BigDecimal.ZERO;
-        BigDecimal monthExpenses = BigDecimal.ZERO;
-        if (selectedMonthTransactionsList != null) {
-            for (Transaction tx : selectedMonthTransactionsList) {
-                if (tx.getAmount() != null) {
-                    if ("Income".equalsIgnoreCase(tx.getType())) {
-                        monthIncome = monthIncome.add(BigDecimal.valueOf(tx.getAmount()));
-                    } else if ("Expense".equalsIgnoreCase(tx.getType())) {
-                        monthExpenses = monthExpenses.add(BigDecimal.valueOf(tx.getAmount()));
-                    }
-                }
-            }
-        }
-
-        model.addAttribute("selectedMonthTotalIncome", monthIncome);
-        model.addAttribute("selectedMonthTotalExpenses", monthExpenses);
-
-        final int MAX_DASHBOARD_TRANSACTIONS = 5;
-        List<Transaction> dashboardTransactionView;
-        boolean showingLimitedTransactions = false;
-        int totalTransactionsForMonthAfterFilter = (selectedMonthTransactionsList != null) ? selectedMonthTransactionsList.size() : 0;
-
-        if (selectedMonthTransactionsList != null) {
-            if (selectedMonthTransactionsList.size() > MAX_DASHBOARD_TRANSACTIONS) {
-                dashboardTransactionView = selectedMonthTransactionsList.stream().limit(MAX_DASHBOARD_TRANSACTIONS).collect(Collectors.toList());
-                showingLimitedTransactions = true;
-            } else {
-                dashboardTransactionView = selectedMonthTransactionsList;
-            }
-        } else {
-            dashboardTransactionView = Collections.emptyList();
-        }
-
-        model.addAttribute("selectedMonthTransactionsList", dashboardTransactionView);
-        model.addAttribute("showingLimitedTransactions", showingLimitedTransactions);
-        model.addAttribute("totalTransactionsForMonthAfterFilter", totalTransactionsForMonthAfterFilter);
+        String displayMonth = addSelectedPeriod(model, loggedInUser, selectedMonthParam, selectedYearParam);
 
-        List<String> monthNames = Arrays.stream(Month.values())
-            .map(m -> m.getDisplayName(TextStyle.FULL, Locale.ENGLISH)).collect(Collectors.toList());
-        model.addAttribute("availableMonths", monthNames);
+        populateDashboardModel(model, loggedInUser, displayMonth, keyword, transactionType, category,
+                startDate, endDate, minAmount, maxAmount, sortField, sortOrder);
         model.addAttribute("currentPage", "dashboard");
         
         return "dashboard";
@@ -289,6 +165,7 @@ public class DashboardAndLoginController {
     public String handleDashboardPost(
             @AuthenticationPrincipal CustomUserDetails principalDetails,
             @RequestParam(value = "selectedMonth", required = false) String selectedMonthParam,
+            @RequestParam(value = "selectedYear", required = false) Integer selectedYearParam,
             @RequestParam(required = false) String keyword,
             @RequestParam(name = "type", required = false) String transactionType,
             @RequestParam(required = false) String category,
@@ -333,110 +210,9 @@ public class DashboardAndLoginController {
             String generalErrorMessage = (String) flashMap.get("errorMessage");
             if (generalErrorMessage != null) model.addAttribute("generalErrorMessage", generalErrorMessage);
         }
-        String displayMonth;
-        if (selectedMonthParam == null || selectedMonthParam.trim().isEmpty()) {
-            displayMonth = LocalDate.now().getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH);
-        } else {
-            displayMonth = selectedMonthParam;
-        }
-        model.addAttribute("selectedMonth", displayMonth);
-        List<Transaction> allUserTransactions = transactionRepository.findByUserId(loggedInUser.getId());
-        if (allUserTransactions == null) allUserTransactions = new ArrayList<>();
-        Map<String, Double> categoryTotalsForChart = allUserTransactions.stream()
-            .filter(t -> "Expense".equalsIgnoreCase(t.getType()) && t.getAmount() != null)
-            .collect(Collectors.groupingBy(Transaction::getCategory, Collectors.summingDouble(Transaction::getAmount)));
-        Map<String, Double> monthlyTotalsForChart = allUserTransactions.stream()
-            .filter(t -> "Expense".equalsIgnoreCase(t.getType()) && t.getAmount() != null)
-            .collect(Collectors.groupingBy(Transaction::getMonth, Collectors.summingDouble(Transaction::getAmount)));
-        try {
-            model.addAttribute("categoryData", objectMapper.writeValueAsString(categoryTotalsForChart));
-            model.addAttribute("monthlyData", objectMapper.writeValueAsString(monthlyTotalsForChart));
-        } catch (JsonProcessingException e) {
-            logger.error("Error serializing chart data for user {}: {}", loggedInUser.getEmail(), e.getMessage());
-            model.addAttribute("categoryData", "{}");
-            model.addAttribute("monthlyData", "{}");
-            model.addAttribute("chartErrorMessage", "Could not load chart data.");
-        }
-        Budget budget = budgetService.getBudgetForUser(loggedInUser);
-        BigDecimal budgetAmount = (budget != null && budget.getAmount() != null) ? budget.getAmount() : BigDecimal.ZERO;
-        double totalExpensesForAllTime = allUserTransactions.stream()
-            .filter(t -> "Expense".equalsIgnoreCase(t.getType()) && t.getAmount() != null)
-            .mapToDouble(Transaction::getAmount).sum();
-        int expensePercentage = 0;
-        if (budgetAmount.compareTo(BigDecimal.ZERO) > 0) {
-            try {
-                 BigDecimal expensePercentageDecimal = BigDecimal.valueOf(totalExpensesForAllTime)
-                      .divide(budgetAmount, 4, RoundingMode.HALF_UP)
-                      .multiply(BigDecimal.valueOf(100));
-                 expensePercentage = expensePercentageDecimal.intValue();
-            } catch (ArithmeticException e) {
-                logger.warn("ArithmeticException during budget percentage calculation for user {}: budgetAmount was likely zero.", loggedInUser.getEmail());
-                expensePercentage = (totalExpensesForAllTime > 0) ? 100 : 0;
-            }
-        }
-        expensePercentage = Math.min(Math.max(expensePercentage, 0), 100);
-        model.addAttribute("expensePercentage", expensePercentage);
-        model.addAttribute("currentBudget", budgetAmount.doubleValue());
-        List<Transaction> selectedMonthTransactionsList;
-        List<String> availableCategoriesForFilter = new ArrayList<>();
-        try {
-            String monthToSearch = (startDate == null || startDate.isEmpty()) && (endDate == null || endDate.isEmpty()) ? displayMonth : null;
-            selectedMonthTransactionsList = transactionService.searchTransactions(
-                loggedInUser, keyword, transactionType, category, monthToSearch,
-                startDate, endDate, minAmount, maxAmount,
-                sortField, sortOrder.toUpperCase() // Ensure sortOrder is passed correctly
-            );
-            availableCategoriesForFilter = transactionService.getDistinctCategoriesByUserId(loggedInUser.getId());
-        } catch (Exception e) {
-            logger.error("Error fetching dashboard transaction data (POST) for user: {}, month: {}, filters. Error: {}", loggedInUser.getEmail(), displayMonth, e.getMessage(), e);
-            model.addAttribute("transactionListError", "Could not load transaction data for " + displayMonth);
-            selectedMonthTransactionsList = Collections.emptyList();
-        }
-        model.addAttribute("keyword", keyword);
-        model.addAttribute("selectedType", transactionType);
-        model.addAttribute("selectedCategory", category);
-        model.addAttribute("startDate", startDate);
-        model.addAttribute("endDate", endDate);
-        model.addAttribute("minAmount", minAmount);
-        model.addAttribute("maxAmount", maxAmount);
-        model.addAttribute("sortField", sortField);
-        model.addAttribute("sortOrder", sortOrder.toUpperCase());
-        model.addAttribute("availableCategoriesForFilter", availableCategoriesForFilter);
-        BigDecimal monthIncome = BigDecimal.ZERO;
-        BigDecimal monthExpenses = BigDecimal.ZERO;
-        if (selectedMonthTransactionsList != null) {
-            for (Transaction tx : selectedMonthTransactionsList) {
-                if (tx.getAmount() != null) {
-                    if ("Income".equalsIgnoreCase(tx.getType())) {
-                        monthIncome = monthIncome.add(BigDecimal.valueOf(tx.getAmount()));
-                    } else if ("Expense".equalsIgnoreCase(tx.getType())) {
-                        monthExpenses = monthExpenses.add(BigDecimal.valueOf(tx.getAmount()));
-                    }
-                }
-            }
-        }
-        model.addAttribute("selectedMonthTotalIncome", monthIncome);
-        model.addAttribute("selectedMonthTotalExpenses", monthExpenses);
-        final int MAX_DASHBOARD_TRANSACTIONS = 5;
-        List<Transaction> dashboardTransactionView;
-        boolean showingLimitedTransactions = false;
-        int totalTransactionsForMonthAfterFilter = (selectedMonthTransactionsList != null) ? selectedMonthTransactionsList.size() : 0;
-        if (selectedMonthTransactionsList != null) {
-            if (selectedMonthTransactionsList.size() > MAX_DASHBOARD_TRANSACTIONS) {
-                dashboardTransactionView = selectedMonthTransactionsList.stream().limit(MAX_DASHBOARD_TRANSACTIONS).collect(Collectors.toList());
-                showingLimitedTransactions = true;
-            } else {
-                dashboardTransactionView = selectedMonthTransactionsList;
-            }
-        } else {
-            dashboardTransactionView = Collections.emptyList();
-        }
-        model.addAttribute("selectedMonthTransactionsList", dashboardTransactionView);
-        model.addAttribute("showingLimitedTransactions", showingLimitedTransactions);
-        model.addAttribute("totalTransactionsForMonthAfterFilter", totalTransactionsForMonthAfterFilter);
-        List<String> monthNames = Arrays.stream(Month.values())
-            .map(m -> m.getDisplayName(TextStyle.FULL, Locale.ENGLISH)).collect(Collectors.toList());
-        model.addAttribute("availableMonths", monthNames);
+        String displayMonth = addSelectedPeriod(model, loggedInUser, selectedMonthParam, selectedYearParam);
+        populateDashboardModel(model, loggedInUser, displayMonth, keyword, transactionType, category,
+                startDate, endDate, minAmount, maxAmount, sortField, sortOrder);
         model.addAttribute("currentPage", "dashboard");
         // --- End of identical part ---
 
@@ -544,24 +320,10 @@ public class DashboardAndLoginController {
     public String saveDashboardBudget(@RequestParam("amount") double amount,
                                       HttpSession session, RedirectAttributes redirectAttributes,
                                       HttpServletRequest httpRequest) {
-        User user = (User) session.getAttribute("loggedInUser"); 
-
-        if (user == null || user.getId() == null) {
-             Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-             if (auth != null && auth.isAuthenticated() && auth.getPrincipal() instanceof CustomUserDetails) {
-                 CustomUserDetails userDetails = (CustomUserDetails) auth.getPrincipal();
-                 Optional<User> userOpt = userService.findByEmail(userDetails.getUsername());
-                 if(userOpt.isPresent()){
-                     user = userOpt.get();
-                     session.setAttribute("loggedInUser", user);
-                 } else {
-                     redirectAttributes.addFlashAttribute("errorMessage", "Session error. Please log in again.");
-                     return "redirect:/login";
-                 }
-            } else {
-                redirectAttributes.addFlashAttribute("errorMessage", "Please log in again.");
-                return "redirect:/login";
-            }
+        User user = resolveBudgetUser(session);
+        if (user == null) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Please log in again.");
+            return "redirect:/login";
         }
         
         if (amount < 0) {
@@ -579,6 +341,64 @@ public class DashboardAndLoginController {
         return "redirect:/dashboard"; 
     }
 
+    @PostMapping("/dashboard/category-budget/save")
+    public String saveCategoryBudget(@RequestParam("category") String category,
+                                     @RequestParam("amount") double amount,
+                                     @RequestParam(value = "thresholds", required = false) String thresholds,
+                                     HttpSession session, RedirectAttributes redirectAttributes,
+                                     HttpServletRequest httpRequest) {
+        User user = resolveBudgetUser(session);
+        if (user == null) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Please log in again.");
+            return "redirect:/login";
+        }
+        try {
+            CategoryBudget saved = budgetService.saveCategoryBudget(user, category, amount, thresholds);
+            activityLogService.logActivity(user, ActivityType.BUDGET_UPDATED, "Budget for " + category.trim() +
+                    " updated to: ₱" + String.format("%.2f", saved.getMoney().toBigDecimal()), httpRequest);
+            redirectAttributes.addFlashAttribute("successMessage", "Budget for " + category.trim() + " saved.");
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error saving category budget for user {}: {}", user.getEmail(), e.getMessage(), e);
+            redirectAttributes.addFlashAttribute("errorMessage", "Failed to save the category budget.");
+        }
+        return "redirect:/dashboard";
+    }
+
+    @PostMapping("/dashboard/category-budget/delete")
+    public String deleteCategoryBudget(@RequestParam("id") Long categoryBudgetId,
+                                       HttpSession session, RedirectAttributes redirectAttributes) {
+        User user = resolveBudgetUser(session);
+        if (user == null) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Please log in again.");
+            return "redirect:/login";
+        }
+        if (budgetService.deleteCategoryBudget(user, categoryBudgetId)) {
+            redirectAttributes.addFlashAttribute("successMessage", "Category budget removed.");
+        } else {
+            redirectAttributes.addFlashAttribute("errorMessage", "Category budget not found.");
+        }
+        return "redirect:/dashboard";
+    }
+
+    // Session user, re-read from the security context when the session lost it; null if not logged in
+    private User resolveBudgetUser(HttpSession session) {
+        User user = (User) session.getAttribute("loggedInUser");
+        if (user != null && user.getId() != null) {
+            return user;
+        }
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && auth.getPrincipal() instanceof CustomUserDetails userDetails) {
+            Optional<User> userOpt = userService.findByEmail(userDetails.getUsername());
+            if (userOpt.isPresent()) {
+                session.setAttribute("loggedInUser", userOpt.get());
+                return userOpt.get();
+            }
+        }
+        return null;
+    }
+
     @GetMapping("/logout")
     public String logout(HttpSession session, RedirectAttributes redirectAttributes, HttpServletRequest httpRequest) {
         User loggedInUser = (User) session.getAttribute("loggedInUser"); 
@@ -603,6 +423,93 @@ public class DashboardAndLoginController {
         return "redirect:/login?logout=true"; 
     }
 
+    /**
+     * Resolves the month and year selects to one period (default: the current month) and adds the
+     * select values and its label to the model. Returns the period as "yyyy-MM", the month filter
+     * the dashboard searches with, so that other years' rows for the same month name stay out.
+     */
+    private String addSelectedPeriod(Model model, User loggedInUser, String selectedMonthParam, Integer selectedYearParam) {
+        YearMonth period = YearMonth.now();
+        if (selectedMonthParam != null && !selectedMonthParam.trim().isEmpty()) {
+            YearMonth parsed = Transaction.parsePeriod(selectedMonthParam,
+                    (selectedYearParam != null) ? selectedYearParam : period.getYear());
+            if (parsed != null) {
+                period = parsed;
+            } else {
+                logger.warn("/dashboard: Unknown month '{}'. Showing the current month.", selectedMonthParam);
+            }
+        } else if (selectedYearParam != null) {
+            period = period.withYear(selectedYearParam);
+        }
+        String monthName = period.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH);
+        model.addAttribute("selectedMonth", monthName);
+        model.addAttribute("selectedYear", period.getYear());
+        model.addAttribute("selectedPeriod", period.toString());
+        model.addAttribute("selectedPeriodLabel", monthName + " " + period.getYear());
+        model.addAttribute("availableYears", reportService.getAvailableYears(loggedInUser, period.getYear()));
+        return period.toString();
+    }
+
+    /**
+     * Shared model population for GET and POST /dashboard. The independent reads run in parallel in
+     * DashboardAssemblyService; parts that fail or time out surface as chartErrorMessage /
+     * transactionListError while the rest of the page still renders.
+     */
+    private void populateDashboardModel(Model model, User loggedInUser, String displayMonth,
+                                        String keyword, String transactionType, String category,
+                                        String startDate, String endDate, Double minAmount, Double maxAmount,
+                                        String sortField, String sortOrder) {
+        DashboardView view = dashboardAssemblyService.assemble(loggedInUser, displayMonth,
+                keyword, transactionType, category, startDate, endDate, minAmount, maxAmount,
+                sortField, sortOrder, MAX_DASHBOARD_TRANSACTIONS);
+        TransactionSearchSummary transactions = view.getTransactions();
+
+        DashboardSnapshot snapshot = view.getSnapshot();
+        if (snapshot != null) {
+            model.addAttribute("categoryData", snapshot.getCategoryDataJson());
+            model.addAttribute("monthlyData", snapshot.getMonthlyDataJson());
+            model.addAttribute("expensePercentage", snapshot.getExpensePercentage());
+            model.addAttribute("currentBudget", snapshot.getBudgetAmount().doubleValue());
+        } else {
+            model.addAttribute("categoryData", "{}");
+            model.addAttribute("monthlyData", "{}");
+            model.addAttribute("expensePercentage", 0);
+            model.addAttribute("currentBudget", 0.0);
+        }
+        if (view.isChartDataUnavailable() || (snapshot != null && snapshot.isChartDataError())) {
+            model.addAttribute("chartErrorMessage", "Could not load chart data.");
+        }
+        if (view.isTransactionListUnavailable()) {
+            model.addAttribute("transactionListError", "Could not load transaction data for " + model.getAttribute("selectedPeriodLabel"));
+        }
+
+        model.addAttribute("categoryBudgets", view.getCategoryBudgets());
+        model.addAttribute("monthEndForecast", view.getMonthEndForecast());
+
+        model.addAttribute("keyword", keyword);
+        model.addAttribute("selectedType", transactionType);
+        model.addAttribute("selectedCategory", category);
+        model.addAttribute("startDate", startDate);
+        model.addAttribute("endDate", endDate);
+        model.addAttribute("minAmount", minAmount);
+        model.addAttribute("maxAmount", maxAmount);
+
+        model.addAttribute("sortField", sortField);
+        model.addAttribute("sortOrder", sortOrder.toUpperCase());
+        model.addAttribute("availableCategoriesForFilter", view.getAvailableCategories());
+
+        model.addAttribute("selectedMonthTotalIncome", transactions.getTotalIncome());
+        model.addAttribute("selectedMonthTotalExpenses", transactions.getTotalExpenses());
+
+        model.addAttribute("selectedMonthTransactionsList", transactions.getTopTransactions());
+        model.addAttribute("showingLimitedTransactions", transactions.isTruncated());
+        model.addAttribute("totalTransactionsForMonthAfterFilter", transactions.getTotalCount());
+
+        List<String> monthNames = Arrays.stream(Month.values())
+            .map(m -> m.getDisplayName(TextStyle.FULL, Locale.ENGLISH)).collect(Collectors.toList());
+        model.addAttribute("availableMonths", monthNames);
+    }
+
     @GetMapping("/about-us")
     public String aboutUsPage(HttpSession session, Model model, HttpServletRequest httpRequest) { // Add HttpServletRequest
         model.addAttribute("currentPage", "about-us");
@@ -0,0 +1,10 @@
+package com.appdev.Finance.Event;
+
+import com.appdev.Finance.model.User;
+
+/**
+ * Published when a user's overall or category budget was saved. Listeners see it only after the
+ * saving DB transaction committed.
+ */
+public record BudgetChanged(User user) {
+}
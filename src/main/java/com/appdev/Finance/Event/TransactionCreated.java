@@ -0,0 +1,12 @@
+package com.appdev.Finance.Event;
+
+import com.appdev.Finance.model.User;
+
+/**
+ * Published when transactions were saved for a user, one event per save or per CSV import.
+ * Listeners see it only after the saving DB transaction committed.
+ *
+ * @param expense whether any of the saved transactions is an expense
+ */
+public record TransactionCreated(User user, Long transactionId, boolean expense) {
+}
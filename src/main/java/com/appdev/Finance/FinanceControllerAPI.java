@@ -9,11 +9,14 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile; // For file upload
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.appdev.Finance.DTO.TransactionListItem;
+import com.appdev.Finance.DTO.TransactionPage;
 import com.appdev.Finance.Service.ActivityLogService;
 // TagService removed
 import com.appdev.Finance.Service.TransactionService;
 import com.appdev.Finance.model.ActivityType;
 // Tag model removed
+import com.appdev.Finance.model.Money;
 import com.appdev.Finance.model.Transaction;
 import com.appdev.Finance.model.User;
 
@@ -29,12 +32,13 @@ import java.time.format.DateTimeParseException;
 import java.time.format.TextStyle;
 import java.util.ArrayList;
 import java.util.HashSet; // Keep for potential non-tag Set usage
-import java.util.stream.Collectors;
 
 @Controller
 public class FinanceControllerAPI {
 
     private static final Logger logger = LoggerFactory.getLogger(FinanceControllerAPI.class);
+    // Rows rendered server-side; further pages are pulled by transactions.js from /api/transactions
+    static final int TRANSACTIONS_PAGE_SIZE = 50;
 
     @Autowired
     private TransactionService transactionService;
@@ -71,7 +75,7 @@ public class FinanceControllerAPI {
             return "redirect:/login";
         }
 
-        List<Transaction> transactions;
+        List<TransactionListItem> transactions;
         List<String> availableCategories = new ArrayList<>();
         // List<Tag> userTags = new ArrayList<>(); // Removed userTags
 
@@ -79,22 +83,19 @@ public class FinanceControllerAPI {
             availableCategories = transactionService.getDistinctCategoriesByUserId(loggedInUser.getId());
             // userTags = tagService.getTagsByUser(loggedInUser); // Removed
 
-            transactions = transactionService.searchTransactions(
+            TransactionPage page = transactionService.searchTransactionsPage(
                 loggedInUser, keyword, transactionType, category, month,
                 startDate, endDate, minAmount, maxAmount, 
-                sortField, sortOrder
+                sortField, sortOrder, null, TRANSACTIONS_PAGE_SIZE
             );
+            transactions = page.getTransactions();
 
             model.addAttribute("transactions", transactions);
             
-            double totalAmount = 0.0;
-            if (transactions != null) {
-                totalAmount = transactions.stream()
-                                        .filter(t -> t.getAmount() != null)
-                                        .mapToDouble(Transaction::getAmount)
-                                        .sum();
-            }
-            model.addAttribute("totalAmount", totalAmount);
+            // Totals cover every match, not just the rows rendered on this first page
+            model.addAttribute("totalAmount", page.getTotalAmount());
+            model.addAttribute("totalTransactions", page.getTotalCount());
+            model.addAttribute("nextCursor", page.getNextCursor());
             model.addAttribute("keyword", keyword);
             model.addAttribute("selectedType", transactionType);
             model.addAttribute("selectedCategory", category);
@@ -144,29 +145,25 @@ public class FinanceControllerAPI {
             return "redirect:/login";
         }
 
-        List<Transaction> transactions;
+        List<TransactionListItem> transactions;
         List<String> availableCategories = new ArrayList<>();
 
         try {
             availableCategories = transactionService.getDistinctCategoriesByUserId(loggedInUser.getId());
 
             // Call your existing service method. Ensure it handles null for month if it's not a filter criteria here.
-            transactions = transactionService.searchTransactions(
+            TransactionPage page = transactionService.searchTransactionsPage(
                 loggedInUser, keyword, transactionType, category, month, 
                 startDate, endDate, minAmount, maxAmount,
-                sortField, sortOrder.toUpperCase()
+                sortField, sortOrder.toUpperCase(), null, TRANSACTIONS_PAGE_SIZE
             );
+            transactions = page.getTransactions();
 
             model.addAttribute("transactions", transactions);
 
-            double totalAmount = 0.0;
-            if (transactions != null) {
-                totalAmount = transactions.stream()
-                                        .filter(t -> t.getAmount() != null)
-                                        .mapToDouble(Transaction::getAmount)
-                                        .sum();
-            }
-            model.addAttribute("totalAmount", totalAmount);
+            model.addAttribute("totalAmount", page.getTotalAmount());
+            model.addAttribute("totalTransactions", page.getTotalCount());
+            model.addAttribute("nextCursor", page.getNextCursor());
 
             // Add all parameters back to the model so the form fields can be repopulated
             // and subsequent sort links can use them if they still use GET.
@@ -283,19 +280,10 @@ public class FinanceControllerAPI {
             return "redirect:/login";
         }
 
-        List<Transaction> transactions;
+        List<TransactionListItem> transactions;
         try {
             logger.debug("Fetching transactions for user ID: {} and month: {}", loggedInUser.getId(), month);
-           
-            List<Transaction> allUserTransactions = transactionService.getTransactionsByUserId(loggedInUser.getId());
-            if (allUserTransactions != null) {
-                 transactions = allUserTransactions
-                    .stream()
-                    .filter(t -> month.equalsIgnoreCase(t.getMonth()))
-                    .collect(Collectors.toList());
-            } else {
-                transactions = List.of();
-            }
+            transactions = transactionService.getListItemsByUserIdAndMonth(loggedInUser.getId(), month);
             logger.info("Found {} transactions for user ID: {} and month: {}", transactions.size(), loggedInUser.getId(), month);
 
         } catch (Exception e) {
@@ -307,14 +295,14 @@ public class FinanceControllerAPI {
         model.addAttribute("transactions", transactions);
         model.addAttribute("selectedMonth", month);
        
-        double totalAmount = 0.0;
+        long totalMinor = 0L;
         if (transactions != null) {
-            totalAmount = transactions.stream()
-                                    .filter(t -> t.getAmount() != null)
-                                    .mapToDouble(Transaction::getAmount)
+            totalMinor = transactions.stream()
+                                    .filter(t -> t.getAmountMinor() != null)
+                                    .mapToLong(TransactionListItem::getAmountMinor)
                                     .sum();
         }
-        model.addAttribute("totalAmount", totalAmount);
+        model.addAttribute("totalAmount", Money.ofMinor(totalMinor).toBigDecimal());
         model.addAttribute("pageContext", "transactionsByMonth");
 
         return "transactions"; 
@@ -1,8 +1,9 @@
 package com.appdev.Finance;
 
 import com.appdev.Finance.DTO.ReportSummaryDTO;
-import com.appdev.Finance.Repository.TransactionRepository; // If needed directly, or through ReportService
+import com.appdev.Finance.DTO.TransactionListItem;
 import com.appdev.Finance.Service.ReportService;
+import com.appdev.Finance.Service.SpendingRollupService;
 import com.appdev.Finance.model.Transaction;
 import com.appdev.Finance.model.User;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -24,8 +25,8 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.Month;
 import java.time.Year;
+import java.time.YearMonth;
 import java.time.format.TextStyle;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -37,21 +38,22 @@ import java.util.stream.Collectors;
 public class ReportController {
 
     private final ReportService reportService;
-    private final TransactionRepository transactionRepository; // For all-time chart data
+    private final SpendingRollupService spendingRollupService; // For all-time chart data
     private final ObjectMapper objectMapper;
 
     @Autowired
     public ReportController(ReportService reportService,
-                            TransactionRepository transactionRepository,
+                            SpendingRollupService spendingRollupService,
                             ObjectMapper objectMapper) {
         this.reportService = reportService;
-        this.transactionRepository = transactionRepository;
+        this.spendingRollupService = spendingRollupService;
         this.objectMapper = (objectMapper != null) ? objectMapper : new ObjectMapper();
     }
 
     @GetMapping("/report")
     public String showReportPage(
             @RequestParam(value = "selectedMonth", required = false) String selectedMonthParam,
+            @RequestParam(value = "selectedYear", required = false) Integer selectedYearParam,
             HttpSession session,
             Model model) {
 
@@ -67,32 +69,29 @@ public class ReportController {
         } else {
             selectedMonth = selectedMonthParam;
         }
+        int selectedYear = (selectedYearParam != null) ? selectedYearParam : Year.now().getValue();
+        // The report covers one year-month; a bare month name used to merge every year together
+        YearMonth period = Transaction.parsePeriod(selectedMonth, selectedYear);
+        if (period != null) {
+            // A "yyyy-MM" parameter is shown in the month and year selects like any other
+            selectedMonth = monthName(period);
+            selectedYear = period.getYear();
+        }
         model.addAttribute("selectedMonth", selectedMonth);
+        model.addAttribute("selectedYear", selectedYear);
 
-        List<Transaction> filteredTransactions = Collections.emptyList();
+        List<TransactionListItem> filteredTransactions = Collections.emptyList();
         ReportSummaryDTO summary = new ReportSummaryDTO(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
         String categoryDataJson = "{}";
         String monthlyDataJson = "{}";
-        List<Transaction> allTransactions = new ArrayList<>();
 
         try {
-            filteredTransactions = reportService.getTransactionsForUserByMonth(loggedInUser, selectedMonth);
-            summary = reportService.getReportSummaryForMonth(loggedInUser, selectedMonth);
-
-            allTransactions = transactionRepository.findByUserId(loggedInUser.getId());
-            if (allTransactions == null) {
-                allTransactions = new ArrayList<>();
-            }
+            filteredTransactions = reportService.getTransactionsForUserByPeriod(loggedInUser, period);
+            summary = reportService.getReportSummaryForPeriod(loggedInUser, period);
 
-            Map<String, Double> categoryTotals = allTransactions.stream()
-                .filter(t -> "Expense".equalsIgnoreCase(t.getType()))
-                .collect(Collectors.groupingBy(Transaction::getCategory,
-                        Collectors.summingDouble(Transaction::getAmount)));
-
-            Map<String, Double> monthlyTotals = allTransactions.stream()
-                .filter(t -> "Expense".equalsIgnoreCase(t.getType()))
-                .collect(Collectors.groupingBy(Transaction::getMonth,
-                        Collectors.summingDouble(Transaction::getAmount)));
+            // All-time chart data is read from the spending rollup instead of the full transaction history
+            Map<String, BigDecimal> categoryTotals = spendingRollupService.getExpenseTotalsByCategory(loggedInUser.getId());
+            Map<String, BigDecimal> monthlyTotals = spendingRollupService.getExpenseTotalsByMonth(loggedInUser.getId());
 
             try {
                  categoryDataJson = objectMapper.writeValueAsString(categoryTotals);
@@ -117,6 +116,8 @@ public class ReportController {
 
         model.addAttribute("transactions", filteredTransactions);
         model.addAttribute("availableMonths", monthNames);
+        model.addAttribute("availableYears", reportService.getAvailableYears(loggedInUser, selectedYear));
+        model.addAttribute("reportPeriodLabel", period != null ? displayName(period) : selectedMonth);
         model.addAttribute("totalIncome", summary.getTotalIncome());
         model.addAttribute("totalExpenses", summary.getTotalExpenses());
         model.addAttribute("netTotal", summary.getNetTotal());
@@ -129,6 +130,7 @@ public class ReportController {
     @GetMapping("/report/download/csv")
     public ResponseEntity<String> downloadReportCsv(
             @RequestParam("selectedMonth") String selectedMonth,
+            @RequestParam(value = "selectedYear", required = false) Integer selectedYearParam,
             HttpSession session) {
 
         User loggedInUser = (User) session.getAttribute("loggedInUser");
@@ -136,18 +138,24 @@ public class ReportController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not logged in.");
         }
 
-        List<Transaction> transactions;
+        YearMonth period = Transaction.parsePeriod(selectedMonth,
+                (selectedYearParam != null) ? selectedYearParam : Year.now().getValue());
+        if (period == null) {
+            return ResponseEntity.badRequest().body("Unknown month: " + selectedMonth);
+        }
+
+        List<TransactionListItem> transactions;
         ReportSummaryDTO summary;
         try {
-            transactions = reportService.getTransactionsForUserByMonth(loggedInUser, selectedMonth);
-            summary = reportService.getReportSummaryForMonth(loggedInUser, selectedMonth);
+            transactions = reportService.getTransactionsForUserByPeriod(loggedInUser, period);
+            summary = reportService.getReportSummaryForPeriod(loggedInUser, period);
         } catch (Exception e) {
             System.err.println("Error fetching data for CSV download: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error generating report data.");
         }
 
         StringBuilder csvData = new StringBuilder();
-        csvData.append("Report Summary for:,").append(selectedMonth).append("\n");
+        csvData.append("Report Summary for:,").append(displayName(period)).append("\n");
         csvData.append("Category,Amount (PHP)\n");
         csvData.append("Total Income,").append(summary.getTotalIncome() != null ? summary.getTotalIncome().toPlainString() : "0.00").append("\n");
         csvData.append("Total Expenses,").append(summary.getTotalExpenses() != null ? summary.getTotalExpenses().toPlainString() : "0.00").append("\n");
@@ -155,20 +163,18 @@ public class ReportController {
         csvData.append("Transaction Details\n");
         csvData.append("Description,Category,Type,Amount (PHP)\n");
         if (transactions != null && !transactions.isEmpty()) {
-            for (Transaction tx : transactions) {
+            for (TransactionListItem tx : transactions) {
                 csvData.append(escapeCsvField(tx.getDescription())).append(",");
                 csvData.append(escapeCsvField(tx.getCategory())).append(",");
                 csvData.append(escapeCsvField(tx.getType())).append(",");
-                csvData.append(tx.getAmount() != null ? String.format("%.2f", tx.getAmount()) : "0.00").append("\n");
+                csvData.append(tx.getMoney() != null ? tx.getMoney().toString() : "0.00").append("\n");
             }
         } else {
             csvData.append("No transactions found for this month.\n");
         }
 
         HttpHeaders headers = new HttpHeaders();
-        String currentYear = String.valueOf(Year.now().getValue());
-        String safeMonth = selectedMonth.replaceAll("[^a-zA-Z0-9.-]", "_");
-        String filename = String.format("report_%s_%s.csv", safeMonth, currentYear);
+        String filename = String.format("report_%s_%d.csv", monthName(period), period.getYear());
         headers.setContentDisposition(ContentDisposition.attachment().filename(filename).build());
         headers.setContentType(MediaType.parseMediaType("text/csv"));
 
@@ -180,6 +186,7 @@ public class ReportController {
     @GetMapping("/report/download/pdf")
     public ResponseEntity<byte[]> downloadReportPdf(
             @RequestParam("selectedMonth") String selectedMonth,
+            @RequestParam(value = "selectedYear", required = false) Integer selectedYearParam,
             HttpSession session) {
 
         User loggedInUser = (User) session.getAttribute("loggedInUser");
@@ -187,13 +194,17 @@ public class ReportController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
         }
 
+        YearMonth period = Transaction.parsePeriod(selectedMonth,
+                (selectedYearParam != null) ? selectedYearParam : Year.now().getValue());
+        if (period == null) {
+            return ResponseEntity.badRequest().body(null);
+        }
+
         try {
-            byte[] pdfBytes = reportService.generatePdfReport(loggedInUser, selectedMonth);
+            byte[] pdfBytes = reportService.generatePdfReport(loggedInUser, period);
 
             HttpHeaders headers = new HttpHeaders();
-            String currentYear = String.valueOf(Year.now().getValue());
-            String safeMonth = selectedMonth.replaceAll("[^a-zA-Z0-9.-]", "_");
-            String filename = String.format("report_%s_%s.pdf", safeMonth, currentYear);
+            String filename = String.format("report_%s_%d.pdf", monthName(period), period.getYear());
 
             headers.setContentDisposition(ContentDisposition.attachment().filename(filename).build());
             headers.setContentType(MediaType.APPLICATION_PDF);
@@ -211,6 +222,14 @@ public class ReportController {
         }
     }
 
+    private static String monthName(YearMonth period) {
+        return period.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH);
+    }
+
+    private static String displayName(YearMonth period) {
+        return monthName(period) + " " + period.getYear();
+    }
+
     private String escapeCsvField(String field) {
         if (field == null) return "\"\"";
         if (field.contains(",") || field.contains("\"") || field.contains("\n")) {
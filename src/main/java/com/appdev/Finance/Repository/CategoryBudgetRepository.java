@@ -0,0 +1,25 @@
+package com.appdev.Finance.Repository;
+
+import com.appdev.Finance.model.CategoryBudget;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryBudgetRepository extends JpaRepository<CategoryBudget, Long> {
+
+    // With the category names, for the threshold check and the dashboard list
+    @Query("SELECT b FROM CategoryBudget b JOIN FETCH b.userCategory c WHERE b.user.id = :userId ORDER BY c.name ASC")
+    List<CategoryBudget> findByUserIdWithCategory(@Param("userId") Long userId);
+
+    Optional<CategoryBudget> findByUserIdAndUserCategoryId(Long userId, Long categoryId);
+
+    @Modifying
+    @Query("DELETE FROM CategoryBudget b WHERE b.id = :id AND b.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+}
@@ -1,11 +1,15 @@
 package com.appdev.Finance.Repository;
 
+import com.appdev.Finance.DTO.UserUnreadCount;
 import com.appdev.Finance.model.Notification;
 import com.appdev.Finance.model.NotificationStatus;
 import com.appdev.Finance.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,4 +17,10 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByUserAndStatusOrderByCreatedAtDesc(User user, NotificationStatus status);
     List<Notification> findByUserOrderByCreatedAtDesc(User user);
     long countByUserAndStatus(User user, NotificationStatus status);
+
+    // Unread counts of many users at once, for batch sends; users without any are absent
+    @Query("SELECT n.user.id AS userId, COUNT(n) AS unreadCount FROM Notification n " +
+           "WHERE n.user.id IN :userIds AND n.status = :status GROUP BY n.user.id")
+    List<UserUnreadCount> countByUserIdsAndStatus(@Param("userIds") Collection<Long> userIds,
+                                                  @Param("status") NotificationStatus status);
 }
\ No newline at end of file
@@ -1,28 +1,42 @@
 package com.appdev.Finance.Repository;
 
+import com.appdev.Finance.DTO.CategoryIdTotal;
+import com.appdev.Finance.DTO.DailyTotal;
 import com.appdev.Finance.model.Transaction;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 @Repository
 public interface ReportRepository extends JpaRepository<Transaction, Long> {
 
-    List<Transaction> findByUserIdAndMonth(Long userId, String month);
-
-    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.user.id = :userId AND t.type = 'Income' AND t.month = :month")
-    Double findTotalIncomeByUserForMonth(@Param("userId") Long userId, @Param("month") String month);
-
-    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.user.id = :userId AND t.type = 'Expense' AND t.month = :month")
-    Double findTotalExpensesByUserForMonth(@Param("userId") Long userId, @Param("month") String month);
-
-    // New method for filtering by user, month, and category (case-insensitive for category)
-    List<Transaction> findByUserIdAndMonthAndCategoryIgnoreCase(Long userId, String month, String category);
-
-    // New method to get distinct categories for a user within a specific month
-    @Query("SELECT DISTINCT t.category FROM Transaction t WHERE t.user.id = :userId AND t.month = :month ORDER BY t.category ASC")
-    List<String> findDistinctCategoriesByUserIdAndMonth(@Param("userId") Long userId, @Param("month") String month);
-}
\ No newline at end of file
+    // One (user_id, period_ym, type_code) range of idx_transaction_user_period_type
+    @Query("SELECT SUM(t.amountMinor) FROM Transaction t WHERE t.user.id = :userId AND t.period = :period " +
+           "AND t.typeCode = com.appdev.Finance.TransactionType.EXPENSE")
+    Long findTotalExpensesByUserForPeriod(@Param("userId") Long userId, @Param("period") YearMonth period);
+
+    // Same index range, one row per category; seeds the per-category budget counters
+    @Query("SELECT t.userCategory.id AS categoryId, SUM(t.amountMinor) AS totalMinor FROM Transaction t " +
+           "WHERE t.user.id = :userId AND t.period = :period AND t.typeCode = com.appdev.Finance.TransactionType.EXPENSE " +
+           "AND t.userCategory IS NOT NULL GROUP BY t.userCategory.id")
+    List<CategoryIdTotal> sumExpensesByCategoryIdForPeriod(@Param("userId") Long userId, @Param("period") YearMonth period);
+
+    // Daily expense series over one (user_id, transaction_date) range of idx_transaction_user_date_id; seeds SpendForecaster
+    @Query("SELECT t.transactionDate AS transactionDate, SUM(t.amountMinor) AS totalMinor FROM Transaction t " +
+           "WHERE t.user.id = :userId AND t.transactionDate BETWEEN :from AND :to " +
+           "AND t.typeCode = com.appdev.Finance.TransactionType.EXPENSE " +
+           "GROUP BY t.transactionDate ORDER BY t.transactionDate ASC")
+    List<DailyTotal> sumDailyExpenses(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // New method for filtering by user, year-month, and category (case-insensitive for category)
+    List<Transaction> findByUserIdAndPeriodAndCategoryIgnoreCase(Long userId, YearMonth period, String category);
+
+    // New method to get distinct categories for a user within a specific year-month
+    @Query("SELECT DISTINCT t.category FROM Transaction t WHERE t.user.id = :userId AND t.period = :period ORDER BY t.category ASC")
+    List<String> findDistinctCategoriesByUserIdAndPeriod(@Param("userId") Long userId, @Param("period") YearMonth period);
+}
@@ -1,9 +1,17 @@
 package com.appdev.Finance.Repository;
 
+import com.appdev.Finance.DTO.CategoryTotal;
+import com.appdev.Finance.DTO.IncomeExpenseSummary;
+import com.appdev.Finance.DTO.MonthTotal;
+import com.appdev.Finance.DTO.PeriodRange;
+import com.appdev.Finance.DTO.SpendingGroup;
+import com.appdev.Finance.DTO.TransactionExportRow;
+import com.appdev.Finance.DTO.TransactionListItem;
 import com.appdev.Finance.model.Transaction;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.domain.Page;
@@ -12,22 +20,33 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph; // Ensure this is imported
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction>,
+        TransactionRepositoryCustom {
+
+    // Integer.MIN_VALUE: MySQL Connector/J then streams rows one at a time instead of buffering the whole result
+    String STREAMING_FETCH_SIZE = "-2147483648";
 
-    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.user.id = :userId AND t.type = 'Income'")
-    Double findTotalIncomeByUser_Id(@Param("userId") Long userId);
+    // Amount sums are exact long centavos (Transaction.amountMinor); wrap them with Money.ofMinor
+    @Query("SELECT SUM(t.amountMinor) FROM Transaction t WHERE t.user.id = :userId AND t.type = 'Income'")
+    Long findTotalIncomeByUser_Id(@Param("userId") Long userId);
 
-    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.user.id = :userId AND t.type = 'Expense'")
-    Double findTotalExpensesByUser_Id(@Param("userId") Long userId);
+    @Query("SELECT SUM(t.amountMinor) FROM Transaction t WHERE t.user.id = :userId AND t.type = 'Expense'")
+    Long findTotalExpensesByUser_Id(@Param("userId") Long userId);
 
-    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.type = 'Income'")
-    Double getTotalIncome();
+    @Query("SELECT SUM(t.amountMinor) FROM Transaction t WHERE t.type = 'Income'")
+    Long getTotalIncome();
 
-    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.type = 'Expense'")
-    Double getTotalExpenses();
+    @Query("SELECT SUM(t.amountMinor) FROM Transaction t WHERE t.type = 'Expense'")
+    Long getTotalExpenses();
 
     @EntityGraph(attributePaths = {"user", "transactionFiles"})
     List<Transaction> findByMonth(String month);
@@ -40,13 +59,70 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>,
     @Query("SELECT DISTINCT t.category FROM Transaction t WHERE t.user.id = :userId ORDER BY t.category ASC")
     List<String> findDistinctCategoriesByUserId(@Param("userId") Long userId);
 
+    // Earliest and latest normalized period of a user's transactions, read off idx_transaction_user_period_type
+    @Query("SELECT MIN(t.period) AS earliest, MAX(t.period) AS latest FROM Transaction t WHERE t.user.id = :userId")
+    PeriodRange findPeriodRangeByUserId(@Param("userId") Long userId);
+
+    // --- Database-side aggregates: results are O(groups), no Transaction entities are hydrated ---
+
+    @Query("SELECT t.category AS category, SUM(t.amountMinor) AS totalMinor FROM Transaction t " +
+           "WHERE t.user.id = :userId AND t.type = :type GROUP BY t.category ORDER BY t.category ASC")
+    List<CategoryTotal> sumByCategoryForUser(@Param("userId") Long userId, @Param("type") String type);
+
+    @Query("SELECT t.month AS month, SUM(t.amountMinor) AS totalMinor FROM Transaction t " +
+           "WHERE t.user.id = :userId AND t.type = :type GROUP BY t.month")
+    List<MonthTotal> sumByMonthForUser(@Param("userId") Long userId, @Param("type") String type);
+
+    // Income, expense (and derived net) totals for one year-month in one round trip, read via idx_transaction_user_period_type
+    @Query("SELECT SUM(CASE WHEN t.type = 'Income' THEN t.amountMinor ELSE 0 END) AS totalIncomeMinor, " +
+           "SUM(CASE WHEN t.type = 'Expense' THEN t.amountMinor ELSE 0 END) AS totalExpensesMinor " +
+           "FROM Transaction t WHERE t.user.id = :userId AND t.period = :period")
+    IncomeExpenseSummary summarizeByUserAndPeriod(@Param("userId") Long userId, @Param("period") YearMonth period);
+
+    // Seed data for the user_spending_rollup table, see SpendingRollupService.rebuildForUser
+    @Query("SELECT YEAR(t.transactionDate) AS periodYear, t.month AS month, t.category AS category, t.type AS type, " +
+           "SUM(t.amountMinor) AS totalMinor, COUNT(t) AS transactionCount FROM Transaction t WHERE t.user.id = :userId " +
+           "GROUP BY YEAR(t.transactionDate), t.month, t.category, t.type")
+    List<SpendingGroup> groupForRollupByUserId(@Param("userId") Long userId);
+
+    /**
+     * Full-history export in date order, optionally bounded by transaction date (inclusive). Rows are
+     * streamed from the server as the caller consumes them; the stream must be read and closed inside
+     * a transaction, and the connection cannot run other statements until it is closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.id AS id, t.transactionDate AS transactionDate, t.type AS type, t.category AS category, " +
+           "t.description AS description, t.amountMinor AS amountMinor FROM Transaction t " +
+           "WHERE t.user.id = :userId " +
+           "AND (:fromDate IS NULL OR t.transactionDate >= :fromDate) AND (:toDate IS NULL OR t.transactionDate <= :toDate) " +
+           "ORDER BY t.transactionDate ASC, t.id ASC")
+    Stream<TransactionExportRow> streamExportRowsByUserId(@Param("userId") Long userId,
+                                                          @Param("fromDate") LocalDate fromDate,
+                                                          @Param("toDate") LocalDate toDate);
+
+    // Read-only list rows for one year-month, newest first; receipts are counted, not joined
+    @Query("SELECT new com.appdev.Finance.DTO.TransactionListItem(t.id, t.description, t.category, t.type, t.amountMinor, " +
+           "t.transactionDate, t.month, (SELECT COUNT(f) FROM TransactionFile f WHERE f.transaction = t)) " +
+           "FROM Transaction t WHERE t.user.id = :userId AND t.period = :period ORDER BY t.id DESC")
+    List<TransactionListItem> findListItemsByUserIdAndPeriod(@Param("userId") Long userId, @Param("period") YearMonth period);
+
+    // Every list row of one user, for TransactionSearchPlanner's in-memory plan (small users only)
+    @Query("SELECT new com.appdev.Finance.DTO.TransactionListItem(t.id, t.description, t.category, t.type, t.amountMinor, " +
+           "t.transactionDate, t.month, (SELECT COUNT(f) FROM TransactionFile f WHERE f.transaction = t)) " +
+           "FROM Transaction t WHERE t.user.id = :userId")
+    List<TransactionListItem> findListItemsByUserId(@Param("userId") Long userId);
+
+    long countByUser_Id(Long userId);
+
     @EntityGraph(attributePaths = {"user", "transactionFiles"})
-    List<Transaction> findByUserIdAndMonthIgnoreCaseOrderByIdDesc(Long userId, String month);
+    List<Transaction> findByUserIdAndPeriodOrderByIdDesc(Long userId, YearMonth period);
 
     /**
      * Re-declares the findAll method from JpaSpecificationExecutor
      * to apply an EntityGraph for eagerly fetching associated entities.
-     * This method is used by TransactionService's searchTransactions.
      */
     @Override
     @EntityGraph(attributePaths = {"user", "transactionFiles"})
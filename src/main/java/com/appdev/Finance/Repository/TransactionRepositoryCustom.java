@@ -0,0 +1,35 @@
+package com.appdev.Finance.Repository;
+
+import com.appdev.Finance.DTO.TransactionListItem;
+import com.appdev.Finance.DTO.TransactionSearchSummary;
+import com.appdev.Finance.model.Transaction;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Hand-written queries mixed into TransactionRepository.
+ */
+public interface TransactionRepositoryCustom {
+
+    /**
+     * Returns the first {@code limit} transactions matching {@code spec} in {@code sort} order,
+     * as read-only list rows, plus the total match count and income/expense sums, from a single SQL
+     * statement. Receipt links are then loaded with one extra query, only if some row has a receipt.
+     */
+    TransactionSearchSummary findTopWithTotals(Specification<Transaction> spec, Sort sort, int limit);
+
+    /**
+     * Returns at most {@code limit} transactions matching {@code spec} in {@code sort} order as
+     * read-only list rows with their receipt links. Used for keyset pages, where {@code spec} carries
+     * the seek predicate.
+     */
+    List<TransactionListItem> findWithLimit(Specification<Transaction> spec, Sort sort, int limit);
+
+    /**
+     * Fills in the receipt links of the rows that have any, with one query; rows without receipts
+     * are left as they are.
+     */
+    void loadReceipts(List<TransactionListItem> items);
+}
@@ -0,0 +1,168 @@
+package com.appdev.Finance.Repository;
+
+import com.appdev.Finance.DTO.ReceiptLink;
+import com.appdev.Finance.DTO.TransactionListItem;
+import com.appdev.Finance.DTO.TransactionSearchSummary;
+import com.appdev.Finance.model.Money;
+import com.appdev.Finance.model.Transaction;
+import com.appdev.Finance.model.TransactionFile;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaCriteriaQuery;
+import org.hibernate.query.criteria.JpaExpression;
+import org.hibernate.query.criteria.JpaRoot;
+import org.hibernate.query.criteria.JpaSubQuery;
+import org.hibernate.query.criteria.JpaWindow;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TransactionRepositoryCustomImpl implements TransactionRepositoryCustom {
+
+    // Number of TransactionListItem columns at the start of each selected tuple
+    private static final int LIST_ITEM_COLUMNS = 8;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public TransactionSearchSummary findTopWithTotals(Specification<Transaction> spec, Sort sort, int limit) {
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        JpaCriteriaQuery<Tuple> query = cb.createTupleQuery();
+        JpaRoot<Transaction> root = query.from(Transaction.class);
+
+        // Window aggregates over the whole filtered set are evaluated before LIMIT,
+        // so every returned row carries the totals for all matches.
+        JpaWindow wholeResult = cb.createWindow();
+        JpaExpression<Long> matchCount = cb.count(root, wholeResult);
+        JpaExpression<Number> incomeSum = cb.sum(root.<Long>get("amountMinor"),
+                cb.equal(cb.lower(root.get("type")), "income"), wholeResult);
+        JpaExpression<Number> expenseSum = cb.sum(root.<Long>get("amountMinor"),
+                cb.equal(cb.lower(root.get("type")), "expense"), wholeResult);
+
+        List<Selection<?>> selections = listItemColumns(cb, query, root);
+        selections.add(matchCount);
+        selections.add(incomeSum);
+        selections.add(expenseSum);
+        query.multiselect(selections);
+        query.where(spec.toPredicate(root, query, cb));
+        if (sort.isSorted()) {
+            // An unsorted Sort leaves any ordering the specification applied (e.g. relevance)
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+
+        List<Tuple> rows = entityManager.createQuery(query).setMaxResults(limit).getResultList();
+        if (rows.isEmpty()) {
+            return TransactionSearchSummary.empty();
+        }
+
+        List<TransactionListItem> top = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            top.add(toListItem(row));
+        }
+        Tuple first = rows.get(0);
+
+        loadReceipts(top);
+
+        return new TransactionSearchSummary(top,
+                first.get(LIST_ITEM_COLUMNS, Long.class),
+                toBigDecimal(first.get(LIST_ITEM_COLUMNS + 1)),
+                toBigDecimal(first.get(LIST_ITEM_COLUMNS + 2)));
+    }
+
+    @Override
+    public List<TransactionListItem> findWithLimit(Specification<Transaction> spec, Sort sort, int limit) {
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        JpaCriteriaQuery<Tuple> query = cb.createTupleQuery();
+        JpaRoot<Transaction> root = query.from(Transaction.class);
+        query.multiselect(listItemColumns(cb, query, root));
+        query.where(spec.toPredicate(root, query, cb));
+        if (sort.isSorted()) {
+            // An unsorted Sort leaves any ordering the specification applied (e.g. relevance)
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+
+        List<Tuple> rows = entityManager.createQuery(query).setMaxResults(limit).getResultList();
+        List<TransactionListItem> items = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            items.add(toListItem(row));
+        }
+        loadReceipts(items);
+        return items;
+    }
+
+    // Columns of TransactionListItem, in constructor order; the receipt count is a correlated
+    // subquery on transaction_files(transaction_id) rather than a join that multiplies rows
+    private static List<Selection<?>> listItemColumns(HibernateCriteriaBuilder cb, JpaCriteriaQuery<Tuple> query,
+                                                      JpaRoot<Transaction> root) {
+        JpaSubQuery<Long> receiptCount = query.subquery(Long.class);
+        JpaRoot<TransactionFile> file = receiptCount.from(TransactionFile.class);
+        receiptCount.select(cb.count(file)).where(cb.equal(file.get("transaction"), root));
+
+        List<Selection<?>> columns = new ArrayList<>(LIST_ITEM_COLUMNS + 3);
+        columns.add(root.get("id"));
+        columns.add(root.get("description"));
+        columns.add(root.get("category"));
+        columns.add(root.get("type"));
+        columns.add(root.get("amountMinor"));
+        columns.add(root.get("transactionDate"));
+        columns.add(root.get("month"));
+        columns.add(receiptCount);
+        return columns;
+    }
+
+    private static TransactionListItem toListItem(Tuple row) {
+        return new TransactionListItem(
+                row.get(0, Long.class),
+                row.get(1, String.class),
+                row.get(2, String.class),
+                row.get(3, String.class),
+                row.get(4, Long.class),
+                row.get(5, LocalDate.class),
+                row.get(6, String.class),
+                row.get(7, Long.class));
+    }
+
+    // Receipt names for the rows of one page that have any, as scalars in a single statement.
+    // Pages without receipts skip the query entirely.
+    @Override
+    public void loadReceipts(List<TransactionListItem> items) {
+        List<Long> withReceipts = new ArrayList<>();
+        for (TransactionListItem item : items) {
+            if (item.hasReceipts()) {
+                withReceipts.add(item.getId());
+            }
+        }
+        if (withReceipts.isEmpty()) {
+            return;
+        }
+        Map<Long, List<ReceiptLink>> byTransaction = new HashMap<>();
+        entityManager.createQuery("SELECT new com.appdev.Finance.DTO.ReceiptLink(f.transaction.id, f.id, f.originalFileName, f.contentType) " +
+                        "FROM TransactionFile f WHERE f.transaction.id IN :ids ORDER BY f.id", ReceiptLink.class)
+                .setParameter("ids", withReceipts)
+                .getResultList()
+                .forEach(link -> byTransaction.computeIfAbsent(link.getTransactionId(), id -> new ArrayList<>()).add(link));
+        for (TransactionListItem item : items) {
+            List<ReceiptLink> links = byTransaction.get(item.getId());
+            if (links != null) {
+                item.setReceipts(links);
+            }
+        }
+    }
+
+    // Window sums are centavos; SUM over BIGINT comes back as a DECIMAL from MySQL
+    private static BigDecimal toBigDecimal(Object sumMinor) {
+        return (sumMinor instanceof Number n) ? Money.ofMinor(n.longValue()).toBigDecimal() : BigDecimal.ZERO;
+    }
+}
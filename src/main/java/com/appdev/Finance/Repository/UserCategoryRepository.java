@@ -0,0 +1,28 @@
+package com.appdev.Finance.Repository;
+
+import com.appdev.Finance.model.UserCategory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserCategoryRepository extends JpaRepository<UserCategory, Long> {
+
+    Optional<UserCategory> findByUserIdAndName(Long userId, String name);
+
+    @Query("SELECT c.name FROM UserCategory c WHERE c.user.id = :userId ORDER BY c.name ASC")
+    List<String> findNamesByUserId(@Param("userId") Long userId);
+
+    /**
+     * Creates the dictionary entry unless it exists. The unique key makes concurrent first uses
+     * of the same category collapse into one row instead of failing.
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO user_category (user_id, name) VALUES (:userId, :name)", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("name") String name);
+}
@@ -0,0 +1,63 @@
+package com.appdev.Finance.Repository;
+
+import com.appdev.Finance.DTO.CategoryTotal;
+import com.appdev.Finance.DTO.PeriodTotal;
+import com.appdev.Finance.model.UserSpendingRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserSpendingRollupRepository extends JpaRepository<UserSpendingRollup, Long> {
+
+    /**
+     * Adds an amount (in centavos) to the rollup bucket, creating the bucket on first use.
+     * Relies on the (user_id, period_year, period_month, category, type) unique key so that
+     * concurrent inserts for the same bucket are merged by MySQL instead of racing.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_spending_rollup (user_id, period_year, period_month, category, type, total_minor, transaction_count) " +
+                   "VALUES (:userId, :periodYear, :periodMonth, :category, :type, :amountMinor, :count) " +
+                   "ON DUPLICATE KEY UPDATE total_minor = total_minor + :amountMinor, transaction_count = transaction_count + :count",
+           nativeQuery = true)
+    int upsertAdd(@Param("userId") Long userId,
+                  @Param("periodYear") int periodYear,
+                  @Param("periodMonth") int periodMonth,
+                  @Param("category") String category,
+                  @Param("type") String type,
+                  @Param("amountMinor") long amountMinor,
+                  @Param("count") long count);
+
+    @Query("SELECT r.category AS category, SUM(r.totalMinor) AS totalMinor FROM UserSpendingRollup r " +
+           "WHERE r.user.id = :userId AND r.type = :type GROUP BY r.category ORDER BY r.category ASC")
+    List<CategoryTotal> sumByCategory(@Param("userId") Long userId, @Param("type") String type);
+
+    @Query("SELECT r.periodYear AS periodYear, r.periodMonth AS periodMonth, SUM(r.totalMinor) AS totalMinor FROM UserSpendingRollup r " +
+           "WHERE r.user.id = :userId AND r.type = :type GROUP BY r.periodYear, r.periodMonth " +
+           "ORDER BY r.periodYear ASC, r.periodMonth ASC")
+    List<PeriodTotal> sumByPeriod(@Param("userId") Long userId, @Param("type") String type);
+
+    @Query("SELECT SUM(r.totalMinor) FROM UserSpendingRollup r WHERE r.user.id = :userId AND r.type = :type")
+    Long sumTotalMinor(@Param("userId") Long userId, @Param("type") String type);
+
+    // One month's buckets (one per category); null when the month has none
+    @Query("SELECT SUM(r.totalMinor) FROM UserSpendingRollup r WHERE r.user.id = :userId " +
+           "AND r.periodYear = :periodYear AND r.periodMonth = :periodMonth AND r.type = :type")
+    Long sumTotalMinorForPeriod(@Param("userId") Long userId, @Param("periodYear") int periodYear,
+                                @Param("periodMonth") int periodMonth, @Param("type") String type);
+
+    boolean existsByUserId(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM UserSpendingRollup r WHERE r.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    // Users that own transactions but have no rollup rows yet (e.g. history recorded before the rollup existed)
+    @Query("SELECT DISTINCT t.user.id FROM Transaction t WHERE NOT EXISTS " +
+           "(SELECT 1 FROM UserSpendingRollup r WHERE r.user.id = t.user.id)")
+    List<Long> findUserIdsMissingRollup();
+}
@@ -0,0 +1,159 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces budget checks after expense writes. Each committed write (see BudgetEventListener)
+ * marks its user dirty; the check runs when the user has been quiet for {@code quiet-window}, or
+ * {@code max-delay} after the first mark at the latest, so a burst of N expenses (or an import)
+ * costs one BudgetService evaluation and an alert is never held back longer than max-delay.
+ * Marks that arrive while a check runs start the next window. Checks run on the user's
+ * UserStripedExecutor stripe.
+ *
+ * Pending checks live in this JVM and are dropped on shutdown; the nightly BudgetEvaluationJob
+ * catches those up. With budget.check.debounce.enabled=false every write is checked right away.
+ */
+@Component
+public class BudgetCheckScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(BudgetCheckScheduler.class);
+
+    private final BudgetService budgetService;
+    private final UserStripedExecutor userStripedExecutor;
+    private final boolean enabled;
+    private final long quietNanos;
+    private final long maxDelayNanos;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+    private final Counter requestCounter;
+    private final Counter evaluationCounter;
+
+    @Autowired
+    public BudgetCheckScheduler(BudgetService budgetService,
+                                UserStripedExecutor userStripedExecutor,
+                                @Value("${budget.check.debounce.enabled:true}") boolean enabled,
+                                @Value("${budget.check.debounce.quiet-window:2s}") Duration quietWindow,
+                                @Value("${budget.check.debounce.max-delay:10s}") Duration maxDelay,
+                                @Value("${budget.check.debounce.threads:2}") int threads,
+                                MeterRegistry meterRegistry) {
+        this.budgetService = budgetService;
+        this.userStripedExecutor = userStripedExecutor;
+        this.enabled = enabled;
+        this.quietNanos = Math.max(0, quietWindow.toNanos());
+        this.maxDelayNanos = Math.max(quietNanos, maxDelay.toNanos());
+        this.scheduler = new ScheduledThreadPoolExecutor(Math.max(1, threads),
+                Thread.ofPlatform().name("BudgetCheck-", 0).daemon().factory());
+        this.scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.requestCounter = Counter.builder("budget.check.requests")
+                .description("Budget checks requested by expense writes")
+                .register(meterRegistry);
+        this.evaluationCounter = Counter.builder("budget.check.evaluations")
+                .description("Budget checks actually run after coalescing")
+                .register(meterRegistry);
+        Gauge.builder("budget.check.pending", pending, Map::size)
+                .description("Users waiting for a coalesced budget check")
+                .register(meterRegistry);
+        logger.info("Budget check scheduler initialized (enabled={}, quietWindow={}, maxDelay={}).", enabled, quietWindow, maxDelay);
+    }
+
+    /**
+     * Requests a budget check for the user after a committed expense write.
+     */
+    public void requestCheck(User user) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        requestCounter.increment();
+        if (!enabled) {
+            evaluate(user);
+            return;
+        }
+        markDirty(user);
+    }
+
+    private void markDirty(User user) {
+        long now = System.nanoTime();
+        Long userId = user.getId();
+        boolean[] created = new boolean[1];
+        pending.compute(userId, (id, existing) -> {
+            if (existing == null) {
+                created[0] = true;
+                return new Pending(user, now);
+            }
+            existing.user = user;
+            existing.lastMarkNanos = now;
+            return existing;
+        });
+        if (created[0]) {
+            schedule(userId, quietNanos);
+        }
+    }
+
+    // Runs the check once the window has closed, otherwise waits for the rest of it
+    private void fire(Long userId) {
+        long now = System.nanoTime();
+        Pending[] due = new Pending[1];
+        long[] wait = new long[1];
+        pending.computeIfPresent(userId, (id, p) -> {
+            long remaining = Math.min(p.lastMarkNanos + quietNanos, p.firstMarkNanos + maxDelayNanos) - now;
+            if (remaining <= 0) {
+                due[0] = p;
+                return null;
+            }
+            wait[0] = remaining;
+            return p;
+        });
+        if (due[0] != null) {
+            evaluate(due[0].user);
+        } else if (wait[0] > 0) {
+            schedule(userId, wait[0]);
+        }
+    }
+
+    private void schedule(Long userId, long delayNanos) {
+        try {
+            scheduler.schedule(() -> fire(userId), delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            // Shutting down; the nightly job picks the user up
+            pending.remove(userId);
+            logger.debug("Could not schedule budget check for user ID {}: {}", userId, e.getMessage());
+        }
+    }
+
+    private void evaluate(User user) {
+        evaluationCounter.increment();
+        userStripedExecutor.execute(user.getId(), () -> budgetService.afterExpenseTransactionUpdate(user));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private static final class Pending {
+        volatile User user;
+        final long firstMarkNanos;
+        volatile long lastMarkNanos;
+
+        Pending(User user, long markNanos) {
+            this.user = user;
+            this.firstMarkNanos = markNanos;
+            this.lastMarkNanos = markNanos;
+        }
+    }
+}
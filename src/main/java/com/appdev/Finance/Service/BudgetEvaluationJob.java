@@ -0,0 +1,238 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.DTO.PendingNotification;
+import com.appdev.Finance.TransactionType;
+import com.appdev.Finance.model.CategoryBudget;
+import com.appdev.Finance.model.Money;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Nightly month-to-date check of every budget, so users who stopped logging expenses still get
+ * their alerts (the write path only checks the user who wrote).
+ *
+ * Users that have a budget are walked in id order, {@code chunk-size} at a time (keyset, never
+ * OFFSET). Each chunk is evaluated on budgetEvaluationExecutor: one query each for the chunk's
+ * budgets, category budgets and this month's expenses (grouped by user and category), then the
+ * thresholds, the projected month-end overrun (SpendForecaster, seeding a model for users that have
+ * none) and the cooldowns in BudgetService, then notifications in batches. A batch that fails to
+ * save gives its cooldowns back, so those alerts go out on the next check. Every query is its own
+ * short auto-commit statement and only the chunks in flight are held in memory, so the run scales
+ * with the number of users without a long transaction. At most twice the pool size of chunks are
+ * in flight.
+ *
+ * With several nodes, enable the job on one of them (budget.evaluation-job.enabled) or use the
+ * database cooldown store, which sends each alert once either way.
+ */
+@Component
+public class BudgetEvaluationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BudgetEvaluationJob.class);
+
+    private static final String USERS_SQL = "SELECT u.id, u.email FROM `user` u WHERE u.id > :afterId AND u.enabled = TRUE " +
+            "AND (EXISTS (SELECT 1 FROM budget b WHERE b.user_id = u.id AND b.amount > 0) " +
+            "OR EXISTS (SELECT 1 FROM category_budget cb WHERE cb.user_id = u.id)) " +
+            "ORDER BY u.id LIMIT :limit";
+    private static final String BUDGETS_SQL = "SELECT user_id, amount FROM budget WHERE user_id IN (:userIds) AND amount > 0";
+    private static final String CATEGORY_BUDGETS_SQL = "SELECT cb.id, cb.user_id, cb.category_id, c.name, cb.amount_minor, cb.thresholds " +
+            "FROM category_budget cb JOIN user_category c ON c.id = cb.category_id " +
+            "WHERE cb.user_id IN (:userIds) ORDER BY cb.user_id, c.name";
+    // One (user_id, period_ym, type_code) range of idx_transaction_user_period_type per user
+    private static final String EXPENSES_SQL = "SELECT user_id, category_id, SUM(amount_minor) AS total_minor FROM `transaction` " +
+            "WHERE user_id IN (:userIds) AND period_ym = :period AND type_code = :expense " +
+            "GROUP BY user_id, category_id";
+
+    private static final String DASHBOARD_LINK = "/dashboard";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final BudgetService budgetService;
+    private final NotificationService notificationService;
+    private final Executor executor;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final int maxChunksInFlight;
+    private final int notificationBatchSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Counter usersCounter;
+    private final Counter notificationsCounter;
+
+    @Autowired
+    public BudgetEvaluationJob(NamedParameterJdbcTemplate jdbcTemplate,
+                               BudgetService budgetService,
+                               NotificationService notificationService,
+                               @Qualifier("budgetEvaluationExecutor") Executor executor,
+                               @Value("${budget.evaluation-job.enabled:true}") boolean enabled,
+                               @Value("${budget.evaluation-job.chunk-size:1000}") int chunkSize,
+                               @Value("${budget.evaluation-job.threads:4}") int threads,
+                               @Value("${budget.evaluation-job.notification-batch-size:200}") int notificationBatchSize,
+                               MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.budgetService = budgetService;
+        this.notificationService = notificationService;
+        this.executor = executor;
+        this.enabled = enabled;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxChunksInFlight = Math.max(1, threads) * 2;
+        this.notificationBatchSize = Math.max(1, notificationBatchSize);
+        this.usersCounter = Counter.builder("budget.evaluation-job.users")
+                .description("Users whose budgets the nightly job evaluated")
+                .register(meterRegistry);
+        this.notificationsCounter = Counter.builder("budget.evaluation-job.notifications")
+                .description("Budget alerts sent by the nightly job")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${budget.evaluation-job.cron:0 30 1 * * *}")
+    public void runNightly() {
+        if (enabled) {
+            run();
+        }
+    }
+
+    /**
+     * Evaluates every user's budgets for the current month. Returns the number of users evaluated,
+     * or -1 if a run was already in progress.
+     */
+    public long run() {
+        if (!running.compareAndSet(false, true)) {
+            logger.warn("Budget evaluation job already running; skipping this run.");
+            return -1;
+        }
+        long started = System.nanoTime();
+        YearMonth period = YearMonth.now();
+        LongAdder users = new LongAdder();
+        LongAdder sent = new LongAdder();
+        Semaphore inFlight = new Semaphore(maxChunksInFlight);
+        try {
+            long afterId = 0;
+            while (true) {
+                List<ChunkUser> chunk = jdbcTemplate.query(USERS_SQL, Map.of("afterId", afterId, "limit", chunkSize),
+                        (rs, rowNum) -> new ChunkUser(rs.getLong("id"), rs.getString("email")));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                afterId = chunk.get(chunk.size() - 1).id();
+                inFlight.acquire();
+                try {
+                    executor.execute(() -> {
+                        try {
+                            evaluateChunk(chunk, period, sent);
+                            users.add(chunk.size());
+                        } catch (RuntimeException e) {
+                            logger.error("Budget evaluation failed for users {}..{}: {}",
+                                    chunk.get(0).id(), chunk.get(chunk.size() - 1).id(), e.getMessage(), e);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    inFlight.release();
+                    throw e;
+                }
+                if (chunk.size() < chunkSize) {
+                    break;
+                }
+            }
+            // Wait for the chunks still being evaluated
+            inFlight.acquire(maxChunksInFlight);
+            inFlight.release(maxChunksInFlight);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Budget evaluation job interrupted after {} user(s).", users.sum());
+        } finally {
+            running.set(false);
+        }
+        usersCounter.increment(users.sum());
+        notificationsCounter.increment(sent.sum());
+        logger.info("Budget evaluation job for {}: {} user(s), {} alert(s) in {} ms.",
+                period, users.sum(), sent.sum(), (System.nanoTime() - started) / 1_000_000);
+        return users.sum();
+    }
+
+    private void evaluateChunk(List<ChunkUser> chunk, YearMonth period, LongAdder sent) {
+        List<Long> userIds = chunk.stream().map(ChunkUser::id).toList();
+        Map<String, Object> params = Map.of("userIds", userIds);
+
+        Map<Long, Money> budgets = new HashMap<>();
+        jdbcTemplate.query(BUDGETS_SQL, params,
+                rs -> { budgets.put(rs.getLong("user_id"), Money.of(rs.getBigDecimal("amount"))); });
+
+        Map<Long, List<BudgetService.CategoryLimit>> limits = new HashMap<>();
+        jdbcTemplate.query(CATEGORY_BUDGETS_SQL, params, rs -> {
+            limits.computeIfAbsent(rs.getLong("user_id"), id -> new ArrayList<>())
+                    .add(new BudgetService.CategoryLimit(rs.getLong("id"), rs.getLong("category_id"), rs.getString("name"),
+                            Money.ofMinor(rs.getLong("amount_minor")), CategoryBudget.parseThresholds(rs.getString("thresholds"))));
+        });
+
+        Map<Long, Long> totals = new HashMap<>();
+        Map<Long, Map<Long, Long>> byCategory = new HashMap<>();
+        Map<String, Object> expenseParams = Map.of("userIds", userIds,
+                "period", period.getYear() * 100 + period.getMonthValue(),
+                "expense", TransactionType.EXPENSE.ordinal());
+        jdbcTemplate.query(EXPENSES_SQL, expenseParams, rs -> {
+            long userId = rs.getLong("user_id");
+            long minor = rs.getLong("total_minor");
+            totals.merge(userId, minor, Long::sum);
+            long categoryId = rs.getLong("category_id");
+            if (!rs.wasNull()) {
+                byCategory.computeIfAbsent(userId, id -> new HashMap<>()).put(categoryId, minor);
+            }
+        });
+
+        List<ClaimedAlert> batch = new ArrayList<>();
+        for (ChunkUser user : chunk) {
+            List<BudgetService.DueAlert> alerts = budgetService.collectMonthlyAlerts(user.id(),
+                    budgets.getOrDefault(user.id(), Money.ZERO), Money.ofMinor(totals.get(user.id())),
+                    limits.getOrDefault(user.id(), List.of()), byCategory.getOrDefault(user.id(), Map.of()));
+            for (BudgetService.DueAlert alert : alerts) {
+                batch.add(new ClaimedAlert(new PendingNotification(user.id(), user.email(), alert.message(), DASHBOARD_LINK),
+                        alert.alertKey()));
+            }
+            if (batch.size() >= notificationBatchSize) {
+                send(batch, sent);
+            }
+        }
+        send(batch, sent);
+    }
+
+    private void send(List<ClaimedAlert> batch, LongAdder sent) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            notificationService.createAndSendNotifications(batch.stream().map(ClaimedAlert::notification).toList());
+        } catch (RuntimeException e) {
+            // Nothing was saved; without this the alerts would wait for their cooldowns to end
+            for (ClaimedAlert alert : batch) {
+                budgetService.releaseAlert(alert.notification().getUserId(), alert.alertKey());
+            }
+            batch.clear();
+            throw e;
+        }
+        sent.add(batch.size());
+        batch.clear();
+    }
+
+    private record ChunkUser(long id, String email) {}
+
+    private record ClaimedAlert(PendingNotification notification, long alertKey) {}
+}
@@ -0,0 +1,53 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.Event.BudgetChanged;
+import com.appdev.Finance.Event.TransactionCreated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Reacts to committed writes that can cross a budget threshold. Handlers only hand work over
+ * (expense writes to BudgetCheckScheduler for coalescing, budget changes to UserStripedExecutor),
+ * so the committing request thread returns at once and its DB connection is released; the checks,
+ * notification inserts and WebSocket pushes run later on the user's stripe. Events published
+ * outside a DB transaction (e.g. after a CSV import committed) are handled immediately.
+ */
+@Component
+public class BudgetEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(BudgetEventListener.class);
+
+    private final BudgetService budgetService;
+    private final BudgetCheckScheduler budgetCheckScheduler;
+    private final UserStripedExecutor userStripedExecutor;
+
+    @Autowired
+    public BudgetEventListener(BudgetService budgetService,
+                               BudgetCheckScheduler budgetCheckScheduler,
+                               UserStripedExecutor userStripedExecutor) {
+        this.budgetService = budgetService;
+        this.budgetCheckScheduler = budgetCheckScheduler;
+        this.userStripedExecutor = userStripedExecutor;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransactionCreated(TransactionCreated event) {
+        if (event.expense()) {
+            budgetCheckScheduler.requestCheck(event.user());
+        }
+    }
+
+    // Budget saves are rare and the user is looking at the result, so they are checked right away
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBudgetChanged(BudgetChanged event) {
+        if (event.user() == null || event.user().getId() == null) {
+            return;
+        }
+        logger.debug("Budget changed for user ID {}. Scheduling budget check.", event.user().getId());
+        userStripedExecutor.execute(event.user().getId(), () -> budgetService.checkAllBudgets(event.user()));
+    }
+}
@@ -1,26 +1,43 @@
 package com.appdev.Finance.Service;
 
+import com.appdev.Finance.DTO.CategoryBudgetUsage;
+import com.appdev.Finance.DTO.SpendForecast;
+import com.appdev.Finance.Event.BudgetChanged;
 import com.appdev.Finance.Repository.BudgetRepository;
+import com.appdev.Finance.Repository.CategoryBudgetRepository;
 import com.appdev.Finance.Repository.TransactionRepository;
-import com.appdev.Finance.Repository.ReportRepository;
 import com.appdev.Finance.model.Budget;
+import com.appdev.Finance.model.CategoryBudget;
+import com.appdev.Finance.model.Money;
 import com.appdev.Finance.model.User;
+import com.appdev.Finance.model.UserCategory;
 // Assuming Notification model and NotificationService are in their correct packages
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.LocalDate;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
 import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 // import java.util.HashMap; // Not strictly needed if only using ConcurrentHashMap
-import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class BudgetService {
@@ -30,20 +47,71 @@ public class BudgetService {
     private final BudgetRepository budgetRepository;
     private final NotificationService notificationService; // Already injected
     private final TransactionRepository transactionRepository;
-    private final ReportRepository reportRepository;
+    private final DashboardSnapshotCache dashboardSnapshotCache;
+    private final MonthlyExpenseCounters monthlyExpenseCounters;
 
-    private final Map<String, Long> recentNotifications = new ConcurrentHashMap<>();
-    private static final long NOTIFICATION_COOLDOWN_MS = 1000 * 60 * 60 * 24; // 24 hours
+    // Budget amount per user for the threshold check, dropped whenever a budget is saved here and
+    // re-read after budget.amounts.expire-after so other nodes pick up the change
+    private final Cache<Long, Money> budgetAmounts;
+    private final NotificationCooldownStore notificationCooldowns;
+    private static final Duration NOTIFICATION_COOLDOWN = Duration.ofHours(24);
+
+    // Alert keys in NotificationCooldownStore
+    private static final long ALERT_NEAR_80 = 1;
+    private static final long ALERT_NEAR_95 = 2;
+    private static final long ALERT_EXCEEDED = 3;
+    private static final long ALERT_PROJECTED = 4;
+    // Category budgets use (category_id << 8 | percent), percent 100 meaning exceeded; never 1..4
+    private static final int CATEGORY_ALERT_SHIFT = 8;
+    private static final int EXCEEDED_PERCENT = 100;
+
+    private final CategoryBudgetRepository categoryBudgetRepository;
+    private final CategoryDictionaryService categoryDictionaryService;
+    private final int[] defaultCategoryThresholds;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SpendForecaster spendForecaster;
+    // Category budgets per user for the threshold check, dropped whenever one is saved or deleted here
+    // and re-read after budget.amounts.expire-after like budgetAmounts
+    private final Cache<Long, List<CategoryLimit>> categoryLimits;
 
     @Autowired
     public BudgetService(BudgetRepository budgetRepository,
                          NotificationService notificationService,
                          TransactionRepository transactionRepository,
-                         ReportRepository reportRepository) {
+                         DashboardSnapshotCache dashboardSnapshotCache,
+                         MonthlyExpenseCounters monthlyExpenseCounters,
+                         NotificationCooldownStore notificationCooldowns,
+                         CategoryBudgetRepository categoryBudgetRepository,
+                         CategoryDictionaryService categoryDictionaryService,
+                         @Value("${budget.category.default-thresholds:80,95}") String defaultCategoryThresholds,
+                         ApplicationEventPublisher eventPublisher,
+                         SpendForecaster spendForecaster,
+                         @Value("${budget.amounts.max-users:100000}") long maxCachedUsers,
+                         @Value("${budget.amounts.expire-after:5m}") Duration budgetExpireAfter,
+                         MeterRegistry meterRegistry) {
         this.budgetRepository = budgetRepository;
         this.notificationService = notificationService;
         this.transactionRepository = transactionRepository;
-        this.reportRepository = reportRepository;
+        this.dashboardSnapshotCache = dashboardSnapshotCache;
+        this.monthlyExpenseCounters = monthlyExpenseCounters;
+        this.notificationCooldowns = notificationCooldowns;
+        this.categoryBudgetRepository = categoryBudgetRepository;
+        this.categoryDictionaryService = categoryDictionaryService;
+        this.defaultCategoryThresholds = CategoryBudget.parseThresholds(defaultCategoryThresholds);
+        this.eventPublisher = eventPublisher;
+        this.spendForecaster = spendForecaster;
+        this.budgetAmounts = Caffeine.newBuilder()
+                .maximumSize(maxCachedUsers)
+                .expireAfterWrite(budgetExpireAfter)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, budgetAmounts, "budgetAmounts");
+        this.categoryLimits = Caffeine.newBuilder()
+                .maximumSize(maxCachedUsers)
+                .expireAfterWrite(budgetExpireAfter)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, categoryLimits, "categoryBudgetLimits");
     }
 
     @Transactional(readOnly = true)
@@ -74,8 +142,11 @@ public class BudgetService {
         budget.setUser(user); 
         budgetRepository.save(budget);
         logger.info("Budget saved/updated for user ID: {}. New amount: {}", user.getId(), budget.getAmount());
+        dashboardSnapshotCache.invalidate(user.getId());
+        forgetBudgetAmount(user.getId());
 
-        checkBudgetThresholds(user, true);
+        // Checked after commit on the user's event stripe, see BudgetEventListener
+        eventPublisher.publishEvent(new BudgetChanged(user));
     }
 
     public void afterExpenseTransactionUpdate(User user) {
@@ -84,7 +155,43 @@ public class BudgetService {
             return;
         }
         logger.debug("After expense update for user ID: {}. Checking budget thresholds.", user.getId());
+        checkAllBudgets(user);
+    }
+
+    // The monthly budget, its month-end projection and every category budget of the user
+    public void checkAllBudgets(User user) {
         checkBudgetThresholds(user, true);
+        checkProjectedOverrun(user);
+        checkCategoryBudgets(user);
+    }
+
+    /**
+     * Projected month-end expenses against the monthly budget (see SpendForecaster); empty while
+     * the user has too little expense history.
+     */
+    public Optional<SpendForecast> getMonthEndForecast(User user) {
+        if (user == null || user.getId() == null) {
+            return Optional.empty();
+        }
+        Money budgetAmount = budgetAmounts.get(user.getId(), id -> Money.of(getBudgetForUser(user).getAmount()));
+        return spendForecaster.forecast(user.getId(), monthlyExpenseCounters.currentMonthMinor(user.getId()),
+                budgetAmount.signum() > 0 ? budgetAmount.getMinorUnits() : 0L);
+    }
+
+    // Warns while the budget is not yet exceeded but this month's pace reaches it before month end
+    public void checkProjectedOverrun(User user) {
+        SpendForecast forecast = getMonthEndForecast(user).orElse(null);
+        if (forecast == null || forecast.getProjectedExceedDate() == null) {
+            return;
+        }
+        if (!notificationCooldowns.tryAcquire(user.getId(), ALERT_PROJECTED, NOTIFICATION_COOLDOWN)) {
+            logger.debug("User ID: {}. PROJECTED notification cooldown active.", user.getId());
+            return;
+        }
+        Money budgetAmount = budgetAmounts.get(user.getId(), id -> Money.of(getBudgetForUser(user).getAmount()));
+        String message = projectedOverrunMessage(budgetAmount, forecast, currentMonthName());
+        logger.info("User ID: {}. Sending PROJECTED notification: {}", user.getId(), message);
+        notificationService.createAndSendNotificationNow(user, message, "/dashboard");
     }
 
     public void checkBudgetThresholds(User user, boolean isMonthlyBudget) {
@@ -93,98 +200,300 @@ public class BudgetService {
             return;
         }
 
-        Budget budget = getBudgetForUser(user);
+        // Compared on long centavos; BigDecimal only appears when formatting the messages
+        Money budgetAmount = budgetAmounts.get(user.getId(), id -> Money.of(getBudgetForUser(user).getAmount()));
 
-        if (budget == null || budget.getAmount() == null || budget.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+        if (budgetAmount.signum() <= 0) {
             logger.info("checkBudgetThresholds: No active budget (amount > 0) found for user ID: {}. Skipping notification checks.", user.getId());
             return;
         }
-
-        BigDecimal budgetAmount = budget.getAmount();
-        BigDecimal expensesBigDecimal;
+        Money expenses;
         String expensePeriodMessage = "";
 
         logger.debug("checkBudgetThresholds for User ID: {}. Budget Amount: {}", user.getId(), budgetAmount);
 
         if (isMonthlyBudget) {
-            String currentMonth = LocalDate.now().getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH);
+            // This month of this year only, not the same month name of every year
+            YearMonth currentPeriod = YearMonth.now();
+            String currentMonth = currentPeriod.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH);
             expensePeriodMessage = "for " + currentMonth;
-            Double monthlyExpenses = reportRepository.findTotalExpensesByUserForMonth(user.getId(), currentMonth);
-            if (monthlyExpenses == null) monthlyExpenses = 0.0;
-            expensesBigDecimal = BigDecimal.valueOf(monthlyExpenses);
-            logger.debug("User ID: {}. Monthly ({}) Expenses: {}", user.getId(), currentMonth, expensesBigDecimal);
+            // Running counter instead of a SUM over the month's rows
+            expenses = Money.ofMinor(monthlyExpenseCounters.currentMonthMinor(user.getId()));
+            logger.debug("User ID: {}. Monthly ({}) Expenses: {}", user.getId(), currentPeriod, expenses);
         } else {
             expensePeriodMessage = "overall";
-            Double totalExpenses = transactionRepository.findTotalExpensesByUser_Id(user.getId());
-            if (totalExpenses == null) totalExpenses = 0.0;
-            expensesBigDecimal = BigDecimal.valueOf(totalExpenses);
-            logger.debug("User ID: {}. Total Overall Expenses: {}", user.getId(), expensesBigDecimal);
+            expenses = Money.ofMinor(transactionRepository.findTotalExpensesByUser_Id(user.getId()));
+            logger.debug("User ID: {}. Total Overall Expenses: {}", user.getId(), expenses);
         }
 
-        BigDecimal eightyPercentThreshold = budgetAmount.multiply(new BigDecimal("0.80")).setScale(2, RoundingMode.HALF_UP);
-        BigDecimal ninetyFivePercentThreshold = budgetAmount.multiply(new BigDecimal("0.95")).setScale(2, RoundingMode.HALF_UP);
+        Money eightyPercentThreshold = budgetAmount.percent(80);
+        Money ninetyFivePercentThreshold = budgetAmount.percent(95);
 
         logger.debug("User ID: {}. Thresholds - 80%: {}, 95%: {}, Budget: {}", user.getId(), eightyPercentThreshold, ninetyFivePercentThreshold, budgetAmount);
 
         String budgetPageLink = "/dashboard";
 
-        if (expensesBigDecimal.compareTo(budgetAmount) >= 0) {
-            logger.info("User ID: {}. Condition MET: Expenses ({}) >= Budget ({}). Checking cooldown for EXCEEDED.", user.getId(), expensesBigDecimal, budgetAmount);
-            if (canSendNotification(user.getId(), "EXCEEDED")) {
-                String message = String.format("⚠️ Warning: You have exceeded %s budget of ₱%,.2f! Current expenses %s: ₱%,.2f.",
-                                               (isMonthlyBudget ? "your monthly" : "your"), budgetAmount, expensePeriodMessage, expensesBigDecimal);
+        if (expenses.isGreaterThanOrEqualTo(budgetAmount)) {
+            logger.info("User ID: {}. Condition MET: Expenses ({}) >= Budget ({}). Checking cooldown for EXCEEDED.", user.getId(), expenses, budgetAmount);
+            if (notificationCooldowns.tryAcquire(user.getId(), ALERT_EXCEEDED, NOTIFICATION_COOLDOWN)) {
+                String message = overallAlertMessage(EXCEEDED_PERCENT, isMonthlyBudget, budgetAmount, expensePeriodMessage, expenses);
                 logger.info("User ID: {}. Sending EXCEEDED notification: {}", user.getId(), message);
-                // MODIFIED: Call createAndSendNotification for WebSocket push
-                notificationService.createAndSendNotification(user, message, budgetPageLink);
-                updateNotificationTimestamp(user.getId(), "EXCEEDED");
+                notificationService.createAndSendNotificationNow(user, message, budgetPageLink);
             } else {
                 logger.info("User ID: {}. EXCEEDED notification cooldown active.", user.getId());
             }
         }
-        else if (expensesBigDecimal.compareTo(ninetyFivePercentThreshold) >= 0) {
-            logger.info("User ID: {}. Condition MET: Expenses ({}) >= 95% Threshold ({}). Checking cooldown for NEAR_95.", user.getId(), expensesBigDecimal, ninetyFivePercentThreshold);
-            if (canSendNotification(user.getId(), "NEAR_95")) {
-                 String message = String.format("❗ Alert: You have used over 95%% of %s budget (₱%,.2f). Current expenses %s: ₱%,.2f.",
-                                               (isMonthlyBudget ? "your monthly" : "your"), budgetAmount, expensePeriodMessage, expensesBigDecimal);
+        else if (expenses.isGreaterThanOrEqualTo(ninetyFivePercentThreshold)) {
+            logger.info("User ID: {}. Condition MET: Expenses ({}) >= 95% Threshold ({}). Checking cooldown for NEAR_95.", user.getId(), expenses, ninetyFivePercentThreshold);
+            if (notificationCooldowns.tryAcquire(user.getId(), ALERT_NEAR_95, NOTIFICATION_COOLDOWN)) {
+                 String message = overallAlertMessage(95, isMonthlyBudget, budgetAmount, expensePeriodMessage, expenses);
                 logger.info("User ID: {}. Sending NEAR_95 notification: {}", user.getId(), message);
-                // MODIFIED: Call createAndSendNotification for WebSocket push
-                notificationService.createAndSendNotification(user, message, budgetPageLink);
-                updateNotificationTimestamp(user.getId(), "NEAR_95");
+                notificationService.createAndSendNotificationNow(user, message, budgetPageLink);
             } else {
                  logger.info("User ID: {}. NEAR_95 notification cooldown active.", user.getId());
             }
         }
-        else if (expensesBigDecimal.compareTo(eightyPercentThreshold) >= 0) {
-            logger.info("User ID: {}. Condition MET: Expenses ({}) >= 80% Threshold ({}). Checking cooldown for NEAR_80.", user.getId(), expensesBigDecimal, eightyPercentThreshold);
-             if (canSendNotification(user.getId(), "NEAR_80")) {
-                String message = String.format("ℹ️ Info: You have used over 80%% of %s budget (₱%,.2f). Current expenses %s: ₱%,.2f.",
-                                               (isMonthlyBudget ? "your monthly" : "your"), budgetAmount, expensePeriodMessage, expensesBigDecimal);
+        else if (expenses.isGreaterThanOrEqualTo(eightyPercentThreshold)) {
+            logger.info("User ID: {}. Condition MET: Expenses ({}) >= 80% Threshold ({}). Checking cooldown for NEAR_80.", user.getId(), expenses, eightyPercentThreshold);
+             if (notificationCooldowns.tryAcquire(user.getId(), ALERT_NEAR_80, NOTIFICATION_COOLDOWN)) {
+                String message = overallAlertMessage(80, isMonthlyBudget, budgetAmount, expensePeriodMessage, expenses);
                 logger.info("User ID: {}. Sending NEAR_80 notification: {}", user.getId(), message);
-                // MODIFIED: Call createAndSendNotification for WebSocket push
-                notificationService.createAndSendNotification(user, message, budgetPageLink);
-                updateNotificationTimestamp(user.getId(), "NEAR_80");
+                notificationService.createAndSendNotificationNow(user, message, budgetPageLink);
              } else {
                 logger.info("User ID: {}. NEAR_80 notification cooldown active.", user.getId());
              }
         } else {
-            logger.info("User ID: {}. No budget thresholds met. Expenses: {}, Budget: {}", user.getId(), expensesBigDecimal, budgetAmount);
+            logger.info("User ID: {}. No budget thresholds met. Expenses: {}, Budget: {}", user.getId(), expenses, budgetAmount);
+        }
+    }
+
+    /**
+     * Saves the user's budget for {@code categoryName} (creating the category if needed); it is
+     * checked after commit.
+     * Blank {@code thresholds} fall back to budget.category.default-thresholds.
+     *
+     * @throws IllegalArgumentException for a blank category, a negative amount or malformed thresholds
+     */
+    @Transactional
+    public CategoryBudget saveCategoryBudget(User user, String categoryName, double amount, String thresholds) {
+        if (user == null || user.getId() == null) {
+            throw new IllegalArgumentException("User cannot be null when saving a category budget.");
+        }
+        if (amount < 0) {
+            throw new IllegalArgumentException("Budget amount cannot be negative.");
+        }
+        int[] percents = (thresholds == null || thresholds.trim().isEmpty())
+                ? defaultCategoryThresholds : CategoryBudget.parseThresholds(thresholds);
+        UserCategory category = categoryDictionaryService.resolve(user, categoryName);
+        if (category == null) {
+            throw new IllegalArgumentException("Category cannot be empty.");
+        }
+        CategoryBudget budget = categoryBudgetRepository.findByUserIdAndUserCategoryId(user.getId(), category.getId())
+                .orElseGet(CategoryBudget::new);
+        budget.setUser(user);
+        budget.setUserCategory(category);
+        budget.setMoney(Money.of(amount));
+        budget.setThresholdPercents(percents);
+        CategoryBudget saved = categoryBudgetRepository.save(budget);
+        logger.info("Category budget saved for user ID: {}. Category: {}, Amount: {}, Thresholds: {}",
+                user.getId(), category.getName(), saved.getMoney(), saved.getThresholds());
+        forgetCategoryLimits(user.getId());
+
+        eventPublisher.publishEvent(new BudgetChanged(user));
+        return saved;
+    }
+
+    @Transactional
+    public boolean deleteCategoryBudget(User user, Long categoryBudgetId) {
+        if (user == null || user.getId() == null || categoryBudgetId == null) {
+            return false;
+        }
+        boolean deleted = categoryBudgetRepository.deleteByIdAndUserId(categoryBudgetId, user.getId()) > 0;
+        if (deleted) {
+            logger.info("Category budget {} deleted for user ID: {}", categoryBudgetId, user.getId());
+            forgetCategoryLimits(user.getId());
+            // Like a save, so every listener sees the user's budgets change
+            eventPublisher.publishEvent(new BudgetChanged(user));
+        }
+        return deleted;
+    }
+
+    // This month's spending against each of the user's category budgets
+    @Transactional(readOnly = true)
+    public List<CategoryBudgetUsage> getCategoryBudgetUsage(User user) {
+        if (user == null || user.getId() == null) {
+            return List.of();
+        }
+        List<CategoryLimit> limits = getCategoryLimits(user.getId());
+        if (limits.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Long> spentByCategory = monthlyExpenseCounters.currentMonthMinorByCategory(user.getId());
+        List<CategoryBudgetUsage> usage = new ArrayList<>(limits.size());
+        for (CategoryLimit limit : limits) {
+            Money spent = Money.ofMinor(spentByCategory.get(limit.categoryId()));
+            int percentage = (limit.amount().signum() > 0)
+                    ? (int) Math.min(100L, spent.getMinorUnits() * 100 / limit.amount().getMinorUnits())
+                    : (spent.signum() > 0 ? 100 : 0);
+            usage.add(new CategoryBudgetUsage(limit.budgetId(), limit.category(), limit.amount().toBigDecimal(),
+                    spent.toBigDecimal(), CategoryBudget.formatThresholds(limit.thresholds()), Math.max(percentage, 0)));
+        }
+        return usage;
+    }
+
+    /**
+     * Checks every category budget of the user against this month's spending. The totals come
+     * from MonthlyExpenseCounters in one map (one grouped query when seeded, no query after), so
+     * the cost is a loop over the user's budgets. Each budget alerts once per cooldown and level,
+     * at the highest level reached, like the overall budget.
+     */
+    public void checkCategoryBudgets(User user) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        List<CategoryLimit> limits = getCategoryLimits(user.getId());
+        if (limits.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> spentByCategory = monthlyExpenseCounters.currentMonthMinorByCategory(user.getId());
+        for (DueAlert alert : dueCategoryAlerts(user.getId(), limits, spentByCategory, currentMonthName())) {
+            logger.info("User ID: {}. Sending category budget notification: {}", user.getId(), alert.message());
+            notificationService.createAndSendNotificationNow(user, alert.message(), "/dashboard");
         }
     }
 
-    private boolean canSendNotification(Long userId, String thresholdType) {
-        String key = userId + "_" + thresholdType;
-        long lastNotificationTime = recentNotifications.getOrDefault(key, 0L);
-        boolean canSend = (System.currentTimeMillis() - lastNotificationTime) > NOTIFICATION_COOLDOWN_MS;
-        if (!canSend) {
-            logger.debug("Cooldown active for User ID: {}, Threshold Type: {}. Last sent: {}ms ago.", userId, thresholdType, (System.currentTimeMillis() - lastNotificationTime));
+    /**
+     * Alerts now due for one user's monthly and category budgets, from this month's totals the
+     * caller computed in bulk (BudgetEvaluationJob) instead of the per-user counters, plus the
+     * projected overrun of the monthly budget (SpendForecaster). The cooldown of every returned
+     * alert is claimed: the caller must send them all, or give back the ones it could not send
+     * with {@link #releaseAlert}.
+     */
+    public List<DueAlert> collectMonthlyAlerts(long userId, Money budgetAmount, Money monthExpenses,
+                                               List<CategoryLimit> limits, Map<Long, Long> spentByCategory) {
+        String currentMonth = currentMonthName();
+        List<DueAlert> alerts = new ArrayList<>();
+        if (budgetAmount.signum() > 0) {
+            int level = monthExpenses.isGreaterThanOrEqualTo(budgetAmount) ? EXCEEDED_PERCENT
+                    : monthExpenses.isGreaterThanOrEqualTo(budgetAmount.percent(95)) ? 95
+                    : monthExpenses.isGreaterThanOrEqualTo(budgetAmount.percent(80)) ? 80 : 0;
+            long alertKey = (level == EXCEEDED_PERCENT) ? ALERT_EXCEEDED : (level == 95) ? ALERT_NEAR_95 : ALERT_NEAR_80;
+            if (level > 0 && notificationCooldowns.tryAcquire(userId, alertKey, NOTIFICATION_COOLDOWN)) {
+                alerts.add(new DueAlert(alertKey, overallAlertMessage(level, true, budgetAmount, "for " + currentMonth, monthExpenses)));
+            }
+            if (level < EXCEEDED_PERCENT) {
+                SpendForecast forecast = spendForecaster.forecast(userId, monthExpenses.getMinorUnits(), budgetAmount.getMinorUnits())
+                        .orElse(null);
+                if (forecast != null && forecast.getProjectedExceedDate() != null
+                        && notificationCooldowns.tryAcquire(userId, ALERT_PROJECTED, NOTIFICATION_COOLDOWN)) {
+                    alerts.add(new DueAlert(ALERT_PROJECTED, projectedOverrunMessage(budgetAmount, forecast, currentMonth)));
+                }
+            }
         }
-        return canSend;
+        alerts.addAll(dueCategoryAlerts(userId, limits, spentByCategory, currentMonth));
+        return alerts;
     }
 
-    private void updateNotificationTimestamp(Long userId, String thresholdType) {
-        String key = userId + "_" + thresholdType;
-        recentNotifications.put(key, System.currentTimeMillis());
-        logger.debug("Updated notification timestamp for User ID: {}, Threshold Type: {}.", userId, thresholdType);
+    // Gives back the cooldown of an alert from collectMonthlyAlerts that could not be sent
+    public void releaseAlert(long userId, long alertKey) {
+        notificationCooldowns.release(userId, alertKey);
+    }
+
+    // Claims the cooldown of each category budget at its highest level reached and returns the alerts
+    private List<DueAlert> dueCategoryAlerts(long userId, List<CategoryLimit> limits, Map<Long, Long> spentByCategory,
+                                           String currentMonth) {
+        List<DueAlert> alerts = new ArrayList<>();
+        for (CategoryLimit limit : limits) {
+            if (limit.amount().signum() <= 0) {
+                continue;
+            }
+            Money spent = Money.ofMinor(spentByCategory.get(limit.categoryId()));
+            int level = reachedLevel(limit, spent);
+            if (level == 0) {
+                continue;
+            }
+            long alertKey = (limit.categoryId() << CATEGORY_ALERT_SHIFT) | level;
+            if (!notificationCooldowns.tryAcquire(userId, alertKey, NOTIFICATION_COOLDOWN)) {
+                logger.debug("User ID: {}. Category '{}' {}% notification cooldown active.", userId, limit.category(), level);
+                continue;
+            }
+            alerts.add(new DueAlert(alertKey, (level == EXCEEDED_PERCENT)
+                    ? String.format("⚠️ Warning: You have exceeded your %s budget of ₱%,.2f! Expenses for %s: ₱%,.2f.",
+                                    limit.category(), limit.amount().toBigDecimal(), currentMonth, spent.toBigDecimal())
+                    : String.format("ℹ️ Info: You have used over %d%% of your %s budget (₱%,.2f). Expenses for %s: ₱%,.2f.",
+                                    level, limit.category(), limit.amount().toBigDecimal(), currentMonth, spent.toBigDecimal())));
+        }
+        return alerts;
+    }
+
+    // 100 once the budget is reached, else the highest warning percentage reached, else 0
+    private static int reachedLevel(CategoryLimit limit, Money spent) {
+        if (spent.isGreaterThanOrEqualTo(limit.amount())) {
+            return EXCEEDED_PERCENT;
+        }
+        int[] thresholds = limit.thresholds();
+        for (int i = thresholds.length - 1; i >= 0; i--) {
+            if (spent.isGreaterThanOrEqualTo(limit.amount().percent(thresholds[i]))) {
+                return thresholds[i];
+            }
+        }
+        return 0;
+    }
+
+    // Overall budget alert at 80, 95 or EXCEEDED_PERCENT
+    private static String overallAlertMessage(int level, boolean isMonthlyBudget, Money budgetAmount,
+                                              String expensePeriodMessage, Money expenses) {
+        String whose = isMonthlyBudget ? "your monthly" : "your";
+        if (level == EXCEEDED_PERCENT) {
+            return String.format("⚠️ Warning: You have exceeded %s budget of ₱%,.2f! Current expenses %s: ₱%,.2f.",
+                                 whose, budgetAmount.toBigDecimal(), expensePeriodMessage, expenses.toBigDecimal());
+        }
+        return String.format("%s You have used over %d%% of %s budget (₱%,.2f). Current expenses %s: ₱%,.2f.",
+                             (level >= 95) ? "❗ Alert:" : "ℹ️ Info:", level, whose, budgetAmount.toBigDecimal(),
+                             expensePeriodMessage, expenses.toBigDecimal());
+    }
+
+    private static String projectedOverrunMessage(Money budgetAmount, SpendForecast forecast, String currentMonth) {
+        return String.format("📈 Heads-up: At your current pace you will exceed your monthly budget of ₱%,.2f around %s. " +
+                        "Projected expenses for %s: ₱%,.2f.",
+                budgetAmount.toBigDecimal(), forecast.getProjectedExceedDate().format(DateTimeFormatter.ofPattern("MMMM d", Locale.ENGLISH)),
+                currentMonth, forecast.getProjectedMonthEnd());
+    }
+
+    private static String currentMonthName() {
+        return YearMonth.now().getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH);
+    }
+
+    private List<CategoryLimit> getCategoryLimits(Long userId) {
+        return categoryLimits.get(userId, id -> categoryBudgetRepository.findByUserIdWithCategory(id).stream()
+                .map(budget -> new CategoryLimit(budget.getId(), budget.getUserCategory().getId(),
+                        budget.getUserCategory().getName(), budget.getMoney(), budget.getThresholdPercents()))
+                .toList());
+    }
+
+    private void forgetCategoryLimits(Long userId) {
+        categoryLimits.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    categoryLimits.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    // Now and again after commit, so a concurrent check cannot re-cache the amount being replaced
+    private void forgetBudgetAmount(Long userId) {
+        budgetAmounts.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    budgetAmounts.invalidate(userId);
+                }
+            });
+        }
     }
 
     @Transactional
@@ -195,5 +504,13 @@ public class BudgetService {
        }
         budgetRepository.save(budget);
         logger.info("Budget explicitly saved for user ID: {}. Amount: {}", budget.getUser().getId(), budget.getAmount());
+        dashboardSnapshotCache.invalidate(budget.getUser().getId());
+        forgetBudgetAmount(budget.getUser().getId());
     }
+
+    // A CategoryBudget as the threshold check needs it; thresholds ascending, see CategoryBudget.parseThresholds
+    public record CategoryLimit(Long budgetId, long categoryId, String category, Money amount, int[] thresholds) {}
+
+    // An alert whose cooldown (alertKey in NotificationCooldownStore) has been claimed for the user
+    public record DueAlert(long alertKey, String message) {}
 }
@@ -0,0 +1,58 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.Repository.UserCategoryRepository;
+import com.appdev.Finance.model.User;
+import com.appdev.Finance.model.UserCategory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Maps a user's free-text category names to user_category rows. Lookups are case-insensitive
+ * through the column collation, matching the lower(category) comparison they replace.
+ */
+@Service
+public class CategoryDictionaryService {
+
+    private final UserCategoryRepository userCategoryRepository;
+
+    @Autowired
+    public CategoryDictionaryService(UserCategoryRepository userCategoryRepository) {
+        this.userCategoryRepository = userCategoryRepository;
+    }
+
+    /**
+     * Returns the dictionary entry for {@code name}, creating it on first use. Null for a blank name.
+     */
+    @Transactional
+    public UserCategory resolve(User user, String name) {
+        if (user == null || user.getId() == null || name == null || name.trim().isEmpty()) {
+            return null;
+        }
+        String trimmed = name.trim();
+        Optional<UserCategory> existing = userCategoryRepository.findByUserIdAndName(user.getId(), trimmed);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        userCategoryRepository.insertIfAbsent(user.getId(), trimmed);
+        return userCategoryRepository.findByUserIdAndName(user.getId(), trimmed)
+                .orElseThrow(() -> new IllegalStateException("Category '" + trimmed + "' missing right after insert"));
+    }
+
+    // Empty when the user has never used the category, so a filter on it can match nothing
+    @Transactional(readOnly = true)
+    public Optional<Long> findId(Long userId, String name) {
+        if (userId == null || name == null || name.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        return userCategoryRepository.findByUserIdAndName(userId, name.trim()).map(UserCategory::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<String> getCategoryNames(Long userId) {
+        return userCategoryRepository.findNamesByUserId(userId);
+    }
+}
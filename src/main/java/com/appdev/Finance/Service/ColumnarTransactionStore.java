@@ -0,0 +1,165 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.TransactionType;
+import com.appdev.Finance.model.Transaction;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Optional in-memory engine for interactive analytics: each user's transactions as UserColumns,
+ * loaded on first access with one streamed query and then answered without SQL.
+ *
+ * New transactions are merged in after their DB transaction commits; bulk writers invalidate the
+ * user instead. Entries are bounded by total row weight and held through soft references, so the
+ * GC can drop them under memory pressure; the next access simply reloads. Cache statistics are
+ * published as cache.* metrics (cache=columnarTransactions), load times as transactions.columnar.load.
+ *
+ * Date-range totals come from each user's DateRangeSumIndex, built from the columns on first use.
+ */
+@Component
+public class ColumnarTransactionStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColumnarTransactionStore.class);
+
+    private static final String LOAD_SQL = "SELECT id, transaction_date, amount_minor, type, category FROM `transaction` " +
+            "WHERE user_id = ? ORDER BY transaction_date ASC, id ASC";
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final boolean enabled;
+    private final long maxCategoryCells;
+    private final Cache<Long, UserColumns> cache;
+    private final Timer loadTimer;
+
+    @Autowired
+    public ColumnarTransactionStore(JdbcTemplate jdbcTemplate,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${analytics.columnar.enabled:false}") boolean enabled,
+                                    @Value("${analytics.columnar.max-rows:2000000}") long maxRows,
+                                    @Value("${analytics.columnar.expire-after-access:30m}") Duration expireAfterAccess,
+                                    @Value("${analytics.range-index.max-category-cells:2000000}") long maxCategoryCells) {
+        // Integer.MIN_VALUE makes Connector/J stream the rows, so only the columns themselves take heap
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        this.enabled = enabled;
+        this.maxCategoryCells = maxCategoryCells;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                .<Long, UserColumns>weigher((userId, columns) -> Math.max(1, columns.size()))
+                .softValues()
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "columnarTransactions");
+        this.loadTimer = Timer.builder("transactions.columnar.load")
+                .description("Time to load one user's transactions into columnar arrays")
+                .register(meterRegistry);
+        logger.info("Columnar transaction store {} (maxRows={}, expireAfterAccess={}).",
+                enabled ? "enabled" : "disabled", maxRows, expireAfterAccess);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The user's columns, loading them on first access. Empty when the store is disabled or the
+     * load failed, in which case callers should fall back to SQL.
+     */
+    public Optional<UserColumns> columns(Long userId) {
+        if (!enabled || userId == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(cache.get(userId, this::load));
+        } catch (RuntimeException e) {
+            logger.error("Could not load columnar transactions for user ID {}: {}", userId, e.getMessage(), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * The user's date-range index, building it (and loading the columns) on first access. Empty
+     * under the same conditions as {@link #columns}.
+     */
+    public Optional<DateRangeSumIndex> rangeIndex(Long userId) {
+        return columns(userId).map(columns -> columns.rangeIndex(maxCategoryCells));
+    }
+
+    /**
+     * Adds a newly saved transaction to its user's columns once the surrounding DB transaction
+     * commits. Users whose columns are not loaded are left alone; their next load reads it anyway.
+     */
+    public void recordSaved(Transaction transaction) {
+        if (!enabled || transaction == null || transaction.getId() == null || transaction.getUser() == null) {
+            return;
+        }
+        Long userId = transaction.getUser().getId();
+        long id = transaction.getId();
+        long amountMinor = transaction.getAmountMinor() != null ? transaction.getAmountMinor() : 0L;
+        TransactionType type = TransactionType.fromLabel(transaction.getType());
+        Runnable merge = () -> cache.asMap().computeIfPresent(userId, (key, columns) ->
+                columns.withRow(id, transaction.getTransactionDate(), amountMinor, transaction.getCategory(), type));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    merge.run();
+                }
+            });
+        } else {
+            merge.run();
+        }
+    }
+
+    /**
+     * Drops the user's columns now and again once the surrounding DB transaction commits, for
+     * writers that change many rows at once (CSV import).
+     */
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    private UserColumns load(Long userId) {
+        long started = System.nanoTime();
+        UserColumns.Builder builder = new UserColumns.Builder(1024);
+        streamingJdbcTemplate.query(LOAD_SQL, rs -> {
+            Date date = rs.getDate(2);
+            builder.add(rs.getLong(1),
+                    date != null ? date.toLocalDate() : null,
+                    rs.getLong(3),
+                    rs.getString(5),
+                    TransactionType.fromLabel(rs.getString(4)));
+        }, userId);
+        UserColumns columns = builder.build();
+        long elapsed = System.nanoTime() - started;
+        loadTimer.record(Duration.ofNanos(elapsed));
+        logger.debug("Loaded {} transactions into columns for user ID {} in {} ms.", columns.size(), userId, elapsed / 1_000_000);
+        return columns;
+    }
+}
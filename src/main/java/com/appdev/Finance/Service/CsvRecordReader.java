@@ -0,0 +1,102 @@
+package com.appdev.Finance.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 reader that yields one record at a time, so a statement of any length is
+ * parsed with constant memory. Handles quoted fields with commas, doubled quotes and line
+ * breaks, CRLF/LF line endings and a leading UTF-8 BOM.
+ */
+final class CsvRecordReader {
+
+    private final Reader reader;
+    private int lineNumber = 1;
+    private int recordStartLine = 1;
+    private int pushedBack = -2; // -2: nothing pushed back
+    private boolean started;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    // 1-based line on which the record last returned by next() started
+    int getRecordLine() {
+        return recordStartLine;
+    }
+
+    /**
+     * @return the fields of the next record, or null at end of input. Blank lines are skipped.
+     */
+    List<String> next() throws IOException {
+        while (true) {
+            recordStartLine = lineNumber;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean inQuotes = false;
+            boolean sawAnything = false;
+            int c;
+            while ((c = read()) != -1) {
+                sawAnything = true;
+                if (inQuotes) {
+                    if (c == '"') {
+                        int following = read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            inQuotes = false;
+                            unread(following);
+                        }
+                    } else {
+                        if (c == '\n') lineNumber++;
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    inQuotes = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n') {
+                    if (c == '\r') {
+                        int following = read();
+                        if (following != '\n') unread(following);
+                    }
+                    lineNumber++;
+                    break;
+                } else {
+                    field.append((char) c);
+                }
+            }
+            if (!sawAnything) {
+                return null;
+            }
+            fields.add(field.toString());
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            return fields;
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        int c = reader.read();
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF') {
+                c = reader.read();
+            }
+        }
+        return c;
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+}
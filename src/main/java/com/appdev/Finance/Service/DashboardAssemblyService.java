@@ -0,0 +1,121 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.DTO.CategoryBudgetUsage;
+import com.appdev.Finance.DTO.DashboardSnapshot;
+import com.appdev.Finance.DTO.DashboardView;
+import com.appdev.Finance.DTO.SpendForecast;
+import com.appdev.Finance.DTO.TransactionSearchSummary;
+import com.appdev.Finance.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Assembles the dashboard by running its independent reads (snapshot, top-N transactions with
+ * month totals, category filter options, category budget usage, month-end forecast) concurrently
+ * on the dashboard executor. Each part gets
+ * the same deadline measured from the start of the request; a part that fails or misses it is
+ * dropped and flagged on the returned view instead of failing the whole page.
+ */
+@Service
+public class DashboardAssemblyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardAssemblyService.class);
+
+    private final DashboardSnapshotService dashboardSnapshotService;
+    private final TransactionService transactionService;
+    private final BudgetService budgetService;
+    private final Executor dashboardExecutor;
+    private final Duration partTimeout;
+
+    @Autowired
+    public DashboardAssemblyService(DashboardSnapshotService dashboardSnapshotService,
+                                    TransactionService transactionService,
+                                    BudgetService budgetService,
+                                    @Qualifier("dashboardExecutor") Executor dashboardExecutor,
+                                    @Value("${dashboard.assembly.part-timeout:2s}") Duration partTimeout) {
+        this.dashboardSnapshotService = dashboardSnapshotService;
+        this.transactionService = transactionService;
+        this.budgetService = budgetService;
+        this.dashboardExecutor = dashboardExecutor;
+        this.partTimeout = partTimeout;
+    }
+
+    public DashboardView assemble(User user, String displayMonth,
+                                  String keyword, String transactionType, String category,
+                                  String startDate, String endDate, Double minAmount, Double maxAmount,
+                                  String sortField, String sortOrder, int transactionLimit) {
+        long deadline = System.nanoTime() + partTimeout.toNanos();
+        String monthToSearch = (startDate == null || startDate.isEmpty()) && (endDate == null || endDate.isEmpty()) ? displayMonth : null;
+
+        CompletableFuture<DashboardSnapshot> snapshotPart = submit(() -> dashboardSnapshotService.getSnapshot(user));
+        // Top rows, match count and month income/expense totals all come from one query
+        CompletableFuture<TransactionSearchSummary> transactionsPart = submit(() -> transactionService.searchTransactionsTop(
+                user, keyword, transactionType, category, monthToSearch,
+                startDate, endDate, minAmount, maxAmount,
+                sortField, sortOrder, transactionLimit));
+        CompletableFuture<List<String>> categoriesPart = submit(() -> transactionService.getDistinctCategoriesByUserId(user.getId()));
+        CompletableFuture<List<CategoryBudgetUsage>> categoryBudgetsPart = submit(() -> budgetService.getCategoryBudgetUsage(user));
+        CompletableFuture<SpendForecast> forecastPart = submit(() -> budgetService.getMonthEndForecast(user).orElse(null));
+
+        DashboardView view = new DashboardView();
+
+        DashboardSnapshot snapshot = await(snapshotPart, deadline, "snapshot", user);
+        view.setSnapshot(snapshot);
+        view.setChartDataUnavailable(snapshot == null);
+
+        TransactionSearchSummary transactions = await(transactionsPart, deadline, "transactions", user);
+        List<String> categories = await(categoriesPart, deadline, "categories", user);
+        if (transactions == null || categories == null) {
+            // Both used to share one try-block in the controller; keep reporting them together
+            view.setTransactionListUnavailable(true);
+        }
+        if (transactions != null) {
+            view.setTransactions(transactions);
+        }
+        if (categories != null) {
+            view.setAvailableCategories(categories);
+        }
+
+        // Optional panels: without them the page simply omits the category budgets and the forecast
+        List<CategoryBudgetUsage> categoryBudgets = await(categoryBudgetsPart, deadline, "categoryBudgets", user);
+        if (categoryBudgets != null) {
+            view.setCategoryBudgets(categoryBudgets);
+        }
+        view.setMonthEndForecast(await(forecastPart, deadline, "monthEndForecast", user));
+        return view;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> part) {
+        return CompletableFuture.supplyAsync(part, dashboardExecutor);
+    }
+
+    private <T> T await(CompletableFuture<T> part, long deadline, String partName, User user) {
+        long remaining = Math.max(0L, deadline - System.nanoTime());
+        try {
+            return part.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            part.cancel(true);
+            logger.warn("Dashboard part '{}' for user {} did not finish within {} ms; rendering without it.",
+                    partName, user.getEmail(), partTimeout.toMillis());
+        } catch (ExecutionException e) {
+            logger.error("Dashboard part '{}' failed for user {}: {}", partName, user.getEmail(), e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            part.cancel(true);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,75 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.DTO.DashboardSnapshot;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded (size + idle TTL) cache of DashboardSnapshot per user ID. A snapshot holds only
+ * month-independent data (all-time charts and budget usage), so one entry serves every month;
+ * the selected month's list and totals are cached per user and month in TransactionSearchCache.
+ * Kept free of service dependencies so that writers (TransactionService, BudgetService)
+ * can invalidate it without creating circular references.
+ * Hit/miss/eviction statistics are published to Micrometer as cache.* metrics (cache=dashboardSnapshots).
+ */
+@Component
+public class DashboardSnapshotCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardSnapshotCache.class);
+
+    private final Cache<Long, DashboardSnapshot> cache;
+
+    @Autowired
+    public DashboardSnapshotCache(@Value("${dashboard.cache.maximum-size:10000}") long maximumSize,
+                                  @Value("${dashboard.cache.expire-after-access:15m}") Duration expireAfterAccess,
+                                  MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "dashboardSnapshots");
+        logger.info("Dashboard snapshot cache initialized (maximumSize={}, expireAfterAccess={}).", maximumSize, expireAfterAccess);
+    }
+
+    public DashboardSnapshot get(Long userId, Function<Long, DashboardSnapshot> loader) {
+        return cache.get(userId, loader);
+    }
+
+    /**
+     * Drops the user's snapshot now and again once the surrounding DB transaction commits,
+     * so a concurrent reader cannot re-cache data that was read before the commit.
+     */
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+        logger.debug("Dashboard snapshot invalidated for user ID {}", userId);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,82 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.DTO.DashboardSnapshot;
+import com.appdev.Finance.model.Budget;
+import com.appdev.Finance.model.Money;
+import com.appdev.Finance.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Builds the cacheable part of the dashboard model. Users re-opening the dashboard with no
+ * intervening writes get charts and budget usage straight from DashboardSnapshotCache.
+ */
+@Service
+public class DashboardSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardSnapshotService.class);
+
+    private final DashboardSnapshotCache snapshotCache;
+    private final SpendingRollupService spendingRollupService;
+    private final BudgetService budgetService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public DashboardSnapshotService(DashboardSnapshotCache snapshotCache,
+                                    SpendingRollupService spendingRollupService,
+                                    BudgetService budgetService,
+                                    ObjectMapper objectMapper) {
+        this.snapshotCache = snapshotCache;
+        this.spendingRollupService = spendingRollupService;
+        this.budgetService = budgetService;
+        this.objectMapper = (objectMapper != null) ? objectMapper : new ObjectMapper();
+    }
+
+    public DashboardSnapshot getSnapshot(User user) {
+        return snapshotCache.get(user.getId(), userId -> buildSnapshot(user));
+    }
+
+    private DashboardSnapshot buildSnapshot(User user) {
+        logger.debug("Building dashboard snapshot for user ID {}", user.getId());
+        Map<String, BigDecimal> categoryTotalsForChart = spendingRollupService.getExpenseTotalsByCategory(user.getId());
+        Map<String, BigDecimal> monthlyTotalsForChart = spendingRollupService.getExpenseTotalsByMonth(user.getId());
+
+        String categoryDataJson = "{}";
+        String monthlyDataJson = "{}";
+        boolean chartDataError = false;
+        try {
+            categoryDataJson = objectMapper.writeValueAsString(categoryTotalsForChart);
+            monthlyDataJson = objectMapper.writeValueAsString(monthlyTotalsForChart);
+        } catch (JsonProcessingException e) {
+            logger.error("Error serializing chart data for user {}: {}", user.getEmail(), e.getMessage());
+            chartDataError = true;
+        }
+
+        Budget budget = budgetService.getBudgetForUser(user);
+        BigDecimal budgetAmount = (budget != null && budget.getAmount() != null) ? budget.getAmount() : BigDecimal.ZERO;
+        Money totalExpensesForAllTime = spendingRollupService.getTotalExpenses(user.getId());
+
+        int expensePercentage = 0;
+        long budgetMinor = Money.of(budgetAmount).getMinorUnits();
+        if (budgetMinor > 0) {
+            try {
+                // Whole percent, truncated, computed on centavos
+                expensePercentage = (int) Math.min(100L,
+                        Math.multiplyExact(totalExpensesForAllTime.getMinorUnits(), 100L) / budgetMinor);
+            } catch (ArithmeticException e) {
+                logger.warn("ArithmeticException during budget percentage calculation for user {}: expenses overflowed.", user.getEmail());
+                expensePercentage = (totalExpensesForAllTime.signum() > 0) ? 100 : 0;
+            }
+        }
+        expensePercentage = Math.min(Math.max(expensePercentage, 0), 100);
+
+        return new DashboardSnapshot(categoryDataJson, monthlyDataJson, chartDataError, budgetAmount, expensePercentage);
+    }
+}
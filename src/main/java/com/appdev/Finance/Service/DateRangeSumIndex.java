@@ -0,0 +1,210 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.DTO.DateRangeTotals;
+import com.appdev.Finance.TransactionType;
+import com.appdev.Finance.model.Money;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Binary indexed (Fenwick) trees over epoch days for one user: row count, income and expense
+ * centavos, overall and per category. Any date-range total is two prefix sums, O(log days), and a
+ * new transaction is one O(log days) update per tree instead of a rebuild.
+ *
+ * The day axis covers the user's data plus {@link #HEADROOM_DAYS} on either side; an insert
+ * outside it is refused so the owner can rebuild. Slot 0 of every tree, unused by the Fenwick
+ * layout, holds the undated rows, which only count when neither bound is given (like NULL in SQL).
+ * Per-category trees are dropped once they would exceed the configured cell budget, after which
+ * category queries return empty and callers fall back to a scan.
+ */
+public final class DateRangeSumIndex {
+
+    static final int HEADROOM_DAYS = 366;
+
+    private static final int COUNT = 0;
+    private static final int INCOME = 1;
+    private static final int EXPENSE = 2;
+
+    private final int firstDay;   // epoch day at tree position 1
+    private final int days;
+    private final long maxCategoryCells;
+    private final long[][] totals = new long[3][];
+    private Map<String, long[][]> byCategory = new HashMap<>(); // lower-cased name -> trees; null once over budget
+    private boolean sealed;
+
+    /**
+     * An empty index spanning [firstDay, lastDay]. Rows are added with {@link #accumulate} and the
+     * trees are formed in one linear pass by {@link #seal}; after that only {@link #add} applies.
+     */
+    DateRangeSumIndex(int firstDay, int lastDay, long maxCategoryCells) {
+        this.firstDay = firstDay;
+        this.days = lastDay - firstDay + 1;
+        this.maxCategoryCells = maxCategoryCells;
+        for (int slot = 0; slot < totals.length; slot++) {
+            totals[slot] = new long[days + 1];
+        }
+    }
+
+    // Places a row at its leaf before seal(); the caller guarantees the day lies on the axis
+    void accumulate(int epochDay, long amountMinor, String category, TransactionType type) {
+        int position = epochDay == UserColumns.NO_DATE ? 0 : epochDay - firstDay + 1;
+        addAt(totals, position, amountMinor, type);
+        long[][] trees = categoryTrees(category);
+        if (trees != null) {
+            addAt(trees, position, amountMinor, type);
+        }
+    }
+
+    void seal() {
+        link(totals);
+        if (byCategory != null) {
+            byCategory.values().forEach(DateRangeSumIndex::link);
+        }
+        sealed = true;
+    }
+
+    /**
+     * Adds one new row to every tree it belongs to.
+     *
+     * @return false, leaving the index unchanged, when the row's date is off the day axis
+     */
+    synchronized boolean add(int epochDay, long amountMinor, String category, TransactionType type) {
+        if (!sealed) {
+            throw new IllegalStateException("Range index is still being built");
+        }
+        int position = 0;
+        if (epochDay != UserColumns.NO_DATE) {
+            if (epochDay < firstDay || epochDay - firstDay >= days) {
+                return false;
+            }
+            position = epochDay - firstDay + 1;
+        }
+        update(totals, position, amountMinor, type);
+        long[][] trees = categoryTrees(category);
+        if (trees != null) {
+            update(trees, position, amountMinor, type);
+        }
+        return true;
+    }
+
+    /**
+     * Totals over [startDate, endDate], both inclusive and either open when null.
+     */
+    public synchronized DateRangeTotals totals(LocalDate startDate, LocalDate endDate) {
+        return rangeTotals(totals, startDate, endDate);
+    }
+
+    /**
+     * Totals over [startDate, endDate] for one category (case-insensitive). Empty when the
+     * per-category trees were dropped for size; unknown categories have all-zero totals.
+     */
+    public synchronized Optional<DateRangeTotals> totals(LocalDate startDate, LocalDate endDate, String category) {
+        if (category == null || category.isBlank()) {
+            return Optional.of(rangeTotals(totals, startDate, endDate));
+        }
+        if (byCategory == null) {
+            return Optional.empty();
+        }
+        long[][] trees = byCategory.get(key(category));
+        if (trees == null) {
+            return Optional.of(new DateRangeTotals(0L, Money.ZERO.toBigDecimal(), Money.ZERO.toBigDecimal()));
+        }
+        return Optional.of(rangeTotals(trees, startDate, endDate));
+    }
+
+    // Rough heap footprint
+    public synchronized long estimatedBytes() {
+        long trees = 3 + (byCategory != null ? 3L * byCategory.size() : 0L);
+        return trees * (days + 1) * 8L;
+    }
+
+    private DateRangeTotals rangeTotals(long[][] trees, LocalDate startDate, LocalDate endDate) {
+        long[] sums = new long[3];
+        if (startDate == null && endDate == null) {
+            for (int slot = 0; slot < sums.length; slot++) {
+                sums[slot] = trees[slot][0] + prefix(trees[slot], days);
+            }
+        } else {
+            // Clamp in long arithmetic; dates off the axis simply hold no rows
+            long from = startDate != null ? Math.max(1L, startDate.toEpochDay() - firstDay + 1) : 1L;
+            long to = endDate != null ? Math.min(days, endDate.toEpochDay() - firstDay + 1) : days;
+            if (from <= to) {
+                for (int slot = 0; slot < sums.length; slot++) {
+                    sums[slot] = prefix(trees[slot], (int) to) - prefix(trees[slot], (int) from - 1);
+                }
+            }
+        }
+        return new DateRangeTotals(sums[COUNT], Money.ofMinor(sums[INCOME]).toBigDecimal(),
+                Money.ofMinor(sums[EXPENSE]).toBigDecimal());
+    }
+
+    private long[][] categoryTrees(String category) {
+        if (byCategory == null || category == null || category.isBlank()) {
+            return null;
+        }
+        String key = key(category);
+        long[][] trees = byCategory.get(key);
+        if (trees == null) {
+            if (3L * (byCategory.size() + 1) * (days + 1) > maxCategoryCells) {
+                byCategory = null;
+                return null;
+            }
+            trees = new long[3][days + 1];
+            byCategory.put(key, trees);
+        }
+        return trees;
+    }
+
+    private static void addAt(long[][] trees, int position, long amountMinor, TransactionType type) {
+        trees[COUNT][position]++;
+        if (type == TransactionType.INCOME) {
+            trees[INCOME][position] += amountMinor;
+        } else if (type == TransactionType.EXPENSE) {
+            trees[EXPENSE][position] += amountMinor;
+        }
+    }
+
+    private void update(long[][] trees, int position, long amountMinor, TransactionType type) {
+        if (position == 0) {
+            addAt(trees, 0, amountMinor, type);
+            return;
+        }
+        long[] amounts = type == TransactionType.INCOME ? trees[INCOME] : type == TransactionType.EXPENSE ? trees[EXPENSE] : null;
+        for (int i = position; i <= days; i += i & -i) {
+            trees[COUNT][i]++;
+            if (amounts != null) {
+                amounts[i] += amountMinor;
+            }
+        }
+    }
+
+    // Turns per-day values into Fenwick nodes in place: each node passes its sum to its parent
+    private static void link(long[][] trees) {
+        for (long[] tree : trees) {
+            int n = tree.length - 1;
+            for (int i = 1; i <= n; i++) {
+                int parent = i + (i & -i);
+                if (parent <= n) {
+                    tree[parent] += tree[i];
+                }
+            }
+        }
+    }
+
+    private static long prefix(long[] tree, int position) {
+        long sum = 0;
+        for (int i = position; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    // Category names compare case-insensitively, like the column collation
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,55 @@
+package com.appdev.Finance.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Owns the FULLTEXT index on transaction.description. ddl-auto cannot declare FULLTEXT indexes,
+ * so it is created on startup by DataBackfillRunner. Until that has succeeded (or when disabled
+ * through transactions.search.fulltext.enabled) keyword search falls back to LIKE.
+ */
+@Component
+public class DescriptionSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(DescriptionSearchIndex.class);
+
+    static final String INDEX_NAME = "ft_transaction_description";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private volatile boolean available;
+
+    @Autowired
+    public DescriptionSearchIndex(JdbcTemplate jdbcTemplate,
+                                  @Value("${transactions.search.fulltext.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Creates the index if it is missing. Building it on a large table takes a while, but only happens once.
+     */
+    public void ensureIndex() {
+        if (!enabled) {
+            logger.info("Full-text description search disabled; keyword search uses LIKE.");
+            return;
+        }
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                "WHERE table_schema = DATABASE() AND table_name = 'transaction' AND index_name = ?",
+                Integer.class, INDEX_NAME);
+        if (existing == null || existing == 0) {
+            logger.info("Creating FULLTEXT index {} on transaction.description.", INDEX_NAME);
+            jdbcTemplate.execute("ALTER TABLE `transaction` ADD FULLTEXT INDEX " + INDEX_NAME + " (description)");
+        }
+        available = true;
+    }
+}
@@ -0,0 +1,83 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.model.IdSequences;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+/**
+ * Keeps the pooled id sequences (see IdSequences) ahead of the ids already in their tables, and
+ * hands out id blocks to code that inserts through JDBC instead of Hibernate.
+ *
+ * The alignment runs while the context starts, after Hibernate has created the sequence tables
+ * but before the web server accepts requests, so the first pooled block can never reuse an id
+ * that AUTO_INCREMENT issued before the switch. Re-running it is a no-op.
+ */
+@Component
+public class IdSequenceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdSequenceService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate ownTransaction;
+
+    // The EntityManagerFactory is only taken to order this bean after the schema update
+    @Autowired
+    public IdSequenceService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ownTransaction = new TransactionTemplate(transactionManager);
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void alignWithExistingIds() {
+        for (Map.Entry<String, String> entry : IdSequences.ENTITY_TABLES.entrySet()) {
+            String sequence = entry.getKey();
+            String table = entry.getValue();
+            try {
+                Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + sequence, Integer.class);
+                if (rows == null || rows == 0) {
+                    jdbcTemplate.update("INSERT INTO " + sequence + " (next_val) VALUES (1)");
+                }
+                int moved = jdbcTemplate.update("UPDATE " + sequence + " SET next_val = " +
+                        "(SELECT COALESCE(MAX(id), 0) + 1 FROM `" + table + "`) " +
+                        "WHERE next_val <= (SELECT COALESCE(MAX(id), 0) FROM `" + table + "`)");
+                if (moved > 0) {
+                    logger.info("Moved id sequence {} past the existing ids of {}.", sequence, table);
+                }
+            } catch (Exception e) {
+                logger.error("Could not align id sequence {} with table {}: {}", sequence, table, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Reserves {@code count} consecutive ids from {@code sequence} and returns the first. Runs in its
+     * own short transaction so the sequence row is not locked for the caller's whole transaction;
+     * ids of a rolled-back caller are simply skipped.
+     */
+    public long reserve(String sequence, int count) {
+        if (!IdSequences.ENTITY_TABLES.containsKey(sequence)) {
+            throw new IllegalArgumentException("Unknown id sequence: " + sequence);
+        }
+        Long first = ownTransaction.execute(status -> {
+            // LAST_INSERT_ID(expr) remembers the pre-increment value for this connection
+            jdbcTemplate.update("UPDATE " + sequence + " SET next_val = LAST_INSERT_ID(next_val) + ?", count);
+            return jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+        });
+        if (first == null) {
+            throw new IllegalStateException("Could not reserve ids from " + sequence);
+        }
+        return first;
+    }
+}
@@ -0,0 +1,176 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.DTO.TransactionListItem;
+import com.appdev.Finance.DTO.TransactionSearchSummary;
+import com.appdev.Finance.TransactionType;
+import com.appdev.Finance.model.Money;
+import com.appdev.Finance.model.Transaction;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * The non-keyword search filters of TransactionService evaluated over a user's cached list rows,
+ * with the same semantics as the SQL specification on the normalized columns: type and category
+ * compare like the collation (ignoring case and accents), a month name matches the row's period in any year
+ * and a "yyyy-MM" month exactly that period, a valid date
+ * range overrides the month, and amounts are inclusive bounds in centavos.
+ *
+ * Ordering follows MySQL: NULLs sort first ascending and last descending, and text compares
+ * the same way: on the lower-cased text with accents stripped, which keeps spaces and punctuation
+ * significant and ahead of letters. That is close to, not the same as, the collation (digits
+ * against punctuation such as '_' differ), so keyset pages that continue in SQL must not start from
+ * a text order computed here (see sortsByText).
+ */
+final class InMemoryTransactionSearch {
+
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+
+    private final TransactionType type;
+    private final boolean unknownType;
+    private final String category;
+    private final Month month;
+    private final YearMonth period;
+    private final boolean unknownMonth;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final long minMinor;
+    private final long maxMinor;
+    private final Map<String, String> textKeys = new HashMap<>();
+
+    InMemoryTransactionSearch(String transactionType, String category, String month,
+                              String startDate, String endDate, Double minAmount, Double maxAmount) {
+        this.type = TransactionType.fromLabel(transactionType);
+        this.unknownType = StringUtils.hasText(transactionType) && type == null;
+        this.category = StringUtils.hasText(category) ? category.trim() : null;
+        this.startDate = TransactionSpecification.isoDateOrNull(startDate);
+        this.endDate = TransactionSpecification.isoDateOrNull(endDate);
+        Month parsedMonth = null;
+        YearMonth parsedPeriod = null;
+        boolean monthFilter = StringUtils.hasText(month) && this.startDate == null && this.endDate == null;
+        if (monthFilter) {
+            parsedPeriod = Transaction.parseYearMonth(month);
+            if (parsedPeriod == null) {
+                try {
+                    parsedMonth = Month.valueOf(month.trim().toUpperCase(Locale.ENGLISH));
+                } catch (IllegalArgumentException e) {
+                    // No period can match, exactly as on the SQL side
+                }
+            }
+        }
+        this.month = parsedMonth;
+        this.period = parsedPeriod;
+        this.unknownMonth = monthFilter && parsedMonth == null && parsedPeriod == null;
+        this.minMinor = minAmount != null ? Money.of(minAmount).getMinorUnits() : Long.MIN_VALUE;
+        this.maxMinor = maxAmount != null ? Money.of(maxAmount).getMinorUnits() : Long.MAX_VALUE;
+    }
+
+    /**
+     * First {@code limit} matches in {@code sort} order, with the count and income/expense totals
+     * of all matches, like TransactionRepositoryCustom.findTopWithTotals.
+     */
+    TransactionSearchSummary topWithTotals(List<TransactionListItem> rows, Sort sort, int limit) {
+        List<TransactionListItem> matches = new ArrayList<>();
+        long income = 0;
+        long expense = 0;
+        if (!unknownType && !unknownMonth) {
+            for (TransactionListItem row : rows) {
+                if (!accepts(row)) {
+                    continue;
+                }
+                matches.add(row);
+                long amount = row.getAmountMinor() != null ? row.getAmountMinor() : 0L;
+                if ("income".equalsIgnoreCase(row.getType())) {
+                    income += amount;
+                } else if ("expense".equalsIgnoreCase(row.getType())) {
+                    expense += amount;
+                }
+            }
+        }
+        matches.sort(comparator(sort));
+        List<TransactionListItem> top = new ArrayList<>(matches.subList(0, Math.min(limit, matches.size())));
+        return new TransactionSearchSummary(top, matches.size(),
+                Money.ofMinor(income).toBigDecimal(), Money.ofMinor(expense).toBigDecimal());
+    }
+
+    private boolean accepts(TransactionListItem row) {
+        if (type != null && TransactionType.fromLabel(row.getType()) != type) {
+            return false;
+        }
+        if (category != null && (row.getCategory() == null || !textKey(category).equals(textKey(row.getCategory().trim())))) {
+            return false;
+        }
+        LocalDate date = row.getTransactionDate();
+        if (startDate != null && (date == null || date.isBefore(startDate))) {
+            return false;
+        }
+        if (endDate != null && (date == null || date.isAfter(endDate))) {
+            return false;
+        }
+        if (month != null || period != null) {
+            YearMonth rowPeriod = Transaction.resolvePeriod(date, row.getMonth());
+            if (month != null && rowPeriod.getMonth() != month || period != null && !period.equals(rowPeriod)) {
+                return false;
+            }
+        }
+        long amount = row.getAmountMinor() != null ? row.getAmountMinor() : 0L;
+        return amount >= minMinor && amount <= maxMinor;
+    }
+
+    // Whether any order of the sort compares text rather than numbers or dates
+    static boolean sortsByText(Sort sort) {
+        for (Sort.Order order : sort) {
+            switch (order.getProperty()) {
+                case "description", "type", "category", "month" -> {
+                    return true;
+                }
+                default -> {
+                }
+            }
+        }
+        return false;
+    }
+
+    private Comparator<TransactionListItem> comparator(Sort sort) {
+        Comparator<TransactionListItem> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<TransactionListItem> next = orderBy(order.getProperty());
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator != null ? comparator : Comparator.comparing(TransactionListItem::getId);
+    }
+
+    private Comparator<TransactionListItem> orderBy(String property) {
+        Comparator<String> text = Comparator.nullsFirst(Comparator.comparing(this::textKey));
+        return switch (property) {
+            case "id" -> Comparator.comparing(TransactionListItem::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "description" -> Comparator.comparing(TransactionListItem::getDescription, text);
+            case "amountMinor" -> Comparator.comparing(TransactionListItem::getAmountMinor, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "transactionDate" -> Comparator.comparing(TransactionListItem::getTransactionDate, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "type" -> Comparator.comparing(TransactionListItem::getType, text);
+            case "category" -> Comparator.comparing(TransactionListItem::getCategory, text);
+            case "month" -> Comparator.comparing(TransactionListItem::getMonth, text);
+            default -> throw new IllegalArgumentException("Unsupported sort property: " + property);
+        };
+    }
+
+    // Computed once per distinct value and search; a sort compares each value many times
+    private String textKey(String value) {
+        return textKeys.computeIfAbsent(value, text ->
+                ACCENTS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT));
+    }
+}
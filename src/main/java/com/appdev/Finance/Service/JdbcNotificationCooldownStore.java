@@ -0,0 +1,70 @@
+package com.appdev.Finance.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * NotificationCooldownStore on the notification_cooldown table (see NotificationCooldown), for
+ * cooldowns that survive restarts and are shared by every node.
+ *
+ * A cooldown is claimed by restarting the user's row for the alert only if it has ended, or by
+ * inserting it if there is none. Both statements are atomic in MySQL (row lock, unique key), so
+ * of several nodes racing for the same alert at most one succeeds. The claim runs in its own short
+ * transaction: it is visible to other nodes at once and does not hold the row lock for the
+ * caller's whole transaction.
+ */
+@Component
+@ConditionalOnProperty(name = "budget.notification-cooldown.store", havingValue = "database")
+public class JdbcNotificationCooldownStore implements NotificationCooldownStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcNotificationCooldownStore.class);
+
+    private static final String RESTART_SQL = "UPDATE notification_cooldown SET expires_at = ? " +
+            "WHERE user_id = ? AND alert_key = ? AND expires_at <= ?";
+    private static final String INSERT_SQL = "INSERT IGNORE INTO notification_cooldown (user_id, alert_key, expires_at) " +
+            "VALUES (?, ?, ?)";
+    private static final String RELEASE_SQL = "DELETE FROM notification_cooldown WHERE user_id = ? AND alert_key = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate ownTransaction;
+
+    @Autowired
+    public JdbcNotificationCooldownStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ownTransaction = new TransactionTemplate(transactionManager);
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        logger.info("Database-backed notification cooldown store initialized.");
+    }
+
+    @Override
+    public boolean tryAcquire(long userId, long alertKey, Duration cooldown) {
+        long now = System.currentTimeMillis();
+        long expiry = now + Math.max(1, cooldown.toMillis());
+        try {
+            Boolean acquired = ownTransaction.execute(status ->
+                    jdbcTemplate.update(RESTART_SQL, expiry, userId, alertKey, now) > 0
+                            // No ended cooldown to restart: either none exists yet or one is still running
+                            || jdbcTemplate.update(INSERT_SQL, userId, alertKey, expiry) > 0);
+            return Boolean.TRUE.equals(acquired);
+        } catch (PessimisticLockingFailureException e) {
+            // Two first claims can deadlock on the gap lock; InnoDB lets the other one through
+            logger.debug("Lost cooldown claim race for user ID {} alert {}: {}", userId, alertKey, e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void release(long userId, long alertKey) {
+        ownTransaction.executeWithoutResult(status -> jdbcTemplate.update(RELEASE_SQL, userId, alertKey));
+    }
+}
@@ -0,0 +1,77 @@
+package com.appdev.Finance.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves stored amounts from floating-point columns to long centavos (see Money).
+ * transaction.amount is copied into amount_minor and then made nullable, since the entity no
+ * longer writes it; the column itself is kept so the original values stay available. The
+ * spending rollup is derived data, so its old floating-point rows are dropped and rebuilt from
+ * the transactions by the regular rollup backfill.
+ */
+@Component
+public class MoneyColumnMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(MoneyColumnMigration.class);
+
+    private static final int CHUNK_SIZE = 10_000;
+    private static final String LEGACY_AMOUNT_INDEX = "idx_transaction_user_amount_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public MoneyColumnMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void migrate() {
+        if (columnExists("transaction", "amount")) {
+            migrateTransactionAmounts();
+        }
+        if (columnExists("user_spending_rollup", "total")) {
+            int removed = jdbcTemplate.update("DELETE FROM user_spending_rollup");
+            jdbcTemplate.execute("ALTER TABLE user_spending_rollup DROP COLUMN total");
+            logger.info("Dropped floating-point spending rollup ({} rows); it is rebuilt in centavos.", removed);
+        }
+    }
+
+    private void migrateTransactionAmounts() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM `transaction`", Long.class);
+        int updated = 0;
+        if (maxId != null) {
+            for (long from = 1; from <= maxId; from += CHUNK_SIZE) {
+                updated += jdbcTemplate.update("UPDATE `transaction` SET amount_minor = ROUND(amount * 100) " +
+                        "WHERE amount_minor IS NULL AND amount IS NOT NULL AND id BETWEEN ? AND ?", from, from + CHUNK_SIZE - 1);
+            }
+        }
+        if (updated > 0) {
+            logger.info("Converted {} transaction amount(s) to centavos.", updated);
+        }
+        String nullable = jdbcTemplate.queryForObject(
+                "SELECT is_nullable FROM information_schema.columns " +
+                "WHERE table_schema = DATABASE() AND table_name = 'transaction' AND column_name = 'amount'", String.class);
+        if ("NO".equalsIgnoreCase(nullable)) {
+            jdbcTemplate.execute("ALTER TABLE `transaction` MODIFY amount DOUBLE NULL");
+        }
+        Integer legacyIndex = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                "WHERE table_schema = DATABASE() AND table_name = 'transaction' AND index_name = ?",
+                Integer.class, LEGACY_AMOUNT_INDEX);
+        if (legacyIndex != null && legacyIndex > 0) {
+            // Superseded by idx_transaction_user_amount_minor_id
+            jdbcTemplate.execute("ALTER TABLE `transaction` DROP INDEX " + LEGACY_AMOUNT_INDEX);
+        }
+    }
+
+    private boolean columnExists(String table, String column) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns " +
+                "WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ?",
+                Integer.class, table, column);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,196 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.DTO.CategoryIdTotal;
+import com.appdev.Finance.Repository.ReportRepository;
+import com.appdev.Finance.Repository.UserSpendingRollupRepository;
+import com.appdev.Finance.TransactionType;
+import com.appdev.Finance.model.Transaction;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running current-month expense total per user, in centavos, for the budget threshold check. A
+ * counter is seeded once from user_spending_rollup (or the transaction table while the user has no
+ * rollup rows) and then advanced by each saved expense, so the check reads it without a query.
+ *
+ * Adds happen inside the inserting DB transaction, where the seed query would also see the new
+ * row, so a seed and an add never count the same row twice. A rolled-back insert drops the counter
+ * and bulk writers invalidate it; either way the next read seeds again. Counters are re-seeded
+ * after {@code budget.expense-counters.reseed-after} to bound drift from inserts that were still
+ * uncommitted while a seed ran. A counter belongs to one YearMonth and is replaced once it ends.
+ *
+ * Per-category totals for CategoryBudget checks follow the same rules in a second cache, keyed by
+ * category_id and seeded with one grouped query, only for users that ask for them.
+ * Statistics are published as cache.* metrics (cache=monthlyExpenseCounters and
+ * monthlyCategoryExpenseCounters).
+ */
+@Component
+public class MonthlyExpenseCounters {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonthlyExpenseCounters.class);
+
+    private final UserSpendingRollupRepository rollupRepository;
+    private final ReportRepository reportRepository;
+    private final Cache<Long, MonthCounter> counters;
+    private final Cache<Long, CategoryCounters> categoryCounters;
+    private final Counter seedCounter;
+
+    @Autowired
+    public MonthlyExpenseCounters(UserSpendingRollupRepository rollupRepository,
+                                  ReportRepository reportRepository,
+                                  @Value("${budget.expense-counters.max-users:100000}") long maxUsers,
+                                  @Value("${budget.expense-counters.reseed-after:15m}") Duration reseedAfter,
+                                  MeterRegistry meterRegistry) {
+        this.rollupRepository = rollupRepository;
+        this.reportRepository = reportRepository;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(reseedAfter)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counters, "monthlyExpenseCounters");
+        this.categoryCounters = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(reseedAfter)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, categoryCounters, "monthlyCategoryExpenseCounters");
+        this.seedCounter = Counter.builder("budget.expense-counters.seeds")
+                .description("Monthly expense counters seeded from the database")
+                .register(meterRegistry);
+        logger.info("Monthly expense counters initialized (maxUsers={}, reseedAfter={}).", maxUsers, reseedAfter);
+    }
+
+    /**
+     * The user's expenses in the current month, including rows written earlier in the calling DB
+     * transaction.
+     */
+    public long currentMonthMinor(Long userId) {
+        YearMonth period = YearMonth.now();
+        MonthCounter counter = counters.get(userId, id -> seed(id, period));
+        if (!counter.period().equals(period)) {
+            // The month rolled over since the seed
+            counters.asMap().remove(userId, counter);
+            counter = counters.get(userId, id -> seed(id, period));
+        }
+        return counter.expenseMinor().sum();
+    }
+
+    /**
+     * The user's expenses in the current month per category_id, with the same visibility as
+     * currentMonthMinor. Categories without expenses are absent.
+     */
+    public Map<Long, Long> currentMonthMinorByCategory(Long userId) {
+        YearMonth period = YearMonth.now();
+        CategoryCounters counter = categoryCounters.get(userId, id -> seedCategories(id, period));
+        if (!counter.period().equals(period)) {
+            categoryCounters.asMap().remove(userId, counter);
+            counter = categoryCounters.get(userId, id -> seedCategories(id, period));
+        }
+        Map<Long, Long> totals = new HashMap<>(counter.minorByCategory().size() * 2);
+        counter.minorByCategory().forEach((categoryId, minor) -> totals.put(categoryId, minor.sum()));
+        return totals;
+    }
+
+    /**
+     * Adds a just-saved expense to its user's counter. Must run inside the inserting DB
+     * transaction; rows of other months and users without a counter are left to the next seed.
+     */
+    public void recordExpense(Transaction transaction) {
+        if (transaction == null || transaction.getUser() == null || transaction.getUser().getId() == null
+                || transaction.getTypeCode() != TransactionType.EXPENSE || transaction.getAmountMinor() == null) {
+            return;
+        }
+        Long userId = transaction.getUser().getId();
+        MonthCounter counter = counters.getIfPresent(userId);
+        if (counter != null && counter.period().equals(transaction.getPeriod())) {
+            counter.expenseMinor().add(transaction.getAmountMinor());
+        }
+        CategoryCounters byCategory = categoryCounters.getIfPresent(userId);
+        if (byCategory != null && byCategory.period().equals(transaction.getPeriod())
+                && transaction.getUserCategory() != null && transaction.getUserCategory().getId() != null) {
+            byCategory.minorByCategory().computeIfAbsent(transaction.getUserCategory().getId(), id -> new LongAdder())
+                    .add(transaction.getAmountMinor());
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Also covers a counter seeded later in this transaction, which saw the uncommitted row
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        counters.invalidate(userId);
+                        categoryCounters.invalidate(userId);
+                    }
+                }
+            });
+        }
+    }
+
+    // For writers that bypass recordExpense (CSV import); drops the counter now and again after commit
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        counters.invalidate(userId);
+        categoryCounters.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    counters.invalidate(userId);
+                    categoryCounters.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    private MonthCounter seed(Long userId, YearMonth period) {
+        Long total = rollupRepository.sumTotalMinorForPeriod(userId, period.getYear(), period.getMonthValue(),
+                SpendingRollupService.TYPE_EXPENSE);
+        if (total == null && !rollupRepository.existsByUserId(userId)) {
+            // Rollup not built yet for this user (backfill pending)
+            total = reportRepository.findTotalExpensesByUserForPeriod(userId, period);
+        }
+        seedCounter.increment();
+        LongAdder expenseMinor = new LongAdder();
+        expenseMinor.add(total != null ? total : 0L);
+        logger.debug("Seeded {} expense counter for user ID {}: {} centavos.", period, userId, expenseMinor.sum());
+        return new MonthCounter(period, expenseMinor);
+    }
+
+    private CategoryCounters seedCategories(Long userId, YearMonth period) {
+        // The rollup is keyed by category name, not category_id; the month's rows are one index range
+        List<CategoryIdTotal> rows = reportRepository.sumExpensesByCategoryIdForPeriod(userId, period);
+        seedCounter.increment();
+        ConcurrentHashMap<Long, LongAdder> minorByCategory = new ConcurrentHashMap<>();
+        for (CategoryIdTotal row : rows) {
+            LongAdder minor = new LongAdder();
+            minor.add(row.getTotalMinor() != null ? row.getTotalMinor() : 0L);
+            minorByCategory.put(row.getCategoryId(), minor);
+        }
+        logger.debug("Seeded {} category expense counters for user ID {}: {} categories.", period, userId, minorByCategory.size());
+        return new CategoryCounters(period, minorByCategory);
+    }
+
+    private record MonthCounter(YearMonth period, LongAdder expenseMinor) {}
+
+    private record CategoryCounters(YearMonth period, ConcurrentHashMap<Long, LongAdder> minorByCategory) {}
+}
@@ -0,0 +1,28 @@
+package com.appdev.Finance.Service;
+
+import java.time.Duration;
+
+/**
+ * Remembers which alerts were recently sent to which user, so a threshold that stays crossed does
+ * not notify on every write. Alerts are identified by a caller-defined {@code alertKey} per user.
+ *
+ * The implementation is chosen with budget.notification-cooldown.store: "memory" (default,
+ * TimingWheelCooldownStore) or "database" (JdbcNotificationCooldownStore, survives restarts and is
+ * shared by every node).
+ */
+public interface NotificationCooldownStore {
+
+    /**
+     * Starts a cooldown of {@code cooldown} for the alert unless one is still running. Checking and
+     * starting are one atomic step, so of several concurrent callers only one gets true.
+     *
+     * @return true if the caller may send the alert now
+     */
+    boolean tryAcquire(long userId, long alertKey, Duration cooldown);
+
+    /**
+     * Ends the alert's cooldown early, for a caller that claimed it but could not send the alert,
+     * so the next check claims it again. Does nothing when no cooldown is running.
+     */
+    void release(long userId, long alertKey);
+}
@@ -1,10 +1,13 @@
 package com.appdev.Finance.Service;
 
+import com.appdev.Finance.DTO.PendingNotification;
+import com.appdev.Finance.DTO.UserUnreadCount;
 import com.appdev.Finance.DTO.WebSocketNotificationDTO; // Import the new DTO
 import com.appdev.Finance.model.Notification;
 import com.appdev.Finance.model.NotificationStatus;
 import com.appdev.Finance.model.User;
 import com.appdev.Finance.Repository.NotificationRepository;
+import com.appdev.Finance.Repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,9 +16,13 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class NotificationService {
@@ -28,9 +35,19 @@ public class NotificationService {
     @Autowired
     private SimpMessagingTemplate messagingTemplate; // Autowire SimpMessagingTemplate
 
+    @Autowired
+    private UserRepository userRepository;
+
     @Async // Keep the DB save async if desired
     @Transactional // Ensure the whole operation, including sending message, is managed
     public void createAndSendNotification(User user, String message, String link) {
+        createAndSendNotificationNow(user, message, link);
+    }
+
+    // Same as createAndSendNotification but on the caller's thread. Budget alerts already run on the
+    // user's UserStripedExecutor stripe, which keeps one user's notifications in order.
+    @Transactional
+    public void createAndSendNotificationNow(User user, String message, String link) {
         if (user == null || user.getId() == null || user.getEmail() == null) { // user.getEmail() is needed for SimpMessagingTemplate.convertAndSendToUser
             logger.warn("Attempted to create notification for null user, user with null ID, or user with null email. Message: {}", message);
             return;
@@ -61,6 +78,42 @@ public class NotificationService {
         createAndSendNotification(user, message, null);
     }
 
+    /**
+     * Saves a batch of notifications (one saveAll, grouped into JDBC batches) and then pushes each
+     * over WebSocket with its user's unread count from one grouped query. For background jobs that
+     * produce many notifications; runs on the caller's thread, in one short DB transaction per batch.
+     */
+    @Transactional
+    public void createAndSendNotifications(List<PendingNotification> pending) {
+        if (pending == null || pending.isEmpty()) {
+            return;
+        }
+        List<Notification> notifications = new ArrayList<>(pending.size());
+        for (PendingNotification p : pending) {
+            notifications.add(new Notification(userRepository.getReferenceById(p.getUserId()), p.getMessage(), p.getLink()));
+        }
+        List<Notification> saved = notificationRepository.saveAll(notifications);
+        logger.info("Notification batch CREATED & SAVED: {} notification(s).", saved.size());
+
+        Set<Long> userIds = pending.stream().map(PendingNotification::getUserId).collect(Collectors.toSet());
+        Map<Long, Long> unreadCounts = new HashMap<>();
+        for (UserUnreadCount row : notificationRepository.countByUserIdsAndStatus(userIds, NotificationStatus.UNREAD)) {
+            unreadCounts.put(row.getUserId(), row.getUnreadCount());
+        }
+        for (int i = 0; i < saved.size(); i++) {
+            PendingNotification p = pending.get(i);
+            if (p.getEmail() == null) {
+                continue;
+            }
+            try {
+                WebSocketNotificationDTO wsMessage = new WebSocketNotificationDTO(saved.get(i), unreadCounts.getOrDefault(p.getUserId(), 0L));
+                messagingTemplate.convertAndSendToUser(p.getEmail(), "/queue/notifications", wsMessage);
+            } catch (Exception e) {
+                logger.error("Error pushing notification {} to user ID {}: {}", saved.get(i).getId(), p.getUserId(), e.getMessage(), e);
+            }
+        }
+    }
+
     // Your existing methods (getUnreadNotificationsForUser, getAllNotificationsForUser, etc.) remain the same
     // Ensure they have proper null checks for the user object.
 
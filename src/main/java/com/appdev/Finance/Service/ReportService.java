@@ -1,7 +1,12 @@
 package com.appdev.Finance.Service;
 
 import com.appdev.Finance.Repository.ReportRepository;
+import com.appdev.Finance.Repository.TransactionRepository;
+import com.appdev.Finance.DTO.IncomeExpenseSummary;
+import com.appdev.Finance.DTO.PeriodRange;
 import com.appdev.Finance.DTO.ReportSummaryDTO;
+import com.appdev.Finance.DTO.TransactionListItem;
+import com.appdev.Finance.model.Money;
 import com.appdev.Finance.model.Transaction;
 import com.appdev.Finance.model.User;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,11 +19,16 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.text.NumberFormat;
 import java.time.Year;
+import java.time.YearMonth;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.TreeSet;
 
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
@@ -31,77 +41,98 @@ import org.apache.pdfbox.pdmodel.font.PDType1Font;
 public class ReportService {
 
     private final ReportRepository reportRepository;
+    private final TransactionRepository transactionRepository;
     private final NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(new Locale("en", "PH")); // PHP Currency
 
     @Autowired
-    public ReportService(ReportRepository reportRepository) {
+    public ReportService(ReportRepository reportRepository, TransactionRepository transactionRepository) {
         this.reportRepository = reportRepository;
+        this.transactionRepository = transactionRepository;
     }
 
     // --- Existing Methods ---
 
-    public List<Transaction> getTransactionsForUserByMonth(User user, String month) {
-        if (user == null || !StringUtils.hasText(month)) {
+    // Read-only list rows; the report shows no receipts, so their links are not loaded
+    public List<TransactionListItem> getTransactionsForUserByPeriod(User user, YearMonth period) {
+        if (user == null || period == null) {
             // Consider throwing IllegalArgumentException or returning Collections.emptyList()
             // For consistency with other methods, let's return empty list if inputs are invalid
             // Or rely on the controller to handle invalid user.
-            // throw new IllegalArgumentException("User and month must not be null or empty.");
+            // throw new IllegalArgumentException("User and period must not be null.");
             return Collections.emptyList();
         }
-        return reportRepository.findByUserIdAndMonth(user.getId(), month);
+        return transactionRepository.findListItemsByUserIdAndPeriod(user.getId(), period);
     }
 
     // New service method
-    public List<Transaction> getTransactionsForUserByMonthAndCategory(User user, String month, String category) {
-        if (user == null || !StringUtils.hasText(month) || !StringUtils.hasText(category)) {
+    public List<Transaction> getTransactionsForUserByPeriodAndCategory(User user, YearMonth period, String category) {
+        if (user == null || period == null || !StringUtils.hasText(category)) {
             return Collections.emptyList();
         }
-        return reportRepository.findByUserIdAndMonthAndCategoryIgnoreCase(user.getId(), month, category);
+        return reportRepository.findByUserIdAndPeriodAndCategoryIgnoreCase(user.getId(), period, category);
     }
 
     // New service method
-    public List<String> getDistinctCategoriesForUserByMonth(User user, String month) {
-        if (user == null || !StringUtils.hasText(month)) {
+    public List<String> getDistinctCategoriesForUserByPeriod(User user, YearMonth period) {
+        if (user == null || period == null) {
             return Collections.emptyList();
         }
-        return reportRepository.findDistinctCategoriesByUserIdAndMonth(user.getId(), month);
+        return reportRepository.findDistinctCategoriesByUserIdAndPeriod(user.getId(), period);
     }
 
 
-    public ReportSummaryDTO getReportSummaryForMonth(User user, String month) {
-        if (user == null || !StringUtils.hasText(month)) {
+    public ReportSummaryDTO getReportSummaryForPeriod(User user, YearMonth period) {
+        if (user == null || period == null) {
              return new ReportSummaryDTO(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
         }
 
-        Double incomeSum = reportRepository.findTotalIncomeByUserForMonth(user.getId(), month);
-        Double expenseSum = reportRepository.findTotalExpensesByUserForMonth(user.getId(), month);
+        // Single conditional-aggregation query instead of separate income and expense SUMs
+        IncomeExpenseSummary sums = transactionRepository.summarizeByUserAndPeriod(user.getId(), period);
+        Money totalIncome = (sums != null) ? sums.getTotalIncome() : Money.ZERO;
+        Money totalExpenses = (sums != null) ? sums.getTotalExpenses() : Money.ZERO;
 
-        BigDecimal totalIncome = (incomeSum != null) ? BigDecimal.valueOf(incomeSum) : BigDecimal.ZERO;
-        BigDecimal totalExpenses = (expenseSum != null) ? BigDecimal.valueOf(expenseSum) : BigDecimal.ZERO;
-        BigDecimal netTotal = totalIncome.subtract(totalExpenses);
-
-        return new ReportSummaryDTO(totalIncome, totalExpenses, netTotal);
+        return new ReportSummaryDTO(totalIncome.toBigDecimal(), totalExpenses.toBigDecimal(),
+                totalIncome.minus(totalExpenses).toBigDecimal());
     }
 
-    public Map<String, Object> generateFullReportDataForMonth(User user, String month) {
-        List<Transaction> transactions = getTransactionsForUserByMonth(user, month);
-        ReportSummaryDTO summary = getReportSummaryForMonth(user, month);
+    public Map<String, Object> generateFullReportDataForPeriod(User user, YearMonth period) {
+        List<TransactionListItem> transactions = getTransactionsForUserByPeriod(user, period);
+        ReportSummaryDTO summary = getReportSummaryForPeriod(user, period);
         Map<String, Object> reportData = new HashMap<>();
         reportData.put("transactions", transactions);
         reportData.put("summary", summary);
         return reportData;
     }
 
+    /**
+     * Years the report can be run for: every year between the user's first and last transaction,
+     * newest first, always including {@code selectedYear} and the current year.
+     */
+    public List<Integer> getAvailableYears(User user, int selectedYear) {
+        TreeSet<Integer> years = new TreeSet<>(Comparator.reverseOrder());
+        years.add(Year.now().getValue());
+        years.add(selectedYear);
+        if (user != null && user.getId() != null) {
+            PeriodRange range = transactionRepository.findPeriodRangeByUserId(user.getId());
+            if (range != null && range.getEarliest() != null) {
+                for (int year = range.getEarliest().getYear(); year <= range.getLatest().getYear(); year++) {
+                    years.add(year);
+                }
+            }
+        }
+        return new ArrayList<>(years);
+    }
+
     // --- PDF Generation Method (remains the same) ---
-    public byte[] generatePdfReport(User user, String selectedMonth) throws IOException {
+    public byte[] generatePdfReport(User user, YearMonth period) throws IOException {
         // ... (existing PDF generation code) ...
-        List<Transaction> transactions;
+        List<TransactionListItem> transactions;
         // If filtering is applied on the report page too, this might need adjustment
         // For now, assuming PDF uses all transactions for the month
-        transactions = getTransactionsForUserByMonth(user, selectedMonth);
-        ReportSummaryDTO summary = getReportSummaryForMonth(user, selectedMonth);
-        String currentYear = String.valueOf(Year.now().getValue());
-        String reportTitle = String.format("Financial Report - %s %s", selectedMonth, currentYear);
+        transactions = getTransactionsForUserByPeriod(user, period);
+        ReportSummaryDTO summary = getReportSummaryForPeriod(user, period);
+        String reportTitle = String.format("Financial Report - %s %d",
+                period.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH), period.getYear());
 
         try (PDDocument document = new PDDocument(); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
             PDPage page = new PDPage(PDRectangle.A4);
@@ -184,7 +215,7 @@ public class ReportService {
                 PDPageContentStream currentContentStream = contentStream; 
 
 
-                for (Transaction tx : transactions) {
+                for (TransactionListItem tx : transactions) {
                     if (yPosition < bottomMargin) {
                          currentContentStream.close();
 
@@ -204,7 +235,7 @@ public class ReportService {
                     currentContentStream.newLineAtOffset(colWidths[1], 0);
                     currentContentStream.showText(truncate(tx.getType(), 10));
                     currentContentStream.newLineAtOffset(colWidths[2], 0);
-                    currentContentStream.showText(formatCurrency(tx.getAmount()));
+                    currentContentStream.showText(formatCurrency(tx.getMoney() != null ? tx.getMoney().toBigDecimal() : null));
                     currentContentStream.endText();
                     yPosition -= rowHeight; 
                 }
@@ -223,11 +254,6 @@ public class ReportService {
         return currencyFormatter.format(value);
     }
 
-    private String formatCurrency(Double value) {
-        if (value == null) return currencyFormatter.format(0.0);
-        return currencyFormatter.format(value);
-    }
-
     private String truncate(String text, int maxLength) {
         if (text == null) return "";
         if (text.length() <= maxLength) {
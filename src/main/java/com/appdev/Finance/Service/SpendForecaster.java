@@ -0,0 +1,234 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.DTO.DailyTotal;
+import com.appdev.Finance.DTO.SpendForecast;
+import com.appdev.Finance.Repository.ReportRepository;
+import com.appdev.Finance.TransactionType;
+import com.appdev.Finance.model.Money;
+import com.appdev.Finance.model.Transaction;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Month-end expense projection per user from the daily expense series: an exponentially weighted
+ * run-rate (level, in centavos per day) times a multiplicative day-of-week factor, both updated
+ * as each day closes. The model is seeded once from the last {@code history-days} of daily totals
+ * and then advanced by every saved expense, so a forecast costs a walk over the rest of the month.
+ *
+ * A day closes when an expense for a later day arrives or when a forecast is asked for; days with
+ * no expenses close as zero. Expenses dated before the day being accumulated still count in the
+ * month-to-date total but only reach the run-rate at the next seed (after {@code reseed-after});
+ * future-dated expenses (a bill entered ahead of time) never reach it before their day, just as the
+ * seed query ends at today.
+ * Rolled-back inserts and bulk writers drop the model, as in MonthlyExpenseCounters. No forecast
+ * is given until {@code min-days} days have closed. Statistics are published as cache.* metrics
+ * (cache=spendForecasts).
+ */
+@Component
+public class SpendForecaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpendForecaster.class);
+
+    private static final int MAX_DAYS_TO_CLOSE = 366;
+    private static final double MIN_SEASONAL_FACTOR = 0.05;
+
+    private final ReportRepository reportRepository;
+    private final Cache<Long, ForecastModel> models;
+    private final int historyDays;
+    private final double alpha;
+    private final double gamma;
+    private final int minDays;
+
+    @Autowired
+    public SpendForecaster(ReportRepository reportRepository,
+                           @Value("${budget.forecast.max-users:100000}") long maxUsers,
+                           @Value("${budget.forecast.reseed-after:6h}") Duration reseedAfter,
+                           @Value("${budget.forecast.history-days:56}") int historyDays,
+                           @Value("${budget.forecast.alpha:0.3}") double alpha,
+                           @Value("${budget.forecast.seasonal-gamma:0.1}") double gamma,
+                           @Value("${budget.forecast.min-days:14}") int minDays,
+                           MeterRegistry meterRegistry) {
+        this.reportRepository = reportRepository;
+        this.historyDays = Math.max(7, historyDays);
+        this.alpha = Math.min(1.0, Math.max(0.01, alpha));
+        this.gamma = Math.min(1.0, Math.max(0.0, gamma));
+        this.minDays = Math.max(1, minDays);
+        this.models = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(reseedAfter)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, models, "spendForecasts");
+        logger.info("Spend forecaster initialized (historyDays={}, alpha={}, gamma={}, minDays={}).",
+                this.historyDays, this.alpha, this.gamma, this.minDays);
+    }
+
+    /**
+     * Projects the current month for the user. {@code monthToDateMinor} is the month's expenses so
+     * far (MonthlyExpenseCounters); with a positive {@code budgetMinor} the day the budget is
+     * projected to be reached is included. Empty while the user has too little history.
+     */
+    public Optional<SpendForecast> forecast(Long userId, long monthToDateMinor, long budgetMinor) {
+        LocalDate today = LocalDate.now();
+        ForecastModel model = models.get(userId, id -> seed(id, today));
+        double level;
+        double[] seasonal;
+        long todaySoFar;
+        synchronized (model) {
+            model.closeThrough(today);
+            if (model.closedDays < minDays) {
+                return Optional.empty();
+            }
+            level = model.level;
+            seasonal = model.seasonal.clone();
+            todaySoFar = today.equals(model.openDay) ? model.openDayMinor : 0L;
+        }
+
+        double projected = monthToDateMinor + Math.max(0.0, level * factor(seasonal, today) - todaySoFar);
+        boolean tracking = budgetMinor > 0 && monthToDateMinor < budgetMinor;
+        LocalDate exceedDate = (tracking && projected >= budgetMinor) ? today : null;
+        LocalDate monthEnd = today.with(TemporalAdjusters.lastDayOfMonth());
+        for (LocalDate day = today.plusDays(1); !day.isAfter(monthEnd); day = day.plusDays(1)) {
+            projected += level * factor(seasonal, day);
+            if (tracking && exceedDate == null && projected >= budgetMinor) {
+                exceedDate = day;
+            }
+        }
+        return Optional.of(new SpendForecast(Money.ofMinor(monthToDateMinor), Money.ofMinor(Math.round(projected)),
+                Money.ofMinor(Math.round(level)), exceedDate));
+    }
+
+    /**
+     * Adds a just-saved expense to its user's model. Must run inside the inserting DB transaction;
+     * users without a model are left to the next seed.
+     */
+    public void recordExpense(Transaction transaction) {
+        if (transaction == null || transaction.getUser() == null || transaction.getUser().getId() == null
+                || transaction.getTypeCode() != TransactionType.EXPENSE || transaction.getAmountMinor() == null
+                || transaction.getTransactionDate() == null) {
+            return;
+        }
+        Long userId = transaction.getUser().getId();
+        ForecastModel model = models.getIfPresent(userId);
+        if (model != null && !transaction.getTransactionDate().isAfter(LocalDate.now())) {
+            synchronized (model) {
+                model.add(transaction.getTransactionDate(), transaction.getAmountMinor());
+            }
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        models.invalidate(userId);
+                    }
+                }
+            });
+        }
+    }
+
+    // For writers that bypass recordExpense (CSV import); drops the model now and again after commit
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        models.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    models.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    private ForecastModel seed(Long userId, LocalDate today) {
+        ForecastModel model = new ForecastModel();
+        for (DailyTotal row : reportRepository.sumDailyExpenses(userId, today.minusDays(historyDays), today)) {
+            model.add(row.getTransactionDate(), row.getTotalMinor() != null ? row.getTotalMinor() : 0L);
+        }
+        logger.debug("Seeded spend forecast for user ID {}: {} closed day(s), level {} centavos/day.",
+                userId, model.closedDays, Math.round(model.level));
+        return model;
+    }
+
+    private static double factor(double[] seasonal, LocalDate day) {
+        return seasonal[day.getDayOfWeek().getValue() - 1];
+    }
+
+    // Guarded by its own monitor
+    private final class ForecastModel {
+        LocalDate openDay;      // day whose expenses are still being summed; null before the first expense
+        long openDayMinor;
+        double level;           // seasonally adjusted centavos per day
+        final double[] seasonal = new double[7];  // Monday..Sunday, mean 1
+        int closedDays;
+
+        ForecastModel() {
+            Arrays.fill(seasonal, 1.0);
+        }
+
+        void add(LocalDate day, long amountMinor) {
+            if (openDay != null && day.isBefore(openDay)) {
+                return;
+            }
+            closeThrough(day);
+            openDayMinor += amountMinor;
+        }
+
+        // Closes every day before {@code day}; days without expenses close as zero
+        void closeThrough(LocalDate day) {
+            if (openDay == null) {
+                openDay = day;
+                return;
+            }
+            long gap = ChronoUnit.DAYS.between(openDay, day);
+            if (gap > MAX_DAYS_TO_CLOSE) {
+                // After this long the old level has decayed away anyway
+                openDay = day.minusDays(MAX_DAYS_TO_CLOSE);
+                openDayMinor = 0L;
+            }
+            while (openDay.isBefore(day)) {
+                closeDay(openDay, openDayMinor);
+                openDay = openDay.plusDays(1);
+                openDayMinor = 0L;
+            }
+        }
+
+        private void closeDay(LocalDate day, long totalMinor) {
+            int dow = day.getDayOfWeek().getValue() - 1;
+            double factor = Math.max(seasonal[dow], MIN_SEASONAL_FACTOR);
+            level = (closedDays == 0) ? totalMinor : alpha * (totalMinor / factor) + (1 - alpha) * level;
+            closedDays++;
+            if (level > 0) {
+                seasonal[dow] = gamma * (totalMinor / level) + (1 - gamma) * seasonal[dow];
+                double sum = 0;
+                for (double s : seasonal) {
+                    sum += s;
+                }
+                if (sum > 0) {
+                    for (int i = 0; i < seasonal.length; i++) {
+                        seasonal[i] = seasonal[i] * seasonal.length / sum;
+                    }
+                }
+            }
+        }
+    }
+}
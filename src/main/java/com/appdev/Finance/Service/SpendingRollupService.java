@@ -0,0 +1,164 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.DTO.CategoryTotal;
+import com.appdev.Finance.DTO.MonthTotal;
+import com.appdev.Finance.DTO.PeriodTotal;
+import com.appdev.Finance.DTO.SpendingGroup;
+import com.appdev.Finance.Repository.TransactionRepository;
+import com.appdev.Finance.Repository.UserSpendingRollupRepository;
+import com.appdev.Finance.model.Money;
+import com.appdev.Finance.model.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.YearMonth;
+import java.time.format.TextStyle;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maintains the user_spending_rollup table and serves chart/summary data from it.
+ * The rollup is updated in the same transaction as the transaction insert, so reads
+ * here cost O(categories) / O(months) instead of O(transactions in history).
+ */
+@Service
+public class SpendingRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpendingRollupService.class);
+
+    public static final String TYPE_INCOME = "Income";
+    public static final String TYPE_EXPENSE = "Expense";
+
+    private final UserSpendingRollupRepository rollupRepository;
+    private final TransactionRepository transactionRepository;
+
+    @Autowired
+    public SpendingRollupService(UserSpendingRollupRepository rollupRepository,
+                                 TransactionRepository transactionRepository) {
+        this.rollupRepository = rollupRepository;
+        this.transactionRepository = transactionRepository;
+    }
+
+    /**
+     * Adds a newly saved transaction to its rollup bucket. Must be called inside the
+     * transaction that inserted the row so both commit or roll back together.
+     */
+    @Transactional
+    public void recordTransaction(Transaction transaction) {
+        if (transaction == null || transaction.getUser() == null || transaction.getUser().getId() == null
+                || transaction.getAmountMinor() == null) {
+            logger.warn("recordTransaction called with incomplete transaction. Skipping rollup update.");
+            return;
+        }
+        YearMonth period = resolvePeriod(transaction.getTransactionDate(), transaction.getMonth());
+        rollupRepository.upsertAdd(transaction.getUser().getId(), period.getYear(), period.getMonthValue(),
+                transaction.getCategory(), transaction.getType(), transaction.getAmountMinor(), 1);
+        logger.debug("Rollup updated for user ID {} ({} / {} / {}): +{}", transaction.getUser().getId(),
+                period, transaction.getCategory(), transaction.getType(), transaction.getMoney());
+    }
+
+    /**
+     * Recomputes all rollup rows of a user from the transaction table with a single GROUP BY query.
+     */
+    @Transactional
+    public void rebuildForUser(Long userId) {
+        if (userId == null) {
+            logger.warn("rebuildForUser called with null userId.");
+            return;
+        }
+        int removed = rollupRepository.deleteByUserId(userId);
+        List<SpendingGroup> groups = transactionRepository.groupForRollupByUserId(userId);
+        for (SpendingGroup group : groups) {
+            LocalDate anchor = group.getPeriodYear() != null ? LocalDate.of(group.getPeriodYear(), 1, 1) : null;
+            YearMonth period = resolvePeriod(anchor, group.getMonth());
+            rollupRepository.upsertAdd(userId, period.getYear(), period.getMonthValue(), group.getCategory(), group.getType(),
+                    group.getTotalMinor() != null ? group.getTotalMinor() : 0L,
+                    group.getTransactionCount() != null ? group.getTransactionCount() : 0L);
+        }
+        logger.info("Rebuilt spending rollup for user ID {}: removed {} rows, built from {} groups.", userId, removed, groups.size());
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> findUserIdsMissingRollup() {
+        return rollupRepository.findUserIdsMissingRollup();
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, BigDecimal> getExpenseTotalsByCategory(Long userId) {
+        Map<String, BigDecimal> totals = new LinkedHashMap<>();
+        if (userId == null) {
+            return totals;
+        }
+        List<CategoryTotal> rows = rollupRepository.sumByCategory(userId, TYPE_EXPENSE);
+        if (rows.isEmpty()) {
+            // Rollup not built yet for this user (backfill pending): aggregate in the database instead
+            rows = transactionRepository.sumByCategoryForUser(userId, TYPE_EXPENSE);
+        }
+        Map<String, Long> minorByCategory = new LinkedHashMap<>();
+        for (CategoryTotal row : rows) {
+            minorByCategory.merge(row.getCategory(), row.getTotalMinor() != null ? row.getTotalMinor() : 0L, Long::sum);
+        }
+        minorByCategory.forEach((category, minor) -> totals.put(category, Money.ofMinor(minor.longValue()).toBigDecimal()));
+        return totals;
+    }
+
+    /**
+     * Expense totals keyed by English month name ("January"...), summed across years and
+     * ordered by calendar month, matching the format the dashboard and report charts expect.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, BigDecimal> getExpenseTotalsByMonth(Long userId) {
+        long[] byMonth = new long[12];
+        boolean[] present = new boolean[12];
+        if (userId != null) {
+            List<PeriodTotal> rows = rollupRepository.sumByPeriod(userId, TYPE_EXPENSE);
+            for (PeriodTotal row : rows) {
+                int index = row.getPeriodMonth() - 1;
+                byMonth[index] += row.getTotalMinor() != null ? row.getTotalMinor() : 0L;
+                present[index] = true;
+            }
+            if (rows.isEmpty()) {
+                for (MonthTotal row : transactionRepository.sumByMonthForUser(userId, TYPE_EXPENSE)) {
+                    int index = resolvePeriod(null, row.getMonth()).getMonthValue() - 1;
+                    byMonth[index] += row.getTotalMinor() != null ? row.getTotalMinor() : 0L;
+                    present[index] = true;
+                }
+            }
+        }
+        Map<String, BigDecimal> totals = new LinkedHashMap<>();
+        for (int i = 0; i < 12; i++) {
+            if (present[i]) {
+                totals.put(Month.of(i + 1).getDisplayName(TextStyle.FULL, Locale.ENGLISH), Money.ofMinor(byMonth[i]).toBigDecimal());
+            }
+        }
+        return totals;
+    }
+
+    @Transactional(readOnly = true)
+    public Money getTotalExpenses(Long userId) {
+        if (userId == null) {
+            return Money.ZERO;
+        }
+        Long total = rollupRepository.sumTotalMinor(userId, TYPE_EXPENSE);
+        if (total == null) {
+            total = transactionRepository.findTotalExpensesByUser_Id(userId);
+        }
+        return Money.ofMinor(total);
+    }
+
+    /**
+     * Transaction.month is the authoritative month name; the year comes from transactionDate
+     * and falls back to the current year for legacy rows saved without a date.
+     */
+    static YearMonth resolvePeriod(LocalDate transactionDate, String monthName) {
+        return Transaction.resolvePeriod(transactionDate, monthName);
+    }
+}
@@ -0,0 +1,283 @@
+package com.appdev.Finance.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * Default NotificationCooldownStore, held in this JVM. Running cooldowns live in an open-addressing
+ * table keyed by primitive (userId, alertKey) pairs; a hierarchical timing wheel (64 buckets per
+ * level, each level's tick 64 times the one below) finds them again when they end, so memory follows
+ * the cooldowns currently running instead of every alert ever sent. At capacity the cooldown that
+ * ends soonest is dropped. Cooldowns are lost on restart and not shared between nodes; use the
+ * database store for that.
+ *
+ * The wheel is advanced lazily by tryAcquire, one tick per elapsed tick period. All state is
+ * guarded by this; calls are rare (one per crossed budget threshold).
+ */
+@Component
+@ConditionalOnProperty(name = "budget.notification-cooldown.store", havingValue = "memory", matchIfMissing = true)
+public final class TimingWheelCooldownStore implements NotificationCooldownStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimingWheelCooldownStore.class);
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int LEVELS = 4;
+    private static final int MIN_TABLE_LENGTH = 1024;
+
+    private final LongSupplier clock; // epoch millis
+    private final long tickMillis;
+    private final int capacity;
+    private final Counter evictionCounter;
+
+    // Open addressing with linear probing; expiresAt == 0 marks a free slot
+    private long[] userIds = new long[MIN_TABLE_LENGTH];
+    private long[] alertKeys = new long[MIN_TABLE_LENGTH];
+    private long[] expiresAt = new long[MIN_TABLE_LENGTH];
+    private int size;
+
+    // wheel[level][bucket]: (userId, alertKey) pairs whose cooldown ends in that bucket's span.
+    // A pair stays behind when its cooldown is restarted; it is recognized as stale and skipped.
+    private final PairList[][] wheel = new PairList[LEVELS][WHEEL_SIZE];
+    private long currentTick;
+
+    @Autowired
+    public TimingWheelCooldownStore(@Value("${budget.notification-cooldown.tick:1m}") Duration tick,
+                                    @Value("${budget.notification-cooldown.max-entries:100000}") int capacity,
+                                    MeterRegistry meterRegistry) {
+        this(tick, capacity, meterRegistry, System::currentTimeMillis);
+    }
+
+    TimingWheelCooldownStore(Duration tick, int capacity, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.clock = clock;
+        this.tickMillis = Math.max(1, tick.toMillis());
+        this.capacity = Math.max(1, capacity);
+        for (PairList[] level : wheel) {
+            for (int bucket = 0; bucket < WHEEL_SIZE; bucket++) {
+                level[bucket] = new PairList();
+            }
+        }
+        this.currentTick = clock.getAsLong() / tickMillis;
+        this.evictionCounter = Counter.builder("budget.notification.cooldowns.evicted")
+                .description("Running cooldowns dropped early because the store was full")
+                .register(meterRegistry);
+        Gauge.builder("budget.notification.cooldowns", this, TimingWheelCooldownStore::size)
+                .description("Running notification cooldowns held in memory")
+                .register(meterRegistry);
+        logger.info("In-memory notification cooldown store initialized (tick={}, maxEntries={}).", tick, capacity);
+    }
+
+    @Override
+    public synchronized boolean tryAcquire(long userId, long alertKey, Duration cooldown) {
+        long now = clock.getAsLong();
+        advance(now / tickMillis);
+        int slot = find(userId, alertKey);
+        if (slot >= 0 && expiresAt[slot] > now) {
+            return false;
+        }
+        long expiry = now + Math.max(1, cooldown.toMillis());
+        if (slot >= 0) {
+            expiresAt[slot] = expiry;
+        } else {
+            if (size >= capacity) {
+                evictSoonest();
+            }
+            insert(userId, alertKey, expiry);
+        }
+        schedule(userId, alertKey, expiryTick(expiry));
+        return true;
+    }
+
+    @Override
+    public synchronized void release(long userId, long alertKey) {
+        int slot = find(userId, alertKey);
+        if (slot >= 0) {
+            // Its wheel entry stays behind and is skipped as stale
+            remove(slot);
+        }
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    // --- Timing wheel ---
+
+    private long expiryTick(long expiry) {
+        // First tick that starts after the cooldown has ended
+        return expiry / tickMillis + 1;
+    }
+
+    private void schedule(long userId, long alertKey, long tick) {
+        long due = Math.max(tick, currentTick + 1);
+        long delta = due - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (WHEEL_BITS * (level + 1))) {
+            level++;
+        }
+        // Beyond the top level's span the pair is re-filed on every pass until it is in range
+        long top = currentTick + (1L << (WHEEL_BITS * LEVELS)) - 1;
+        int bucket = (int) ((Math.min(due, top) >>> (WHEEL_BITS * level)) & (WHEEL_SIZE - 1));
+        wheel[level][bucket].add(userId, alertKey);
+    }
+
+    private void advance(long nowTick) {
+        while (currentTick < nowTick) {
+            currentTick++;
+            // Higher levels first: a bucket whose span starts now is spread over the levels below
+            for (int level = LEVELS - 1; level > 0; level--) {
+                long mask = (1L << (WHEEL_BITS * level)) - 1;
+                if ((currentTick & mask) == 0) {
+                    PairList due = takeBucket(level, (int) ((currentTick >>> (WHEEL_BITS * level)) & (WHEEL_SIZE - 1)));
+                    for (int i = 0; i < due.size; i++) {
+                        int slot = find(due.users[i], due.alerts[i]);
+                        if (slot >= 0) {
+                            schedule(due.users[i], due.alerts[i], expiryTick(expiresAt[slot]));
+                        }
+                    }
+                }
+            }
+            PairList due = takeBucket(0, (int) (currentTick & (WHEEL_SIZE - 1)));
+            for (int i = 0; i < due.size; i++) {
+                int slot = find(due.users[i], due.alerts[i]);
+                if (slot >= 0 && expiryTick(expiresAt[slot]) <= currentTick) {
+                    remove(slot);
+                }
+            }
+        }
+    }
+
+    private PairList takeBucket(int level, int bucket) {
+        PairList taken = wheel[level][bucket];
+        wheel[level][bucket] = new PairList();
+        return taken;
+    }
+
+    // Drops the running cooldown in the earliest non-empty bucket, lowest level first
+    private void evictSoonest() {
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = WHEEL_BITS * level;
+            for (int step = level == 0 ? 1 : 0; step <= WHEEL_SIZE; step++) {
+                long span = (currentTick >>> shift) + step;
+                PairList bucket = wheel[level][(int) (span & (WHEEL_SIZE - 1))];
+                int victim = -1;
+                for (int i = 0; i < bucket.size; i++) {
+                    int slot = find(bucket.users[i], bucket.alerts[i]);
+                    if (slot >= 0 && Math.max(expiryTick(expiresAt[slot]), currentTick + 1) >>> shift == span
+                            && (victim < 0 || expiresAt[slot] < expiresAt[victim])) {
+                        victim = slot;
+                    }
+                }
+                if (victim >= 0) {
+                    remove(victim);
+                    evictionCounter.increment();
+                    return;
+                }
+            }
+        }
+        // Everything left is beyond the wheel; drop any entry
+        for (int slot = 0; slot < expiresAt.length; slot++) {
+            if (expiresAt[slot] != 0) {
+                remove(slot);
+                evictionCounter.increment();
+                return;
+            }
+        }
+    }
+
+    // --- Primitive pair table ---
+
+    private int find(long userId, long alertKey) {
+        int mask = expiresAt.length - 1;
+        for (int slot = hash(userId, alertKey) & mask; expiresAt[slot] != 0; slot = (slot + 1) & mask) {
+            if (userIds[slot] == userId && alertKeys[slot] == alertKey) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(long userId, long alertKey, long expiry) {
+        if ((size + 1) * 2 > expiresAt.length) {
+            resize(expiresAt.length * 2);
+        }
+        int mask = expiresAt.length - 1;
+        int slot = hash(userId, alertKey) & mask;
+        while (expiresAt[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        userIds[slot] = userId;
+        alertKeys[slot] = alertKey;
+        expiresAt[slot] = expiry;
+        size++;
+    }
+
+    // Backward-shift deletion keeps every probe chain unbroken without tombstones
+    private void remove(int slot) {
+        int mask = expiresAt.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; expiresAt[next] != 0; next = (next + 1) & mask) {
+            int home = hash(userIds[next], alertKeys[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                userIds[hole] = userIds[next];
+                alertKeys[hole] = alertKeys[next];
+                expiresAt[hole] = expiresAt[next];
+                hole = next;
+            }
+        }
+        expiresAt[hole] = 0;
+        size--;
+        if (size * 8 < expiresAt.length && expiresAt.length > MIN_TABLE_LENGTH) {
+            resize(expiresAt.length / 2);
+        }
+    }
+
+    private void resize(int length) {
+        long[] oldUsers = userIds;
+        long[] oldAlerts = alertKeys;
+        long[] oldExpiries = expiresAt;
+        userIds = new long[length];
+        alertKeys = new long[length];
+        expiresAt = new long[length];
+        size = 0;
+        for (int slot = 0; slot < oldExpiries.length; slot++) {
+            if (oldExpiries[slot] != 0) {
+                insert(oldUsers[slot], oldAlerts[slot], oldExpiries[slot]);
+            }
+        }
+    }
+
+    private static int hash(long userId, long alertKey) {
+        long h = userId * 0x9E3779B97F4A7C15L + alertKey * 0xC2B2AE3D27D4EB4FL;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    // Growable list of (userId, alertKey) pairs
+    private static final class PairList {
+        private long[] users = new long[0];
+        private long[] alerts = new long[0];
+        private int size;
+
+        void add(long userId, long alertKey) {
+            if (size == users.length) {
+                int length = Math.max(4, size * 2);
+                users = Arrays.copyOf(users, length);
+                alerts = Arrays.copyOf(alerts, length);
+            }
+            users[size] = userId;
+            alerts[size] = alertKey;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.DTO.TransactionListItem;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Position in a sorted transaction list: the sort key and id of the last row a client has seen.
+ * Serialized as an opaque URL-safe token; the sort field and direction are part of the token so a
+ * cursor cannot be replayed against a differently sorted list.
+ */
+public class TransactionCursor {
+
+    private static final String VERSION = "v1";
+
+    private final String sortField;
+    private final Sort.Direction direction;
+    private final Object sortValue; // Long, LocalDate or String depending on sortField; may be null
+    private final long id;
+
+    public TransactionCursor(String sortField, Sort.Direction direction, Object sortValue, long id) {
+        this.sortField = sortField;
+        this.direction = direction;
+        this.sortValue = sortValue;
+        this.id = id;
+    }
+
+    public static TransactionCursor after(TransactionListItem last, String sortField, Sort.Direction direction) {
+        return new TransactionCursor(sortField, direction, sortValueOf(last, sortField), last.getId());
+    }
+
+    public String encode() {
+        String value = (sortValue == null) ? "N" : "V" + (sortValue instanceof LocalDate d ? d.toString() : String.valueOf(sortValue));
+        String raw = String.join("|", VERSION, sortField, direction.name(), Long.toString(id), value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static TransactionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 5);
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Unsupported cursor format");
+            }
+            String field = parts[1];
+            Sort.Direction direction = Sort.Direction.valueOf(parts[2]);
+            long id = Long.parseLong(parts[3]);
+            Object value = parts[4].startsWith("V") ? parseSortValue(field, parts[4].substring(1)) : null;
+            return new TransactionCursor(field, direction, value, id);
+        } catch (IllegalArgumentException | java.time.DateTimeException e) {
+            throw new IllegalArgumentException("Invalid cursor token", e);
+        }
+    }
+
+    public boolean matches(Sort sort) {
+        Sort.Order order = sort.getOrderFor(sortField);
+        return order != null && order.getDirection() == direction;
+    }
+
+    public String getSortField() {
+        return sortField;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public Object getSortValue() {
+        return sortValue;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    private static Object sortValueOf(TransactionListItem t, String field) {
+        return switch (field) {
+            case "id" -> t.getId();
+            case "amountMinor" -> t.getAmountMinor();
+            case "transactionDate" -> t.getTransactionDate();
+            case "description" -> t.getDescription();
+            case "type" -> t.getType();
+            case "category" -> t.getCategory();
+            case "month" -> t.getMonth();
+            default -> throw new IllegalArgumentException("Unsupported sort field: " + field);
+        };
+    }
+
+    private static Object parseSortValue(String field, String value) {
+        return switch (field) {
+            case "id" -> Long.valueOf(value);
+            case "amountMinor" -> Long.valueOf(value);
+            case "transactionDate" -> LocalDate.parse(value);
+            case "description", "type", "category", "month" -> value;
+            default -> throw new IllegalArgumentException("Unsupported sort field: " + field);
+        };
+    }
+}
@@ -0,0 +1,182 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.DTO.TransactionExportRow;
+import com.appdev.Finance.Repository.TransactionRepository;
+import com.appdev.Finance.model.Money;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+/**
+ * Writes a user's full transaction history straight to an output stream as CSV or JSON Lines.
+ * Rows come from a server-side streamed query and are written as they arrive, so heap use does
+ * not depend on the number of transactions and the first bytes go out before the query finishes.
+ *
+ * The CSV header matches what TransactionImportService accepts, so an export can be re-imported.
+ */
+@Service
+public class TransactionExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionExportService.class);
+
+    private static final String CSV_HEADER = "Date,Type,Category,Description,Amount";
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        JSON_LINES("application/x-ndjson", "jsonl");
+
+        private final String contentType;
+        private final String fileExtension;
+
+        Format(String contentType, String fileExtension) {
+            this.contentType = contentType;
+            this.fileExtension = fileExtension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getFileExtension() {
+            return fileExtension;
+        }
+
+        // Accepts "csv", "ndjson", "jsonl" and "json" in any case; null for anything else
+        public static Format fromParameter(String value) {
+            if (value == null) return null;
+            return switch (value.trim().toLowerCase()) {
+                case "csv" -> CSV;
+                case "ndjson", "jsonl", "json" -> JSON_LINES;
+                default -> null;
+            };
+        }
+    }
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public TransactionExportService(TransactionRepository transactionRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    ObjectMapper objectMapper) {
+        this.transactionRepository = transactionRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Streams the user's transactions, oldest first, optionally limited to a date range (inclusive,
+     * either bound may be null). The output stream is flushed but not closed.
+     *
+     * @return the number of rows written
+     */
+    public long export(Long userId, LocalDate fromDate, LocalDate toDate, Format format, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        long rows;
+        try {
+            rows = format == Format.CSV
+                    ? writeCsv(userId, fromDate, toDate, out)
+                    : writeJsonLines(userId, fromDate, toDate, out);
+        } catch (UncheckedIOException e) {
+            // Usually the client went away mid-download
+            throw e.getCause();
+        }
+        logger.info("Exported {} transactions as {} for user ID {} in {} ms.",
+                rows, format, userId, (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+
+    private long writeCsv(Long userId, LocalDate fromDate, LocalDate toDate, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        // Headers and the first line reach the client before the query has produced a row
+        writer.flush();
+
+        long rows = inReadOnlyTransaction(userId, fromDate, toDate, row -> {
+            LocalDate date = row.getTransactionDate();
+            writer.write(date != null ? date.toString() : "");
+            writer.write(',');
+            writer.write(escapeCsvField(row.getType()));
+            writer.write(',');
+            writer.write(escapeCsvField(row.getCategory()));
+            writer.write(',');
+            writer.write(escapeCsvField(row.getDescription()));
+            writer.write(',');
+            writer.write(Money.ofMinor(row.getAmountMinor()).toString());
+            writer.write("\r\n");
+        });
+        writer.flush();
+        return rows;
+    }
+
+    private long writeJsonLines(Long userId, LocalDate fromDate, LocalDate toDate, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+
+        long rows = inReadOnlyTransaction(userId, fromDate, toDate, row -> {
+            generator.writeStartObject();
+            generator.writeNumberField("id", row.getId());
+            LocalDate date = row.getTransactionDate();
+            generator.writeStringField("date", date != null ? date.toString() : null);
+            generator.writeStringField("type", row.getType());
+            generator.writeStringField("category", row.getCategory());
+            generator.writeStringField("description", row.getDescription());
+            generator.writeNumberField("amount", Money.ofMinor(row.getAmountMinor()).toBigDecimal());
+            generator.writeEndObject();
+        });
+        if (rows > 0) {
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        return rows;
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(TransactionExportRow row) throws IOException;
+    }
+
+    private long inReadOnlyTransaction(Long userId, LocalDate fromDate, LocalDate toDate, RowWriter rowWriter) {
+        Long rows = readOnlyTransaction.execute(status -> {
+            long written = 0;
+            try (Stream<TransactionExportRow> stream = transactionRepository.streamExportRowsByUserId(userId, fromDate, toDate)) {
+                for (TransactionExportRow row : (Iterable<TransactionExportRow>) stream::iterator) {
+                    rowWriter.write(row);
+                    written++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return written;
+        });
+        return rows != null ? rows : 0L;
+    }
+
+    private String escapeCsvField(String field) {
+        if (field == null) return "";
+        if (field.contains(",") || field.contains("\"") || field.contains("\n") || field.contains("\r")) {
+            return "\"" + field.replace("\"", "\"\"") + "\"";
+        }
+        return field;
+    }
+}
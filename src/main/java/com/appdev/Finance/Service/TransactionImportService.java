@@ -0,0 +1,368 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.DTO.ImportProgress;
+import com.appdev.Finance.Event.TransactionCreated;
+import com.appdev.Finance.TransactionType;
+import com.appdev.Finance.model.IdSequences;
+import com.appdev.Finance.model.Money;
+import com.appdev.Finance.model.User;
+import com.appdev.Finance.model.YearMonthAttributeConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Bulk import of bank-statement CSV files. The upload is spooled to a temp file and parsed one
+ * record at a time on the import executor, so memory use does not grow with the file. Valid rows
+ * are inserted with JDBC batches inside a single DB transaction (all or nothing); invalid rows are
+ * skipped and listed on the progress object. The spending rollup is rebuilt and the budget check
+ * runs once per import instead of once per row.
+ *
+ * Expected header (case-insensitive, any order): date, description, amount, and optionally type and
+ * category. Without a type, negative amounts are expenses and positive ones income.
+ */
+@Service
+public class TransactionImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionImportService.class);
+
+    // Rows bypass the entity, so the id and the normalized columns Transaction derives on save are written here too
+    private static final String INSERT_SQL = "INSERT INTO `transaction` " +
+            "(id, amount_minor, description, type, category, month, transaction_date, user_id, type_code, category_id, period_ym) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    static final String DEFAULT_CATEGORY = "Uncategorized";
+    private static final int MAX_TEXT_LENGTH = 255;
+    private static final Duration FINISHED_RETENTION = Duration.ofHours(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CategoryDictionaryService categoryDictionaryService;
+    private final SpendingRollupService spendingRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DashboardSnapshotCache dashboardSnapshotCache;
+    private final ColumnarTransactionStore columnarTransactionStore;
+    private final TransactionSearchCache transactionSearchCache;
+    private final MonthlyExpenseCounters monthlyExpenseCounters;
+    private final SpendForecaster spendForecaster;
+    private final IdSequenceService idSequenceService;
+    private final Executor importExecutor;
+    private final int batchSize;
+
+    private final Map<String, ImportProgress> imports = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TransactionImportService(JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    CategoryDictionaryService categoryDictionaryService,
+                                    SpendingRollupService spendingRollupService,
+                                    ApplicationEventPublisher eventPublisher,
+                                    DashboardSnapshotCache dashboardSnapshotCache,
+                                    ColumnarTransactionStore columnarTransactionStore,
+                                    TransactionSearchCache transactionSearchCache,
+                                    MonthlyExpenseCounters monthlyExpenseCounters,
+                                    SpendForecaster spendForecaster,
+                                    IdSequenceService idSequenceService,
+                                    @Qualifier("importExecutor") Executor importExecutor,
+                                    @Value("${transactions.import.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.categoryDictionaryService = categoryDictionaryService;
+        this.spendingRollupService = spendingRollupService;
+        this.eventPublisher = eventPublisher;
+        this.dashboardSnapshotCache = dashboardSnapshotCache;
+        this.columnarTransactionStore = columnarTransactionStore;
+        this.transactionSearchCache = transactionSearchCache;
+        this.monthlyExpenseCounters = monthlyExpenseCounters;
+        this.spendForecaster = spendForecaster;
+        this.idSequenceService = idSequenceService;
+        this.importExecutor = importExecutor;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Queues an import and returns its progress handle right away.
+     *
+     * @throws RejectedExecutionException if too many imports are already queued
+     */
+    public ImportProgress submit(User user, MultipartFile file) throws IOException {
+        purgeFinished();
+        Path spooled = Files.createTempFile("finance-import-", ".csv");
+        try {
+            file.transferTo(spooled);
+        } catch (IOException e) {
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+
+        ImportProgress progress = new ImportProgress(UUID.randomUUID().toString(), user.getId(), file.getOriginalFilename());
+        imports.put(progress.getImportId(), progress);
+        try {
+            importExecutor.execute(() -> runImport(user, spooled, progress));
+        } catch (RejectedExecutionException e) {
+            imports.remove(progress.getImportId());
+            deleteQuietly(spooled);
+            throw e;
+        }
+        logger.info("Queued CSV import {} ({}) for user ID {}.", progress.getImportId(), file.getOriginalFilename(), user.getId());
+        return progress;
+    }
+
+    // Empty unless the import exists and belongs to the user
+    public Optional<ImportProgress> getProgress(String importId, Long userId) {
+        return Optional.ofNullable(imports.get(importId))
+                .filter(progress -> progress.getUserId().equals(userId));
+    }
+
+    private void runImport(User user, Path spooled, ImportProgress progress) {
+        progress.setStatus(ImportProgress.Status.RUNNING);
+        try (Reader reader = Files.newBufferedReader(spooled, StandardCharsets.UTF_8)) {
+            importCsv(user, reader, progress);
+        } catch (Exception e) {
+            logger.error("CSV import {} for user ID {} failed: {}", progress.getImportId(), user.getId(), e.getMessage(), e);
+            progress.finish(ImportProgress.Status.FAILED, "Import failed, no transactions were saved: " + e.getMessage());
+        } finally {
+            deleteQuietly(spooled);
+        }
+    }
+
+    /**
+     * Parses and inserts {@code reader} on the calling thread, updating {@code progress} as it goes.
+     */
+    public void importCsv(User user, Reader reader, ImportProgress progress) throws IOException {
+        long started = System.nanoTime();
+        ImportCounts counts;
+        try {
+            counts = transactionTemplate.execute(status -> {
+                try {
+                    return insertAll(user, new CsvRecordReader(reader), progress);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        if (counts.inserted() > 0) {
+            // Already committed, so listeners run now
+            eventPublisher.publishEvent(new TransactionCreated(user, null, counts.expenses() > 0));
+        }
+        progress.finish(ImportProgress.Status.COMPLETED,
+                String.format("Imported %d transaction(s), skipped %d row(s).", counts.inserted(), progress.getRowsSkipped()));
+        logger.info("CSV import {} for user ID {}: {} inserted, {} skipped in {} ms.", progress.getImportId(), user.getId(),
+                counts.inserted(), progress.getRowsSkipped(), Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    private record ImportCounts(long inserted, long expenses) {}
+
+    private ImportCounts insertAll(User user, CsvRecordReader csv, ImportProgress progress) throws IOException {
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new IllegalArgumentException("The file is empty.");
+        }
+        ColumnLayout columns = ColumnLayout.of(header);
+
+        Map<String, Long> categoryIds = new HashMap<>();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        long rowsRead = 0;
+        long inserted = 0;
+        long expenses = 0;
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            progress.setRowsRead(++rowsRead);
+            Object[] row;
+            try {
+                row = toRow(user, columns, record, categoryIds);
+            } catch (IllegalArgumentException e) {
+                progress.recordSkippedRow(csv.getRecordLine(), e.getMessage());
+                continue;
+            }
+            if ((Integer) row[8] == TransactionType.EXPENSE.ordinal()) {
+                expenses++;
+            }
+            batch.add(row);
+            if (batch.size() >= batchSize) {
+                inserted += flush(batch);
+                progress.setRowsInserted(inserted);
+            }
+        }
+        inserted += flush(batch);
+        progress.setRowsInserted(inserted);
+
+        if (inserted > 0) {
+            spendingRollupService.rebuildForUser(user.getId());
+            dashboardSnapshotCache.invalidate(user.getId());
+            columnarTransactionStore.invalidate(user.getId());
+            transactionSearchCache.bump(user.getId());
+            monthlyExpenseCounters.invalidate(user.getId());
+            spendForecaster.invalidate(user.getId());
+        }
+        return new ImportCounts(inserted, expenses);
+    }
+
+    private int flush(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        // Ids come from the same pooled sequence Hibernate uses for Transaction
+        long nextId = idSequenceService.reserve(IdSequences.TRANSACTION, batch.size());
+        for (Object[] row : batch) {
+            row[0] = nextId++;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        int flushed = batch.size();
+        batch.clear();
+        return flushed;
+    }
+
+    // Column values in INSERT_SQL order, id left for flush(); IllegalArgumentException describes why a record is skipped
+    private Object[] toRow(User user, ColumnLayout columns, List<String> record, Map<String, Long> categoryIds) {
+        LocalDate date;
+        String rawDate = columns.value(record, columns.date);
+        try {
+            date = LocalDate.parse(rawDate);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("invalid date '" + rawDate + "', expected yyyy-MM-dd");
+        }
+
+        String rawAmount = columns.value(record, columns.amount);
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(rawAmount.replace(",", "").replace("₱", "").replace(" ", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid amount '" + rawAmount + "'");
+        }
+        Money money;
+        try {
+            money = Money.of(amount.abs());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("amount '" + rawAmount + "' is out of range");
+        }
+        if (money.signum() == 0) {
+            throw new IllegalArgumentException("amount must not be zero");
+        }
+
+        String rawType = columns.value(record, columns.type);
+        TransactionType type;
+        if (rawType.isEmpty()) {
+            type = amount.signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME;
+        } else {
+            type = TransactionType.fromLabel(rawType);
+            if (type == null) {
+                throw new IllegalArgumentException("unknown type '" + rawType + "', expected Income or Expense");
+            }
+        }
+
+        String description = columns.value(record, columns.description);
+        if (description.isEmpty()) {
+            throw new IllegalArgumentException("description is required");
+        }
+        String category = columns.value(record, columns.category);
+        if (category.isEmpty()) {
+            category = DEFAULT_CATEGORY;
+        }
+        String categoryName = truncate(category);
+        // One dictionary lookup per distinct category rather than per row
+        Long categoryId = categoryIds.computeIfAbsent(categoryName.toLowerCase(Locale.ROOT),
+                key -> categoryDictionaryService.resolve(user, categoryName).getId());
+
+        return new Object[] {
+                null,
+                money.getMinorUnits(),
+                truncate(description),
+                type.getLabel(),
+                categoryName,
+                date.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH),
+                Date.valueOf(date),
+                user.getId(),
+                type.ordinal(),
+                categoryId,
+                YearMonthAttributeConverter.toKey(YearMonth.from(date))
+        };
+    }
+
+    private static String truncate(String value) {
+        return value.length() > MAX_TEXT_LENGTH ? value.substring(0, MAX_TEXT_LENGTH) : value;
+    }
+
+    private void purgeFinished() {
+        Instant cutoff = Instant.now().minus(FINISHED_RETENTION);
+        imports.values().removeIf(progress -> progress.isFinished() && progress.getFinishedAt().isBefore(cutoff));
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete import spool file {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Positions of the known columns in the header; -1 for an absent optional column.
+     */
+    private static final class ColumnLayout {
+        int date = -1;
+        int description = -1;
+        int amount = -1;
+        int type = -1;
+        int category = -1;
+
+        static ColumnLayout of(List<String> header) {
+            ColumnLayout layout = new ColumnLayout();
+            for (int i = 0; i < header.size(); i++) {
+                switch (header.get(i).toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "")) {
+                    case "date", "transactiondate" -> layout.date = i;
+                    case "description", "details", "memo" -> layout.description = i;
+                    case "amount" -> layout.amount = i;
+                    case "type" -> layout.type = i;
+                    case "category" -> layout.category = i;
+                    default -> { }
+                }
+            }
+            if (layout.date < 0 || layout.description < 0 || layout.amount < 0) {
+                throw new IllegalArgumentException("The header must contain date, description and amount columns.");
+            }
+            return layout;
+        }
+
+        // Trimmed value, or "" when the column is absent or the record is short
+        String value(List<String> record, int index) {
+            return (index >= 0 && index < record.size()) ? record.get(index).trim() : "";
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.TransactionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills transaction.type_code, category_id and period_ym for rows written before those columns
+ * existed. New rows get them on save, so once this has run over the table (startup, via
+ * DataBackfillRunner) search filters switch from lower(type/category/month) string comparisons
+ * to the indexed normalized columns. Work is done in id-range chunks to keep each UPDATE short.
+ */
+@Component
+public class TransactionNormalization {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionNormalization.class);
+
+    private static final int CHUNK_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile boolean complete;
+
+    @Autowired
+    public TransactionNormalization(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // True once every pre-existing row carries normalized values
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void backfill() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM `transaction`", Long.class);
+        if (maxId != null) {
+            jdbcTemplate.update("INSERT IGNORE INTO user_category (user_id, name) " +
+                    "SELECT DISTINCT user_id, TRIM(category) FROM `transaction` " +
+                    "WHERE category_id IS NULL AND TRIM(category) <> ''");
+
+            int updated = 0;
+            for (long from = 1; from <= maxId; from += CHUNK_SIZE) {
+                long to = from + CHUNK_SIZE - 1;
+                updated += jdbcTemplate.update("UPDATE `transaction` t JOIN user_category c " +
+                        "ON c.user_id = t.user_id AND c.name = TRIM(t.category) " +
+                        "SET t.category_id = c.id WHERE t.category_id IS NULL AND t.id BETWEEN ? AND ?", from, to);
+                updated += jdbcTemplate.update("UPDATE `transaction` SET type_code = " + typeCodeCase() +
+                        " WHERE type_code IS NULL AND id BETWEEN ? AND ?", from, to);
+                // Same rule as Transaction.resolvePeriod: month name wins, year from the date or today
+                updated += jdbcTemplate.update("UPDATE `transaction` SET period_ym = " +
+                        "COALESCE(YEAR(transaction_date), YEAR(CURDATE())) * 100 + " +
+                        "COALESCE(MONTH(STR_TO_DATE(CONCAT(TRIM(month), ' 1 2000'), '%M %d %Y')), " +
+                        "MONTH(transaction_date), MONTH(CURDATE())) " +
+                        "WHERE period_ym IS NULL AND id BETWEEN ? AND ?", from, to);
+            }
+            if (updated > 0) {
+                logger.info("Normalized type/category/month columns: {} column update(s) up to transaction id {}.", updated, maxId);
+            }
+        }
+        complete = true;
+    }
+
+    // CASE over the persisted ordinals; unknown labels stay NULL, which no type filter matches
+    private static String typeCodeCase() {
+        StringBuilder sql = new StringBuilder("CASE LOWER(TRIM(type))");
+        for (TransactionType type : TransactionType.values()) {
+            sql.append(" WHEN '").append(type.getLabel().toLowerCase()).append("' THEN ").append(type.ordinal());
+        }
+        return sql.append(" END").toString();
+    }
+}
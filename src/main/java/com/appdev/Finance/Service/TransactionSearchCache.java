@@ -0,0 +1,145 @@
+package com.appdev.Finance.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Results of repeated transaction searches (dashboard widget, first /transactions page), keyed by
+ * user and normalized criteria. Each entry remembers the user's data version it was computed at;
+ * every write bumps that version, so a stale entry is never served and needs no scan to find.
+ *
+ * Entries are weighed by the rows they hold and the total is bounded; oversized results are not
+ * cached at all. Versions come from one global counter, so they never repeat for a user.
+ * Statistics are published as cache.* metrics (cache=transactionSearches).
+ */
+@Component
+public class TransactionSearchCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionSearchCache.class);
+
+    private final Map<Long, Long> dataVersions = new ConcurrentHashMap<>();
+    private final AtomicLong versionSource = new AtomicLong();
+    private final Cache<Key, Entry> cache;
+    private final int maxEntryRows;
+    private final Counter staleCounter;
+
+    @Autowired
+    public TransactionSearchCache(@Value("${transactions.search-cache.max-rows:200000}") long maxRows,
+                                  @Value("${transactions.search-cache.max-entry-rows:5000}") int maxEntryRows,
+                                  @Value("${transactions.search-cache.expire-after-access:10m}") Duration expireAfterAccess,
+                                  MeterRegistry meterRegistry) {
+        this.maxEntryRows = maxEntryRows;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                .<Key, Entry>weigher((key, entry) -> Math.max(1, entry.rows()))
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "transactionSearches");
+        this.staleCounter = Counter.builder("transactions.search.cache.stale")
+                .description("Cached searches found but discarded because the user's data changed since")
+                .register(meterRegistry);
+        logger.info("Transaction search cache initialized (maxRows={}, maxEntryRows={}, expireAfterAccess={}).",
+                maxRows, maxEntryRows, expireAfterAccess);
+    }
+
+    /**
+     * The cached result for the key if it is still current, otherwise the loader's result, which is
+     * cached when it holds no more than the per-entry row limit.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key key, Supplier<T> loader, ToIntFunction<T> rows) {
+        // Read the version before loading: a write committing mid-load bumps it again and orphans the entry
+        long version = currentVersion(key.userId());
+        Entry cached = cache.getIfPresent(key);
+        if (cached != null) {
+            if (cached.version() == version) {
+                return (T) cached.value();
+            }
+            staleCounter.increment();
+        }
+        T value = loader.get();
+        int size = rows.applyAsInt(value);
+        if (size <= maxEntryRows) {
+            cache.put(key, new Entry(version, value, size));
+        }
+        return value;
+    }
+
+    /**
+     * Marks the user's cached searches stale now and again once the surrounding DB transaction
+     * commits, so a search that read pre-commit rows in between cannot stay current.
+     */
+    public void bump(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        dataVersions.put(userId, versionSource.incrementAndGet());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dataVersions.put(userId, versionSource.incrementAndGet());
+                }
+            });
+        }
+    }
+
+    private long currentVersion(Long userId) {
+        return dataVersions.computeIfAbsent(userId, id -> versionSource.incrementAndGet());
+    }
+
+    private record Entry(long version, Object value, int rows) {}
+
+    /**
+     * Search criteria normalized the way the filters apply them: text trimmed and lower-cased
+     * (the columns compare case-insensitively), dates parsed with malformed ones dropped, the
+     * month dropped when a date range overrides it, and amounts compared by value.
+     */
+    public record Key(String kind, Long userId, String keyword, String type, String category, String month,
+                      LocalDate startDate, LocalDate endDate, BigDecimal minAmount, BigDecimal maxAmount,
+                      Sort sort, int limit) {
+
+        public static Key of(String kind, Long userId, String keyword, String type, String category, String month,
+                             String startDate, String endDate, Double minAmount, Double maxAmount,
+                             Sort sort, int limit) {
+            LocalDate start = TransactionSpecification.isoDateOrNull(startDate);
+            LocalDate end = TransactionSpecification.isoDateOrNull(endDate);
+            return new Key(kind, userId, text(keyword), text(type), text(category),
+                    start == null && end == null ? text(month) : null,
+                    start, end, amount(minAmount), amount(maxAmount), sort, limit);
+        }
+
+        private static String text(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            return value.strip().toLowerCase(Locale.ROOT);
+        }
+
+        private static BigDecimal amount(Double value) {
+            return value != null ? BigDecimal.valueOf(value).stripTrailingZeros() : null;
+        }
+    }
+}
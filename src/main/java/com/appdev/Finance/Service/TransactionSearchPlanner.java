@@ -0,0 +1,120 @@
+package com.appdev.Finance.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Chooses, per search, between filtering the user's cached list rows in memory and running the SQL
+ * specification. Small users go to memory unless the criteria need SQL (keyword and relevance
+ * searches use the FULLTEXT index) or the observed costs say SQL is currently cheaper: an
+ * exponentially weighted average of SQL latency per search against in-memory latency per row times
+ * the user's row count.
+ *
+ * Every decision is counted as transactions.search.plan.decisions{plan,reason} and every search
+ * timed as transactions.search.plan{plan}, so the row threshold can be tuned from production data.
+ */
+@Component
+public class TransactionSearchPlanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionSearchPlanner.class);
+
+    private static final double EWMA_WEIGHT = 0.2;
+
+    public enum Plan { MEMORY, SQL }
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long maxMemoryRows;
+    private final Timer memoryTimer;
+    private final Timer sqlTimer;
+
+    // Nanoseconds; zero until the first sample of that plan
+    private double sqlNanosPerSearch;
+    private double memoryNanosPerRow;
+
+    @Autowired
+    public TransactionSearchPlanner(MeterRegistry meterRegistry,
+                                    @Value("${transactions.search-planner.enabled:true}") boolean enabled,
+                                    @Value("${transactions.search-planner.max-memory-rows:2000}") long maxMemoryRows) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxMemoryRows = maxMemoryRows;
+        this.memoryTimer = searchTimer("memory");
+        this.sqlTimer = searchTimer("sql");
+        logger.info("Transaction search planner {} (maxMemoryRows={}).", enabled ? "enabled" : "disabled", maxMemoryRows);
+    }
+
+    /**
+     * @param rowCount      the user's cached row count, only asked for when it matters
+     * @param sqlOnlyReason why the criteria cannot be evaluated in memory, or null if they can
+     */
+    public Plan choose(LongSupplier rowCount, String sqlOnlyReason) {
+        Plan plan;
+        String reason;
+        if (!enabled) {
+            plan = Plan.SQL;
+            reason = "disabled";
+        } else if (sqlOnlyReason != null) {
+            plan = Plan.SQL;
+            reason = sqlOnlyReason;
+        } else {
+            long rows = rowCount.getAsLong();
+            if (rows > maxMemoryRows) {
+                plan = Plan.SQL;
+                reason = "too-many-rows";
+            } else if (isSqlCheaper(rows)) {
+                plan = Plan.SQL;
+                reason = "sql-cheaper";
+            } else {
+                plan = Plan.MEMORY;
+                reason = "small-user";
+            }
+        }
+        Counter.builder("transactions.search.plan.decisions")
+                .description("Search plan choices by outcome and reason")
+                .tag("plan", plan.name().toLowerCase())
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        return plan;
+    }
+
+    public void recordSql(long elapsedNanos) {
+        sqlTimer.record(Duration.ofNanos(elapsedNanos));
+        synchronized (this) {
+            sqlNanosPerSearch = average(sqlNanosPerSearch, elapsedNanos);
+        }
+    }
+
+    public void recordMemory(long elapsedNanos, int rowsEvaluated) {
+        memoryTimer.record(Duration.ofNanos(elapsedNanos));
+        synchronized (this) {
+            memoryNanosPerRow = average(memoryNanosPerRow, (double) elapsedNanos / Math.max(1, rowsEvaluated));
+        }
+    }
+
+    private synchronized boolean isSqlCheaper(long rowCount) {
+        // Without samples of both plans there is nothing to compare; the row threshold alone decides
+        return sqlNanosPerSearch > 0 && memoryNanosPerRow > 0 && memoryNanosPerRow * rowCount > sqlNanosPerSearch;
+    }
+
+    private static double average(double current, double sample) {
+        return current == 0 ? sample : current + EWMA_WEIGHT * (sample - current);
+    }
+
+    private Timer searchTimer(String plan) {
+        return Timer.builder("transactions.search.plan")
+                .description("Search latency by chosen plan")
+                .tag("plan", plan)
+                .register(meterRegistry);
+    }
+}
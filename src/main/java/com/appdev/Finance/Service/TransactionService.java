@@ -1,22 +1,40 @@
 package com.appdev.Finance.Service;
 
+import java.math.BigDecimal;
+import java.time.Month;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.function.Supplier;
 // Set is not used in this version of the file, but can be kept if other methods might use it.
 // import java.util.Set;
 // import java.util.stream.Collectors; // Not directly used in this version
 
+import com.appdev.Finance.Event.TransactionCreated;
+import com.appdev.Finance.TransactionType;
+import com.appdev.Finance.model.Money;
 import com.appdev.Finance.model.User;
 import com.appdev.Finance.model.TransactionFile;
 import com.appdev.Finance.Repository.TransactionFileRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 import com.appdev.Finance.Repository.TransactionRepository;
+import com.appdev.Finance.DTO.DateRangeTotals;
+import com.appdev.Finance.DTO.PeriodRange;
+import com.appdev.Finance.DTO.TransactionListItem;
+import com.appdev.Finance.DTO.TransactionPage;
+import com.appdev.Finance.DTO.TransactionSearchSummary;
 import com.appdev.Finance.model.Transaction;
 // TransactionSpecification import is fine
 // import com.appdev.Finance.Service.TransactionSpecification;
@@ -42,6 +60,47 @@ public class TransactionService {
     @Autowired
     private TransactionFileRepository transactionFileRepository;
 
+    @Autowired
+    private SpendingRollupService spendingRollupService;
+
+    @Autowired
+    private DashboardSnapshotCache dashboardSnapshotCache;
+
+    @Autowired
+    private DescriptionSearchIndex descriptionSearchIndex;
+
+    @Autowired
+    private CategoryDictionaryService categoryDictionaryService;
+
+    @Autowired
+    private TransactionNormalization transactionNormalization;
+
+    @Autowired
+    private ColumnarTransactionStore columnarTransactionStore;
+
+    @Autowired
+    private TransactionSearchCache transactionSearchCache;
+
+    @Autowired
+    private TransactionSearchPlanner transactionSearchPlanner;
+
+    @Autowired
+    private MonthlyExpenseCounters monthlyExpenseCounters;
+
+    @Autowired
+    private SpendForecaster spendForecaster;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public static final String SORT_BY_RELEVANCE = "relevance";
+
+    // Result kinds in TransactionSearchCache
+    private static final String SEARCH_TOP = "top";
+    private static final String SEARCH_FIRST_PAGE = "firstPage";
+    private static final String SEARCH_ROW_COUNT = "rowCount";
+    private static final String SEARCH_ALL_ROWS = "allRows";
+
 
     @PostConstruct
     public void init() {
@@ -69,15 +128,24 @@ public class TransactionService {
 
         logger.info("Attempting to save new transaction for User ID: {}, Amount: {}, Type: {}, Category: {}, Date: [{}], Month: [{}]",
                 transaction.getUser().getId(),
-                transaction.getAmount(),
+                transaction.getMoney(),
                 transaction.getType(),
                 transaction.getCategory(),
                 transaction.getTransactionDate(),
                 transaction.getMonth());
 
+        transaction.setUserCategory(categoryDictionaryService.resolve(transaction.getUser(), transaction.getCategory()));
         Transaction savedTransaction = transactionRepository.save(transaction);
         logger.info("New transaction saved with ID: {}", savedTransaction.getId());
 
+        // Keep the per-user monthly/category aggregates in step with the insert (same DB transaction)
+        spendingRollupService.recordTransaction(savedTransaction);
+        dashboardSnapshotCache.invalidate(savedTransaction.getUser().getId());
+        columnarTransactionStore.recordSaved(savedTransaction);
+        transactionSearchCache.bump(savedTransaction.getUser().getId());
+        monthlyExpenseCounters.recordExpense(savedTransaction);
+        spendForecaster.recordExpense(savedTransaction);
+
         // Handle file upload
         if (fileReceipt != null && !fileReceipt.isEmpty()) {
             try {
@@ -107,20 +175,139 @@ public class TransactionService {
         }
 
 
-        if ("Expense".equalsIgnoreCase(savedTransaction.getType())) {
-            logger.info("Expense transaction saved (ID: {}). Triggering budget check for user ID: {}",
-                    savedTransaction.getId(), savedTransaction.getUser().getId());
-            try {
-                budgetService.afterExpenseTransactionUpdate(savedTransaction.getUser());
-            } catch (Exception e) {
-                logger.error("Error calling budgetService.afterExpenseTransactionUpdate for user ID {}: {}",
-                             savedTransaction.getUser().getId(), e.getMessage(), e);
-            }
-        }
+        // Budget check and notifications run after commit, off this thread (see BudgetEventListener)
+        eventPublisher.publishEvent(new TransactionCreated(savedTransaction.getUser(), savedTransaction.getId(),
+                savedTransaction.getTypeCode() == TransactionType.EXPENSE));
         return savedTransaction;
     }
+    /**
+     * The transaction search of the dashboard and report pages. Only the first {@code limit} rows
+     * are loaded; the total match count and income/expense sums come back from the same query.
+     * When the only filter is a date range, the sums come from the in-memory range-sum index
+     * instead and the query stops at the first {@code limit} rows rather than aggregating every match.
+     */
+    @Transactional(readOnly = true)
+    public TransactionSearchSummary searchTransactionsTop(
+            User user,
+            String keyword,
+            String transactionType,
+            String category,
+            String month,
+            String startDate,
+            String endDate,
+            Double minAmount,
+            Double maxAmount,
+            String sortField,
+            String sortOrder,
+            int limit) {
+
+        Sort sort = resolveSort(sortField, sortOrder);
+        TransactionSearchCache.Key key = TransactionSearchCache.Key.of(SEARCH_TOP, user.getId(), keyword, transactionType,
+                category, month, startDate, endDate, minAmount, maxAmount, sort, limit);
+        return transactionSearchCache.get(key, () -> loadTop(user, keyword, transactionType, category, month,
+                startDate, endDate, minAmount, maxAmount, sort, limit), summary -> summary.getTopTransactions().size());
+    }
+
+    private TransactionSearchSummary loadTop(User user, String keyword, String transactionType, String category, String month,
+                                             String startDate, String endDate, Double minAmount, Double maxAmount,
+                                             Sort sort, int limit) {
+        if (planSearch(user, keyword, sort, false) == TransactionSearchPlanner.Plan.MEMORY) {
+            return searchInMemory(user, transactionType, category, month, startDate, endDate, minAmount, maxAmount, sort, limit);
+        }
+        return timedSql(() -> loadTopFromSql(user, keyword, transactionType, category, month,
+                startDate, endDate, minAmount, maxAmount, sort, limit));
+    }
+
+    private TransactionSearchSummary loadTopFromSql(User user, String keyword, String transactionType, String category, String month,
+                                                    String startDate, String endDate, Double minAmount, Double maxAmount,
+                                                    Sort sort, int limit) {
+        Specification<Transaction> spec = buildSearchSpec(
+                user, keyword, transactionType, category, month, startDate, endDate, minAmount, maxAmount
+        );
+        if (sort.isUnsorted()) {
+            spec = spec.and(TransactionSpecification.orderByRelevance(keyword));
+        }
+        Optional<DateRangeTotals> rangeTotals = dateRangeOnlyTotals(user, keyword, transactionType, category,
+                startDate, endDate, minAmount, maxAmount);
+        if (rangeTotals.isPresent()) {
+            DateRangeTotals totals = rangeTotals.get();
+            List<TransactionListItem> top = totals.getMatchCount() > 0
+                    ? transactionRepository.findWithLimit(spec, sort, limit)
+                    : List.of();
+            return new TransactionSearchSummary(top, totals.getMatchCount(), totals.getTotalIncome(), totals.getTotalExpenses());
+        }
+        return transactionRepository.findTopWithTotals(spec, sort, limit);
+    }
+
+    // Keyword and relevance searches need the FULLTEXT index; anything else may run in memory for small users.
+    // A keyset first page sorted by text stays in SQL, since later pages seek under the MySQL collation.
+    private TransactionSearchPlanner.Plan planSearch(User user, String keyword, Sort sort, boolean keysetFirstPage) {
+        String sqlOnlyReason = StringUtils.hasText(keyword) ? "keyword"
+                : sort.isUnsorted() ? "relevance-sort"
+                : keysetFirstPage && InMemoryTransactionSearch.sortsByText(sort) ? "keyset-text-sort"
+                : null;
+        return transactionSearchPlanner.choose(() -> userRowCount(user.getId()), sqlOnlyReason);
+    }
+
+    private TransactionSearchSummary searchInMemory(User user, String transactionType, String category, String month,
+                                                    String startDate, String endDate, Double minAmount, Double maxAmount,
+                                                    Sort sort, int limit) {
+        // The sample includes reloading the rows after a write, which the plan pays for too
+        long started = System.nanoTime();
+        List<TransactionListItem> rows = allListItems(user.getId());
+        TransactionSearchSummary summary = new InMemoryTransactionSearch(transactionType, category, month,
+                startDate, endDate, minAmount, maxAmount).topWithTotals(rows, sort, limit);
+        transactionSearchPlanner.recordMemory(System.nanoTime() - started, rows.size());
+        return summary;
+    }
+
+    private TransactionSearchSummary timedSql(Supplier<TransactionSearchSummary> query) {
+        long started = System.nanoTime();
+        TransactionSearchSummary summary = query.get();
+        transactionSearchPlanner.recordSql(System.nanoTime() - started);
+        return summary;
+    }
+
+    // Both cached until the user's next write, like the search results themselves
+    private long userRowCount(Long userId) {
+        return transactionSearchCache.get(searchKey(SEARCH_ROW_COUNT, userId),
+                () -> transactionRepository.countByUser_Id(userId), count -> 1);
+    }
+
+    private List<TransactionListItem> allListItems(Long userId) {
+        return transactionSearchCache.get(searchKey(SEARCH_ALL_ROWS, userId), () -> {
+            List<TransactionListItem> rows = transactionRepository.findListItemsByUserId(userId);
+            transactionRepository.loadReceipts(rows);
+            return List.copyOf(rows);
+        }, List::size);
+    }
+
+    private static TransactionSearchCache.Key searchKey(String kind, Long userId) {
+        return TransactionSearchCache.Key.of(kind, userId, null, null, null, null, null, null, null, null, Sort.unsorted(), 0);
+    }
+
+    // Index totals for a search filtered by nothing but a date range (the month is then ignored too)
+    private Optional<DateRangeTotals> dateRangeOnlyTotals(User user, String keyword, String transactionType, String category,
+                                                          String startDate, String endDate,
+                                                          Double minAmount, Double maxAmount) {
+        if (StringUtils.hasText(keyword) || StringUtils.hasText(transactionType) || StringUtils.hasText(category)
+                || minAmount != null || maxAmount != null || !TransactionSpecification.hasDateRange(startDate, endDate)) {
+            return Optional.empty();
+        }
+        return columnarTransactionStore.rangeIndex(user.getId())
+                .map(index -> index.totals(TransactionSpecification.isoDateOrNull(startDate),
+                        TransactionSpecification.isoDateOrNull(endDate)));
+    }
+
+    /**
+     * Keyset-paginated search. Pass a null/blank {@code cursor} for the first page; later pages
+     * seek past the cursor's (sort value, id) instead of using OFFSET, so deep pages cost the same
+     * as the first one.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for a different sort
+     */
     @Transactional(readOnly = true)
-    public List<Transaction> searchTransactions(
+    public TransactionPage searchTransactionsPage(
             User user,
             String keyword,
             String transactionType,
@@ -130,17 +317,142 @@ public class TransactionService {
             String endDate,
             Double minAmount,
             Double maxAmount,
-            // Set<String> tagNames, 
             String sortField,
-            String sortOrder) { // <<< REMOVE ", String string" from here
+            String sortOrder,
+            String cursor,
+            int pageSize) {
 
-        logger.debug("Searching transactions for user: {} with criteria - keyword: '{}', type: '{}', category: '{}', month: '{}', startDate: '{}', endDate: '{}', minAmt: {}, maxAmt: {}, sort: {} {}",
-                user.getEmail(), keyword, transactionType, category, month, startDate, endDate, minAmount, maxAmount, sortField, sortOrder);
+        Specification<Transaction> spec = buildSearchSpec(
+                user, keyword, transactionType, category, month, startDate, endDate, minAmount, maxAmount
+        );
+        Sort sort = resolveSort(sortField, sortOrder);
+        if (sort.isUnsorted()) {
+            // A float relevance score cannot serve as a stable seek key; page newest-first instead
+            sort = resolveSort("transactionDate", "DESC");
+        }
+        Sort.Order primary = sort.iterator().next();
+
+        List<TransactionListItem> rows;
+        Long totalCount = null;
+        BigDecimal totalAmount = null;
+        if (cursor == null || cursor.isBlank()) {
+            // First page: rows plus the totals shown in the footer, in one query, cached until the user's next write
+            TransactionSearchCache.Key key = TransactionSearchCache.Key.of(SEARCH_FIRST_PAGE, user.getId(), keyword,
+                    transactionType, category, month, startDate, endDate, minAmount, maxAmount, sort, pageSize + 1);
+            Specification<Transaction> search = spec;
+            Sort order = sort;
+            TransactionSearchSummary first = transactionSearchCache.get(key,
+                    () -> planSearch(user, keyword, order, true) == TransactionSearchPlanner.Plan.MEMORY
+                            ? searchInMemory(user, transactionType, category, month, startDate, endDate, minAmount, maxAmount, order, pageSize + 1)
+                            : timedSql(() -> transactionRepository.findTopWithTotals(search, order, pageSize + 1)),
+                    summary -> summary.getTopTransactions().size());
+            rows = first.getTopTransactions();
+            totalCount = first.getTotalCount();
+            totalAmount = first.getTotalIncome().add(first.getTotalExpenses());
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            if (!position.matches(sort)) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort order");
+            }
+            rows = transactionRepository.findWithLimit(spec.and(TransactionSpecification.seekAfter(position)), sort, pageSize + 1);
+        }
 
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            nextCursor = TransactionCursor.after(rows.get(pageSize - 1), primary.getProperty(), primary.getDirection()).encode();
+        }
+        return new TransactionPage(rows, nextCursor, totalCount, totalAmount);
+    }
+
+    private Specification<Transaction> buildSearchSpec(User user, String keyword, String transactionType, String category,
+                                                       String month, String startDate, String endDate,
+                                                       Double minAmount, Double maxAmount) {
+        // Criteria are trimmed here so that they match TransactionSearchCache's normalized keys
+        keyword = strip(keyword);
+        transactionType = strip(transactionType);
+        category = strip(category);
+        month = strip(month);
+        // The FULLTEXT index replaces the LIKE scan once DescriptionSearchIndex has confirmed it exists
+        boolean fullText = StringUtils.hasText(keyword) && descriptionSearchIndex.isAvailable();
+        // Likewise type/category/month move to the normalized columns once every row has them
+        boolean normalized = transactionNormalization.isComplete();
+        // Until then a "yyyy-MM" month is the month name within that calendar year of transactionDate
+        YearMonth legacyPeriod = normalized ? null : Transaction.parseYearMonth(month);
+        String legacyMonth = legacyPeriod != null
+                ? legacyPeriod.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH) : month;
         Specification<Transaction> spec = TransactionSpecification.findByCriteria(
-                user, keyword, transactionType, category, month, startDate, endDate, minAmount, maxAmount, null
+                user, fullText ? null : keyword,
+                normalized ? null : transactionType, normalized ? null : category, normalized ? null : legacyMonth,
+                startDate, endDate, minAmount, maxAmount, null
         );
+        if (legacyPeriod != null && !TransactionSpecification.hasDateRange(startDate, endDate)) {
+            spec = spec.and(TransactionSpecification.transactionDateInYear(legacyPeriod.getYear()));
+        }
+        if (normalized) {
+            spec = spec.and(normalizedFilters(user, transactionType, category, month, startDate, endDate));
+        }
+        return fullText ? spec.and(TransactionSpecification.descriptionMatches(keyword)) : spec;
+    }
+
+    private static String strip(String value) {
+        return value != null ? value.strip() : null;
+    }
 
+    private Specification<Transaction> normalizedFilters(User user, String transactionType, String category,
+                                                         String month, String startDate, String endDate) {
+        Specification<Transaction> spec = Specification.where(null);
+        if (StringUtils.hasText(transactionType)) {
+            TransactionType type = TransactionType.fromLabel(transactionType);
+            spec = spec.and(type != null ? TransactionSpecification.typeIs(type) : TransactionSpecification.matchesNothing());
+        }
+        if (StringUtils.hasText(category)) {
+            spec = spec.and(categoryDictionaryService.findId(user.getId(), category)
+                    .map(TransactionSpecification::categoryIdIs)
+                    .orElseGet(TransactionSpecification::matchesNothing));
+        }
+        if (StringUtils.hasText(month) && !TransactionSpecification.hasDateRange(startDate, endDate)) {
+            List<YearMonth> periods = periodsForMonthName(user.getId(), month);
+            spec = spec.and(periods.isEmpty() ? TransactionSpecification.matchesNothing() : TransactionSpecification.periodIn(periods));
+        }
+        return spec;
+    }
+
+    /**
+     * A "yyyy-MM" month filter is a single period. A bare month name spans every year, so it becomes
+     * one period per year the user has data for: an IN list on (user_id, period_ym) rather than a
+     * function over every row.
+     */
+    private List<YearMonth> periodsForMonthName(Long userId, String monthName) {
+        YearMonth period = Transaction.parseYearMonth(monthName);
+        if (period != null) {
+            return List.of(period);
+        }
+        Month month;
+        try {
+            month = Month.valueOf(monthName.trim().toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+        PeriodRange range = transactionRepository.findPeriodRangeByUserId(userId);
+        if (range == null || range.getEarliest() == null) {
+            return List.of();
+        }
+        List<YearMonth> periods = new ArrayList<>();
+        for (int year = range.getEarliest().getYear(); year <= range.getLatest().getYear(); year++) {
+            periods.add(YearMonth.of(year, month));
+        }
+        return periods;
+    }
+
+    /**
+     * Maps request sort parameters to a Sort. "relevance" yields Sort.unsorted(), which callers
+     * replace with TransactionSpecification.orderByRelevance.
+     */
+    private Sort resolveSort(String sortField, String sortOrder) {
+        if (SORT_BY_RELEVANCE.equals(sortField)) {
+            return Sort.unsorted();
+        }
         // Default to DESC if sortOrder is null or empty, or invalid
         Sort.Direction direction = (sortOrder == null || sortOrder.trim().isEmpty() || !"asc".equalsIgnoreCase(sortOrder))
                                    ? Sort.Direction.DESC : Sort.Direction.ASC;
@@ -154,13 +466,15 @@ public class TransactionService {
             validSortField = "transactionDate"; // Default to transactionDate if invalid
         }
 
-        Sort sort = Sort.by(direction, validSortField);
-
-        List<Transaction> transactions = transactionRepository.findAll(spec, sort);
+        if ("amount".equals(validSortField)) {
+            validSortField = "amountMinor"; // the mapped column behind the "amount" request value
+        }
 
-        return transactions;
+        // id breaks ties so that the order is total, which keyset pages rely on
+        Sort sort = Sort.by(direction, validSortField);
+        return "id".equals(validSortField) ? sort : sort.and(Sort.by(direction, "id"));
     }
-    
+
     @Transactional(readOnly = true)
     public TransactionFile getTransactionFileByIdAndUser(Long fileId, User user) {
         if (fileId == null || user == null || user.getId() == null) {
@@ -205,14 +519,29 @@ public class TransactionService {
         return transactionRepository.findAll();
     }
 
+    // month is "yyyy-MM" or a month name, which means that month of the current year
     @Transactional(readOnly = true)
     public List<Transaction> getTransactionsByUserIdAndMonth(Long userId, String month) {
-        if (userId == null || month == null || month.trim().isEmpty()) {
+        YearMonth period = Transaction.parsePeriod(month, Year.now().getValue());
+        if (userId == null || period == null) {
             logger.warn("getTransactionsByUserIdAndMonth called with invalid parameters. UserId: {}, Month: {}", userId, month);
             return List.of();
         }
-        logger.debug("Service: Fetching transactions for userId {} and month {}", userId, month);
-        return transactionRepository.findByUserIdAndMonthIgnoreCaseOrderByIdDesc(userId, month);
+        logger.debug("Service: Fetching transactions for userId {} and period {}", userId, period);
+        return transactionRepository.findByUserIdAndPeriodOrderByIdDesc(userId, period);
+    }
+
+    // Read-only rows with receipt links for the per-month transactions page; month as above
+    @Transactional(readOnly = true)
+    public List<TransactionListItem> getListItemsByUserIdAndMonth(Long userId, String month) {
+        YearMonth period = Transaction.parsePeriod(month, Year.now().getValue());
+        if (userId == null || period == null) {
+            logger.warn("getListItemsByUserIdAndMonth called with invalid parameters. UserId: {}, Month: {}", userId, month);
+            return List.of();
+        }
+        List<TransactionListItem> items = transactionRepository.findListItemsByUserIdAndPeriod(userId, period);
+        transactionRepository.loadReceipts(items);
+        return items;
     }
 
     @Transactional(readOnly = true)
@@ -229,37 +558,33 @@ public class TransactionService {
     }
 
     @Transactional(readOnly = true)
-    public double findTotalIncomeByUserId(Long userId) {
+    public Money findTotalIncomeByUserId(Long userId) {
         if (userId == null) {
             logger.warn("findTotalIncomeByUserId called with null userId.");
-            return 0.0;
+            return Money.ZERO;
         }
-        Double income = transactionRepository.findTotalIncomeByUser_Id(userId);
-        return (income != null) ? income : 0.0;
+        return Money.ofMinor(transactionRepository.findTotalIncomeByUser_Id(userId));
     }
 
     @Transactional(readOnly = true)
-    public double findTotalExpensesByUserId(Long userId) {
+    public Money findTotalExpensesByUserId(Long userId) {
         if (userId == null) {
             logger.warn("findTotalExpensesByUserId called with null userId.");
-            return 0.0;
+            return Money.ZERO;
         }
-        Double expenses = transactionRepository.findTotalExpensesByUser_Id(userId);
-        return (expenses != null) ? expenses : 0.0;
+        return Money.ofMinor(transactionRepository.findTotalExpensesByUser_Id(userId));
     }
 
     @Transactional(readOnly = true)
-    public double getTotalIncome() {
+    public Money getTotalIncome() {
         logger.warn("getTotalIncome called - this is not user-specific.");
-        Double income = transactionRepository.getTotalIncome();
-        return (income != null) ? income : 0.0;
+        return Money.ofMinor(transactionRepository.getTotalIncome());
     }
 
     @Transactional(readOnly = true)
-    public double getTotalExpenses() {
+    public Money getTotalExpenses() {
         logger.warn("getTotalExpenses called - this is not user-specific.");
-        Double expenses = transactionRepository.getTotalExpenses();
-        return (expenses != null) ? expenses : 0.0;
+        return Money.ofMinor(transactionRepository.getTotalExpenses());
     }
 
     @Transactional(readOnly = true)
@@ -287,6 +612,10 @@ public class TransactionService {
             logger.warn("getDistinctCategoriesByUserId called with null userId.");
             return List.of();
         }
+        if (transactionNormalization.isComplete()) {
+            // Every category in use has a dictionary entry by now; no DISTINCT over the transactions
+            return categoryDictionaryService.getCategoryNames(userId);
+        }
         return transactionRepository.findDistinctCategoriesByUserId(userId);
     }
 }
\ No newline at end of file
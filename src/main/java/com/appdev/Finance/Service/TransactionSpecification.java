@@ -1,5 +1,8 @@
 package com.appdev.Finance.Service;
 
+import com.appdev.Finance.Config.FullTextFunctionContributor;
+import com.appdev.Finance.TransactionType;
+import com.appdev.Finance.model.Money;
 import com.appdev.Finance.model.Transaction;
 import com.appdev.Finance.model.User;
 import jakarta.persistence.criteria.*;
@@ -9,12 +12,20 @@ import org.springframework.util.StringUtils;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set; // Keep for potential future use, but tagNames parameter is removed
 
 public class TransactionSpecification {
 
+    // Default innodb_ft_min_token_size; shorter words are never indexed
+    static final int MIN_FULLTEXT_TOKEN_LENGTH = 3;
+
+    // Not a backslash, which MySQL string literals would treat as an escape of their own
+    private static final char LIKE_ESCAPE = '!';
+
     public static Specification<Transaction> findByCriteria(
             User user,
             String keyword,
@@ -72,11 +83,11 @@ public class TransactionSpecification {
             }
 
             if (minAmount != null) {
-                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("amount"), minAmount));
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("amountMinor"), Money.of(minAmount).getMinorUnits()));
             }
 
             if (maxAmount != null) {
-                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("amount"), maxAmount));
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("amountMinor"), Money.of(maxAmount).getMinorUnits()));
             }
 
             // Tag filtering logic is removed.
@@ -85,4 +96,160 @@ public class TransactionSpecification {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
-}
\ No newline at end of file
+
+    // Whether findByCriteria will apply a date range, in which case the month filter is ignored
+    static boolean hasDateRange(String startDateStr, String endDateStr) {
+        return isIsoDate(startDateStr) || isIsoDate(endDateStr);
+    }
+
+    private static boolean isIsoDate(String value) {
+        return isoDateOrNull(value) != null;
+    }
+
+    // The bound findByCriteria applies for a date parameter; blank or malformed values apply none
+    static LocalDate isoDateOrNull(String value) {
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value, DateTimeFormatter.ISO_LOCAL_DATE);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    // --- Filters on the normalized columns (see TransactionNormalization); each is an index-friendly equality ---
+
+    public static Specification<Transaction> typeIs(TransactionType type) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("typeCode"), type);
+    }
+
+    public static Specification<Transaction> categoryIdIs(Long categoryId) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("userCategory").get("id"), categoryId);
+    }
+
+    public static Specification<Transaction> periodIn(Collection<YearMonth> periods) {
+        return (root, query, criteriaBuilder) -> root.get("period").in(periods);
+    }
+
+    // Legacy (pre-normalization) stand-in for the year half of a period filter
+    public static Specification<Transaction> transactionDateInYear(int year) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.between(root.get("transactionDate"),
+                LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+    }
+
+    // For filter values that cannot match any row, e.g. a category the user has never used
+    public static Specification<Transaction> matchesNothing() {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.disjunction();
+    }
+
+    /**
+     * Seek predicate for keyset pagination: rows strictly after {@code cursor} in
+     * (sortField, id) order. NULL sort values are placed the way MySQL orders them
+     * (first when ascending, last when descending) so pages line up with ORDER BY.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Transaction> seekAfter(TransactionCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            boolean ascending = cursor.getDirection().isAscending();
+            Path<Long> idPath = root.get("id");
+            Predicate idBeyond = ascending
+                    ? criteriaBuilder.greaterThan(idPath, cursor.getId())
+                    : criteriaBuilder.lessThan(idPath, cursor.getId());
+            if ("id".equals(cursor.getSortField())) {
+                return idBeyond;
+            }
+
+            Path<Comparable> keyPath = root.get(cursor.getSortField());
+            Comparable value = (Comparable) cursor.getSortValue();
+            if (value == null) {
+                Predicate sameNullKey = criteriaBuilder.and(criteriaBuilder.isNull(keyPath), idBeyond);
+                return ascending ? criteriaBuilder.or(sameNullKey, criteriaBuilder.isNotNull(keyPath)) : sameNullKey;
+            }
+            Predicate keyBeyond = ascending
+                    ? criteriaBuilder.greaterThan(keyPath, value)
+                    : criteriaBuilder.lessThan(keyPath, value);
+            Predicate sameKey = criteriaBuilder.and(criteriaBuilder.equal(keyPath, value), idBeyond);
+            Predicate seek = criteriaBuilder.or(keyBeyond, sameKey);
+            return ascending ? seek : criteriaBuilder.or(seek, criteriaBuilder.isNull(keyPath));
+        };
+    }
+
+    /**
+     * Keyword filter backed by the FULLTEXT index on description (see DescriptionSearchIndex).
+     * Every word of the keyword must match the start of a word in the description, so "gro sup"
+     * finds "Grocery supplies". Words shorter than the server's minimum indexed token length are
+     * not in the index and are matched with LIKE instead. A keyword without any letter or digit
+     * (e.g. "!!" or "%") is matched literally with LIKE, as before the index.
+     */
+    public static Specification<Transaction> descriptionMatches(String keyword) {
+        return (root, query, criteriaBuilder) -> {
+            if (StringUtils.hasText(keyword) && tokenize(keyword).isEmpty()) {
+                return criteriaBuilder.like(criteriaBuilder.lower(root.get("description")),
+                        "%" + escapeLike(keyword.toLowerCase()) + "%", LIKE_ESCAPE);
+            }
+            List<Predicate> predicates = new ArrayList<>();
+            String booleanQuery = toBooleanModeQuery(keyword);
+            if (booleanQuery != null) {
+                predicates.add(criteriaBuilder.greaterThan(relevance(root, criteriaBuilder, booleanQuery), 0.0));
+            }
+            for (String token : tokenize(keyword)) {
+                if (token.length() < MIN_FULLTEXT_TOKEN_LENGTH) {
+                    predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get("description")), "%" + token + "%"));
+                }
+            }
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Orders by full-text relevance (best match first, newest id breaking ties). Only meaningful
+     * together with descriptionMatches and an unsorted Sort, since an explicit Sort replaces it.
+     */
+    public static Specification<Transaction> orderByRelevance(String keyword) {
+        return (root, query, criteriaBuilder) -> {
+            String booleanQuery = toBooleanModeQuery(keyword);
+            if (booleanQuery != null && query.getResultType() != Long.class) {
+                query.orderBy(criteriaBuilder.desc(relevance(root, criteriaBuilder, booleanQuery)),
+                        criteriaBuilder.desc(root.get("id")));
+            }
+            return null;
+        };
+    }
+
+    private static Expression<Double> relevance(Root<Transaction> root, CriteriaBuilder criteriaBuilder, String booleanQuery) {
+        return criteriaBuilder.function(FullTextFunctionContributor.FULLTEXT_MATCH, Double.class,
+                root.get("description"), criteriaBuilder.literal(booleanQuery));
+    }
+
+    // "+word*" per indexable token: all words required, each as a prefix. Null if nothing is indexable.
+    static String toBooleanModeQuery(String keyword) {
+        StringBuilder booleanQuery = new StringBuilder();
+        for (String token : tokenize(keyword)) {
+            if (token.length() >= MIN_FULLTEXT_TOKEN_LENGTH) {
+                if (booleanQuery.length() > 0) booleanQuery.append(' ');
+                booleanQuery.append('+').append(token).append('*');
+            }
+        }
+        return booleanQuery.length() > 0 ? booleanQuery.toString() : null;
+    }
+
+    // LIKE wildcards in the text taken literally
+    private static String escapeLike(String text) {
+        return text.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    // Letters and digits only, which also strips the boolean-mode operators (+ - * " ( ) ~ < > @)
+    private static List<String> tokenize(String keyword) {
+        List<String> tokens = new ArrayList<>();
+        if (!StringUtils.hasText(keyword)) {
+            return tokens;
+        }
+        for (String token : keyword.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
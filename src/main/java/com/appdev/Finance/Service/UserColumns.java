@@ -0,0 +1,370 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.DTO.ColumnarFilter;
+import com.appdev.Finance.DTO.ColumnarSummary;
+import com.appdev.Finance.TransactionType;
+import com.appdev.Finance.model.Money;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * One user's transactions as parallel primitive arrays, sorted by (transaction date, id):
+ * epoch day, month key, centavo amount, dense category index and income/expense bitsets.
+ * Instances are immutable; an insert produces a copy (see withRow), so readers never need a lock.
+ * The one exception is the lazily built DateRangeSumIndex, which successive copies share and
+ * update in place, under this instance's monitor.
+ *
+ * Rows without a date sort first with {@link #NO_DATE} and never match a date bound, like NULL in SQL.
+ */
+public final class UserColumns {
+
+    static final int NO_DATE = Integer.MIN_VALUE;
+    private static final short NO_CATEGORY = -1;
+
+    private final int size;
+    private final long[] ids;
+    private final int[] epochDays;
+    private final int[] monthKeys;       // year * 12 + month - 1, NO_DATE when undated
+    private final long[] amountsMinor;
+    private final short[] categories;    // index into categoryNames, NO_CATEGORY when blank
+    private final long[] incomeBits;
+    private final long[] expenseBits;
+    private final List<String> categoryNames;
+    private final Map<String, Short> categoryIndex; // lower-cased name -> index
+    private DateRangeSumIndex rangeIndex;           // guarded by this
+
+    private UserColumns(Builder builder) {
+        this.size = builder.size;
+        this.ids = Arrays.copyOf(builder.ids, size);
+        this.epochDays = Arrays.copyOf(builder.epochDays, size);
+        this.monthKeys = new int[size];
+        for (int i = 0; i < size; i++) {
+            monthKeys[i] = epochDays[i] == NO_DATE ? NO_DATE : monthKey(LocalDate.ofEpochDay(epochDays[i]));
+        }
+        this.amountsMinor = Arrays.copyOf(builder.amountsMinor, size);
+        this.categories = Arrays.copyOf(builder.categories, size);
+        this.incomeBits = Arrays.copyOf(builder.incomeBits, (size + 63) >>> 6);
+        this.expenseBits = Arrays.copyOf(builder.expenseBits, (size + 63) >>> 6);
+        this.categoryNames = List.copyOf(builder.categoryNames);
+        this.categoryIndex = Map.copyOf(builder.categoryIndex);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Rough heap footprint, used as the cache weight
+    public long estimatedBytes() {
+        return (long) size * (8 + 4 + 4 + 8 + 2) + ((long) incomeBits.length << 4) + 64L * categoryNames.size();
+    }
+
+    /**
+     * The date-range index over these rows, built on first use. Copies made by withRow carry it
+     * forward with their new row added, so it is built once per cached user rather than per insert.
+     */
+    public synchronized DateRangeSumIndex rangeIndex(long maxCategoryCells) {
+        if (rangeIndex == null) {
+            int today = (int) LocalDate.now().toEpochDay();
+            int firstDated = lowerBound(NO_DATE + 1);
+            int firstDay = Math.min(firstDated < size ? epochDays[firstDated] : today, today) - DateRangeSumIndex.HEADROOM_DAYS;
+            int lastDay = Math.max(firstDated < size ? epochDays[size - 1] : today, today) + DateRangeSumIndex.HEADROOM_DAYS;
+            DateRangeSumIndex index = new DateRangeSumIndex(firstDay, lastDay, maxCategoryCells);
+            for (int i = 0; i < size; i++) {
+                short category = categories[i];
+                index.accumulate(epochDays[i], amountsMinor[i], category == NO_CATEGORY ? null : categoryNames.get(category), typeAt(i));
+            }
+            index.seal();
+            rangeIndex = index;
+        }
+        return rangeIndex;
+    }
+
+    /**
+     * Filters and aggregates in one pass. The date bounds are found by binary search, so only
+     * rows inside the window are visited; everything else is compared on primitives.
+     */
+    public ColumnarSummary summarize(ColumnarFilter filter) {
+        int from = 0;
+        int to = size;
+        if (filter.getStartDate() != null) {
+            from = lowerBound((int) filter.getStartDate().toEpochDay());
+        } else if (filter.getEndDate() != null) {
+            from = lowerBound(NO_DATE + 1);
+        }
+        if (filter.getEndDate() != null) {
+            to = lowerBound((int) filter.getEndDate().toEpochDay() + 1);
+        }
+        if (from >= to) {
+            return empty(0);
+        }
+
+        boolean[] categoryMask = null;
+        if (!filter.getCategories().isEmpty()) {
+            categoryMask = new boolean[categoryNames.size()];
+            boolean any = false;
+            for (String name : filter.getCategories()) {
+                Short index = name != null ? categoryIndex.get(key(name)) : null;
+                if (index != null) {
+                    categoryMask[index] = true;
+                    any = true;
+                }
+            }
+            if (!any) {
+                return empty(to - from);
+            }
+        }
+        TransactionType type = filter.getType();
+        long minMinor = filter.getMinAmount() != null ? filter.getMinAmount().getMinorUnits() : Long.MIN_VALUE;
+        long maxMinor = filter.getMaxAmount() != null ? filter.getMaxAmount().getMinorUnits() : Long.MAX_VALUE;
+
+        // Month buckets span the window; undated rows (only possible without date bounds) are not bucketed
+        int firstDated = Math.max(from, lowerBound(NO_DATE + 1));
+        int firstMonth = firstDated < to ? monthKeys[firstDated] : 0;
+        int monthCount = firstDated < to ? monthKeys[to - 1] - firstMonth + 1 : 0;
+        long[] expenseByMonth = new long[monthCount];
+        long[] expenseByCategory = new long[categoryNames.size() + 1]; // last slot collects blank categories
+        boolean rowChecks = categoryMask != null || minMinor != Long.MIN_VALUE || maxMinor != Long.MAX_VALUE;
+
+        // Walk the type bitsets one 64-row word at a time and visit only the set bits, so the type
+        // filter costs nothing per row and income/expense need no per-row branch
+        long count = 0;
+        long income = 0;
+        long expense = 0;
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        for (int w = firstWord; w <= lastWord; w++) {
+            long range = -1L;
+            if (w == firstWord) range &= -1L << (from & 63);
+            if (w == lastWord) range &= -1L >>> (63 - ((to - 1) & 63));
+            long incomeRows = type == TransactionType.EXPENSE ? 0L : incomeBits[w] & range;
+            long expenseRows = type == TransactionType.INCOME ? 0L : expenseBits[w] & range;
+            // Rows whose type is neither (legacy values) only match when there is no type filter
+            long otherRows = type == null ? range & ~(incomeBits[w] | expenseBits[w]) : 0L;
+            int base = w << 6;
+
+            if (!rowChecks) {
+                count += Long.bitCount(incomeRows) + Long.bitCount(expenseRows) + Long.bitCount(otherRows);
+            } else {
+                for (long bits = otherRows; bits != 0; bits &= bits - 1) {
+                    if (accepts(base + Long.numberOfTrailingZeros(bits), categoryMask, minMinor, maxMinor)) count++;
+                }
+            }
+            for (long bits = incomeRows; bits != 0; bits &= bits - 1) {
+                int i = base + Long.numberOfTrailingZeros(bits);
+                if (rowChecks) {
+                    if (!accepts(i, categoryMask, minMinor, maxMinor)) continue;
+                    count++;
+                }
+                income += amountsMinor[i];
+            }
+            for (long bits = expenseRows; bits != 0; bits &= bits - 1) {
+                int i = base + Long.numberOfTrailingZeros(bits);
+                if (rowChecks) {
+                    if (!accepts(i, categoryMask, minMinor, maxMinor)) continue;
+                    count++;
+                }
+                long amount = amountsMinor[i];
+                expense += amount;
+                short category = categories[i];
+                expenseByCategory[category == NO_CATEGORY ? expenseByCategory.length - 1 : category] += amount;
+                if (i >= firstDated) {
+                    expenseByMonth[monthKeys[i] - firstMonth] += amount;
+                }
+            }
+        }
+
+        Map<String, BigDecimal> byCategory = new TreeMap<>();
+        for (int c = 0; c < categoryNames.size(); c++) {
+            if (expenseByCategory[c] != 0) {
+                byCategory.put(categoryNames.get(c), Money.ofMinor(expenseByCategory[c]).toBigDecimal());
+            }
+        }
+        Map<String, BigDecimal> byMonth = new LinkedHashMap<>();
+        for (int m = 0; m < monthCount; m++) {
+            if (expenseByMonth[m] != 0) {
+                int key = firstMonth + m;
+                byMonth.put(YearMonth.of(key / 12, key % 12 + 1).toString(), Money.ofMinor(expenseByMonth[m]).toBigDecimal());
+            }
+        }
+        return new ColumnarSummary(count, Money.ofMinor(income).toBigDecimal(), Money.ofMinor(expense).toBigDecimal(),
+                byCategory, byMonth, to - from);
+    }
+
+    private boolean accepts(int i, boolean[] categoryMask, long minMinor, long maxMinor) {
+        short category = categories[i];
+        if (categoryMask != null && (category == NO_CATEGORY || !categoryMask[category])) {
+            return false;
+        }
+        long amount = amountsMinor[i];
+        return amount >= minMinor && amount <= maxMinor;
+    }
+
+    /**
+     * Copy of these columns with one more row, placed in date order. Returns this instance when
+     * the id is already present (the row was loaded by a concurrent read of the same commit).
+     */
+    UserColumns withRow(long id, LocalDate date, long amountMinor, String category, TransactionType type) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                return this;
+            }
+        }
+        int epochDay = date != null ? (int) date.toEpochDay() : NO_DATE;
+        int position = size;
+        int low = lowerBound(epochDay);
+        int high = lowerBound(epochDay == Integer.MAX_VALUE ? epochDay : epochDay + 1);
+        for (int i = low; i < high; i++) {
+            if (ids[i] > id) {
+                position = i;
+                break;
+            }
+        }
+        if (position == size) {
+            position = high;
+        }
+
+        Builder builder = new Builder(size + 1);
+        builder.categoryNames.addAll(categoryNames);
+        builder.categoryIndex.putAll(categoryIndex);
+        for (int i = 0; i < size; i++) {
+            if (i == position) {
+                builder.add(id, epochDay, amountMinor, category, type);
+            }
+            builder.addIndexed(ids[i], epochDays[i], amountsMinor[i], categories[i], typeAt(i));
+        }
+        if (position == size) {
+            builder.add(id, epochDay, amountMinor, category, type);
+        }
+        UserColumns copy = builder.build();
+        synchronized (this) {
+            // An index that cannot take the row (date off its axis) is left behind; the copy rebuilds lazily
+            if (rangeIndex != null && rangeIndex.add(epochDay, amountMinor, category, type)) {
+                copy.rangeIndex = rangeIndex;
+            }
+        }
+        return copy;
+    }
+
+    private TransactionType typeAt(int i) {
+        if ((incomeBits[i >>> 6] & (1L << i)) != 0) return TransactionType.INCOME;
+        if ((expenseBits[i >>> 6] & (1L << i)) != 0) return TransactionType.EXPENSE;
+        return null;
+    }
+
+    // First index whose epoch day is >= the given one
+    private int lowerBound(int epochDay) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (epochDays[mid] < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private ColumnarSummary empty(int rowsScanned) {
+        return new ColumnarSummary(0L, BigDecimal.ZERO.setScale(Money.SCALE), BigDecimal.ZERO.setScale(Money.SCALE),
+                Map.of(), Map.of(), rowsScanned);
+    }
+
+    private static int monthKey(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    // Category names compare case-insensitively, like the column collation
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Accumulates rows that arrive already sorted by (transaction date, id).
+     */
+    static final class Builder {
+
+        private int size;
+        private long[] ids;
+        private int[] epochDays;
+        private long[] amountsMinor;
+        private short[] categories;
+        private long[] incomeBits;
+        private long[] expenseBits;
+        private final List<String> categoryNames = new ArrayList<>();
+        private final Map<String, Short> categoryIndex = new HashMap<>();
+
+        Builder(int expectedRows) {
+            int capacity = Math.max(16, expectedRows);
+            ids = new long[capacity];
+            epochDays = new int[capacity];
+            amountsMinor = new long[capacity];
+            categories = new short[capacity];
+            incomeBits = new long[(capacity + 63) >>> 6];
+            expenseBits = new long[(capacity + 63) >>> 6];
+        }
+
+        /**
+         * @throws IllegalStateException if the user has more distinct categories than a short index holds
+         */
+        Builder add(long id, int epochDay, long amountMinor, String category, TransactionType type) {
+            short index = NO_CATEGORY;
+            if (category != null && !category.isBlank()) {
+                String key = key(category);
+                Short existing = categoryIndex.get(key);
+                if (existing == null) {
+                    if (categoryNames.size() > Short.MAX_VALUE) {
+                        throw new IllegalStateException("Too many distinct categories for the columnar store");
+                    }
+                    existing = (short) categoryNames.size();
+                    categoryIndex.put(key, existing);
+                    categoryNames.add(category.trim());
+                }
+                index = existing;
+            }
+            return addIndexed(id, epochDay, amountMinor, index, type);
+        }
+
+        Builder add(long id, LocalDate date, long amountMinor, String category, TransactionType type) {
+            return add(id, date != null ? (int) date.toEpochDay() : NO_DATE, amountMinor, category, type);
+        }
+
+        private Builder addIndexed(long id, int epochDay, long amountMinor, short category, TransactionType type) {
+            if (size == ids.length) {
+                int capacity = ids.length + (ids.length >> 1);
+                ids = Arrays.copyOf(ids, capacity);
+                epochDays = Arrays.copyOf(epochDays, capacity);
+                amountsMinor = Arrays.copyOf(amountsMinor, capacity);
+                categories = Arrays.copyOf(categories, capacity);
+                incomeBits = Arrays.copyOf(incomeBits, (capacity + 63) >>> 6);
+                expenseBits = Arrays.copyOf(expenseBits, (capacity + 63) >>> 6);
+            }
+            ids[size] = id;
+            epochDays[size] = epochDay;
+            amountsMinor[size] = amountMinor;
+            categories[size] = category;
+            if (type == TransactionType.INCOME) {
+                incomeBits[size >>> 6] |= 1L << size;
+            } else if (type == TransactionType.EXPENSE) {
+                expenseBits[size >>> 6] |= 1L << size;
+            }
+            size++;
+            return this;
+        }
+
+        UserColumns build() {
+            return new UserColumns(this);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.appdev.Finance.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs budget event handlers (budget checks and the notifications they send) off the request
+ * thread, in order per user: a user's tasks always go to the same single-thread stripe, so two
+ * checks for one user never overlap and their notifications arrive in order, while different
+ * users proceed in parallel on {@code budget.events.stripes} threads.
+ *
+ * Each stripe queues at most {@code budget.events.queue-capacity} tasks. Beyond that a task is
+ * dropped and counted (budget.events.rejected); the next write or the nightly BudgetEvaluationJob
+ * re-checks the user.
+ */
+@Component
+public final class UserStripedExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserStripedExecutor.class);
+
+    private final ThreadPoolExecutor[] stripes;
+    private final Counter rejectedCounter;
+
+    @Autowired
+    public UserStripedExecutor(@Value("${budget.events.stripes:8}") int stripeCount,
+                               @Value("${budget.events.queue-capacity:10000}") int queueCapacity,
+                               MeterRegistry meterRegistry) {
+        this.stripes = new ThreadPoolExecutor[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(Math.max(1, queueCapacity)),
+                    Thread.ofPlatform().name("BudgetEvents-" + i).daemon().factory());
+        }
+        this.rejectedCounter = Counter.builder("budget.events.rejected")
+                .description("Budget event tasks dropped because their stripe's queue was full")
+                .register(meterRegistry);
+        Gauge.builder("budget.events.queued", this, UserStripedExecutor::queued)
+                .description("Budget event tasks waiting across all stripes")
+                .register(meterRegistry);
+        logger.info("Per-user budget event executor initialized (stripes={}, queueCapacity={}).", stripes.length, queueCapacity);
+    }
+
+    public void execute(Long userId, Runnable task) {
+        ThreadPoolExecutor stripe = stripes[stripeOf(userId)];
+        try {
+            stripe.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    logger.error("Budget event task failed for user ID {}: {}", userId, e.getMessage(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            logger.warn("Budget event queue full or shut down; dropped task for user ID {}.", userId);
+        }
+    }
+
+    private int stripeOf(Long userId) {
+        long h = (userId == null ? 0L : userId) * 0x9E3779B97F4A7C15L;
+        return (int) Math.floorMod(h ^ (h >>> 32), (long) stripes.length);
+    }
+
+    private int queued() {
+        return Arrays.stream(stripes).mapToInt(stripe -> stripe.getQueue().size()).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor stripe : stripes) {
+            stripe.shutdown();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.appdev.Finance;
+
+import com.appdev.Finance.DTO.ReceiptLink;
+import com.appdev.Finance.DTO.TransactionListItem;
+import com.appdev.Finance.DTO.TransactionPage;
+import com.appdev.Finance.Service.TransactionService;
+import com.appdev.Finance.Service.UserService;
+import com.appdev.Finance.model.CustomUserDetails;
+import com.appdev.Finance.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * JSON access to the filtered transaction list, one keyset page per request.
+ * Used by transactions.js for infinite scroll below the server-rendered first page.
+ */
+@RestController
+@RequestMapping("/api/transactions")
+public class TransactionApiController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionApiController.class);
+    private static final int MAX_PAGE_SIZE = 200;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserService userService;
+
+    private static class TransactionRowDTO {
+        public Long id;
+        public String description;
+        public BigDecimal amount;
+        public String transactionDate;
+        public String type;
+        public String category;
+        public String month;
+        public long receiptCount;
+        public List<FileDTO> files;
+
+        public TransactionRowDTO(TransactionListItem transaction) {
+            this.id = transaction.getId();
+            this.description = transaction.getDescription();
+            this.amount = transaction.getAmount();
+            this.transactionDate = transaction.getTransactionDate() != null ? transaction.getTransactionDate().toString() : null;
+            this.type = transaction.getType();
+            this.category = transaction.getCategory();
+            this.month = transaction.getMonth();
+            this.receiptCount = transaction.getReceiptCount();
+            this.files = transaction.getReceipts().stream().map(FileDTO::new).collect(Collectors.toList());
+        }
+    }
+
+    private static class FileDTO {
+        public Long id;
+        public String originalFileName;
+
+        public FileDTO(ReceiptLink file) {
+            this.id = file.getId();
+            this.originalFileName = file.getOriginalFileName();
+        }
+    }
+
+    private User getLoggedInUserFromPrincipal(CustomUserDetails principalDetails) {
+        if (principalDetails == null) return null;
+        Optional<User> userOpt = userService.findByEmail(principalDetails.getUsername());
+        return userOpt.orElse(null);
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getTransactionPage(@AuthenticationPrincipal CustomUserDetails principalDetails,
+                                                @RequestParam(required = false) String keyword,
+                                                @RequestParam(name = "type", required = false) String transactionType,
+                                                @RequestParam(required = false) String category,
+                                                @RequestParam(required = false) String month,
+                                                @RequestParam(required = false) String startDate,
+                                                @RequestParam(required = false) String endDate,
+                                                @RequestParam(required = false) Double minAmount,
+                                                @RequestParam(required = false) Double maxAmount,
+                                                @RequestParam(defaultValue = "transactionDate") String sortField,
+                                                @RequestParam(defaultValue = "DESC") String sortOrder,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "50") int size) {
+        User loggedInUser = getLoggedInUserFromPrincipal(principalDetails);
+        if (loggedInUser == null) {
+            logger.warn("[API GET /transactions] Unauthorized access attempt or user not found from principal.");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "User not authenticated or not found", "status", 401));
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        try {
+            TransactionPage page = transactionService.searchTransactionsPage(
+                    loggedInUser, keyword, transactionType, category, month,
+                    startDate, endDate, minAmount, maxAmount,
+                    sortField, sortOrder, cursor, pageSize);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("transactions", page.getTransactions().stream().map(TransactionRowDTO::new).collect(Collectors.toList()));
+            response.put("nextCursor", page.getNextCursor());
+            response.put("hasMore", page.hasMore());
+            if (page.getTotalCount() != null) {
+                response.put("totalCount", page.getTotalCount());
+                response.put("totalAmount", page.getTotalAmount());
+            }
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            logger.warn("[API GET /transactions] Rejected cursor for user {}: {}", loggedInUser.getEmail(), e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid or stale cursor", "status", 400));
+        } catch (Exception e) {
+            logger.error("[API GET /transactions] Error for user {}: {}", loggedInUser.getEmail(), e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", "Failed to fetch transactions", "status", 500));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.appdev.Finance;
+
+import com.appdev.Finance.Service.TransactionExportService;
+import com.appdev.Finance.Service.UserService;
+import com.appdev.Finance.model.CustomUserDetails;
+import com.appdev.Finance.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Full-history transaction export. The response body is written while the rows are read, so a
+ * large export neither buffers in memory nor waits for the whole query before the download starts.
+ */
+@RestController
+@RequestMapping("/api/transactions/export")
+public class TransactionExportApiController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionExportApiController.class);
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User getLoggedInUserFromPrincipal(CustomUserDetails principalDetails) {
+        if (principalDetails == null) return null;
+        Optional<User> userOpt = userService.findByEmail(principalDetails.getUsername());
+        return userOpt.orElse(null);
+    }
+
+    /**
+     * @param format "csv" (default) or "ndjson"/"jsonl"
+     * @param from   optional first transaction date to include, yyyy-MM-dd
+     * @param to     optional last transaction date to include, yyyy-MM-dd
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> export(@AuthenticationPrincipal CustomUserDetails principalDetails,
+                                    @RequestParam(value = "format", defaultValue = "csv") String format,
+                                    @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                    @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        User loggedInUser = getLoggedInUserFromPrincipal(principalDetails);
+        if (loggedInUser == null) {
+            logger.warn("[API GET /transactions/export] Unauthorized access attempt or user not found from principal.");
+            return errorResponse(HttpStatus.UNAUTHORIZED, "User not authenticated or not found");
+        }
+        TransactionExportService.Format exportFormat = TransactionExportService.Format.fromParameter(format);
+        if (exportFormat == null) {
+            return errorResponse(HttpStatus.BAD_REQUEST, "Unsupported format '" + format + "', use csv or ndjson");
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            return errorResponse(HttpStatus.BAD_REQUEST, "'from' must not be after 'to'");
+        }
+
+        Long userId = loggedInUser.getId();
+        String email = loggedInUser.getEmail();
+        StreamingResponseBody body = out -> {
+            try {
+                transactionExportService.export(userId, from, to, exportFormat, out);
+            } catch (IOException e) {
+                logger.info("[API GET /transactions/export] Download aborted for user {}: {}", email, e.getMessage());
+                throw e;
+            } catch (RuntimeException e) {
+                // The status line is already sent; all we can do is cut the download short and log it
+                logger.error("[API GET /transactions/export] Export failed for user {}: {}", email, e.getMessage(), e);
+                throw e;
+            }
+        };
+
+        String filename = String.format("transactions_%s.%s", LocalDate.now(), exportFormat.getFileExtension());
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentDisposition(ContentDisposition.attachment().filename(filename).build());
+        headers.setContentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"));
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
+    // The handler only recognises StreamingResponseBody through the declared return type, so error
+    // bodies are written through one as well, in the same shape as the other API controllers
+    private ResponseEntity<StreamingResponseBody> errorResponse(HttpStatus status, String message) {
+        Map<String, Object> error = Map.of("error", message, "status", status.value());
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> objectMapper.writeValue(out, error));
+    }
+}
@@ -0,0 +1,91 @@
+package com.appdev.Finance;
+
+import com.appdev.Finance.DTO.ImportProgress;
+import com.appdev.Finance.Service.ActivityLogService;
+import com.appdev.Finance.Service.TransactionImportService;
+import com.appdev.Finance.Service.UserService;
+import com.appdev.Finance.model.ActivityType;
+import com.appdev.Finance.model.CustomUserDetails;
+import com.appdev.Finance.model.User;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Bulk CSV import of transactions. POST queues the upload and answers 202 with an import id;
+ * GET /{importId} reports progress until the status is COMPLETED or FAILED.
+ */
+@RestController
+@RequestMapping("/api/transactions/import")
+public class TransactionImportApiController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionImportApiController.class);
+
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ActivityLogService activityLogService;
+
+    private User getLoggedInUserFromPrincipal(CustomUserDetails principalDetails) {
+        if (principalDetails == null) return null;
+        Optional<User> userOpt = userService.findByEmail(principalDetails.getUsername());
+        return userOpt.orElse(null);
+    }
+
+    @PostMapping
+    public ResponseEntity<?> startImport(@AuthenticationPrincipal CustomUserDetails principalDetails,
+                                         @RequestParam("file") MultipartFile file,
+                                         HttpServletRequest request) {
+        User loggedInUser = getLoggedInUserFromPrincipal(principalDetails);
+        if (loggedInUser == null) {
+            logger.warn("[API POST /transactions/import] Unauthorized access attempt or user not found from principal.");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "User not authenticated or not found", "status", 401));
+        }
+        if (file == null || file.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Please choose a non-empty CSV file", "status", 400));
+        }
+
+        try {
+            ImportProgress progress = transactionImportService.submit(loggedInUser, file);
+            activityLogService.logActivity(loggedInUser, ActivityType.TRANSACTION_ADDED,
+                    "Started CSV import of " + file.getOriginalFilename(), request);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of(
+                    "importId", progress.getImportId(),
+                    "status", progress.getStatus(),
+                    "statusUrl", request.getContextPath() + "/api/transactions/import/" + progress.getImportId()));
+        } catch (RejectedExecutionException e) {
+            logger.warn("[API POST /transactions/import] Import queue full, rejected upload from user {}.", loggedInUser.getEmail());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", "Too many imports in progress, please retry shortly", "status", 503));
+        } catch (Exception e) {
+            logger.error("[API POST /transactions/import] Error for user {}: {}", loggedInUser.getEmail(), e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", "Failed to start the import", "status", 500));
+        }
+    }
+
+    @GetMapping("/{importId}")
+    public ResponseEntity<?> getImportProgress(@AuthenticationPrincipal CustomUserDetails principalDetails,
+                                               @PathVariable String importId) {
+        User loggedInUser = getLoggedInUserFromPrincipal(principalDetails);
+        if (loggedInUser == null) {
+            logger.warn("[API GET /transactions/import] Unauthorized access attempt or user not found from principal.");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "User not authenticated or not found", "status", 401));
+        }
+        return transactionImportService.getProgress(importId, loggedInUser.getId())
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Import not found", "status", 404)));
+    }
+}
@@ -1,5 +1,38 @@
 package com.appdev.Finance;
 
+import java.util.Locale;
+
+/**
+ * Normalized transaction type. Persisted by ordinal (TINYINT) in transaction.type_code, so new
+ * constants must only ever be appended.
+ */
 public enum TransactionType {
-	INCOME, EXPENSE
+	INCOME("Income"), EXPENSE("Expense");
+
+	private final String label;
+
+	TransactionType(String label) {
+		this.label = label;
+	}
+
+	// The value stored in the legacy transaction.type column and shown in the UI
+	public String getLabel() {
+		return label;
+	}
+
+	/**
+	 * Case-insensitive lookup by label ("income", "Expense"); null when the text is blank or unknown.
+	 */
+	public static TransactionType fromLabel(String text) {
+		if (text == null || text.trim().isEmpty()) {
+			return null;
+		}
+		String normalized = text.trim().toLowerCase(Locale.ENGLISH);
+		for (TransactionType type : values()) {
+			if (type.label.toLowerCase(Locale.ENGLISH).equals(normalized)) {
+				return type;
+			}
+		}
+		return null;
+	}
 }
@@ -7,7 +7,8 @@ import java.time.LocalDateTime;
 public class ActivityLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.ACTIVITY_LOG)
+    @SequenceGenerator(name = IdSequences.ACTIVITY_LOG, sequenceName = IdSequences.ACTIVITY_LOG, allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
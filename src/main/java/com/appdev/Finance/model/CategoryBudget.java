@@ -0,0 +1,116 @@
+package com.appdev.Finance.model;
+
+import jakarta.persistence.*;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Monthly spending limit for one of a user's categories, next to the overall Budget. Alerts fire
+ * at each warning percentage in {@code thresholds} (e.g. "80,95") and once the limit is reached.
+ */
+@Entity
+@Table(name = "category_budget",
+       uniqueConstraints = @UniqueConstraint(name = "uk_category_budget_user_category", columnNames = {"user_id", "category_id"}))
+public class CategoryBudget {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private UserCategory userCategory;
+
+    @Column(name = "amount_minor", nullable = false)
+    private long amountMinor; // centavos, see Money
+
+    @Column(nullable = false, length = 64)
+    private String thresholds; // ascending warning percentages below 100, comma-separated
+
+    public CategoryBudget() {}
+
+    /**
+     * Parses a comma-separated list of warning percentages into ascending distinct values.
+     * Blank input means no warnings, only the alert at 100%.
+     *
+     * @throws IllegalArgumentException if a value is not a whole number from 1 to 99
+     */
+    public static int[] parseThresholds(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return new int[0];
+        }
+        try {
+            int[] percents = Arrays.stream(value.split(","))
+                    .map(String::trim)
+                    .filter(part -> !part.isEmpty())
+                    .mapToInt(part -> Integer.parseInt(part.endsWith("%") ? part.substring(0, part.length() - 1).trim() : part))
+                    .sorted()
+                    .distinct()
+                    .toArray();
+            if (percents.length > 0 && (percents[0] < 1 || percents[percents.length - 1] > 99)) {
+                throw new IllegalArgumentException("Budget thresholds must be between 1 and 99 percent: " + value);
+            }
+            return percents;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Budget thresholds must be whole percentages, e.g. 80,95: " + value, e);
+        }
+    }
+
+    public static String formatThresholds(int[] percents) {
+        return Arrays.stream(percents).mapToObj(Integer::toString).collect(Collectors.joining(","));
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public UserCategory getUserCategory() {
+        return userCategory;
+    }
+
+    public void setUserCategory(UserCategory userCategory) {
+        this.userCategory = userCategory;
+    }
+
+    public long getAmountMinor() {
+        return amountMinor;
+    }
+
+    public Money getMoney() {
+        return Money.ofMinor(amountMinor);
+    }
+
+    public void setMoney(Money money) {
+        this.amountMinor = money.getMinorUnits();
+    }
+
+    public String getThresholds() {
+        return thresholds;
+    }
+
+    public int[] getThresholdPercents() {
+        return parseThresholds(thresholds);
+    }
+
+    public void setThresholdPercents(int[] percents) {
+        this.thresholds = formatThresholds(percents);
+    }
+}
@@ -0,0 +1,30 @@
+package com.appdev.Finance.model;
+
+import java.util.Map;
+
+/**
+ * Pooled id sequences of the high-volume entities. MySQL has no sequences, so Hibernate keeps
+ * each one as a single-row table (next_val). With the pooled-lo optimizer every read reserves a
+ * block of ALLOCATION_SIZE ids starting at the stored value, which lets inserts be batched
+ * instead of waiting for an AUTO_INCREMENT key per row.
+ */
+public final class IdSequences {
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    public static final String TRANSACTION = "transaction_seq";
+    public static final String TRANSACTION_FILE = "transaction_files_seq";
+    public static final String NOTIFICATION = "notification_seq";
+    public static final String ACTIVITY_LOG = "activity_log_seq";
+    public static final String VERIFICATION_TOKEN = "verification_token_seq";
+
+    // Sequence table -> entity table whose ids it issues
+    public static final Map<String, String> ENTITY_TABLES = Map.of(
+            TRANSACTION, "transaction",
+            TRANSACTION_FILE, "transaction_files",
+            NOTIFICATION, "notification",
+            ACTIVITY_LOG, "activity_log",
+            VERIFICATION_TOKEN, "verification_token");
+
+    private IdSequences() {}
+}
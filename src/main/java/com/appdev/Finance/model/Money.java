@@ -0,0 +1,99 @@
+package com.appdev.Finance.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An exact peso amount held as a count of centavos. Arithmetic and sums stay on primitive longs;
+ * toBigDecimal() is meant for the presentation edge (templates, JSON, CSV, PDF).
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0L);
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0L ? ZERO : new Money(minorUnits);
+    }
+
+    // Null-tolerant counterpart for SUM() results, which are null over an empty set
+    public static Money ofMinor(Long minorUnits) {
+        return minorUnits == null ? ZERO : ofMinor(minorUnits.longValue());
+    }
+
+    /**
+     * Rounds half-up to whole centavos.
+     *
+     * @throws ArithmeticException if the amount does not fit in a long number of centavos
+     */
+    public static Money of(BigDecimal amount) {
+        return ofMinor(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    // Goes through the shortest decimal representation, so 0.1 becomes exactly 10 centavos
+    public static Money of(double amount) {
+        return of(BigDecimal.valueOf(amount));
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    // percent% of this amount, rounded half-up to whole centavos
+    public Money percent(int percent) {
+        long scaled = Math.multiplyExact(minorUnits, (long) percent);
+        long rounded = (scaled >= 0) ? (scaled + 50) / 100 : -((-scaled + 50) / 100);
+        return ofMinor(rounded);
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isGreaterThanOrEqualTo(Money other) {
+        return minorUnits >= other.minorUnits;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public double toDouble() {
+        return toBigDecimal().doubleValue();
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return (o instanceof Money other) && other.minorUnits == minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    // Plain decimal with two places, e.g. "1234.50"
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
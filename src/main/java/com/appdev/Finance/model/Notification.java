@@ -7,7 +7,8 @@ import java.time.LocalDateTime;
 public class Notification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.NOTIFICATION)
+    @SequenceGenerator(name = IdSequences.NOTIFICATION, sequenceName = IdSequences.NOTIFICATION, allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
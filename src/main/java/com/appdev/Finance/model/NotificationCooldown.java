@@ -0,0 +1,46 @@
+package com.appdev.Finance.model;
+
+import jakarta.persistence.*;
+
+/**
+ * A running alert cooldown for JdbcNotificationCooldownStore: one row per user and alert, reused
+ * each time the cooldown restarts, so the table never holds more than users times alert kinds.
+ * Only read and written through JDBC; the mapping exists so the schema update creates the table.
+ */
+@Entity
+@Table(name = "notification_cooldown",
+       uniqueConstraints = @UniqueConstraint(name = "uk_notification_cooldown_user_alert",
+                                             columnNames = {"user_id", "alert_key"}))
+public class NotificationCooldown {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private long userId;
+
+    @Column(name = "alert_key", nullable = false)
+    private long alertKey;
+
+    @Column(name = "expires_at", nullable = false)
+    private long expiresAt; // epoch milliseconds
+
+    public NotificationCooldown() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public long getAlertKey() {
+        return alertKey;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+}
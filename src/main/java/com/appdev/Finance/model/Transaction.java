@@ -1,19 +1,34 @@
 package com.appdev.Finance.model;
 
+import com.appdev.Finance.TransactionType;
 import jakarta.persistence.*;
 import java.time.LocalDate;
+import java.time.Month;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+// Keyset pages seek on (user, sort key, id); these cover the default date order and amount order.
+// The other two serve the normalized type/month and category filters.
+@Table(indexes = {
+        @Index(name = "idx_transaction_user_date_id", columnList = "user_id, transaction_date, id"),
+        @Index(name = "idx_transaction_user_amount_minor_id", columnList = "user_id, amount_minor, id"),
+        @Index(name = "idx_transaction_user_period_type", columnList = "user_id, period_ym, type_code"),
+        @Index(name = "idx_transaction_user_category_date", columnList = "user_id, category_id, transaction_date")
+})
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.TRANSACTION)
+    @SequenceGenerator(name = IdSequences.TRANSACTION, sequenceName = IdSequences.TRANSACTION, allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
-    @Column(nullable = false)
-    private Double amount;
+    // Centavos. The legacy floating-point "amount" column is no longer mapped, see MoneyColumnMigration
+    @Column(name = "amount_minor")
+    private Long amountMinor;
 
     @Column(nullable = false)
     private String description;
@@ -30,6 +45,20 @@ public class Transaction {
     @Column(nullable = true)
     private LocalDate transactionDate;
 
+    // Normalized copies of type/category/month used by filters; the strings above stay for display.
+    // typeCode and period are derived on every write, userCategory is set by TransactionService.
+    @Enumerated(EnumType.ORDINAL)
+    @Column(name = "type_code")
+    private TransactionType typeCode;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id")
+    private UserCategory userCategory;
+
+    @Convert(converter = YearMonthAttributeConverter.class)
+    @Column(name = "period_ym")
+    private YearMonth period;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -49,12 +78,25 @@ public class Transaction {
         this.id = id;
     }
 
+    public Long getAmountMinor() {
+        return amountMinor;
+    }
+
+    public Money getMoney() {
+        return (amountMinor == null) ? null : Money.ofMinor(amountMinor.longValue());
+    }
+
+    public void setMoney(Money money) {
+        this.amountMinor = (money == null) ? null : money.getMinorUnits();
+    }
+
+    // Decimal view for form binding and templates; storage and sums use amountMinor
     public Double getAmount() {
-        return amount;
+        return (amountMinor == null) ? null : Money.ofMinor(amountMinor.longValue()).toDouble();
     }
 
     public void setAmount(Double amount) {
-        this.amount = amount;
+        this.amountMinor = (amount == null) ? null : Money.of(amount).getMinorUnits();
     }
 
     public String getDescription() {
@@ -105,6 +147,22 @@ public class Transaction {
         this.transactionDate = transactionDate;
     }
 
+    public TransactionType getTypeCode() {
+        return typeCode;
+    }
+
+    public UserCategory getUserCategory() {
+        return userCategory;
+    }
+
+    public void setUserCategory(UserCategory userCategory) {
+        this.userCategory = userCategory;
+    }
+
+    public YearMonth getPeriod() {
+        return period;
+    }
+
     public Set<TransactionFile> getTransactionFiles() {
         return transactionFiles;
     }
@@ -123,4 +181,62 @@ public class Transaction {
         this.transactionFiles.remove(file);
         file.setTransaction(null);
     }
-}
\ No newline at end of file
+
+    @PrePersist
+    @PreUpdate
+    void deriveNormalizedColumns() {
+        this.typeCode = TransactionType.fromLabel(type);
+        this.period = resolvePeriod(transactionDate, month);
+    }
+
+    /**
+     * The month name is authoritative; the year comes from transactionDate and falls back to
+     * the current year for legacy rows saved without a date.
+     */
+    public static YearMonth resolvePeriod(LocalDate transactionDate, String monthName) {
+        int year = (transactionDate != null) ? transactionDate.getYear() : LocalDate.now().getYear();
+        Month resolved = null;
+        if (monthName != null && !monthName.trim().isEmpty()) {
+            try {
+                resolved = Month.valueOf(monthName.trim().toUpperCase(Locale.ENGLISH));
+            } catch (IllegalArgumentException e) {
+                // Unrecognised name: fall through to the date's month
+            }
+        }
+        if (resolved == null) {
+            resolved = (transactionDate != null) ? transactionDate.getMonth() : LocalDate.now().getMonth();
+        }
+        return YearMonth.of(year, resolved);
+    }
+
+    /**
+     * A month as given in a request: "yyyy-MM" names one period, a bare month name ("March",
+     * any case) means that month of {@code defaultYear}. Null when neither form parses.
+     */
+    public static YearMonth parsePeriod(String value, int defaultYear) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        YearMonth period = parseYearMonth(value);
+        if (period != null) {
+            return period;
+        }
+        try {
+            return YearMonth.of(defaultYear, Month.valueOf(value.trim().toUpperCase(Locale.ENGLISH)));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Only the explicit "yyyy-MM" form; null for month names and anything else
+    public static YearMonth parseYearMonth(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -9,7 +9,8 @@ import java.util.Objects;
 public class TransactionFile {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.TRANSACTION_FILE)
+    @SequenceGenerator(name = IdSequences.TRANSACTION_FILE, sequenceName = IdSequences.TRANSACTION_FILE, allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,51 @@
+package com.appdev.Finance.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Per-user category dictionary. Transactions reference it through category_id so that category
+ * filters compare integers on an index instead of lower-casing strings. Names are unique per user
+ * under the column's case-insensitive collation, so "Food" and "food" share one entry.
+ */
+@Entity
+@Table(name = "user_category",
+       uniqueConstraints = @UniqueConstraint(name = "uk_user_category_user_name", columnNames = {"user_id", "name"}))
+public class UserCategory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private String name;
+
+    public UserCategory() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
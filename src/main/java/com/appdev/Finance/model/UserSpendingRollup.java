@@ -0,0 +1,108 @@
+package com.appdev.Finance.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Pre-aggregated spending per user, calendar month, category and type.
+ * Maintained incrementally by SpendingRollupService whenever a transaction is saved,
+ * so dashboard and report charts no longer need to load a user's full history.
+ */
+@Entity
+@Table(name = "user_spending_rollup",
+       uniqueConstraints = @UniqueConstraint(name = "uk_rollup_user_period_category_type",
+                                             columnNames = {"user_id", "period_year", "period_month", "category", "type"}))
+public class UserSpendingRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "period_year", nullable = false)
+    private int periodYear;
+
+    @Column(name = "period_month", nullable = false)
+    private int periodMonth; // 1 = January ... 12 = December
+
+    @Column(nullable = false)
+    private String category;
+
+    @Column(nullable = false)
+    private String type; // Income or Expense, same values as Transaction.type
+
+    @Column(name = "total_minor", nullable = false)
+    private long totalMinor; // centavos, see Money
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    public UserSpendingRollup() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public int getPeriodYear() {
+        return periodYear;
+    }
+
+    public void setPeriodYear(int periodYear) {
+        this.periodYear = periodYear;
+    }
+
+    public int getPeriodMonth() {
+        return periodMonth;
+    }
+
+    public void setPeriodMonth(int periodMonth) {
+        this.periodMonth = periodMonth;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public long getTotalMinor() {
+        return totalMinor;
+    }
+
+    public void setTotalMinor(long totalMinor) {
+        this.totalMinor = totalMinor;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+}
@@ -10,7 +10,8 @@ public class VerificationToken {
     private static final int DEFAULT_EXPIRATION_MINUTES = 60 * 24; // 24 hours
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.VERIFICATION_TOKEN)
+    @SequenceGenerator(name = IdSequences.VERIFICATION_TOKEN, sequenceName = IdSequences.VERIFICATION_TOKEN, allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, unique = true) // Ensure token string is unique
@@ -0,0 +1,28 @@
+package com.appdev.Finance.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.time.YearMonth;
+
+/**
+ * Stores a YearMonth as a sortable integer yyyyMM (October 2025 -> 202510), which keeps
+ * month-scoped predicates plain integer comparisons on an index.
+ */
+@Converter
+public class YearMonthAttributeConverter implements AttributeConverter<YearMonth, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(YearMonth attribute) {
+        return (attribute == null) ? null : toKey(attribute);
+    }
+
+    @Override
+    public YearMonth convertToEntityAttribute(Integer dbData) {
+        return (dbData == null) ? null : YearMonth.of(dbData / 100, dbData % 100);
+    }
+
+    public static int toKey(YearMonth yearMonth) {
+        return yearMonth.getYear() * 100 + yearMonth.getMonthValue();
+    }
+}
@@ -0,0 +1,61 @@
+-- Optional: RANGE-partition the `transaction` table by year on period_ym (yyyyMM, see
+-- YearMonthAttributeConverter), so that month-scoped queries on (user_id, period_ym) touch a single
+-- partition. Not run by the application; apply manually in a maintenance window, after
+-- TransactionNormalization has filled period_ym on every row.
+--
+-- MySQL/InnoDB requirements this script takes care of:
+--   * Every unique key must contain the partitioning column, so the primary key becomes (id, period_ym).
+--     ids still come from transaction_seq and stay unique on their own.
+--   * The partitioning column must not be NULL; period_ym is derived on every write.
+--   * Partitioned InnoDB tables can neither have nor be the target of foreign keys, so the
+--     user_id/category_id keys and transaction_files.transaction_id are dropped. Referential
+--     integrity is then enforced by the application only: rows are written through JPA, or by
+--     TransactionImportService's JDBC batch inserts, which resolve user and category ids themselves.
+--   * Partitioned InnoDB tables cannot have FULLTEXT indexes, so ft_transaction_description
+--     (DescriptionSearchIndex) is dropped. Set transactions.search.fulltext.enabled=false before
+--     restarting the application; keyword search then uses LIKE and the index is not re-created.
+--
+-- With spring.jpa.hibernate.ddl-auto=update Hibernate tries to re-create the dropped foreign keys
+-- at every startup and logs a warning when MySQL refuses; set it to "none" or "validate" once the
+-- table is partitioned.
+--
+-- Verify pruning with: EXPLAIN SELECT ... FROM `transaction` WHERE user_id = ? AND period_ym = 202610;
+-- the "partitions" column should list only p2026.
+
+-- 1. Drop the foreign keys (constraint names are generated by Hibernate; look them up first)
+SELECT table_name, constraint_name
+FROM information_schema.referential_constraints
+WHERE constraint_schema = DATABASE()
+  AND (table_name = 'transaction' OR referenced_table_name = 'transaction');
+-- ALTER TABLE `transaction` DROP FOREIGN KEY <fk_user_id>, DROP FOREIGN KEY <fk_category_id>;
+-- ALTER TABLE transaction_files DROP FOREIGN KEY <fk_transaction_id>;
+
+-- 2. Drop the FULLTEXT index on description (see transactions.search.fulltext.enabled above)
+ALTER TABLE `transaction` DROP INDEX ft_transaction_description;
+
+-- 3. Make period_ym part of the primary key
+ALTER TABLE `transaction`
+    MODIFY period_ym INT NOT NULL,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, period_ym);
+
+-- 4. One partition per year; adjust the first boundary to the oldest data
+ALTER TABLE `transaction`
+    PARTITION BY RANGE (period_ym) (
+        PARTITION p_old VALUES LESS THAN (202001),
+        PARTITION p2020 VALUES LESS THAN (202101),
+        PARTITION p2021 VALUES LESS THAN (202201),
+        PARTITION p2022 VALUES LESS THAN (202301),
+        PARTITION p2023 VALUES LESS THAN (202401),
+        PARTITION p2024 VALUES LESS THAN (202501),
+        PARTITION p2025 VALUES LESS THAN (202601),
+        PARTITION p2026 VALUES LESS THAN (202701),
+        PARTITION p2027 VALUES LESS THAN (202801),
+        PARTITION pmax VALUES LESS THAN MAXVALUE
+    );
+
+-- Yearly maintenance, before the year in pmax starts (here: 2028):
+-- ALTER TABLE `transaction` REORGANIZE PARTITION pmax INTO (
+--     PARTITION p2028 VALUES LESS THAN (202901),
+--     PARTITION pmax VALUES LESS THAN MAXVALUE
+-- );
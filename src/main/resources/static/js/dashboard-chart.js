@@ -117,6 +117,7 @@ document.addEventListener('DOMContentLoaded', function () {
 
                 // Populate hidden sort form with current filter values
                 if(document.getElementById('dashboardSortSelectedMonth') && dashboardFilterForm.elements.selectedMonth) document.getElementById('dashboardSortSelectedMonth').value = dashboardFilterForm.elements.selectedMonth.value;
+                if(document.getElementById('dashboardSortSelectedYear') && dashboardFilterForm.elements.selectedYear) document.getElementById('dashboardSortSelectedYear').value = dashboardFilterForm.elements.selectedYear.value;
                 if(document.getElementById('dashboardSortKeyword') && dashboardFilterForm.elements.keyword) document.getElementById('dashboardSortKeyword').value = dashboardFilterForm.elements.keyword.value;
                 if(document.getElementById('dashboardSortType') && dashboardFilterForm.elements.type) document.getElementById('dashboardSortType').value = dashboardFilterForm.elements.type.value;
                 if(document.getElementById('dashboardSortCategory') && dashboardFilterForm.elements.category) document.getElementById('dashboardSortCategory').value = dashboardFilterForm.elements.category.value;
@@ -142,6 +143,7 @@ document.addEventListener('DOMContentLoaded', function () {
             // Clear visible filter form fields
             // For selectedMonth, it's better to let the controller set the default (current month) on POST if empty
             if(dashboardFilterForm.elements.selectedMonth) dashboardFilterForm.elements.selectedMonth.value = ''; 
+            if(dashboardFilterForm.elements.selectedYear) dashboardFilterForm.elements.selectedYear.value = '';
             if(dashboardFilterForm.elements.keyword) dashboardFilterForm.elements.keyword.value = '';
             if(dashboardFilterForm.elements.type) dashboardFilterForm.elements.type.value = '';
             if(dashboardFilterForm.elements.category) dashboardFilterForm.elements.category.value = '';
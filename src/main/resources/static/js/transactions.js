@@ -108,5 +108,116 @@ document.addEventListener('DOMContentLoaded', function () {
         console.log("Total amount element ('total-amount') not found.");
     }
 
+    // --- Infinite Scroll (keyset pages from /api/transactions) ---
+    const transactionsTable = document.getElementById('transactionsTable');
+    const transactionsBody = document.getElementById('transactionsBody');
+    const scrollSentinel = document.getElementById('transactionsScrollSentinel');
+
+    if (transactionsTable && transactionsBody && scrollSentinel && transactionsTable.dataset.nextCursor) {
+        const apiUrl = transactionsTable.dataset.apiUrl;
+        const fileUrl = transactionsTable.dataset.fileUrl;
+        let nextCursor = transactionsTable.dataset.nextCursor;
+        let loading = false;
+
+        // Snapshot the filters the current page was rendered with, so later edits to the
+        // (unsubmitted) filter form cannot be mixed with a cursor from this result set.
+        const appliedFilters = new URLSearchParams();
+        if (filterForm) {
+            ['keyword', 'type', 'category', 'month', 'startDate', 'endDate', 'minAmount', 'maxAmount', 'sortField', 'sortOrder']
+                .forEach(name => {
+                    const field = filterForm.elements[name];
+                    if (field && field.value) appliedFilters.set(name, field.value);
+                });
+        }
+
+        const formatAmount = value => Number(value).toLocaleString('en-US', { minimumFractionDigits: 2, maximumFractionDigits: 2 });
+        const formatDate = isoDate => {
+            if (!isoDate) return 'N/A';
+            const date = new Date(isoDate + 'T00:00:00');
+            return date.toLocaleDateString('en-US', { month: 'short', day: '2-digit', year: 'numeric' });
+        };
+        const cell = (text, className) => {
+            const td = document.createElement('td');
+            if (className) td.className = className;
+            td.textContent = text;
+            return td;
+        };
+
+        const buildRow = tx => {
+            const isExpense = (tx.type || '').toLowerCase() === 'expense';
+            const tr = document.createElement('tr');
+            tr.className = isExpense ? 'expense-row-highlight' : 'income-row-highlight';
+            tr.appendChild(cell(tx.id));
+            tr.appendChild(cell(tx.description));
+            tr.appendChild(cell(formatAmount(tx.amount), 'amount text-end ' + (isExpense ? 'text-danger' : 'text-success')));
+            tr.appendChild(cell(formatDate(tx.transactionDate)));
+            tr.appendChild(cell(tx.type, isExpense ? 'text-danger fw-bold' : 'text-success fw-bold'));
+            tr.appendChild(cell(tx.category));
+            tr.appendChild(cell(tx.month));
+
+            const receiptCell = document.createElement('td');
+            if (tx.files && tx.files.length) {
+                const wrapper = document.createElement('div');
+                tx.files.forEach(file => {
+                    const link = document.createElement('a');
+                    link.href = fileUrl + file.id;
+                    link.target = '_blank';
+                    link.className = 'badge bg-info text-dark me-1 view-receipt-btn-table';
+                    link.style.fontSize = '0.75em';
+                    link.title = file.originalFileName;
+                    const icon = document.createElement('i');
+                    icon.className = 'fas fa-file-alt me-1';
+                    const name = document.createElement('span');
+                    name.textContent = file.originalFileName.length > 15 ? file.originalFileName.substring(0, 12) + '...' : file.originalFileName;
+                    link.appendChild(icon);
+                    link.appendChild(name);
+                    wrapper.appendChild(link);
+                });
+                receiptCell.appendChild(wrapper);
+            } else {
+                const none = document.createElement('span');
+                none.className = 'text-muted fst-italic';
+                none.textContent = 'N/A';
+                receiptCell.appendChild(none);
+            }
+            tr.appendChild(receiptCell);
+            return tr;
+        };
+
+        const loadNextPage = () => {
+            if (loading || !nextCursor) return;
+            loading = true;
+            const params = new URLSearchParams(appliedFilters);
+            params.set('cursor', nextCursor);
+
+            fetch(apiUrl + '?' + params.toString(), { headers: { 'Accept': 'application/json' } })
+                .then(response => {
+                    if (!response.ok) throw new Error('HTTP ' + response.status);
+                    return response.json();
+                })
+                .then(data => {
+                    data.transactions.forEach(tx => transactionsBody.appendChild(buildRow(tx)));
+                    nextCursor = data.hasMore ? data.nextCursor : null;
+                    const shownCount = document.getElementById('transactionsShownCount');
+                    if (shownCount) shownCount.textContent = transactionsBody.querySelectorAll('tr').length;
+                    if (!nextCursor) {
+                        observer.disconnect();
+                        scrollSentinel.textContent = 'All transactions loaded.';
+                    }
+                })
+                .catch(error => {
+                    console.error('Failed to load more transactions:', error);
+                    observer.disconnect();
+                    scrollSentinel.textContent = 'Could not load more transactions. Refresh the page to try again.';
+                })
+                .finally(() => { loading = false; });
+        };
+
+        const observer = new IntersectionObserver(entries => {
+            if (entries.some(entry => entry.isIntersecting)) loadNextPage();
+        }, { rootMargin: '200px' });
+        observer.observe(scrollSentinel);
+    }
+
     console.log("transactions.js loaded and DOM fully processed.");
 });
@@ -0,0 +1,156 @@
+package com.appdev.Finance.Repository;
+
+import com.appdev.Finance.DTO.ReceiptLink;
+import com.appdev.Finance.DTO.TransactionListItem;
+import com.appdev.Finance.DTO.TransactionSearchSummary;
+import com.appdev.Finance.Service.TransactionSpecification;
+import com.appdev.Finance.model.Transaction;
+import com.appdev.Finance.model.TransactionFile;
+import com.appdev.Finance.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class TransactionRepositoryCustomImplTest {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionFileRepository transactionFileRepository;
+
+    private User user;
+    private List<Transaction> saved;
+
+    @BeforeEach
+    void saveHistory() {
+        user = new User("top-n-" + System.nanoTime() + "@example.com", "unused");
+        user.setEnabled(true);
+        user = userRepository.save(user);
+        List<Transaction> rows = new ArrayList<>();
+        // Expenses 1.00 .. 6.00, Food on even amounts, plus one income
+        for (int i = 1; i <= 6; i++) {
+            rows.add(transaction("Expense", i % 2 == 0 ? "Food" : "Bills", i, LocalDate.of(2024, 1, i)));
+        }
+        rows.add(transaction("Income", "Salary", 100, LocalDate.of(2024, 1, 31)));
+        saved = transactionRepository.saveAll(rows);
+    }
+
+    @Test
+    void topRowsCarryTheTotalsOfTheWholeMatch() {
+        TransactionSearchSummary summary = transactionRepository.findTopWithTotals(search(null),
+                Sort.by(Sort.Direction.DESC, "amountMinor"), 3);
+
+        assertEquals(List.of(10_000L, 600L, 500L), amounts(summary.getTopTransactions()));
+        assertEquals(7, summary.getTotalCount());
+        assertEquals(0, new BigDecimal("100.00").compareTo(summary.getTotalIncome()));
+        assertEquals(0, new BigDecimal("21.00").compareTo(summary.getTotalExpenses()));
+        assertTrue(summary.isTruncated());
+    }
+
+    @Test
+    void totalsFollowTheFilter() {
+        TransactionSearchSummary food = transactionRepository.findTopWithTotals(search("Food"),
+                Sort.by(Sort.Direction.ASC, "amountMinor"), 2);
+
+        assertEquals(List.of(200L, 400L), amounts(food.getTopTransactions()));
+        assertEquals(3, food.getTotalCount());
+        assertEquals(0, BigDecimal.ZERO.compareTo(food.getTotalIncome()));
+        assertEquals(0, new BigDecimal("12.00").compareTo(food.getTotalExpenses()));
+    }
+
+    @Test
+    void limitAboveTheMatchCountIsNotTruncated() {
+        TransactionSearchSummary food = transactionRepository.findTopWithTotals(search("Food"), Sort.by("id"), 50);
+
+        assertEquals(3, food.getTopTransactions().size());
+        assertFalse(food.isTruncated());
+    }
+
+    @Test
+    void noMatchIsTheEmptySummary() {
+        TransactionSearchSummary none = transactionRepository.findTopWithTotals(search("Travel"), Sort.by("id"), 5);
+
+        assertEquals(List.of(), none.getTopTransactions());
+        assertEquals(0, none.getTotalCount());
+        assertEquals(BigDecimal.ZERO, none.getTotalExpenses());
+    }
+
+    @Test
+    void receiptsAreCountedWithoutRepeatingRows() {
+        Transaction twoReceipts = saved.get(1);
+        Transaction oneReceipt = saved.get(3);
+        attach(twoReceipts, "first.pdf");
+        attach(twoReceipts, "second.png");
+        attach(oneReceipt, "only.jpg");
+
+        List<TransactionListItem> rows = transactionRepository.findWithLimit(search(null), Sort.by("id"), 50);
+
+        assertEquals(saved.stream().map(Transaction::getId).toList(), rows.stream().map(TransactionListItem::getId).toList());
+        TransactionListItem withTwo = rows.get(1);
+        assertEquals(2, withTwo.getReceiptCount());
+        assertEquals(List.of("first.pdf", "second.png"), withTwo.getReceipts().stream().map(ReceiptLink::getOriginalFileName).toList());
+        assertEquals(List.of("only.jpg"), rows.get(3).getReceipts().stream().map(ReceiptLink::getOriginalFileName).toList());
+        assertEquals(0, rows.get(0).getReceiptCount());
+        assertEquals(List.of(), rows.get(0).getReceipts());
+    }
+
+    @Test
+    void periodListCarriesTheCountButNoLinks() {
+        attach(saved.get(0), "receipt.pdf");
+
+        List<TransactionListItem> january = transactionRepository.findListItemsByUserIdAndPeriod(user.getId(), YearMonth.of(2024, 1));
+
+        assertEquals(7, january.size());
+        // Newest id first
+        TransactionListItem oldest = january.get(6);
+        assertEquals(saved.get(0).getId(), oldest.getId());
+        assertEquals(1, oldest.getReceiptCount());
+        assertEquals(List.of(), oldest.getReceipts());
+        assertEquals(List.of(), transactionRepository.findListItemsByUserIdAndPeriod(user.getId(), YearMonth.of(2024, 2)));
+    }
+
+    // Stored names are unique across all users and runs
+    private void attach(Transaction transaction, String fileName) {
+        String storedName = System.nanoTime() + "-" + fileName;
+        transactionFileRepository.save(new TransactionFile(fileName, storedName, "application/octet-stream",
+                storedName, transaction));
+    }
+
+    private Specification<Transaction> search(String category) {
+        return TransactionSpecification.findByCriteria(user, null, null, category, null, null, null, null, null, null);
+    }
+
+    private static List<Long> amounts(List<TransactionListItem> items) {
+        return items.stream().map(TransactionListItem::getAmountMinor).toList();
+    }
+
+    private Transaction transaction(String type, String category, double amount, LocalDate date) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setAmount(amount);
+        transaction.setDescription(category + " " + amount);
+        transaction.setType(type);
+        transaction.setCategory(category);
+        transaction.setMonth("January");
+        transaction.setTransactionDate(date);
+        return transaction;
+    }
+}
@@ -0,0 +1,99 @@
+package com.appdev.Finance.Repository;
+
+import com.appdev.Finance.DTO.CategoryTotal;
+import com.appdev.Finance.DTO.IncomeExpenseSummary;
+import com.appdev.Finance.DTO.MonthTotal;
+import com.appdev.Finance.model.Money;
+import com.appdev.Finance.model.Transaction;
+import com.appdev.Finance.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.TextStyle;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The GROUP BY projections behind the charts and the report summary, checked against a small
+ * hand-summed history. Another user's rows sit in the same table and must not leak in.
+ */
+@SpringBootTest
+class TransactionRepositoryTest {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void saveHistory() {
+        user = user("projections");
+        User other = user("projections-other");
+        transactionRepository.saveAll(List.of(
+                transaction(user, "Expense", "Food", 12.25, LocalDate.of(2024, 1, 3)),
+                transaction(user, "Expense", "Food", 7.75, LocalDate.of(2024, 2, 3)),
+                transaction(user, "Expense", "Bills", 100.0, LocalDate.of(2024, 1, 28)),
+                transaction(user, "Expense", "Bills", 40.0, LocalDate.of(2023, 1, 28)),
+                transaction(user, "Income", "Salary", 1500.0, LocalDate.of(2024, 1, 31)),
+                transaction(other, "Expense", "Food", 999.0, LocalDate.of(2024, 1, 3))));
+    }
+
+    @Test
+    void expensesGroupedByCategory() {
+        List<CategoryTotal> rows = transactionRepository.sumByCategoryForUser(user.getId(), "Expense");
+
+        assertEquals(List.of("Bills", "Food"), rows.stream().map(CategoryTotal::getCategory).toList());
+        assertEquals(List.of(14_000L, 2_000L), rows.stream().map(CategoryTotal::getTotalMinor).toList());
+    }
+
+    @Test
+    void expensesGroupedByMonthName() {
+        Map<String, Long> byMonth = transactionRepository.sumByMonthForUser(user.getId(), "Expense").stream()
+                .collect(Collectors.toMap(MonthTotal::getMonth, MonthTotal::getTotalMinor));
+
+        // Month names carry no year, so January 2023 and 2024 share a group
+        assertEquals(Map.of("January", 15_225L, "February", 775L), byMonth);
+    }
+
+    @Test
+    void incomeAndExpensesOfOnePeriodInOneRow() {
+        IncomeExpenseSummary january = transactionRepository.summarizeByUserAndPeriod(user.getId(), YearMonth.of(2024, 1));
+
+        assertEquals(Money.ofMinor(150_000L), january.getTotalIncome());
+        assertEquals(Money.ofMinor(11_225L), january.getTotalExpenses());
+        assertEquals(Money.ofMinor(138_775L), january.getNetTotal());
+
+        IncomeExpenseSummary empty = transactionRepository.summarizeByUserAndPeriod(user.getId(), YearMonth.of(2022, 6));
+        assertEquals(Money.ZERO, empty.getTotalIncome());
+        assertEquals(Money.ZERO, empty.getNetTotal());
+    }
+
+    private User user(String prefix) {
+        User created = new User(prefix + "-" + System.nanoTime() + "@example.com", "unused");
+        created.setEnabled(true);
+        return userRepository.save(created);
+    }
+
+    private static Transaction transaction(User owner, String type, String category, double amount, LocalDate date) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(owner);
+        transaction.setAmount(amount);
+        transaction.setDescription(category);
+        transaction.setType(type);
+        transaction.setCategory(category);
+        transaction.setMonth(date.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH));
+        transaction.setTransactionDate(date);
+        return transaction;
+    }
+}
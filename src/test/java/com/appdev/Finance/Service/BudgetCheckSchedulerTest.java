@@ -0,0 +1,160 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Timing of the coalesced check with a 200ms quiet window and a 600ms maximum delay. Lower bounds
+ * are exact (the scheduler never fires early); upper bounds leave room for a slow machine.
+ */
+class BudgetCheckSchedulerTest {
+
+    private static final long QUIET_MS = 200;
+    private static final long MAX_DELAY_MS = 600;
+    private static final long SLACK_MS = 400;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Check> checks = new CopyOnWriteArrayList<>();
+    private UserStripedExecutor executor;
+    private BudgetCheckScheduler scheduler;
+
+    private record Check(User user, long atNanos) {}
+
+    @BeforeEach
+    void createScheduler() {
+        BudgetService budgetService = mock(BudgetService.class);
+        doAnswer(invocation -> checks.add(new Check(invocation.getArgument(0), System.nanoTime())))
+                .when(budgetService).afterExpenseTransactionUpdate(any());
+        executor = new UserStripedExecutor(4, 100, meterRegistry);
+        scheduler = scheduler(budgetService, true);
+    }
+
+    @AfterEach
+    void shutdown() {
+        scheduler.shutdown();
+        executor.shutdown();
+    }
+
+    @Test
+    void singleWriteIsCheckedAfterTheQuietWindow() throws InterruptedException {
+        long requested = System.nanoTime();
+        scheduler.requestCheck(user(1L));
+
+        awaitChecks(1);
+        long waitedMs = elapsedMs(requested, checks.get(0).atNanos());
+        assertTrue(waitedMs >= QUIET_MS, "checked after " + waitedMs + "ms");
+        assertTrue(waitedMs < QUIET_MS + SLACK_MS, "checked after " + waitedMs + "ms");
+    }
+
+    @Test
+    void burstIsCheckedOnceAQuietWindowAfterItsLastWrite() throws InterruptedException {
+        long lastRequest = 0;
+        for (int i = 0; i < 10; i++) {
+            lastRequest = System.nanoTime();
+            scheduler.requestCheck(user(1L));
+            Thread.sleep(30);
+        }
+
+        awaitChecks(1);
+        Thread.sleep(QUIET_MS + 100);
+        assertEquals(1, checks.size());
+        assertTrue(elapsedMs(lastRequest, checks.get(0).atNanos()) >= QUIET_MS);
+        assertEquals(10.0, meterRegistry.counter("budget.check.requests").count());
+        assertEquals(1.0, meterRegistry.counter("budget.check.evaluations").count());
+    }
+
+    @Test
+    void steadyWritesAreCheckedNoLaterThanTheMaxDelay() throws InterruptedException {
+        long firstRequest = System.nanoTime();
+        // A write every 50ms never leaves the user quiet for 200ms
+        while (elapsedMs(firstRequest, System.nanoTime()) < 1_500) {
+            scheduler.requestCheck(user(1L));
+            Thread.sleep(50);
+        }
+
+        assertTrue(checks.size() >= 2, checks.size() + " checks");
+        long firstCheckMs = elapsedMs(firstRequest, checks.get(0).atNanos());
+        assertTrue(firstCheckMs >= MAX_DELAY_MS, "first check after " + firstCheckMs + "ms");
+        assertTrue(firstCheckMs < MAX_DELAY_MS + SLACK_MS, "first check after " + firstCheckMs + "ms");
+    }
+
+    @Test
+    void checkUsesTheLatestUserAndUsersAreIndependent() throws InterruptedException {
+        User stale = user(1L);
+        User latest = user(1L);
+        scheduler.requestCheck(stale);
+        scheduler.requestCheck(user(2L));
+        scheduler.requestCheck(latest);
+
+        awaitChecks(2);
+        Thread.sleep(QUIET_MS);
+        assertEquals(2, checks.size());
+        assertSame(latest, checks.stream().filter(check -> check.user().getId() == 1L).findFirst().orElseThrow().user());
+    }
+
+    @Test
+    void writeAfterACheckStartsANewWindow() throws InterruptedException {
+        scheduler.requestCheck(user(1L));
+        awaitChecks(1);
+
+        long requested = System.nanoTime();
+        scheduler.requestCheck(user(1L));
+
+        awaitChecks(2);
+        assertTrue(elapsedMs(requested, checks.get(1).atNanos()) >= QUIET_MS);
+    }
+
+    @Test
+    void withoutDebounceEveryWriteIsChecked() throws InterruptedException {
+        BudgetService budgetService = mock(BudgetService.class);
+        doAnswer(invocation -> checks.add(new Check(invocation.getArgument(0), System.nanoTime())))
+                .when(budgetService).afterExpenseTransactionUpdate(any());
+        BudgetCheckScheduler immediate = scheduler(budgetService, false);
+        try {
+            for (int i = 0; i < 3; i++) {
+                immediate.requestCheck(user(1L));
+            }
+            awaitChecks(3);
+        } finally {
+            immediate.shutdown();
+        }
+    }
+
+    private BudgetCheckScheduler scheduler(BudgetService budgetService, boolean enabled) {
+        return new BudgetCheckScheduler(budgetService, executor, enabled, Duration.ofMillis(QUIET_MS),
+                Duration.ofMillis(MAX_DELAY_MS), 2, meterRegistry);
+    }
+
+    private void awaitChecks(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (checks.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(checks.size() >= count, checks.size() + " of " + count + " checks");
+    }
+
+    private static long elapsedMs(long fromNanos, long toNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(toNanos - fromNanos);
+    }
+
+    private static User user(long id) {
+        User user = new User("debounce-" + id + "@example.com", "unused");
+        user.setId(id);
+        return user;
+    }
+}
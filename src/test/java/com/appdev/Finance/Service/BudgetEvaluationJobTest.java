@@ -0,0 +1,135 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.Repository.BudgetRepository;
+import com.appdev.Finance.Repository.NotificationRepository;
+import com.appdev.Finance.Repository.TransactionRepository;
+import com.appdev.Finance.Repository.UserRepository;
+import com.appdev.Finance.model.Budget;
+import com.appdev.Finance.model.Notification;
+import com.appdev.Finance.model.Transaction;
+import com.appdev.Finance.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the nightly job against the database. Budgets and expenses are written through the
+ * repositories, so the write-path checks (BudgetEventListener) stay out of the way.
+ */
+@SpringBootTest
+class BudgetEvaluationJobTest {
+
+    @Autowired
+    private BudgetEvaluationJob job;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Test
+    void sendsEachAlertOncePerCooldown() {
+        User user = userWithBudget("100.00");
+        saveExpenses(user, List.of(LocalDate.now()), 90.0);
+
+        assertTrue(job.run() >= 1);
+        assertTrue(job.run() >= 1);
+
+        List<String> messages = messages(user);
+        assertEquals(1, messages.size(), messages.toString());
+        assertTrue(messages.get(0).contains("used over 80%"), messages.get(0));
+    }
+
+    @Test
+    void failedBatchGivesItsCooldownsBack() {
+        User user = userWithBudget("100.00");
+        saveExpenses(user, List.of(LocalDate.now()), 100.0);
+        NotificationService failing = mock(NotificationService.class);
+        doThrow(new DataIntegrityViolationException("insert failed")).when(failing).createAndSendNotifications(anyList());
+        BudgetEvaluationJob failingJob = new BudgetEvaluationJob(jdbcTemplate, budgetService, failing, Runnable::run,
+                true, 1000, 1, 200, new SimpleMeterRegistry());
+
+        failingJob.run();
+        assertEquals(List.of(), messages(user));
+
+        job.run();
+        List<String> messages = messages(user);
+        assertEquals(1, messages.size(), messages.toString());
+        assertTrue(messages.get(0).contains("exceeded your monthly budget"), messages.get(0));
+    }
+
+    @Test
+    void alertsAProjectedOverrunBeforeTheBudgetIsReached() {
+        LocalDate today = LocalDate.now();
+        int daysInMonth = today.lengthOfMonth();
+        // 100.00 on each of the last 28 days; the month is projected to end at 100.00 * daysInMonth
+        User user = userWithBudget(BigDecimal.valueOf(100L * daysInMonth - 50).toString());
+        List<LocalDate> days = new ArrayList<>();
+        for (int d = 28; d >= 1; d--) {
+            days.add(today.minusDays(d));
+        }
+        saveExpenses(user, days, 100.0);
+
+        job.run();
+
+        assertTrue(messages(user).stream().anyMatch(m -> m.contains("At your current pace")), messages(user).toString());
+        assertTrue(messages(user).stream().noneMatch(m -> m.contains("exceeded")), messages(user).toString());
+    }
+
+    private User userWithBudget(String amount) {
+        User user = new User("evaluation-job-" + System.nanoTime() + "@example.com", "unused");
+        user.setEnabled(true);
+        user = userRepository.save(user);
+        budgetRepository.save(new Budget(new BigDecimal(amount), user));
+        return user;
+    }
+
+    private void saveExpenses(User user, List<LocalDate> days, double amount) {
+        List<Transaction> rows = new ArrayList<>();
+        for (LocalDate day : days) {
+            Transaction transaction = new Transaction();
+            transaction.setUser(user);
+            transaction.setAmount(amount);
+            transaction.setDescription("evaluation job");
+            transaction.setType("Expense");
+            transaction.setCategory("Food");
+            transaction.setMonth(day.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH));
+            transaction.setTransactionDate(day);
+            rows.add(transaction);
+        }
+        transactionRepository.saveAll(rows);
+    }
+
+    private List<String> messages(User user) {
+        return notificationRepository.findByUserOrderByCreatedAtDesc(user).stream().map(Notification::getMessage).toList();
+    }
+}
@@ -0,0 +1,88 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.Repository.UserRepository;
+import com.appdev.Finance.model.Transaction;
+import com.appdev.Finance.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.util.Locale;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Budget checks are requested only for expense writes that committed, and only once they have.
+ */
+@SpringBootTest
+class BudgetEventListenerTest {
+
+    @MockBean
+    private BudgetCheckScheduler budgetCheckScheduler;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        user = new User("listener-" + System.nanoTime() + "@example.com", "unused");
+        user.setEnabled(true);
+        user = userRepository.save(user);
+    }
+
+    @Test
+    void checkIsRequestedAfterCommitNotBefore() {
+        transactionTemplate.executeWithoutResult(status -> {
+            transactionService.saveTransaction(transaction("Expense"), null);
+            verify(budgetCheckScheduler, never()).requestCheck(any());
+        });
+
+        verify(budgetCheckScheduler).requestCheck(argThat(requested -> user.getId().equals(requested.getId())));
+    }
+
+    @Test
+    void rolledBackExpenseRequestsNothing() {
+        transactionTemplate.executeWithoutResult(status -> {
+            transactionService.saveTransaction(transaction("Expense"), null);
+            status.setRollbackOnly();
+        });
+
+        verify(budgetCheckScheduler, never()).requestCheck(any());
+    }
+
+    @Test
+    void incomeRequestsNothing() {
+        transactionService.saveTransaction(transaction("Income"), null);
+
+        verify(budgetCheckScheduler, never()).requestCheck(any());
+    }
+
+    private Transaction transaction(String type) {
+        LocalDate today = LocalDate.now();
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setAmount(10.0);
+        transaction.setDescription(type);
+        transaction.setType(type);
+        transaction.setCategory("Misc");
+        transaction.setMonth(today.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH));
+        transaction.setTransactionDate(today);
+        return transaction;
+    }
+}
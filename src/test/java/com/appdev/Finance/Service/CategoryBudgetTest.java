@@ -0,0 +1,132 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.DTO.CategoryBudgetUsage;
+import com.appdev.Finance.Repository.NotificationRepository;
+import com.appdev.Finance.Repository.UserRepository;
+import com.appdev.Finance.model.CategoryBudget;
+import com.appdev.Finance.model.Notification;
+import com.appdev.Finance.model.Transaction;
+import com.appdev.Finance.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class CategoryBudgetTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void saveThisMonthsExpenses() {
+        user = new User("category-budget-" + System.nanoTime() + "@example.com", "unused");
+        user.setEnabled(true);
+        user = userRepository.save(user);
+        saveExpense("Food", 60);
+        saveExpense("food", 36);
+        saveExpense("Rent", 600);
+        saveExpense("Travel", 10);
+    }
+
+    @Test
+    void usageIsMeasuredAgainstThisMonthsSpending() {
+        budgetService.saveCategoryBudget(user, "Food", 100, null);
+        budgetService.saveCategoryBudget(user, "Rent", 500, "50");
+        budgetService.saveCategoryBudget(user, "Travel", 200, "25%, 75%");
+
+        List<CategoryBudgetUsage> usage = budgetService.getCategoryBudgetUsage(user);
+
+        assertEquals(List.of("Food", "Rent", "Travel"), usage.stream().map(CategoryBudgetUsage::getCategory).toList());
+        assertAll(
+                () -> assertEquals(new BigDecimal("96.00"), usage.get(0).getSpent()),
+                () -> assertEquals(96, usage.get(0).getPercentage()),
+                () -> assertEquals("80,95", usage.get(0).getThresholds()),
+                // Capped at 100 for the progress bar
+                () -> assertEquals(100, usage.get(1).getPercentage()),
+                () -> assertEquals(5, usage.get(2).getPercentage()),
+                () -> assertEquals("25,75", usage.get(2).getThresholds()));
+    }
+
+    @Test
+    void savingTheSameCategoryInAnotherCaseReplacesTheBudget() {
+        CategoryBudget first = budgetService.saveCategoryBudget(user, "Food", 100, null);
+        CategoryBudget second = budgetService.saveCategoryBudget(user, " FOOD ", 150, "90");
+
+        assertEquals(first.getId(), second.getId());
+        List<CategoryBudgetUsage> usage = budgetService.getCategoryBudgetUsage(user);
+        assertEquals(1, usage.size());
+        assertEquals(0, new BigDecimal("150").compareTo(usage.get(0).getBudgetAmount()));
+        assertEquals(64, usage.get(0).getPercentage());
+    }
+
+    @Test
+    void invalidBudgetsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> budgetService.saveCategoryBudget(user, "Food", -1, null));
+        assertThrows(IllegalArgumentException.class, () -> budgetService.saveCategoryBudget(user, "  ", 100, null));
+        assertThrows(IllegalArgumentException.class, () -> budgetService.saveCategoryBudget(user, "Food", 100, "eighty"));
+        assertThrows(IllegalArgumentException.class, () -> budgetService.saveCategoryBudget(user, "Food", 100, "0,100"));
+        assertEquals(List.of(), budgetService.getCategoryBudgetUsage(user));
+    }
+
+    @Test
+    void eachBudgetAlertsOnceAtTheHighestLevelReached() throws InterruptedException {
+        budgetService.saveCategoryBudget(user, "Food", 100, null);
+        budgetService.saveCategoryBudget(user, "Rent", 500, "50");
+        budgetService.saveCategoryBudget(user, "Travel", 200, null);
+
+        // Each save is checked after commit on the user's stripe; the expense writes' coalesced checks follow
+        List<String> messages = List.of();
+        for (int attempt = 0; attempt < 50 && messages.size() < 2; attempt++) {
+            Thread.sleep(100);
+            messages = messages();
+        }
+        Thread.sleep(2500);
+        budgetService.checkCategoryBudgets(user);
+
+        List<String> sent = messages();
+        assertEquals(2, sent.size(), sent.toString());
+        assertTrue(sent.stream().anyMatch(message -> message.startsWith("ℹ️ Info: You have used over 95% of your Food budget")), sent.toString());
+        assertTrue(sent.stream().anyMatch(message -> message.startsWith("⚠️ Warning: You have exceeded your Rent budget")), sent.toString());
+    }
+
+    private List<String> messages() {
+        return notificationRepository.findByUserOrderByCreatedAtDesc(user).stream().map(Notification::getMessage).toList();
+    }
+
+    private void saveExpense(String category, double amount) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setAmount(amount);
+        transaction.setDescription(category);
+        transaction.setType("Expense");
+        transaction.setCategory(category);
+        transaction.setMonth(TODAY.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH));
+        transaction.setTransactionDate(TODAY);
+        transactionService.saveTransaction(transaction, null);
+    }
+}
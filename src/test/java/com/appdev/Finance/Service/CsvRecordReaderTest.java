@@ -0,0 +1,69 @@
+package com.appdev.Finance.Service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void splitsPlainFields() throws IOException {
+        assertEquals(List.of(List.of("2024-01-05", "Lunch", "12.50"), List.of("2024-01-06", "", "3")),
+                readAll("2024-01-05,Lunch,12.50\n2024-01-06,,3\n"));
+    }
+
+    @Test
+    void quotedFieldsKeepCommasDoubledQuotesAndLineBreaks() throws IOException {
+        List<List<String>> records = readAll("\"Rent, March\",\"He said \"\"hi\"\"\",\"line one\nline two\"\nnext,row\n");
+
+        assertEquals(List.of("Rent, March", "He said \"hi\"", "line one\nline two"), records.get(0));
+        assertEquals(List.of("next", "row"), records.get(1));
+    }
+
+    @Test
+    void emptyAndAdjacentQuotedFields() throws IOException {
+        assertEquals(List.of(List.of("", "a", "")), readAll("\"\",\"a\",\"\""));
+        // A quoted section inside a field joins the surrounding text
+        assertEquals(List.of(List.of("abcd")), readAll("ab\"cd\""));
+    }
+
+    @Test
+    void recordLineCountsLineBreaksInsideQuotes() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("h1,h2\n\"a\nb\nc\",x\nlast,row\n"));
+
+        reader.next();
+        assertEquals(1, reader.getRecordLine());
+        assertEquals(List.of("a\nb\nc", "x"), reader.next());
+        assertEquals(2, reader.getRecordLine());
+        assertEquals(List.of("last", "row"), reader.next());
+        assertEquals(5, reader.getRecordLine());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void handlesCrlfBomBlankLinesAndMissingFinalNewline() throws IOException {
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d"), List.of("e", "f")),
+                readAll("\uFEFFa,b\r\n\r\n   \r\nc,d\re,f"));
+    }
+
+    @Test
+    void emptyInputHasNoRecords() throws IOException {
+        assertEquals(List.of(), readAll(""));
+        assertEquals(List.of(), readAll("\uFEFF\n\n"));
+    }
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(csv));
+        List<List<String>> records = new ArrayList<>();
+        for (List<String> record = reader.next(); record != null; record = reader.next()) {
+            records.add(record);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,127 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.DTO.CategoryBudgetUsage;
+import com.appdev.Finance.DTO.DashboardSnapshot;
+import com.appdev.Finance.DTO.DashboardView;
+import com.appdev.Finance.DTO.SpendForecast;
+import com.appdev.Finance.DTO.TransactionSearchSummary;
+import com.appdev.Finance.model.Money;
+import com.appdev.Finance.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DashboardAssemblyServiceTest {
+
+    private static final Duration PART_TIMEOUT = Duration.ofMillis(500);
+
+    private final User user = new User("assembly@example.com", "unused");
+    private final DashboardSnapshot snapshot = new DashboardSnapshot("{}", "{}", false, BigDecimal.TEN, 0);
+    private final TransactionSearchSummary transactions = new TransactionSearchSummary(List.of(), 3L, BigDecimal.ONE, BigDecimal.TEN);
+    private final List<CategoryBudgetUsage> categoryBudgets = List.of(
+            new CategoryBudgetUsage(1L, "Food", BigDecimal.TEN, BigDecimal.ONE, "80,95", 10));
+    private final SpendForecast forecast = new SpendForecast(Money.ofMinor(100L), Money.ofMinor(300L), Money.ofMinor(10L), null);
+
+    private DashboardSnapshotService snapshotService;
+    private TransactionService transactionService;
+    private BudgetService budgetService;
+    private ExecutorService executor;
+    private DashboardAssemblyService assemblyService;
+
+    @BeforeEach
+    void setUp() {
+        user.setId(42L);
+        snapshotService = mock(DashboardSnapshotService.class);
+        transactionService = mock(TransactionService.class);
+        budgetService = mock(BudgetService.class);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        assemblyService = new DashboardAssemblyService(snapshotService, transactionService, budgetService, executor, PART_TIMEOUT);
+
+        when(snapshotService.getSnapshot(user)).thenReturn(snapshot);
+        when(transactionService.searchTransactionsTop(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(transactions);
+        when(transactionService.getDistinctCategoriesByUserId(anyLong())).thenReturn(List.of("Food"));
+        when(budgetService.getCategoryBudgetUsage(user)).thenReturn(categoryBudgets);
+        when(budgetService.getMonthEndForecast(user)).thenReturn(Optional.of(forecast));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void collectsEveryPart() {
+        DashboardView view = assemble();
+
+        assertSame(snapshot, view.getSnapshot());
+        assertSame(transactions, view.getTransactions());
+        assertEquals(List.of("Food"), view.getAvailableCategories());
+        assertSame(categoryBudgets, view.getCategoryBudgets());
+        assertSame(forecast, view.getMonthEndForecast());
+        assertFalse(view.isChartDataUnavailable());
+        assertFalse(view.isTransactionListUnavailable());
+    }
+
+    @Test
+    void slowPartsShareOneDeadline() {
+        Answer<Object> slow = invocation -> {
+            Thread.sleep(PART_TIMEOUT.multipliedBy(4).toMillis());
+            return null;
+        };
+        when(snapshotService.getSnapshot(user)).thenAnswer(slow);
+        when(budgetService.getCategoryBudgetUsage(user)).thenAnswer(slow);
+        when(budgetService.getMonthEndForecast(user)).thenAnswer(slow);
+
+        long started = System.nanoTime();
+        DashboardView view = assemble();
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        // Three late parts cost one timeout, not three
+        assertTrue(elapsedMillis < PART_TIMEOUT.multipliedBy(2).toMillis(), elapsedMillis + " ms");
+        assertTrue(view.isChartDataUnavailable());
+        assertEquals(List.of(), view.getCategoryBudgets());
+        assertNull(view.getMonthEndForecast());
+        assertSame(transactions, view.getTransactions());
+        assertFalse(view.isTransactionListUnavailable());
+    }
+
+    @Test
+    void failedPartsFallBackToDefaults() {
+        when(transactionService.getDistinctCategoriesByUserId(anyLong())).thenThrow(new IllegalStateException("categories"));
+        when(budgetService.getCategoryBudgetUsage(user)).thenThrow(new IllegalStateException("category budgets"));
+        when(budgetService.getMonthEndForecast(user)).thenReturn(Optional.empty());
+
+        DashboardView view = assemble();
+
+        assertTrue(view.isTransactionListUnavailable());
+        assertEquals(List.of(), view.getAvailableCategories());
+        assertEquals(List.of(), view.getCategoryBudgets());
+        assertNull(view.getMonthEndForecast());
+        assertSame(snapshot, view.getSnapshot());
+    }
+
+    private DashboardView assemble() {
+        return assemblyService.assemble(user, "2024-01", null, null, null, null, null, null, null,
+                "transactionDate", "DESC", 10);
+    }
+}
@@ -0,0 +1,81 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.DTO.DashboardSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class DashboardSnapshotCacheTest {
+
+    private final DashboardSnapshotCache cache = new DashboardSnapshotCache(100, Duration.ofMinutes(15), new SimpleMeterRegistry());
+    private final AtomicInteger builds = new AtomicInteger();
+    private final Function<Long, DashboardSnapshot> loader = userId ->
+            new DashboardSnapshot("{}", "{}", false, BigDecimal.valueOf(builds.incrementAndGet()), 0);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void repeatedReadsAreServedFromTheCache() {
+        DashboardSnapshot first = cache.get(1L, loader);
+
+        assertSame(first, cache.get(1L, loader));
+        assertEquals(1, builds.get());
+        assertEquals(1, cache.stats().hitCount());
+        // Other users have their own entry
+        assertNotSame(first, cache.get(2L, loader));
+    }
+
+    @Test
+    void invalidateRebuildsOnlyThatUser() {
+        DashboardSnapshot first = cache.get(1L, loader);
+        DashboardSnapshot other = cache.get(2L, loader);
+
+        cache.invalidate(1L);
+
+        assertNotSame(first, cache.get(1L, loader));
+        assertSame(other, cache.get(2L, loader));
+        assertEquals(3, builds.get());
+    }
+
+    @Test
+    void snapshotCachedBeforeTheWriteCommitsIsDroppedOnCommit() {
+        cache.get(1L, loader);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidate(1L);
+        // A concurrent reader rebuilds from data that does not see the uncommitted write yet
+        DashboardSnapshot stale = cache.get(1L, loader);
+        assertSame(stale, cache.get(1L, loader));
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+
+        assertNotSame(stale, cache.get(1L, loader));
+    }
+
+    @Test
+    void invalidatingANullUserIsIgnored() {
+        DashboardSnapshot first = cache.get(1L, loader);
+
+        cache.invalidate(null);
+
+        assertSame(first, cache.get(1L, loader));
+    }
+}
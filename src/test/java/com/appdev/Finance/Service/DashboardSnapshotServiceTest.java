@@ -0,0 +1,83 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.DTO.DashboardSnapshot;
+import com.appdev.Finance.Repository.UserRepository;
+import com.appdev.Finance.model.Transaction;
+import com.appdev.Finance.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The writers that change what a snapshot shows drop it, so the next dashboard load is rebuilt
+ * rather than served stale.
+ */
+@SpringBootTest
+class DashboardSnapshotServiceTest {
+
+    @Autowired
+    private DashboardSnapshotService snapshotService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void savedExpenseReplacesTheSnapshot() {
+        User user = user();
+        DashboardSnapshot before = snapshotService.getSnapshot(user);
+        assertSame(before, snapshotService.getSnapshot(user));
+        assertEquals("{}", before.getCategoryDataJson());
+
+        saveExpense(user, "Food", 25.0);
+
+        DashboardSnapshot after = snapshotService.getSnapshot(user);
+        assertTrue(after.getCategoryDataJson().contains("\"Food\":25.00"), after.getCategoryDataJson());
+    }
+
+    @Test
+    void savedBudgetReplacesTheSnapshot() {
+        User user = user();
+        saveExpense(user, "Rent", 50.0);
+        assertEquals(BigDecimal.ZERO, snapshotService.getSnapshot(user).getBudgetAmount());
+
+        budgetService.saveOrUpdateBudget(user, 200.0);
+
+        DashboardSnapshot after = snapshotService.getSnapshot(user);
+        assertEquals(0, new BigDecimal("200").compareTo(after.getBudgetAmount()));
+        assertEquals(25, after.getExpensePercentage());
+    }
+
+    private User user() {
+        User user = new User("snapshot-" + System.nanoTime() + "@example.com", "unused");
+        user.setEnabled(true);
+        return userRepository.save(user);
+    }
+
+    private void saveExpense(User user, String category, double amount) {
+        LocalDate today = LocalDate.now();
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setAmount(amount);
+        transaction.setDescription(category);
+        transaction.setType("Expense");
+        transaction.setCategory(category);
+        transaction.setMonth(today.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH));
+        transaction.setTransactionDate(today);
+        transactionService.saveTransaction(transaction, null);
+    }
+}
@@ -0,0 +1,180 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.DTO.DateRangeTotals;
+import com.appdev.Finance.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DateRangeSumIndexTest {
+
+    private static final LocalDate FIRST = LocalDate.of(2024, 1, 1);
+    private static final LocalDate LAST = LocalDate.of(2024, 4, 30);
+    private static final String[] CATEGORIES = {"Food", "Rent", "Salary"};
+
+    private final List<Row> rows = new ArrayList<>();
+
+    @Test
+    void rangeSumsMatchAScanBeforeAndAfterUpdates() {
+        Random random = new Random(42);
+        DateRangeSumIndex index = new DateRangeSumIndex(day(FIRST), day(LAST), Long.MAX_VALUE);
+        for (int i = 0; i < 500; i++) {
+            Row row = randomRow(random);
+            index.accumulate(row.epochDay, row.amountMinor, row.category, row.type);
+            rows.add(row);
+        }
+        index.seal();
+        assertMatchesScan(index, random);
+
+        for (int i = 0; i < 200; i++) {
+            Row row = randomRow(random);
+            assertTrue(index.add(row.epochDay, row.amountMinor, row.category, row.type));
+            rows.add(row);
+        }
+        assertMatchesScan(index, random);
+    }
+
+    @Test
+    void boundsOffTheAxisAreClamped() {
+        DateRangeSumIndex index = sealedIndex();
+        index.add(day(FIRST), 100L, "Food", TransactionType.EXPENSE);
+        index.add(day(LAST), 250L, "Salary", TransactionType.INCOME);
+
+        assertTotals(2, "2.50", "1.00", index.totals(FIRST.minusYears(5), LAST.plusYears(5)));
+        assertTotals(1, "0.00", "1.00", index.totals(LocalDate.MIN, FIRST));
+        assertTotals(1, "2.50", "0.00", index.totals(LAST, LocalDate.MAX));
+        assertTotals(0, "0.00", "0.00", index.totals(LAST.plusDays(1), LAST.plusYears(1)));
+        assertTotals(0, "0.00", "0.00", index.totals(FIRST.minusYears(1), FIRST.minusDays(1)));
+        // An inverted range is empty rather than negative
+        assertTotals(0, "0.00", "0.00", index.totals(LAST, FIRST));
+    }
+
+    @Test
+    void insertsOffTheAxisAreRefused() {
+        DateRangeSumIndex index = sealedIndex();
+
+        assertFalse(index.add(day(FIRST) - 1, 100L, "Food", TransactionType.EXPENSE));
+        assertFalse(index.add(day(LAST) + 1, 100L, "Food", TransactionType.EXPENSE));
+        assertTotals(0, "0.00", "0.00", index.totals(null, null));
+    }
+
+    @Test
+    void undatedRowsCountOnlyWithoutBounds() {
+        DateRangeSumIndex index = new DateRangeSumIndex(day(FIRST), day(LAST), Long.MAX_VALUE);
+        index.accumulate(UserColumns.NO_DATE, 500L, "Food", TransactionType.EXPENSE);
+        index.accumulate(day(FIRST.plusDays(10)), 300L, "Food", TransactionType.EXPENSE);
+        index.seal();
+        assertTrue(index.add(UserColumns.NO_DATE, 700L, "Salary", TransactionType.INCOME));
+
+        assertTotals(3, "7.00", "8.00", index.totals(null, null));
+        assertTotals(1, "0.00", "3.00", index.totals(FIRST, null));
+        assertTotals(1, "0.00", "3.00", index.totals(null, LAST));
+        assertTotals(2, "0.00", "8.00", index.totals(null, null, "food").orElseThrow());
+        assertTotals(0, "0.00", "0.00", index.totals(null, FIRST.plusDays(9), "Food").orElseThrow());
+    }
+
+    @Test
+    void categoriesAreCaseInsensitiveAndUnknownOnesAreZero() {
+        DateRangeSumIndex index = sealedIndex();
+        index.add(day(FIRST), 100L, "Food", TransactionType.EXPENSE);
+        index.add(day(FIRST), 200L, " FOOD ", TransactionType.EXPENSE);
+
+        assertTotals(2, "0.00", "3.00", index.totals(FIRST, FIRST, "food").orElseThrow());
+        assertTotals(0, "0.00", "0.00", index.totals(FIRST, FIRST, "Travel").orElseThrow());
+        // Blank category means all rows
+        assertTotals(2, "0.00", "3.00", index.totals(FIRST, FIRST, " ").orElseThrow());
+    }
+
+    @Test
+    void categoryTreesAreDroppedOverTheCellBudget() {
+        int days = day(LAST) - day(FIRST) + 1;
+        // Room for exactly one category's three trees
+        DateRangeSumIndex index = new DateRangeSumIndex(day(FIRST), day(LAST), 3L * (days + 1));
+        index.seal();
+        index.add(day(FIRST), 100L, "Food", TransactionType.EXPENSE);
+        assertTrue(index.totals(null, null, "Food").isPresent());
+
+        index.add(day(FIRST), 100L, "Rent", TransactionType.EXPENSE);
+
+        assertEquals(Optional.empty(), index.totals(null, null, "Food"));
+        assertTotals(2, "0.00", "2.00", index.totals(null, null));
+    }
+
+    @Test
+    void addBeforeSealIsRejected() {
+        DateRangeSumIndex index = new DateRangeSumIndex(day(FIRST), day(LAST), Long.MAX_VALUE);
+
+        assertThrows(IllegalStateException.class, () -> index.add(day(FIRST), 1L, "Food", TransactionType.EXPENSE));
+    }
+
+    private void assertMatchesScan(DateRangeSumIndex index, Random random) {
+        assertScan(index, null, null, null);
+        for (int i = 0; i < 300; i++) {
+            // Bounds reach a month past either end of the axis, and either may be open
+            LocalDate start = random.nextInt(8) == 0 ? null : FIRST.minusDays(30).plusDays(random.nextInt(180));
+            LocalDate end = random.nextInt(8) == 0 ? null : FIRST.minusDays(30).plusDays(random.nextInt(180));
+            String category = random.nextInt(4) == 0 ? null : CATEGORIES[random.nextInt(CATEGORIES.length)];
+            assertScan(index, start, end, category);
+        }
+    }
+
+    private void assertScan(DateRangeSumIndex index, LocalDate start, LocalDate end, String category) {
+        long count = 0;
+        long income = 0;
+        long expense = 0;
+        for (Row row : rows) {
+            boolean inRange = (start == null && end == null) || (row.epochDay != UserColumns.NO_DATE
+                    && (start == null || row.epochDay >= day(start)) && (end == null || row.epochDay <= day(end)));
+            if (inRange && (category == null || category.equalsIgnoreCase(row.category))) {
+                count++;
+                if (row.type == TransactionType.INCOME) {
+                    income += row.amountMinor;
+                } else if (row.type == TransactionType.EXPENSE) {
+                    expense += row.amountMinor;
+                }
+            }
+        }
+        DateRangeTotals totals = index.totals(start, end, category).orElseThrow();
+        String range = start + ".." + end + " " + category;
+        assertEquals(count, totals.getMatchCount(), range);
+        assertEquals(BigDecimal.valueOf(income, 2), totals.getTotalIncome(), range);
+        assertEquals(BigDecimal.valueOf(expense, 2), totals.getTotalExpenses(), range);
+    }
+
+    private static Row randomRow(Random random) {
+        int span = day(LAST) - day(FIRST) + 1;
+        int epochDay = random.nextInt(10) == 0 ? UserColumns.NO_DATE : day(FIRST) + random.nextInt(span);
+        TransactionType type = random.nextBoolean() ? TransactionType.EXPENSE : TransactionType.INCOME;
+        String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+        return new Row(epochDay, 1 + random.nextInt(1_000_000), random.nextBoolean() ? category : category.toUpperCase(), type);
+    }
+
+    private static DateRangeSumIndex sealedIndex() {
+        DateRangeSumIndex index = new DateRangeSumIndex(day(FIRST), day(LAST), Long.MAX_VALUE);
+        index.seal();
+        return index;
+    }
+
+    private static void assertTotals(long count, String income, String expenses, DateRangeTotals totals) {
+        assertEquals(count, totals.getMatchCount());
+        assertEquals(new BigDecimal(income), totals.getTotalIncome());
+        assertEquals(new BigDecimal(expenses), totals.getTotalExpenses());
+    }
+
+    private static int day(LocalDate date) {
+        return (int) date.toEpochDay();
+    }
+
+    private record Row(int epochDay, long amountMinor, String category, TransactionType type) {
+    }
+}
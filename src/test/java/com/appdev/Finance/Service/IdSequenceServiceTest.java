@@ -0,0 +1,108 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.Repository.NotificationRepository;
+import com.appdev.Finance.Repository.UserRepository;
+import com.appdev.Finance.model.IdSequences;
+import com.appdev.Finance.model.Notification;
+import com.appdev.Finance.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Id blocks handed to JDBC writers and Hibernate's pooled-lo blocks come from the same sequence
+ * row, so neither may ever hand out an id the other already has.
+ */
+@SpringBootTest
+class IdSequenceServiceTest {
+
+    @Autowired
+    private IdSequenceService idSequenceService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentReservationsGetDisjointBlocks() throws Exception {
+        int blockSize = 7;
+        List<Callable<Long>> reservations = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            reservations.add(() -> idSequenceService.reserve(IdSequences.ACTIVITY_LOG, blockSize));
+        }
+
+        Set<Long> ids = new HashSet<>();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            for (Future<Long> first : pool.invokeAll(reservations)) {
+                long start = first.get();
+                LongStream.range(start, start + blockSize).forEach(ids::add);
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(64 * blockSize, ids.size());
+    }
+
+    @Test
+    void reservedBlocksAndHibernateIdsNeverMeet() {
+        User user = new User("sequence-" + System.nanoTime() + "@example.com", "unused");
+        user.setEnabled(true);
+        user = userRepository.save(user);
+
+        // More rows than one allocation, so Hibernate fetches a block after the reservation too
+        Set<Long> hibernateIds = new HashSet<>(saveNotifications(user, IdSequences.ALLOCATION_SIZE - 5));
+        long reservedFirst = idSequenceService.reserve(IdSequences.NOTIFICATION, 20);
+        hibernateIds.addAll(saveNotifications(user, IdSequences.ALLOCATION_SIZE));
+
+        assertEquals(2 * IdSequences.ALLOCATION_SIZE - 5, hibernateIds.size());
+        LongStream.range(reservedFirst, reservedFirst + 20)
+                .forEach(id -> assertFalse(hibernateIds.contains(id), "id " + id + " issued twice"));
+    }
+
+    @Test
+    void realigningAnAlignedSequenceChangesNothing() {
+        Long before = jdbcTemplate.queryForObject("SELECT next_val FROM " + IdSequences.TRANSACTION, Long.class);
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM `transaction`", Long.class);
+
+        idSequenceService.alignWithExistingIds();
+
+        assertEquals(before, jdbcTemplate.queryForObject("SELECT next_val FROM " + IdSequences.TRANSACTION, Long.class));
+        assertTrue(before > maxId);
+    }
+
+    @Test
+    void unknownSequenceIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> idSequenceService.reserve("user; DROP TABLE user", 1));
+    }
+
+    private List<Long> saveNotifications(User user, int count) {
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            notifications.add(new Notification(user, "sequence test " + i));
+        }
+        return notificationRepository.saveAll(notifications).stream().map(Notification::getId).toList();
+    }
+}
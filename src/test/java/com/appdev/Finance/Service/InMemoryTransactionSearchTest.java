@@ -0,0 +1,101 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.DTO.TransactionListItem;
+import com.appdev.Finance.DTO.TransactionSearchSummary;
+import com.appdev.Finance.Repository.TransactionRepository;
+import com.appdev.Finance.Repository.UserRepository;
+import com.appdev.Finance.model.Transaction;
+import com.appdev.Finance.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The planner may answer the same search from either side, so the in-memory filter has to agree
+ * with the SQL specification on rows, order and totals.
+ */
+@SpringBootTest
+class InMemoryTransactionSearchTest {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void saveHistory() {
+        user = new User("in-memory-" + System.nanoTime() + "@example.com", "unused");
+        user.setEnabled(true);
+        user = userRepository.save(user);
+        transactionRepository.saveAll(List.of(
+                transaction("Expense", "Food", 12.5, "January", LocalDate.of(2024, 1, 3)),
+                transaction("expense", "food ", 7.25, "January", LocalDate.of(2024, 1, 20)),
+                transaction("Expense", "Café", 3.1, "February", LocalDate.of(2024, 2, 2)),
+                transaction("Expense", "cafe", 4.2, "February", LocalDate.of(2024, 2, 14)),
+                transaction("Income", "Salary", 2500, "January", LocalDate.of(2024, 1, 31)),
+                transaction("Income", "Salary", 2600, "January", LocalDate.of(2025, 1, 31)),
+                transaction("Expense", "Rent", 900, "March", null),
+                transaction("Expense", "Bills", 120.99, "March", LocalDate.of(2024, 3, 9))));
+    }
+
+    static Stream<Arguments> searches() {
+        // type, category, month, start, end, min, max
+        return Stream.of(
+                Arguments.of(null, null, null, null, null, null, null),
+                Arguments.of("Expense", null, null, null, null, null, null),
+                Arguments.of("income", null, "January", null, null, null, null),
+                Arguments.of(null, "FOOD", null, null, null, null, null),
+                Arguments.of(null, "Cafe", null, null, null, null, null),
+                Arguments.of(null, null, "March", null, null, null, null),
+                Arguments.of(null, null, "January", "2024-01-10", "2024-02-28", null, null),
+                Arguments.of(null, null, null, "2024-01-01", null, 5.0, 1000.0),
+                Arguments.of(null, null, null, null, null, 7.25, 7.25),
+                Arguments.of("Transfer", null, null, null, null, null, null),
+                Arguments.of(null, null, "Smarch", null, null, null, null));
+    }
+
+    @ParameterizedTest
+    @MethodSource("searches")
+    void memoryAndSqlAgree(String type, String category, String month, String start, String end, Double min, Double max) {
+        for (Sort sort : List.of(Sort.by(Sort.Direction.DESC, "amountMinor"), Sort.by("transactionDate", "id"))) {
+            TransactionSearchSummary sql = transactionRepository.findTopWithTotals(TransactionSpecification.findByCriteria(
+                    user, null, type, category, month, start, end, min, max, null), sort, 3);
+            TransactionSearchSummary memory = new InMemoryTransactionSearch(type, category, month, start, end, min, max)
+                    .topWithTotals(transactionRepository.findListItemsByUserId(user.getId()), sort, 3);
+
+            assertEquals(ids(sql), ids(memory), sort.toString());
+            assertEquals(sql.getTotalCount(), memory.getTotalCount());
+            assertEquals(0, sql.getTotalIncome().compareTo(memory.getTotalIncome()));
+            assertEquals(0, sql.getTotalExpenses().compareTo(memory.getTotalExpenses()));
+        }
+    }
+
+    private static List<Long> ids(TransactionSearchSummary summary) {
+        return summary.getTopTransactions().stream().map(TransactionListItem::getId).toList();
+    }
+
+    private Transaction transaction(String type, String category, double amount, String month, LocalDate date) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setAmount(amount);
+        transaction.setDescription(category + " " + amount);
+        transaction.setType(type);
+        transaction.setCategory(category);
+        transaction.setMonth(month);
+        transaction.setTransactionDate(date);
+        return transaction;
+    }
+}
@@ -0,0 +1,155 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.DTO.TransactionListItem;
+import com.appdev.Finance.DTO.TransactionPage;
+import com.appdev.Finance.Repository.TransactionRepository;
+import com.appdev.Finance.Repository.UserRepository;
+import com.appdev.Finance.model.Transaction;
+import com.appdev.Finance.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Walks every sort key page by page with seekAfter and checks that the pages, put together, are
+ * exactly the ORDER BY of the whole result: no row skipped or repeated across duplicate sort
+ * values, and NULL dates placed where MySQL sorts them.
+ */
+@SpringBootTest
+class KeysetPaginationTest {
+
+    private static final int PAGE_SIZE = 3;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void saveHistory() {
+        user = new User("keyset-" + System.nanoTime() + "@example.com", "unused");
+        user.setEnabled(true);
+        user = userRepository.save(user);
+
+        String[] categories = {"Food", "Transport", "Bills"};
+        List<Transaction> rows = new ArrayList<>();
+        for (int i = 0; i < 13; i++) {
+            // Few distinct values per column, so most page boundaries fall inside a run of equal keys
+            LocalDate date = i % 4 == 3 ? null : LocalDate.of(2024, 1, 1 + i % 3);
+            rows.add(transaction(i % 3 == 0 ? "Income" : "Expense", categories[i % 3], (i % 4) * 10 + 5,
+                    "item " + i % 5, date));
+        }
+        transactionRepository.saveAll(rows);
+    }
+
+    static Stream<Arguments> sortKeys() {
+        return Stream.of("transactionDate", "amountMinor", "description", "type", "category", "month", "id")
+                .flatMap(field -> Stream.of(Arguments.of(field, Sort.Direction.ASC), Arguments.of(field, Sort.Direction.DESC)));
+    }
+
+    @ParameterizedTest(name = "{0} {1}")
+    @MethodSource("sortKeys")
+    void seekPagesConcatenateToTheFullOrder(String field, Sort.Direction direction) {
+        Sort sort = "id".equals(field) ? Sort.by(direction, "id") : Sort.by(direction, field).and(Sort.by(direction, "id"));
+        Specification<Transaction> search = TransactionSpecification.findByCriteria(user, null, null, null, null,
+                null, null, null, null, null);
+        List<Long> expected = transactionRepository.findAll(search, sort).stream().map(Transaction::getId).toList();
+
+        List<Long> paged = new ArrayList<>();
+        TransactionCursor cursor = null;
+        for (int page = 0; page <= expected.size(); page++) {
+            Specification<Transaction> pageSpec = cursor == null ? search : search.and(TransactionSpecification.seekAfter(cursor));
+            List<TransactionListItem> rows = transactionRepository.findWithLimit(pageSpec, sort, PAGE_SIZE);
+            rows.forEach(row -> paged.add(row.getId()));
+            if (rows.size() < PAGE_SIZE) {
+                break;
+            }
+            // Each cursor goes through its URL token, as it would between requests
+            cursor = TransactionCursor.decode(TransactionCursor.after(rows.get(PAGE_SIZE - 1), field, direction).encode());
+        }
+
+        assertEquals(expected, paged);
+    }
+
+    @Test
+    void serviceHandsOutCursorsUntilTheLastPage() {
+        TransactionPage first = page(null);
+        assertEquals(13L, first.getTotalCount());
+
+        List<Long> seen = new ArrayList<>(ids(first));
+        TransactionPage page = first;
+        while (page.hasMore()) {
+            page = page(page.getNextCursor());
+            // Only the first page pays for the totals
+            assertNull(page.getTotalCount());
+            seen.addAll(ids(page));
+        }
+
+        assertEquals(13, seen.size());
+        assertEquals(13, seen.stream().distinct().count());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void rowsSavedBehindTheCursorDoNotShiftLaterPages() {
+        TransactionPage first = page(null);
+        TransactionPage second = page(first.getNextCursor());
+        // Newest-first: a row dated after everything else sorts in front of the first page
+        transactionRepository.save(transaction("Expense", "Food", 1, "late entry", LocalDate.of(2030, 1, 1)));
+
+        assertEquals(ids(second), ids(page(first.getNextCursor())));
+    }
+
+    @Test
+    void cursorFromAnotherSortIsRejected() {
+        String byAmount = transactionService.searchTransactionsPage(user, null, null, null, null, null, null, null, null,
+                "amount", "ASC", null, PAGE_SIZE).getNextCursor();
+
+        assertThrows(IllegalArgumentException.class, () -> page(byAmount));
+        assertThrows(IllegalArgumentException.class, () -> page("not-a-cursor"));
+    }
+
+    private TransactionPage page(String cursor) {
+        return transactionService.searchTransactionsPage(user, null, null, null, null, null, null, null, null,
+                "transactionDate", "DESC", cursor, PAGE_SIZE);
+    }
+
+    private static List<Long> ids(TransactionPage page) {
+        assertTrue(page.getTransactions().size() <= PAGE_SIZE);
+        return page.getTransactions().stream().map(TransactionListItem::getId).toList();
+    }
+
+    private Transaction transaction(String type, String category, double amount, String description, LocalDate date) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setAmount(amount);
+        transaction.setDescription(description);
+        transaction.setType(type);
+        transaction.setCategory(category);
+        transaction.setMonth("January");
+        transaction.setTransactionDate(date);
+        return transaction;
+    }
+}
@@ -0,0 +1,149 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.DTO.ImportProgress;
+import com.appdev.Finance.Repository.TransactionRepository;
+import com.appdev.Finance.Repository.UserRepository;
+import com.appdev.Finance.model.Transaction;
+import com.appdev.Finance.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * After every kind of write the running counter must still equal the SUM the budget check used
+ * to run.
+ */
+@SpringBootTest
+class MonthlyExpenseCountersTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private MonthlyExpenseCounters counters;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionImportService importService;
+
+    @Autowired
+    private SpendingRollupService rollupService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        user = new User("counters-" + System.nanoTime() + "@example.com", "unused");
+        user.setEnabled(true);
+        user = userRepository.save(user);
+    }
+
+    @Test
+    void onlyThisMonthsExpensesAreAdded() {
+        assertEquals(0L, counters.currentMonthMinor(user.getId()));
+
+        transactionService.saveTransaction(transaction("Expense", "Food", 12.34, TODAY), null);
+        transactionService.saveTransaction(transaction("Income", "Salary", 500, TODAY), null);
+        transactionService.saveTransaction(transaction("Expense", "Food", 99, TODAY.minusMonths(1)), null);
+        transactionService.saveTransaction(transaction("expense", "Rent", 0.66, TODAY), null);
+
+        assertEquals(13_00L, counters.currentMonthMinor(user.getId()));
+        assertEquals(sqlMonthTotal(), counters.currentMonthMinor(user.getId()));
+    }
+
+    @Test
+    void categoryCountersFollowTheCategoryDictionary() {
+        assertEquals(Map.of(), counters.currentMonthMinorByCategory(user.getId()));
+
+        Transaction food = transactionService.saveTransaction(transaction("Expense", "Food", 10, TODAY), null);
+        transactionService.saveTransaction(transaction("Expense", "food", 2.5, TODAY), null);
+        Transaction rent = transactionService.saveTransaction(transaction("Expense", "Rent", 700, TODAY), null);
+
+        assertEquals(Map.of(food.getUserCategory().getId(), 12_50L, rent.getUserCategory().getId(), 700_00L),
+                counters.currentMonthMinorByCategory(user.getId()));
+    }
+
+    @Test
+    void rolledBackInsertIsForgotten() {
+        transactionService.saveTransaction(transaction("Expense", "Food", 20, TODAY), null);
+        assertEquals(20_00L, counters.currentMonthMinor(user.getId()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            transactionService.saveTransaction(transaction("Expense", "Food", 5, TODAY), null);
+            // Visible to the rest of the inserting transaction, like the row itself
+            assertEquals(25_00L, counters.currentMonthMinor(user.getId()));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(20_00L, counters.currentMonthMinor(user.getId()));
+    }
+
+    @Test
+    void coldCounterIsSeededFromTheRollupOnceBuilt() {
+        // Written past the service, so neither the rollup nor any counter knows about it
+        transactionRepository.saveAll(List.of(transaction("Expense", "Food", 40, TODAY)));
+        assertEquals(40_00L, counters.currentMonthMinor(user.getId()));
+
+        rollupService.rebuildForUser(user.getId());
+        jdbcTemplate.update("UPDATE user_spending_rollup SET total_minor = total_minor + 1 WHERE user_id = ?", user.getId());
+        counters.invalidate(user.getId());
+
+        // The off-by-one proves the seed came from the rollup rather than the transaction table
+        assertEquals(40_01L, counters.currentMonthMinor(user.getId()));
+    }
+
+    @Test
+    void importDropsTheCounter() throws Exception {
+        transactionService.saveTransaction(transaction("Expense", "Food", 1, TODAY), null);
+        assertEquals(1_00L, counters.currentMonthMinor(user.getId()));
+
+        importService.importCsv(user, new StringReader("Date,Description,Amount\n" + TODAY + ",Groceries,-30\n"),
+                new ImportProgress("counters", user.getId(), "statement.csv"));
+
+        assertEquals(31_00L, counters.currentMonthMinor(user.getId()));
+        assertEquals(sqlMonthTotal(), counters.currentMonthMinor(user.getId()));
+    }
+
+    private long sqlMonthTotal() {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(amount_minor), 0) FROM `transaction` " +
+                "WHERE user_id = ? AND type = 'Expense' AND YEAR(transaction_date) = ? AND MONTH(transaction_date) = ?",
+                Long.class, user.getId(), TODAY.getYear(), TODAY.getMonthValue());
+    }
+
+    private Transaction transaction(String type, String category, double amount, LocalDate date) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setAmount(amount);
+        transaction.setDescription(category);
+        transaction.setType(type);
+        transaction.setCategory(category);
+        transaction.setMonth(date.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH));
+        transaction.setTransactionDate(date);
+        return transaction;
+    }
+}
@@ -0,0 +1,117 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.DTO.ReportSummaryDTO;
+import com.appdev.Finance.DTO.TransactionListItem;
+import com.appdev.Finance.Repository.TransactionRepository;
+import com.appdev.Finance.Repository.UserRepository;
+import com.appdev.Finance.model.Transaction;
+import com.appdev.Finance.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.format.TextStyle;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * March appears in two years; each report must see only its own.
+ */
+@SpringBootTest
+class ReportServiceTest {
+
+    private static final YearMonth MARCH_2023 = YearMonth.of(2023, 3);
+    private static final YearMonth MARCH_2024 = YearMonth.of(2024, 3);
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void saveTwoMarches() {
+        user = newUser();
+        transactionRepository.saveAll(List.of(
+                transaction("Income", "Salary", 1000, LocalDate.of(2023, 3, 1)),
+                transaction("Expense", "Food", 40, LocalDate.of(2023, 3, 5)),
+                transaction("Income", "Salary", 1200, LocalDate.of(2024, 3, 1)),
+                transaction("Expense", "Food", 75.5, LocalDate.of(2024, 3, 8)),
+                transaction("Expense", "Rent", 500, LocalDate.of(2024, 3, 10)),
+                transaction("Expense", "Food", 9, LocalDate.of(2024, 4, 2))));
+    }
+
+    @Test
+    void summaryCoversOnlyTheSelectedYear() {
+        ReportSummaryDTO march2023 = reportService.getReportSummaryForPeriod(user, MARCH_2023);
+        ReportSummaryDTO march2024 = reportService.getReportSummaryForPeriod(user, MARCH_2024);
+
+        assertEquals(new BigDecimal("1000.00"), march2023.getTotalIncome());
+        assertEquals(new BigDecimal("40.00"), march2023.getTotalExpenses());
+        assertEquals(new BigDecimal("1200.00"), march2024.getTotalIncome());
+        assertEquals(new BigDecimal("575.50"), march2024.getTotalExpenses());
+        assertEquals(new BigDecimal("624.50"), march2024.getNetTotal());
+    }
+
+    @Test
+    void periodListsAndCategoriesStayWithinTheirYear() {
+        List<TransactionListItem> march2023 = reportService.getTransactionsForUserByPeriod(user, MARCH_2023);
+
+        assertEquals(List.of(40_00L, 1000_00L), march2023.stream().map(TransactionListItem::getAmountMinor).toList());
+        assertEquals(List.of("Food", "Salary"),
+                reportService.getDistinctCategoriesForUserByPeriod(user, MARCH_2023).stream().sorted().toList());
+        assertEquals(List.of(75_50L), reportService.getTransactionsForUserByPeriodAndCategory(user, MARCH_2024, "food")
+                .stream().map(Transaction::getAmountMinor).toList());
+    }
+
+    @Test
+    void emptyPeriodHasZeroTotals() {
+        ReportSummaryDTO empty = reportService.getReportSummaryForPeriod(user, YearMonth.of(2022, 3));
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(empty.getTotalIncome()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(empty.getTotalExpenses()));
+        assertEquals(List.of(), reportService.getTransactionsForUserByPeriod(user, YearMonth.of(2022, 3)));
+    }
+
+    @Test
+    void yearsSpanTheHistoryPlusTheCurrentAndSelectedYear() {
+        int thisYear = Year.now().getValue();
+        TreeSet<Integer> expected = new TreeSet<>(Comparator.reverseOrder());
+        expected.addAll(List.of(2030, thisYear, 2024, 2023));
+
+        assertEquals(List.copyOf(expected), reportService.getAvailableYears(user, 2030));
+        assertEquals(List.of(thisYear, 2019), reportService.getAvailableYears(newUser(), 2019));
+    }
+
+    private User newUser() {
+        User created = new User("report-" + System.nanoTime() + "@example.com", "unused");
+        created.setEnabled(true);
+        return userRepository.save(created);
+    }
+
+    private Transaction transaction(String type, String category, double amount, LocalDate date) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setAmount(amount);
+        transaction.setDescription(category + " " + amount);
+        transaction.setType(type);
+        transaction.setCategory(category);
+        transaction.setMonth(date.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH));
+        transaction.setTransactionDate(date);
+        return transaction;
+    }
+}
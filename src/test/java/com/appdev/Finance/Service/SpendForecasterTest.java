@@ -0,0 +1,159 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.DTO.DailyTotal;
+import com.appdev.Finance.DTO.SpendForecast;
+import com.appdev.Finance.Repository.ReportRepository;
+import com.appdev.Finance.TransactionType;
+import com.appdev.Finance.model.Money;
+import com.appdev.Finance.model.Transaction;
+import com.appdev.Finance.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SpendForecasterTest {
+
+    private static final long USER_ID = 7L;
+    private static final long DAILY_MINOR = 10_000L; // 100.00 every day, so level 100.00 and flat day-of-week factors
+
+    private ReportRepository reportRepository;
+    private SpendForecaster forecaster;
+    private LocalDate today;
+    private long daysLeft; // today through month end
+
+    @BeforeEach
+    void setUp() {
+        reportRepository = mock(ReportRepository.class);
+        forecaster = new SpendForecaster(reportRepository, 100, Duration.ofHours(6), 56, 0.3, 0.1, 14,
+                new SimpleMeterRegistry());
+        today = LocalDate.now();
+        daysLeft = ChronoUnit.DAYS.between(today, today.with(TemporalAdjusters.lastDayOfMonth())) + 1;
+    }
+
+    @Test
+    void projectsMonthToDatePlusRunRateForEachRemainingDay() {
+        seedDays(28);
+
+        SpendForecast forecast = forecaster.forecast(USER_ID, 50_000L, 0L).orElseThrow();
+
+        assertEquals(0, new BigDecimal("100.00").compareTo(forecast.getDailyRunRate()));
+        assertEquals(Money.ofMinor(50_000L + DAILY_MINOR * daysLeft), forecast.getProjectedMonthEndMoney());
+        assertNull(forecast.getProjectedExceedDate());
+    }
+
+    @Test
+    void exceedDateIsTheFirstDayTheBudgetIsReached() {
+        seedDays(28);
+
+        long budget = 50_000L + DAILY_MINOR * daysLeft;
+        assertEquals(today.with(TemporalAdjusters.lastDayOfMonth()),
+                forecaster.forecast(USER_ID, 50_000L, budget).orElseThrow().getProjectedExceedDate());
+        assertEquals(today, forecaster.forecast(USER_ID, 50_000L, 50_000L + DAILY_MINOR).orElseThrow().getProjectedExceedDate());
+        assertNull(forecaster.forecast(USER_ID, 50_000L, budget + 1).orElseThrow().getProjectedExceedDate());
+        // Already exceeded: nothing left to project
+        assertNull(forecaster.forecast(USER_ID, 50_000L, 40_000L).orElseThrow().getProjectedExceedDate());
+    }
+
+    @Test
+    void expensesSavedTodayReplaceTheExpectedRestOfToday() {
+        seedDays(28);
+        forecaster.forecast(USER_ID, 0L, 0L);
+
+        forecaster.recordExpense(expense(today, 15_000L));
+
+        // Today already beat the run-rate, so only the following days are added
+        SpendForecast forecast = forecaster.forecast(USER_ID, 15_000L, 0L).orElseThrow();
+        assertEquals(Money.ofMinor(15_000L + DAILY_MINOR * (daysLeft - 1)), forecast.getProjectedMonthEndMoney());
+    }
+
+    @Test
+    void futureDatedExpensesDoNotCloseDaysAhead() {
+        seedDays(28);
+        forecaster.forecast(USER_ID, 0L, 0L);
+
+        forecaster.recordExpense(expense(today.plusDays(300), 1_000_000L));
+        forecaster.recordExpense(expense(today, 15_000L));
+
+        SpendForecast forecast = forecaster.forecast(USER_ID, 15_000L, 0L).orElseThrow();
+        assertEquals(0, new BigDecimal("100.00").compareTo(forecast.getDailyRunRate()));
+        assertEquals(Money.ofMinor(15_000L + DAILY_MINOR * (daysLeft - 1)), forecast.getProjectedMonthEndMoney());
+    }
+
+    @Test
+    void daysWithoutExpensesCloseAsZero() {
+        List<DailyTotal> rows = new ArrayList<>();
+        for (int d = 28; d >= 2; d--) {
+            rows.add(day(today.minusDays(d), DAILY_MINOR));
+        }
+        // Nothing yesterday; it closes as zero when the forecast reaches today
+        rows.add(day(today.minusDays(1), 0L));
+        seed(rows);
+
+        BigDecimal withZeroDay = forecaster.forecast(USER_ID, 0L, 0L).orElseThrow().getDailyRunRate();
+        assertTrue(withZeroDay.compareTo(new BigDecimal("100.00")) < 0);
+    }
+
+    @Test
+    void noForecastUntilMinDaysHaveClosed() {
+        seedDays(5);
+
+        assertEquals(Optional.empty(), forecaster.forecast(USER_ID, 0L, 0L));
+    }
+
+    private void seedDays(int days) {
+        List<DailyTotal> rows = new ArrayList<>();
+        for (int d = days; d >= 1; d--) {
+            rows.add(day(today.minusDays(d), DAILY_MINOR));
+        }
+        seed(rows);
+    }
+
+    private void seed(List<DailyTotal> rows) {
+        when(reportRepository.sumDailyExpenses(eq(USER_ID), any(LocalDate.class), any(LocalDate.class))).thenReturn(rows);
+    }
+
+    private static DailyTotal day(LocalDate date, long totalMinor) {
+        return new DailyTotal() {
+            @Override
+            public LocalDate getTransactionDate() {
+                return date;
+            }
+
+            @Override
+            public Long getTotalMinor() {
+                return totalMinor;
+            }
+        };
+    }
+
+    private static Transaction expense(LocalDate date, long amountMinor) {
+        User user = new User();
+        user.setId(USER_ID);
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setType("Expense");
+        transaction.setMoney(Money.ofMinor(amountMinor));
+        transaction.setTransactionDate(date);
+        // Normally derived by the entity's @PrePersist
+        ReflectionTestUtils.setField(transaction, "typeCode", TransactionType.EXPENSE);
+        return transaction;
+    }
+}
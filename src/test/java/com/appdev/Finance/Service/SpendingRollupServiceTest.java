@@ -0,0 +1,110 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.Repository.UserRepository;
+import com.appdev.Finance.model.Money;
+import com.appdev.Finance.model.Transaction;
+import com.appdev.Finance.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Saves through TransactionService so every insert goes through the rollup update, then checks the
+ * chart totals against what the transaction table holds.
+ */
+@SpringBootTest
+class SpendingRollupServiceTest {
+
+    @Autowired
+    private SpendingRollupService rollupService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void saveHistory() {
+        user = new User("rollup-" + System.nanoTime() + "@example.com", "unused");
+        user.setEnabled(true);
+        user = userRepository.save(user);
+
+        save("Expense", "Food", "12.30", LocalDate.of(2023, 3, 4));
+        save("Expense", "Food", "7.70", LocalDate.of(2024, 3, 20));
+        save("Expense", "Rent", "500.00", LocalDate.of(2024, 3, 1));
+        save("Expense", "Food", "0.10", LocalDate.of(2024, 5, 9));
+        save("Income", "Salary", "2000.00", LocalDate.of(2024, 3, 1));
+    }
+
+    @Test
+    void everySaveLandsInItsBucket() {
+        Map<String, BigDecimal> byCategory = rollupService.getExpenseTotalsByCategory(user.getId());
+        Map<String, BigDecimal> byMonth = rollupService.getExpenseTotalsByMonth(user.getId());
+
+        assertAll(
+                () -> assertEquals(new BigDecimal("20.10"), byCategory.get("Food")),
+                () -> assertEquals(new BigDecimal("500.00"), byCategory.get("Rent")),
+                () -> assertFalse(byCategory.containsKey("Salary"), "income is not an expense category"),
+                // March of 2023 and 2024 share one chart bar
+                () -> assertEquals(new BigDecimal("520.00"), byMonth.get("March")),
+                () -> assertEquals(new BigDecimal("0.10"), byMonth.get("May")),
+                () -> assertEquals(List.of("March", "May"), List.copyOf(byMonth.keySet())),
+                () -> assertEquals(Money.ofMinor(52_010L), rollupService.getTotalExpenses(user.getId())));
+    }
+
+    @Test
+    void rebuildMatchesTheIncrementalTotals() {
+        Map<String, BigDecimal> incrementalByCategory = rollupService.getExpenseTotalsByCategory(user.getId());
+        Map<String, BigDecimal> incrementalByMonth = rollupService.getExpenseTotalsByMonth(user.getId());
+        // Knock a bucket out of step, as a crash between the insert and the rollup update would
+        jdbcTemplate.update("UPDATE user_spending_rollup SET total_minor = total_minor + 999 WHERE user_id = ? AND category = 'Rent'",
+                user.getId());
+
+        rollupService.rebuildForUser(user.getId());
+
+        assertEquals(incrementalByCategory, rollupService.getExpenseTotalsByCategory(user.getId()));
+        assertEquals(incrementalByMonth, rollupService.getExpenseTotalsByMonth(user.getId()));
+    }
+
+    @Test
+    void userWithoutRollupRowsIsAggregatedFromTransactions() {
+        jdbcTemplate.update("DELETE FROM user_spending_rollup WHERE user_id = ?", user.getId());
+        assertTrue(rollupService.findUserIdsMissingRollup().contains(user.getId()));
+
+        assertEquals(new BigDecimal("20.10"), rollupService.getExpenseTotalsByCategory(user.getId()).get("Food"));
+        assertEquals(new BigDecimal("520.00"), rollupService.getExpenseTotalsByMonth(user.getId()).get("March"));
+        assertEquals(Money.ofMinor(52_010L), rollupService.getTotalExpenses(user.getId()));
+    }
+
+    private void save(String type, String category, String amount, LocalDate date) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setAmount(new BigDecimal(amount).doubleValue());
+        transaction.setDescription(category + " " + date);
+        transaction.setType(type);
+        transaction.setCategory(category);
+        transaction.setMonth(date.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH));
+        transaction.setTransactionDate(date);
+        transactionService.saveTransaction(transaction, null);
+    }
+}
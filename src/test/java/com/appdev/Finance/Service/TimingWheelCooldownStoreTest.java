@@ -0,0 +1,132 @@
+package com.appdev.Finance.Service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelCooldownStoreTest {
+
+    private static final Duration TICK = Duration.ofMinutes(1);
+
+    private final AtomicLong now = new AtomicLong(Duration.ofDays(20_000).toMillis() + 12_345L);
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void cooldownBlocksUntilItEnds() {
+        TimingWheelCooldownStore store = store(100);
+
+        assertTrue(store.tryAcquire(1L, 10L, Duration.ofMinutes(5)));
+        assertFalse(store.tryAcquire(1L, 10L, Duration.ofMinutes(5)));
+        // Other alerts and other users are independent
+        assertTrue(store.tryAcquire(1L, 11L, Duration.ofMinutes(5)));
+        assertTrue(store.tryAcquire(2L, 10L, Duration.ofMinutes(5)));
+
+        advance(Duration.ofMinutes(5).minusMillis(1));
+        assertFalse(store.tryAcquire(1L, 10L, Duration.ofMinutes(5)));
+        advance(Duration.ofMillis(1));
+        assertTrue(store.tryAcquire(1L, 10L, Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void endedCooldownsLeaveTheTableAsTheWheelTurns() {
+        TimingWheelCooldownStore store = store(100);
+        store.tryAcquire(1L, 1L, Duration.ofMinutes(3));
+        // Filed on level 1 and level 2 of the wheel, so they cascade down before they are removed
+        store.tryAcquire(1L, 2L, Duration.ofHours(5));
+        store.tryAcquire(1L, 3L, Duration.ofDays(4));
+        assertEquals(3, store.size());
+
+        advance(Duration.ofMinutes(5));
+        store.tryAcquire(9L, 9L, Duration.ofDays(30));
+        assertEquals(3, store.size());
+
+        advance(Duration.ofHours(6));
+        store.tryAcquire(9L, 9L, Duration.ofDays(30));
+        assertEquals(2, store.size());
+
+        advance(Duration.ofDays(4));
+        store.tryAcquire(9L, 9L, Duration.ofDays(30));
+        assertEquals(1, store.size());
+        assertTrue(store.tryAcquire(1L, 3L, Duration.ofDays(4)));
+    }
+
+    @Test
+    void restartedCooldownIsNotRemovedByItsEarlierSchedule() {
+        TimingWheelCooldownStore store = store(100);
+        store.tryAcquire(1L, 1L, Duration.ofMinutes(2));
+        advance(Duration.ofMinutes(3));
+        assertTrue(store.tryAcquire(1L, 1L, Duration.ofHours(1)));
+
+        advance(Duration.ofMinutes(30));
+        assertFalse(store.tryAcquire(1L, 1L, Duration.ofHours(1)));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void fullStoreEvictsTheCooldownEndingSoonest() {
+        TimingWheelCooldownStore store = store(3);
+        store.tryAcquire(1L, 1L, Duration.ofHours(2));
+        store.tryAcquire(2L, 1L, Duration.ofMinutes(10));
+        store.tryAcquire(3L, 1L, Duration.ofDays(2));
+
+        assertTrue(store.tryAcquire(4L, 1L, Duration.ofHours(1)));
+
+        assertEquals(3, store.size());
+        assertEquals(1.0, meterRegistry.get("budget.notification.cooldowns.evicted").counter().count());
+        assertFalse(store.tryAcquire(1L, 1L, Duration.ofHours(2)));
+        assertFalse(store.tryAcquire(3L, 1L, Duration.ofDays(2)));
+        assertFalse(store.tryAcquire(4L, 1L, Duration.ofHours(1)));
+        // The 10-minute cooldown was dropped; acquiring it again evicts the next soonest (user 4)
+        assertTrue(store.tryAcquire(2L, 1L, Duration.ofMinutes(10)));
+        assertTrue(store.tryAcquire(4L, 1L, Duration.ofHours(1)));
+    }
+
+    @Test
+    void removalsKeepProbeChainsIntact() {
+        TimingWheelCooldownStore store = store(100_000);
+        int users = 3_000;
+        // Every fourth user's cooldowns run for a day, the rest for an hour; the table grows and is densely probed
+        for (long user = 0; user < users; user++) {
+            for (long alert = 0; alert < 2; alert++) {
+                assertTrue(store.tryAcquire(user, alert, longCooldown(user) ? Duration.ofDays(1) : Duration.ofHours(1)));
+            }
+        }
+        assertEquals(2 * users, store.size());
+
+        // Removes three entries in four through backward-shift deletion, shrinking the table on the way
+        advance(Duration.ofHours(2));
+        store.tryAcquire(-1L, -1L, Duration.ofMinutes(1));
+        assertEquals(users / 2 + 1, store.size());
+
+        for (long user = 0; user < users; user++) {
+            for (long alert = 0; alert < 2; alert++) {
+                assertEquals(!longCooldown(user), store.tryAcquire(user, alert, Duration.ofMinutes(1)), user + "/" + alert);
+            }
+        }
+        assertEquals(2 * users + 1, store.size());
+    }
+
+    private static boolean longCooldown(long user) {
+        return user % 4 == 0;
+    }
+
+    private TimingWheelCooldownStore store(int capacity) {
+        return new TimingWheelCooldownStore(TICK, capacity, meterRegistry, now::get);
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toMillis());
+    }
+}
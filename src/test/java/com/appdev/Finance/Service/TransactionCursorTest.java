@@ -0,0 +1,79 @@
+package com.appdev.Finance.Service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionCursorTest {
+
+    @Test
+    void roundTripsEachSortValueType() {
+        assertRoundTrip(new TransactionCursor("transactionDate", Sort.Direction.DESC, LocalDate.of(2024, 2, 29), 42L));
+        assertRoundTrip(new TransactionCursor("amountMinor", Sort.Direction.ASC, -12_345L, 7L));
+        assertRoundTrip(new TransactionCursor("id", Sort.Direction.DESC, 99L, 99L));
+        // Separator and non-ASCII characters inside a text value survive
+        assertRoundTrip(new TransactionCursor("description", Sort.Direction.ASC, "Café | groceries", 3L));
+        assertRoundTrip(new TransactionCursor("category", Sort.Direction.ASC, "", 4L));
+    }
+
+    @Test
+    void nullSortValueStaysNull() {
+        TransactionCursor decoded = TransactionCursor.decode(
+                new TransactionCursor("category", Sort.Direction.DESC, null, 5L).encode());
+
+        assertNull(decoded.getSortValue());
+        assertEquals(5L, decoded.getId());
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = new TransactionCursor("description", Sort.Direction.ASC, "??>>~~", 1L).encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+    }
+
+    @Test
+    void matchesOnlyTheSortItWasIssuedFor() {
+        TransactionCursor cursor = new TransactionCursor("transactionDate", Sort.Direction.DESC, LocalDate.of(2024, 1, 1), 1L);
+
+        assertTrue(cursor.matches(Sort.by(Sort.Direction.DESC, "transactionDate")));
+        assertTrue(cursor.matches(Sort.by(Sort.Order.desc("transactionDate"), Sort.Order.desc("id"))));
+        assertFalse(cursor.matches(Sort.by(Sort.Direction.ASC, "transactionDate")));
+        assertFalse(cursor.matches(Sort.by(Sort.Direction.DESC, "amountMinor")));
+        assertFalse(cursor.matches(Sort.unsorted()));
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> TransactionCursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> TransactionCursor.decode(token("v1|id|DESC|1")));
+        assertThrows(IllegalArgumentException.class, () -> TransactionCursor.decode(token("v2|id|DESC|1|V1")));
+        assertThrows(IllegalArgumentException.class, () -> TransactionCursor.decode(token("v1|id|SIDEWAYS|1|V1")));
+        assertThrows(IllegalArgumentException.class, () -> TransactionCursor.decode(token("v1|id|DESC|x|V1")));
+        assertThrows(IllegalArgumentException.class, () -> TransactionCursor.decode(token("v1|amountMinor|DESC|1|Vabc")));
+        assertThrows(IllegalArgumentException.class, () -> TransactionCursor.decode(token("v1|transactionDate|DESC|1|V2024-13-01")));
+        assertThrows(IllegalArgumentException.class, () -> TransactionCursor.decode(token("v1|password|DESC|1|Vx")));
+    }
+
+    private static void assertRoundTrip(TransactionCursor cursor) {
+        TransactionCursor decoded = TransactionCursor.decode(cursor.encode());
+
+        assertEquals(cursor.getSortField(), decoded.getSortField());
+        assertEquals(cursor.getDirection(), decoded.getDirection());
+        assertEquals(cursor.getSortValue(), decoded.getSortValue());
+        assertEquals(cursor.getId(), decoded.getId());
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
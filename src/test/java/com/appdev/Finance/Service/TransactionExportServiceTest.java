@@ -0,0 +1,146 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.DTO.ImportProgress;
+import com.appdev.Finance.Repository.TransactionRepository;
+import com.appdev.Finance.Repository.UserRepository;
+import com.appdev.Finance.Service.TransactionExportService.Format;
+import com.appdev.Finance.model.Transaction;
+import com.appdev.Finance.model.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class TransactionExportServiceTest {
+
+    @Autowired
+    private TransactionExportService exportService;
+
+    @Autowired
+    private TransactionImportService importService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User user;
+
+    @BeforeEach
+    void saveHistory() {
+        user = newUser();
+        transactionRepository.saveAll(List.of(
+                transaction("Expense", "Food", "Coffee, \"large\"", 4.5, LocalDate.of(2024, 1, 3)),
+                transaction("Income", "Salary", "January pay", 2500, LocalDate.of(2024, 1, 31)),
+                transaction("Expense", "Bills", "Power\nand water", 120.25, LocalDate.of(2024, 2, 10))));
+    }
+
+    @Test
+    void csvExportOfOldestFirstRows() throws IOException {
+        assertEquals("Date,Type,Category,Description,Amount\r\n"
+                + "2024-01-03,Expense,Food,\"Coffee, \"\"large\"\"\",4.50\r\n"
+                + "2024-01-31,Income,Salary,January pay,2500.00\r\n"
+                + "2024-02-10,Expense,Bills,\"Power\nand water\",120.25\r\n", export(null, null, Format.CSV));
+    }
+
+    @Test
+    void csvExportImportsBackUnchanged() throws IOException {
+        User copy = newUser();
+        ImportProgress progress = new ImportProgress("round-trip", copy.getId(), "export.csv");
+
+        importService.importCsv(copy, new StringReader(export(null, null, Format.CSV)), progress);
+
+        assertEquals(3, progress.getRowsInserted());
+        assertEquals(rows(user), rows(copy));
+    }
+
+    @Test
+    void jsonLinesWithinADateRange() throws IOException {
+        String body = export(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 2, 10), Format.JSON_LINES);
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        assertEquals(2, lines.size());
+        assertEquals("2024-01-31", lines.get(0).get("date").asText());
+        assertEquals(2500.00, lines.get(0).get("amount").asDouble());
+        assertEquals("Power\nand water", lines.get(1).get("description").asText());
+    }
+
+    @Test
+    void emptyRangeWritesOnlyTheHeader() throws IOException {
+        assertEquals("Date,Type,Category,Description,Amount\r\n", export(LocalDate.of(2030, 1, 1), null, Format.CSV));
+        assertEquals("", export(LocalDate.of(2030, 1, 1), null, Format.JSON_LINES));
+    }
+
+    @Test
+    void clientGoingAwayMidDownloadSurfacesAsIOException() {
+        OutputStream closedAfterHeader = new OutputStream() {
+            private int written;
+
+            @Override
+            public void write(int b) throws IOException {
+                if (++written > 40) {
+                    throw new IOException("Broken pipe");
+                }
+            }
+        };
+
+        assertThrows(IOException.class, () -> exportService.export(user.getId(), null, null, Format.CSV, closedAfterHeader));
+    }
+
+    private String export(LocalDate from, LocalDate to, Format format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(user.getId(), from, to, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private List<String> rows(User owner) {
+        return jdbcTemplate.queryForList("SELECT CONCAT_WS('|', transaction_date, type, category, description, amount_minor) " +
+                "FROM `transaction` WHERE user_id = ? ORDER BY transaction_date", String.class, owner.getId());
+    }
+
+    private User newUser() {
+        User created = new User("export-" + System.nanoTime() + "@example.com", "unused");
+        created.setEnabled(true);
+        return userRepository.save(created);
+    }
+
+    private Transaction transaction(String type, String category, String description, double amount, LocalDate date) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setAmount(amount);
+        transaction.setDescription(description);
+        transaction.setType(type);
+        transaction.setCategory(category);
+        transaction.setMonth(date.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH));
+        transaction.setTransactionDate(date);
+        return transaction;
+    }
+}
@@ -0,0 +1,164 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.DTO.ImportProgress;
+import com.appdev.Finance.Repository.UserRepository;
+import com.appdev.Finance.model.CustomUserDetails;
+import com.appdev.Finance.model.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The import write path with a batch size of two, so every file below spans several JDBC batches.
+ */
+@SpringBootTest(properties = "transactions.import.batch-size=2")
+@AutoConfigureMockMvc
+class TransactionImportServiceTest {
+
+    private static final String STATEMENT = """
+            Date,Description,Amount,Type,Category
+            2024-01-05,"Coffee, large",-120.50,,Food
+            bad-date,skipped,1,,
+            2024-01-06,zero,0,,
+            2024-01-07,"Rent
+            January",-8000,,Housing
+            2024-01-08,Refund,5,Cashback,
+            2024-01-31,Salary,"25,000.00",Income,Salary
+            2024-02-01,Snacks,-30,,food
+            """;
+
+    @Autowired
+    private TransactionImportService importService;
+
+    @Autowired
+    private SpendingRollupService rollupService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        user = newUser();
+    }
+
+    @Test
+    void validRowsAreInsertedAndInvalidOnesListed() throws Exception {
+        ImportProgress progress = new ImportProgress("test", user.getId(), "statement.csv");
+
+        importService.importCsv(user, new StringReader(STATEMENT), progress);
+
+        assertEquals(ImportProgress.Status.COMPLETED, progress.getStatus());
+        assertEquals(7, progress.getRowsRead());
+        assertEquals(4, progress.getRowsInserted());
+        assertEquals(List.of(
+                "Line 3: invalid date 'bad-date', expected yyyy-MM-dd",
+                "Line 4: amount must not be zero",
+                "Line 7: unknown type 'Cashback', expected Income or Expense"), progress.getErrors());
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT id, amount_minor, description, type, category, " +
+                "type_code, category_id, period_ym FROM `transaction` WHERE user_id = ? ORDER BY transaction_date", user.getId());
+        assertEquals(List.of("Coffee, large", "Rent\nJanuary", "Salary", "Snacks"),
+                rows.stream().map(row -> row.get("description")).toList());
+        assertEquals(List.of(12_050L, 800_000L, 2_500_000L, 3_000L),
+                rows.stream().map(row -> ((Number) row.get("amount_minor")).longValue()).toList());
+        assertEquals(List.of("Expense", "Expense", "Income", "Expense"), rows.stream().map(row -> row.get("type")).toList());
+        assertEquals(4, rows.stream().map(row -> row.get("id")).distinct().count());
+        // The normalized columns the entity would derive on save are written too
+        assertTrue(rows.stream().allMatch(row -> row.get("type_code") != null && row.get("category_id") != null));
+        assertEquals(202402, ((Number) rows.get(3).get("period_ym")).intValue());
+        // "food" reuses the dictionary entry created for "Food" earlier in the file
+        assertEquals(rows.get(0).get("category_id"), rows.get(3).get("category_id"));
+    }
+
+    @Test
+    void importRebuildsTheRollup() throws Exception {
+        importService.importCsv(user, new StringReader(STATEMENT), new ImportProgress("test", user.getId(), "statement.csv"));
+
+        Map<String, BigDecimal> byCategory = rollupService.getExpenseTotalsByCategory(user.getId());
+        assertEquals(new BigDecimal("150.50"), byCategory.get("Food"));
+        assertEquals(new BigDecimal("8000.00"), byCategory.get("Housing"));
+    }
+
+    @Test
+    void headerWithoutRequiredColumnsInsertsNothing() {
+        ImportProgress progress = new ImportProgress("test", user.getId(), "wrong.csv");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> importService.importCsv(user, new StringReader("foo,bar\n1,2\n"), progress));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM `transaction` WHERE user_id = ?",
+                Integer.class, user.getId()));
+    }
+
+    @Test
+    void uploadRunsInTheBackgroundAndOnlyItsOwnerSeesIt() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "statement.csv", "text/csv",
+                STATEMENT.getBytes(StandardCharsets.UTF_8));
+
+        String body = mockMvc.perform(multipart("/api/transactions/import").file(file).session(session(user)))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        String statusUrl = objectMapper.readTree(body).get("statusUrl").asText();
+
+        JsonNode progress = objectMapper.readTree("{}");
+        for (int attempt = 0; attempt < 100 && !progress.path("finished").asBoolean(); attempt++) {
+            Thread.sleep(100);
+            progress = objectMapper.readTree(mockMvc.perform(get(statusUrl).session(session(user)))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+        }
+        assertEquals("COMPLETED", progress.path("status").asText(), progress.toString());
+        assertEquals(4, progress.path("rowsInserted").asLong());
+
+        mockMvc.perform(get(statusUrl).session(session(newUser()))).andExpect(status().isNotFound());
+    }
+
+    private User newUser() {
+        User created = new User("import-" + System.nanoTime() + "@example.com", "unused");
+        created.setEnabled(true);
+        created.setVerified(true);
+        return userRepository.save(created);
+    }
+
+    private static MockHttpSession session(User owner) {
+        CustomUserDetails principal = new CustomUserDetails(owner);
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, new SecurityContextImpl(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())));
+        return session;
+    }
+}
@@ -0,0 +1,126 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.DTO.TransactionListItem;
+import com.appdev.Finance.Repository.UserRepository;
+import com.appdev.Finance.model.Transaction;
+import com.appdev.Finance.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Type, category and month filters on the normalized columns, for rows saved through the service
+ * and for rows written before the columns existed and filled in by the backfill. The planner is
+ * off so every search runs the SQL specification.
+ */
+@SpringBootTest(properties = "transactions.search-planner.enabled=false")
+class TransactionNormalizationTest {
+
+    @Autowired
+    private TransactionNormalization normalization;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private IdSequenceService idSequenceService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void saveHistory() {
+        user = new User("normalized-" + System.nanoTime() + "@example.com", "unused");
+        user.setEnabled(true);
+        user = userRepository.save(user);
+
+        save("Expense", "Food", LocalDate.of(2024, 3, 5), "saved food");
+        save("Income", "Salary", LocalDate.of(2025, 3, 5), "saved salary");
+        save("expense", "food", LocalDate.of(2025, 4, 5), "saved lowercase");
+        insertLegacy("legacy food", "Expense", " Food", "March", "2023-03-09");
+        insertLegacy("legacy unknown type", "Refund", "Misc", "March", null);
+        normalization.backfill();
+    }
+
+    @Test
+    void backfillFillsTheColumnsOfLegacyRows() {
+        Map<String, Object> legacy = jdbcTemplate.queryForMap(
+                "SELECT type_code, category_id, period_ym FROM `transaction` WHERE user_id = ? AND description = 'legacy food'",
+                user.getId());
+
+        assertEquals(1, ((Number) legacy.get("type_code")).intValue());
+        assertEquals(202303, ((Number) legacy.get("period_ym")).intValue());
+        // The padded legacy category joins the dictionary entry of the saved "Food" rows
+        assertEquals(categoryId("Food"), ((Number) legacy.get("category_id")).longValue());
+        assertTrue(normalization.isComplete());
+    }
+
+    @Test
+    void typeAndCategoryMatchIgnoringCase() {
+        assertEquals(List.of("legacy food", "saved food", "saved lowercase"), descriptions("EXPENSE", null, null));
+        assertEquals(List.of("saved salary"), descriptions("income", null, null));
+        assertEquals(List.of("legacy food", "saved food", "saved lowercase"), descriptions(null, "fOOd", null));
+    }
+
+    @Test
+    void monthNameSpansEveryYearAndYearMonthPicksOne() {
+        assertEquals(List.of("legacy food", "legacy unknown type", "saved food", "saved salary"), descriptions(null, null, "march"));
+        assertEquals(List.of("saved salary"), descriptions(null, null, "2025-03"));
+        assertEquals(List.of("legacy food"), descriptions("Expense", "Food", "2023-03"));
+    }
+
+    @Test
+    void valuesNoRowCanHaveMatchNothing() {
+        assertEquals(List.of(), descriptions("Refund", null, null));
+        assertEquals(List.of(), descriptions(null, "Travel", null));
+        assertEquals(List.of(), descriptions(null, null, "Smarch"));
+    }
+
+    private List<String> descriptions(String type, String category, String month) {
+        return transactionService.searchTransactionsTop(user, null, type, category, month, null, null, null, null,
+                        "description", "ASC", 50)
+                .getTopTransactions().stream()
+                .map(TransactionListItem::getDescription)
+                .toList();
+    }
+
+    private long categoryId(String name) {
+        return jdbcTemplate.queryForObject("SELECT id FROM user_category WHERE user_id = ? AND name = ?",
+                Long.class, user.getId(), name);
+    }
+
+    private void save(String type, String category, LocalDate date, String description) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setAmount(10.0);
+        transaction.setDescription(description);
+        transaction.setType(type);
+        transaction.setCategory(category);
+        transaction.setMonth(date.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH));
+        transaction.setTransactionDate(date);
+        transactionService.saveTransaction(transaction, null);
+    }
+
+    // A row as written before type_code, category_id and period_ym existed
+    private void insertLegacy(String description, String type, String category, String month, String date) {
+        jdbcTemplate.update("INSERT INTO `transaction` (id, amount_minor, description, type, category, month, transaction_date, user_id) " +
+                        "VALUES (?, 1000, ?, ?, ?, ?, ?, ?)",
+                idSequenceService.reserve("transaction_seq", 1), description, type, category, month, date, user.getId());
+    }
+}
@@ -0,0 +1,108 @@
+package com.appdev.Finance.Service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class TransactionSearchCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+    private TransactionSearchCache cache;
+
+    @BeforeEach
+    void createCache() {
+        cache = new TransactionSearchCache(1_000, 10, Duration.ofMinutes(10), meterRegistry);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void criteriaDifferingOnlyInCaseAndSpacingShareAnEntry() {
+        TransactionSearchCache.Key typed = key(1L, "  Coffee ", "EXPENSE", "Food", "March", null, null, 10.0);
+        TransactionSearchCache.Key normalized = key(1L, "coffee", "expense", "food ", "march", null, null, 10.00);
+
+        assertEquals(typed, normalized);
+        assertEquals(List.of("first"), load(typed, List.of("first")));
+        assertEquals(List.of("first"), load(normalized, List.of("second")));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void dateRangeOverridesTheMonthAndMalformedDatesAreIgnored() {
+        assertEquals(key(1L, null, null, null, "March", "2024-01-01", null, null),
+                key(1L, null, null, null, "June", "2024-01-01", null, null));
+        assertEquals(key(1L, null, null, null, "March", "not-a-date", null, null),
+                key(1L, null, null, null, "march", null, null, null));
+        assertNotEquals(key(1L, null, null, null, "March", null, null, null),
+                key(2L, null, null, null, "March", null, null, null));
+    }
+
+    @Test
+    void writeMakesTheUsersEntriesStale() {
+        TransactionSearchCache.Key mine = key(1L, "rent", null, null, null, null, null, null);
+        TransactionSearchCache.Key theirs = key(2L, "rent", null, null, null, null, null, null);
+        load(mine, List.of("old"));
+        load(theirs, List.of("theirs"));
+
+        cache.bump(1L);
+
+        assertEquals(List.of("new"), load(mine, List.of("new")));
+        assertEquals(List.of("theirs"), load(theirs, List.of("ignored")));
+        assertEquals(3, loads.get());
+        assertEquals(1.0, meterRegistry.counter("transactions.search.cache.stale").count());
+    }
+
+    @Test
+    void searchBetweenWriteAndCommitDoesNotStayCurrent() {
+        TransactionSearchCache.Key key = key(1L, "rent", null, null, null, null, null, null);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.bump(1L);
+        // Another request reads the pre-commit rows and caches them
+        load(key, List.of("pre-commit"));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(List.of("committed"), load(key, List.of("committed")));
+    }
+
+    @Test
+    void resultsOverTheEntryLimitAreNotKept() {
+        TransactionSearchCache.Key key = key(1L, null, null, null, null, null, null, null);
+        List<String> large = List.of("1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11");
+
+        load(key, large);
+        load(key, large);
+
+        assertEquals(2, loads.get());
+    }
+
+    private List<String> load(TransactionSearchCache.Key key, List<String> result) {
+        return cache.get(key, () -> {
+            loads.incrementAndGet();
+            return result;
+        }, List::size);
+    }
+
+    private static TransactionSearchCache.Key key(Long userId, String keyword, String type, String category, String month,
+                                                  String startDate, String endDate, Double minAmount) {
+        return TransactionSearchCache.Key.of("top", userId, keyword, type, category, month, startDate, endDate,
+                minAmount, null, Sort.by(Sort.Direction.DESC, "transactionDate"), 10);
+    }
+}
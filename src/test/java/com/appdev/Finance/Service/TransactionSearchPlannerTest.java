@@ -0,0 +1,71 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.Service.TransactionSearchPlanner.Plan;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class TransactionSearchPlannerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @ParameterizedTest
+    @CsvSource(nullValues = "-", value = {
+            "true,  -,       100,  MEMORY, small-user",
+            "true,  -,       2000, MEMORY, small-user",
+            "true,  -,       2001, SQL,    too-many-rows",
+            "true,  keyword, 10,   SQL,    keyword",
+            "false, -,       10,   SQL,    disabled",
+    })
+    void decisionAndReason(boolean enabled, String sqlOnlyReason, long rows, Plan expected, String reason) {
+        TransactionSearchPlanner planner = new TransactionSearchPlanner(meterRegistry, enabled, 2000);
+
+        assertEquals(expected, planner.choose(() -> rows, sqlOnlyReason));
+        assertEquals(1.0, decisions(expected, reason));
+    }
+
+    @Test
+    void rowCountIsNotQueriedWhenTheCriteriaDecide() {
+        TransactionSearchPlanner planner = new TransactionSearchPlanner(meterRegistry, true, 2000);
+        AtomicBoolean counted = new AtomicBoolean();
+
+        planner.choose(() -> {
+            counted.set(true);
+            return 1;
+        }, "relevance-sort");
+
+        assertFalse(counted.get());
+    }
+
+    @Test
+    void observedCostsMoveSmallUsersToSqlAndBack() {
+        TransactionSearchPlanner planner = new TransactionSearchPlanner(meterRegistry, true, 2000);
+        // Memory alone: no SQL sample to compare against yet
+        planner.recordMemory(1_000_000, 1000);
+        assertEquals(Plan.MEMORY, planner.choose(() -> 1000, null));
+
+        // 1,000ns per row * 1000 rows = 1ms against 0.5ms per SQL search
+        planner.recordSql(500_000);
+        assertEquals(Plan.SQL, planner.choose(() -> 1000, null));
+        assertEquals(Plan.MEMORY, planner.choose(() -> 400, null));
+        assertEquals(1.0, decisions(Plan.SQL, "sql-cheaper"));
+
+        // One fast memory sample moves the average a fifth of the way: 1,000 -> 1,000 + 0.2 * (0 - 1,000) = 800ns.
+        // Three more bring it to ~410ns per row, i.e. 0.41ms for 1000 rows, below the SQL average
+        for (int i = 0; i < 4; i++) {
+            planner.recordMemory(0, 1000);
+        }
+        assertEquals(Plan.MEMORY, planner.choose(() -> 1000, null));
+    }
+
+    private double decisions(Plan plan, String reason) {
+        return meterRegistry.counter("transactions.search.plan.decisions",
+                "plan", plan.name().toLowerCase(), "reason", reason).count();
+    }
+}
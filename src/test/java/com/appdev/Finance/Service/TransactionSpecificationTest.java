@@ -0,0 +1,81 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.Repository.TransactionRepository;
+import com.appdev.Finance.Repository.UserRepository;
+import com.appdev.Finance.model.Transaction;
+import com.appdev.Finance.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@SpringBootTest
+class TransactionSpecificationTest {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DescriptionSearchIndex descriptionSearchIndex;
+
+    private User user;
+
+    @BeforeEach
+    void saveDescriptions() {
+        user = new User("specification-" + System.nanoTime() + "@example.com", "unused");
+        user.setEnabled(true);
+        user = userRepository.save(user);
+        for (String description : List.of("Grocery supplies", "Groceries weekly run", "Taxi to airport",
+                "50% off sale", "Wow!! concert", "snake_case fee")) {
+            Transaction transaction = new Transaction();
+            transaction.setUser(user);
+            transaction.setAmount(10.0);
+            transaction.setDescription(description);
+            transaction.setType("Expense");
+            transaction.setCategory("Misc");
+            transaction.setMonth("January");
+            transaction.setTransactionDate(LocalDate.of(2024, 1, 15));
+            transactionRepository.save(transaction);
+        }
+    }
+
+    @Test
+    void everyWordMatchesAWordPrefix() {
+        assumeTrue(descriptionSearchIndex.isAvailable(), "FULLTEXT index not available");
+
+        assertEquals(List.of("Groceries weekly run", "Grocery supplies"), descriptions("gro"));
+        assertEquals(List.of("Grocery supplies"), descriptions("GRO sup"));
+        // Short words are below the indexed token size and go through LIKE
+        assertEquals(List.of("Taxi to airport"), descriptions("ta air"));
+        // Boolean-mode operators are stripped, not interpreted
+        assertEquals(List.of("Grocery supplies"), descriptions("+sup* -gro"));
+        assertEquals(List.of(), descriptions("xyz"));
+    }
+
+    @Test
+    void keywordWithoutLettersOrDigitsIsMatchedLiterally() {
+        assertEquals(List.of("Wow!! concert"), descriptions("!!"));
+        assertEquals(List.of("50% off sale"), descriptions("%"));
+        assertEquals(List.of("snake_case fee"), descriptions("_"));
+        assertEquals(List.of(), descriptions("??"));
+    }
+
+    private List<String> descriptions(String keyword) {
+        Specification<Transaction> spec = TransactionSpecification.findByCriteria(user, null, null, null, null,
+                null, null, null, null, null).and(TransactionSpecification.descriptionMatches(keyword));
+        return transactionRepository.findAll(spec, Sort.by("description")).stream()
+                .map(Transaction::getDescription)
+                .toList();
+    }
+}
@@ -0,0 +1,178 @@
+package com.appdev.Finance.Service;
+
+import com.appdev.Finance.DTO.ColumnarFilter;
+import com.appdev.Finance.DTO.ColumnarSummary;
+import com.appdev.Finance.TransactionType;
+import com.appdev.Finance.model.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Checks summarize against a plain filter-and-sum over the same rows, for a few hundred random rows
+ * (several bitset words, undated rows and rows of neither type) under random filters.
+ */
+class UserColumnsTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2023, 11, 1);
+    private static final List<String> CATEGORIES = List.of("Food", "Rent", "Travel", "Salary", "");
+    private static final TransactionType[] TYPES = {TransactionType.INCOME, TransactionType.EXPENSE, TransactionType.EXPENSE, null};
+
+    private record Row(long id, LocalDate date, long amountMinor, String category, TransactionType type) {}
+
+    @Test
+    void summaryMatchesAStraightScanUnderRandomFilters() {
+        Random random = new Random(20240131L);
+        List<Row> rows = randomRows(random, 300);
+        UserColumns columns = build(rows);
+
+        for (int round = 0; round < 500; round++) {
+            ColumnarFilter filter = randomFilter(random);
+            assertSummary(expected(rows, filter), columns.summarize(filter), "round " + round);
+        }
+    }
+
+    @Test
+    void rowsAddedOneByOneMatchAFreshBuild() {
+        Random random = new Random(7L);
+        List<Row> rows = randomRows(random, 150);
+        UserColumns grown = build(rows.subList(0, 1));
+        // Insert in id order, which is not date order, so withRow has to place each row
+        for (Row row : rows.subList(1, rows.size())) {
+            grown = grown.withRow(row.id(), row.date(), row.amountMinor(), row.category(), row.type());
+        }
+        UserColumns fresh = build(rows);
+
+        assertEquals(fresh.size(), grown.size());
+        for (int round = 0; round < 100; round++) {
+            ColumnarFilter filter = randomFilter(random);
+            assertSummary(fresh.summarize(filter), grown.summarize(filter), "round " + round);
+        }
+    }
+
+    @Test
+    void rowAlreadyPresentIsNotAddedTwice() {
+        UserColumns columns = build(List.of(new Row(1L, FIRST_DAY, 100L, "Food", TransactionType.EXPENSE)));
+
+        assertSame(columns, columns.withRow(1L, FIRST_DAY, 100L, "Food", TransactionType.EXPENSE));
+    }
+
+    @Test
+    void categoriesMatchIgnoringCaseAndSurroundingSpace() {
+        UserColumns columns = build(List.of(
+                new Row(1L, FIRST_DAY, 100L, "Food", TransactionType.EXPENSE),
+                new Row(2L, FIRST_DAY, 250L, " food ", TransactionType.EXPENSE),
+                new Row(3L, FIRST_DAY, 999L, "Rent", TransactionType.EXPENSE)));
+
+        ColumnarSummary summary = columns.summarize(new ColumnarFilter().setCategories(Set.of("FOOD")));
+
+        assertEquals(2, summary.getMatchCount());
+        assertEquals(Map.of("Food", new BigDecimal("3.50")), summary.getExpensesByCategory());
+    }
+
+    private static void assertSummary(ColumnarSummary expected, ColumnarSummary actual, String context) {
+        assertEquals(expected.getMatchCount(), actual.getMatchCount(), context);
+        assertEquals(expected.getTotalIncome(), actual.getTotalIncome(), context);
+        assertEquals(expected.getTotalExpenses(), actual.getTotalExpenses(), context);
+        assertEquals(expected.getExpensesByCategory(), actual.getExpensesByCategory(), context);
+        assertEquals(expected.getExpensesByMonth(), actual.getExpensesByMonth(), context);
+    }
+
+    private static ColumnarSummary expected(List<Row> rows, ColumnarFilter filter) {
+        Predicate<Row> matches = row -> (filter.getType() == null || filter.getType() == row.type())
+                && (filter.getCategories().isEmpty() || filter.getCategories().contains(row.category()))
+                && (filter.getStartDate() == null || (row.date() != null && !row.date().isBefore(filter.getStartDate())))
+                && (filter.getEndDate() == null || (row.date() != null && !row.date().isAfter(filter.getEndDate())))
+                && (filter.getMinAmount() == null || row.amountMinor() >= filter.getMinAmount().getMinorUnits())
+                && (filter.getMaxAmount() == null || row.amountMinor() <= filter.getMaxAmount().getMinorUnits());
+        long count = 0;
+        long income = 0;
+        long expense = 0;
+        Map<String, Long> byCategory = new TreeMap<>();
+        Map<YearMonth, Long> byMonth = new TreeMap<>();
+        for (Row row : rows) {
+            if (!matches.test(row)) {
+                continue;
+            }
+            count++;
+            if (row.type() == TransactionType.INCOME) {
+                income += row.amountMinor();
+            } else if (row.type() == TransactionType.EXPENSE) {
+                expense += row.amountMinor();
+                if (!row.category().isEmpty()) {
+                    byCategory.merge(row.category(), row.amountMinor(), Long::sum);
+                }
+                if (row.date() != null) {
+                    byMonth.merge(YearMonth.from(row.date()), row.amountMinor(), Long::sum);
+                }
+            }
+        }
+        Map<String, BigDecimal> categoryTotals = new TreeMap<>();
+        byCategory.forEach((category, minor) -> categoryTotals.put(category, Money.ofMinor(minor).toBigDecimal()));
+        Map<String, BigDecimal> monthTotals = new TreeMap<>();
+        byMonth.forEach((month, minor) -> monthTotals.put(month.toString(), Money.ofMinor(minor).toBigDecimal()));
+        return new ColumnarSummary(count, Money.ofMinor(income).toBigDecimal(), Money.ofMinor(expense).toBigDecimal(),
+                categoryTotals, monthTotals, 0);
+    }
+
+    private static List<Row> randomRows(Random random, int count) {
+        List<Row> rows = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            LocalDate date = random.nextInt(20) == 0 ? null : FIRST_DAY.plusDays(random.nextInt(120));
+            rows.add(new Row(id, date, 1 + random.nextInt(50_000), CATEGORIES.get(random.nextInt(CATEGORIES.size())),
+                    TYPES[random.nextInt(TYPES.length)]));
+        }
+        return rows;
+    }
+
+    private static ColumnarFilter randomFilter(Random random) {
+        ColumnarFilter filter = new ColumnarFilter();
+        if (random.nextBoolean()) {
+            filter.setType(random.nextBoolean() ? TransactionType.INCOME : TransactionType.EXPENSE);
+        }
+        if (random.nextInt(3) == 0) {
+            filter.setCategories(Set.copyOf(List.of(CATEGORIES.get(random.nextInt(3)), CATEGORIES.get(random.nextInt(4)))));
+        }
+        if (random.nextBoolean()) {
+            LocalDate start = FIRST_DAY.plusDays(random.nextInt(140) - 10);
+            filter.setStartDate(start);
+            if (random.nextBoolean()) {
+                filter.setEndDate(start.plusDays(random.nextInt(60)));
+            }
+        } else if (random.nextInt(4) == 0) {
+            filter.setEndDate(FIRST_DAY.plusDays(random.nextInt(120)));
+        }
+        if (random.nextInt(3) == 0) {
+            long min = random.nextInt(30_000);
+            filter.setMinAmount(Money.ofMinor(min));
+            if (random.nextBoolean()) {
+                filter.setMaxAmount(Money.ofMinor(min + random.nextInt(20_000)));
+            }
+        }
+        return filter;
+    }
+
+    // The builder takes rows in (date, id) order, undated rows first, as the store's load query returns them
+    private static UserColumns build(List<Row> rows) {
+        List<Row> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparing(Row::date, Comparator.nullsFirst(Comparator.naturalOrder())).thenComparing(Row::id));
+        UserColumns.Builder builder = new UserColumns.Builder(sorted.size());
+        for (Row row : sorted) {
+            builder.add(row.id(), row.date(), row.amountMinor(), row.category(), row.type());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.appdev.Finance.Service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserStripedExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserStripedExecutor executor;
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void eachUsersTasksRunInSubmissionOrderWithoutOverlap() throws Exception {
+        executor = new UserStripedExecutor(4, 10_000, meterRegistry);
+        Map<Long, List<Integer>> seen = new ConcurrentHashMap<>();
+        Map<Long, AtomicInteger> running = new ConcurrentHashMap<>();
+        AtomicInteger overlaps = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(20 * 200);
+
+        // One submitting thread per user, so each user's submission order is well defined
+        ExecutorService submitters = Executors.newFixedThreadPool(20);
+        for (long userId = 1; userId <= 20; userId++) {
+            long user = userId;
+            seen.put(user, new CopyOnWriteArrayList<>());
+            running.put(user, new AtomicInteger());
+            submitters.execute(() -> IntStream.range(0, 200).forEach(sequence -> executor.execute(user, () -> {
+                if (running.get(user).incrementAndGet() > 1) {
+                    overlaps.incrementAndGet();
+                }
+                seen.get(user).add(sequence);
+                running.get(user).decrementAndGet();
+                done.countDown();
+            })));
+        }
+        submitters.shutdown();
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(0, overlaps.get());
+        List<Integer> expected = IntStream.range(0, 200).boxed().toList();
+        seen.forEach((userId, sequences) -> assertEquals(expected, sequences, "user " + userId));
+    }
+
+    @Test
+    void failingTaskDoesNotStopTheStripe() throws InterruptedException {
+        executor = new UserStripedExecutor(1, 10, meterRegistry);
+        CountDownLatch ran = new CountDownLatch(1);
+
+        executor.execute(7L, () -> {
+            throw new IllegalStateException("check failed");
+        });
+        executor.execute(7L, ran::countDown);
+
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void tasksBeyondTheQueueCapacityAreDroppedAndCounted() throws InterruptedException {
+        executor = new UserStripedExecutor(1, 2, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        List<Integer> ran = new CopyOnWriteArrayList<>();
+        CountDownLatch queuedRan = new CountDownLatch(2);
+
+        executor.execute(1L, () -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 5; i++) {
+            int task = i;
+            executor.execute(1L, () -> {
+                ran.add(task);
+                queuedRan.countDown();
+            });
+        }
+        release.countDown();
+
+        assertTrue(queuedRan.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        // Two fit in the queue behind the blocked task, three are dropped
+        assertEquals(List.of(0, 1), ran);
+        assertEquals(3.0, meterRegistry.counter("budget.events.rejected").count());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.appdev.Finance.model;
+
+import com.appdev.Finance.Repository.ActivityLogRepository;
+import com.appdev.Finance.Repository.NotificationRepository;
+import com.appdev.Finance.Repository.TransactionRepository;
+import com.appdev.Finance.Repository.UserRepository;
+import com.appdev.Finance.TransactionType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Insert throughput of the pooled-sequence entities against the IDENTITY ids they replaced. Each
+ * case persists the same rows in one transaction, once through the real entity's saveAll (pooled
+ * ids, JDBC batches) and once through an IDENTITY twin declared below: same columns and B-tree
+ * indexes, only the id generation differs, so Hibernate has to run one INSERT per row to read back
+ * each key. (The real transaction table also carries the FULLTEXT index, which only slows the
+ * pooled side.)
+ *
+ * Needs the database from application.properties (DB_URL) and is not part of the regular test
+ * run; start it explicitly:
+ *
+ *   mvn test -Dtest=InsertThroughputBenchmark
+ *
+ * Each case runs WARMUP_ROUNDS unreported rounds, then logs the best of MEASURED_ROUNDS in
+ * rows/s. The rows and the benchmark user are deleted afterwards. The class lives in the model
+ * package so the entity scan picks up the twins; ddl-auto creates their tables in any test context.
+ */
+@SpringBootTest
+class InsertThroughputBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(InsertThroughputBenchmark.class);
+
+    private static final int ROWS = 2000;
+    private static final int WARMUP_ROUNDS = 1;
+    private static final int MEASURED_ROUNDS = 3;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private ActivityLogRepository activityLogRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        User benchmarkUser = new User("insert-benchmark-" + System.nanoTime() + "@example.com", "unused");
+        benchmarkUser.setEnabled(true);
+        user = userRepository.save(benchmarkUser);
+    }
+
+    @AfterEach
+    void deleteRows() {
+        for (String table : List.of("notification", "identity_notification", "activity_log", "identity_activity_log",
+                "`transaction`", "identity_transaction")) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE user_id = ?", user.getId());
+        }
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void insertThroughput() {
+        report("notification",
+                i -> new Notification(user, "benchmark " + i, "/dashboard"), notificationRepository::saveAll,
+                i -> new IdentityNotification(user, "benchmark " + i, "/dashboard"));
+        report("activity_log",
+                i -> new ActivityLog(user, ActivityType.LOGIN_SUCCESS, "benchmark " + i, "127.0.0.1"), activityLogRepository::saveAll,
+                i -> new IdentityActivityLog(user, ActivityType.LOGIN_SUCCESS, "benchmark " + i, "127.0.0.1"));
+        report("transaction", this::transaction, transactionRepository::saveAll, this::identityTransaction);
+    }
+
+    private <T, I> void report(String table, IntFunction<T> pooledRow, Consumer<List<T>> saveAll, IntFunction<I> identityRow) {
+        double pooled = bestRowsPerSecond(() -> transactionTemplate.executeWithoutResult(status -> saveAll.accept(rows(pooledRow))));
+        double identity = bestRowsPerSecond(() -> transactionTemplate.executeWithoutResult(status -> {
+            for (I entity : rows(identityRow)) {
+                entityManager.persist(entity);
+            }
+        }));
+        logger.info("{}: pooled sequence {} rows/s, IDENTITY {} rows/s ({}x)", table, Math.round(pooled), Math.round(identity),
+                String.format("%.1f", pooled / identity));
+    }
+
+    private double bestRowsPerSecond(Runnable round) {
+        double best = 0;
+        for (int i = 0; i < WARMUP_ROUNDS + MEASURED_ROUNDS; i++) {
+            long started = System.nanoTime();
+            round.run();
+            double rowsPerSecond = ROWS / ((System.nanoTime() - started) / 1e9);
+            if (i >= WARMUP_ROUNDS) {
+                best = Math.max(best, rowsPerSecond);
+            }
+        }
+        return best;
+    }
+
+    private static <T> List<T> rows(IntFunction<T> row) {
+        List<T> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(row.apply(i));
+        }
+        return rows;
+    }
+
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 1);
+
+    private Transaction transaction(int i) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setAmount(1.5);
+        transaction.setDescription("benchmark " + i);
+        transaction.setType("Expense");
+        transaction.setCategory("Benchmark");
+        transaction.setMonth("January");
+        transaction.setTransactionDate(DAY);
+        return transaction;
+    }
+
+    private IdentityTransaction identityTransaction(int i) {
+        IdentityTransaction transaction = new IdentityTransaction();
+        transaction.user = user;
+        transaction.amountMinor = 150L;
+        transaction.description = "benchmark " + i;
+        transaction.type = "Expense";
+        transaction.category = "Benchmark";
+        transaction.month = "January";
+        transaction.transactionDate = DAY;
+        transaction.typeCode = TransactionType.EXPENSE;
+        transaction.period = YearMonth.from(DAY);
+        return transaction;
+    }
+
+    // --- IDENTITY twins of the pooled-sequence entities ---
+
+    @Entity
+    @Table(name = "identity_notification")
+    static class IdentityNotification {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+        @ManyToOne(fetch = FetchType.LAZY)
+        @JoinColumn(name = "user_id", nullable = false)
+        User user;
+        @Column(nullable = false, length = 500)
+        String message;
+        String link;
+        @Column(nullable = false)
+        LocalDateTime createdAt = LocalDateTime.now();
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false)
+        NotificationStatus status = NotificationStatus.UNREAD;
+
+        IdentityNotification() {}
+
+        IdentityNotification(User user, String message, String link) {
+            this.user = user;
+            this.message = message;
+            this.link = link;
+        }
+    }
+
+    @Entity
+    @Table(name = "identity_activity_log")
+    static class IdentityActivityLog {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+        @ManyToOne(fetch = FetchType.LAZY)
+        @JoinColumn(name = "user_id", nullable = false)
+        User user;
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false)
+        ActivityType activityType;
+        @Column(nullable = false)
+        LocalDateTime timestamp = LocalDateTime.now();
+        @Column(length = 500)
+        String description;
+        String ipAddress;
+        @Column(length = 1000)
+        String details;
+
+        IdentityActivityLog() {}
+
+        IdentityActivityLog(User user, ActivityType activityType, String description, String ipAddress) {
+            this.user = user;
+            this.activityType = activityType;
+            this.description = description;
+            this.ipAddress = ipAddress;
+        }
+    }
+
+    @Entity
+    @Table(name = "identity_transaction", indexes = {
+            @Index(name = "idx_identity_transaction_user_date_id", columnList = "user_id, transaction_date, id"),
+            @Index(name = "idx_identity_transaction_user_amount_minor_id", columnList = "user_id, amount_minor, id"),
+            @Index(name = "idx_identity_transaction_user_period_type", columnList = "user_id, period_ym, type_code"),
+            @Index(name = "idx_identity_transaction_user_category_date", columnList = "user_id, category_id, transaction_date")
+    })
+    static class IdentityTransaction {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+        @Column(name = "amount_minor")
+        Long amountMinor;
+        @Column(nullable = false)
+        String description;
+        @Column(nullable = false)
+        String type;
+        @Column(nullable = false)
+        String category;
+        @Column(nullable = false)
+        String month;
+        LocalDate transactionDate;
+        @Enumerated(EnumType.ORDINAL)
+        @Column(name = "type_code")
+        TransactionType typeCode;
+        @Column(name = "category_id")
+        Long categoryId;
+        @Convert(converter = YearMonthAttributeConverter.class)
+        @Column(name = "period_ym")
+        YearMonth period;
+        @ManyToOne(fetch = FetchType.LAZY)
+        @JoinColumn(name = "user_id", nullable = false)
+        User user;
+    }
+}
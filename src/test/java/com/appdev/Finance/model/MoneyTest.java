@@ -0,0 +1,70 @@
+package com.appdev.Finance.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MoneyTest {
+
+    @Test
+    void roundsHalfUpToWholeCentavos() {
+        assertEquals(123_457L, Money.of(new BigDecimal("1234.565")).getMinorUnits());
+        assertEquals(123_456L, Money.of(new BigDecimal("1234.5649")).getMinorUnits());
+        assertEquals(-123_457L, Money.of(new BigDecimal("-1234.565")).getMinorUnits());
+        assertEquals(1L, Money.of(new BigDecimal("0.005")).getMinorUnits());
+    }
+
+    @Test
+    void doublesGoThroughTheirShortestDecimal() {
+        assertEquals(10L, Money.of(0.1).getMinorUnits());
+        assertEquals(30L, Money.of(0.1 + 0.2).getMinorUnits());
+        assertEquals(123_457L, Money.of(1234.565).getMinorUnits());
+    }
+
+    @Test
+    void sumsOfTenthsStayExact() {
+        Money total = Money.ZERO;
+        for (int i = 0; i < 10; i++) {
+            total = total.plus(Money.of(0.1));
+        }
+        assertEquals(Money.of(1.0), total);
+        assertEquals(new BigDecimal("1.00"), total.toBigDecimal());
+    }
+
+    @Test
+    void percentRoundsHalfUpAwayFromZero() {
+        assertEquals(8_000L, Money.ofMinor(10_000L).percent(80).getMinorUnits());
+        // 95% of 0.33 = 0.3135
+        assertEquals(31L, Money.ofMinor(33L).percent(95).getMinorUnits());
+        // 50% of 0.01 = 0.005
+        assertEquals(1L, Money.ofMinor(1L).percent(50).getMinorUnits());
+        assertEquals(-1L, Money.ofMinor(-1L).percent(50).getMinorUnits());
+        assertEquals(0L, Money.ofMinor(1L).percent(49).getMinorUnits());
+    }
+
+    @Test
+    void overflowThrowsInsteadOfWrapping() {
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MAX_VALUE).plus(Money.ofMinor(1L)));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MAX_VALUE / 10).percent(100));
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("1e30")));
+    }
+
+    @Test
+    void nullSumsAreZero() {
+        assertSame(Money.ZERO, Money.ofMinor((Long) null));
+        assertSame(Money.ZERO, Money.ofMinor(0L));
+    }
+
+    @Test
+    void comparesAndPrintsOnCentavos() {
+        assertTrue(Money.of(100.00).isGreaterThanOrEqualTo(Money.ofMinor(10_000L)));
+        assertTrue(Money.of(99.99).compareTo(Money.of(100)) < 0);
+        assertEquals("1234.50", Money.of(1234.5).toString());
+        assertEquals("-0.05", Money.ofMinor(-5L).toString());
+    }
+}
@@ -0,0 +1,39 @@
+package com.appdev.Finance.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TransactionPeriodTest {
+
+    @Test
+    void yearMonthIsTakenAsIs() {
+        assertEquals(YearMonth.of(2023, 3), Transaction.parsePeriod("2023-03", 2024));
+        assertEquals(YearMonth.of(2023, 3), Transaction.parsePeriod(" 2023-03 ", 2024));
+    }
+
+    @Test
+    void monthNameFallsInTheDefaultYear() {
+        assertEquals(YearMonth.of(2024, 3), Transaction.parsePeriod("March", 2024));
+        assertEquals(YearMonth.of(2021, 12), Transaction.parsePeriod("december", 2021));
+    }
+
+    @Test
+    void anythingElseIsNoPeriod() {
+        assertNull(Transaction.parsePeriod(null, 2024));
+        assertNull(Transaction.parsePeriod("  ", 2024));
+        assertNull(Transaction.parsePeriod("Smarch", 2024));
+        assertNull(Transaction.parsePeriod("2024-13", 2024));
+    }
+
+    @Test
+    void storedMonthNameWinsWithinTheDatesYear() {
+        // Legacy rows could carry a month name that disagrees with their date; the name decides the month
+        assertEquals(YearMonth.of(2022, 2), Transaction.resolvePeriod(LocalDate.of(2022, 7, 4), "February"));
+        assertEquals(YearMonth.of(2022, 7), Transaction.resolvePeriod(LocalDate.of(2022, 7, 4), "Juli"));
+    }
+}